@@ -60,6 +60,7 @@ public class BlockCapturer implements ConflationAwareOperationTracer {
    */
   public void setWorld(WorldUpdater worldUpdater) {
     this.worldUpdater = worldUpdater;
+    this.reaper.setInitialWorld(worldUpdater);
   }
 
   @Override
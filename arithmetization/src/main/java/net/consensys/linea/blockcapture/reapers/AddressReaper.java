@@ -18,6 +18,7 @@ package net.consensys.linea.blockcapture.reapers;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.consensys.linea.blockcapture.snapshots.AccountSnapshot;
@@ -36,11 +37,16 @@ public class AddressReaper {
    * world-state to determine what their state is.
    *
    * @param world The world state to use for extracting current account balances, etc.
+   * @param codes The code table the code of the accounts is added to
    * @return List of account snapshots
    */
-  public List<AccountSnapshot> collapse(final WorldView world) {
+  public List<AccountSnapshot> collapse(final WorldView world, final Map<String, String> codes) {
     return this.touchedAccounts.stream()
-        .flatMap(a -> AccountSnapshot.from(a, world).stream())
+        .flatMap(a -> AccountSnapshot.from(a, world, codes).stream())
         .toList();
   }
+
+  public Set<Address> touched() {
+    return this.touchedAccounts;
+  }
 }
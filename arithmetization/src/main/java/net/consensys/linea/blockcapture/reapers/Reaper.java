@@ -16,7 +16,9 @@
 package net.consensys.linea.blockcapture.reapers;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 import net.consensys.linea.blockcapture.snapshots.AccountSnapshot;
@@ -31,6 +33,7 @@ import org.apache.tuweni.units.bigints.UInt256;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.datatypes.Transaction;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.log.Log;
 import org.hyperledger.besu.evm.worldstate.WorldUpdater;
 import org.hyperledger.besu.evm.worldstate.WorldView;
@@ -43,6 +46,10 @@ import org.hyperledger.besu.plugin.data.BlockHeader;
  *
  * <p>This data can than be collapsed into a “replay” ({@link ConflationSnapshot}), i.e. the minimal
  * required information to replay a conflation as if it were executed on the blockchain.
+ *
+ * <p>Code is hex-encoded once per code hash into a code table shared by the whole capture, and the
+ * expected outcome of every transaction only records the account fields and storage slots it
+ * changed.
  */
 public class Reaper {
   /** Collect storage locations read / written by the entire conflation */
@@ -57,6 +64,18 @@ public class Reaper {
   /** Collect the blocks within a conflation */
   private final List<BlockSnapshot> blocks = new ArrayList<>();
 
+  /** The code of every account met during the conflation, by code hash */
+  private final Map<String, String> codes = new HashMap<>();
+
+  /** The state of the accounts after the last transaction touching them */
+  private final Map<Address, AccountSnapshot> lastAccounts = new HashMap<>();
+
+  /** The value of the storage slots after the last transaction touching them */
+  private final Map<Address, Map<UInt256, UInt256>> lastStorage = new HashMap<>();
+
+  /** The state before the conflation, against which first touches are compared */
+  private WorldView initialWorld = null;
+
   /**
    * Transaction index is used to do determine the current transaction being processed within the
    * current block.
@@ -69,6 +88,10 @@ public class Reaper {
   /** Collect the account address read / written by the current transaction */
   private AddressReaper txAddresses = null;
 
+  public void setInitialWorld(final WorldView initialWorld) {
+    this.initialWorld = initialWorld;
+  }
+
   public void enterBlock(final BlockHeader header, final BlockBody body) {
     this.blocks.add(
         BlockSnapshot.of((org.hyperledger.besu.ethereum.core.BlockHeader) header, body));
@@ -97,10 +120,10 @@ public class Reaper {
     List<String> logStrings = logs.stream().map(l -> l.getData().toHexString()).toList();
     // Convert destructed account addresses into into hex strings
     List<String> destructStrings = selfDestructs.stream().map(Address::toHexString).toList();
-    // Collapse accounts
-    final List<AccountSnapshot> accounts = this.txAddresses.collapse(world);
-    // Collapse storage
-    final List<StorageSnapshot> storage = txStorage.collapse(world);
+    // Collapse the changes to the accounts
+    final List<AccountSnapshot> accounts = this.accountDeltas(world);
+    // Collapse the changes to the storage
+    final List<StorageSnapshot> storage = this.storageDeltas(world);
     // Construct the result snapshot
     TransactionResultSnapshot resultSnapshot =
         new TransactionResultSnapshot(
@@ -113,6 +136,63 @@ public class Reaper {
     this.txAddresses = null;
   }
 
+  private List<AccountSnapshot> accountDeltas(final WorldView world) {
+    final List<AccountSnapshot> deltas = new ArrayList<>();
+    for (Address address : this.txAddresses.touched()) {
+      final AccountSnapshot account =
+          AccountSnapshot.from(address, world, this.codes)
+              .orElse(AccountSnapshot.absent(address));
+      final AccountSnapshot previous =
+          this.lastAccounts.containsKey(address)
+              ? this.lastAccounts.get(address)
+              : this.initialAccount(address);
+      if (previous == null) {
+        deltas.add(account);
+      } else {
+        account.delta(previous).ifPresent(deltas::add);
+      }
+      this.lastAccounts.put(address, account);
+    }
+    return deltas;
+  }
+
+  private AccountSnapshot initialAccount(final Address address) {
+    if (this.initialWorld == null) {
+      return null;
+    }
+    return AccountSnapshot.from(address, this.initialWorld, this.codes)
+        .orElse(AccountSnapshot.absent(address));
+  }
+
+  private List<StorageSnapshot> storageDeltas(final WorldView world) {
+    final List<StorageSnapshot> deltas = new ArrayList<>();
+    for (Map.Entry<Address, Set<UInt256>> e : this.txStorage.touched().entrySet()) {
+      final Address address = e.getKey();
+      final Account account = world.get(address);
+      final Map<UInt256, UInt256> lastValues =
+          this.lastStorage.computeIfAbsent(address, a -> new HashMap<>());
+      for (UInt256 key : e.getValue()) {
+        final UInt256 value = account == null ? UInt256.ZERO : account.getStorageValue(key);
+        final UInt256 previous =
+            lastValues.containsKey(key) ? lastValues.get(key) : this.initialValue(address, key);
+        if (!value.equals(previous)) {
+          deltas.add(
+              new StorageSnapshot(address.toHexString(), key.toHexString(), value.toHexString()));
+        }
+        lastValues.put(key, value);
+      }
+    }
+    return deltas;
+  }
+
+  private UInt256 initialValue(final Address address, final UInt256 key) {
+    if (this.initialWorld == null) {
+      return null;
+    }
+    final Account account = this.initialWorld.get(address);
+    return account == null ? UInt256.ZERO : account.getStorageValue(key);
+  }
+
   public void touchAddress(final Address address) {
     this.conflationAddresses.touch(address);
     this.txAddresses.touch(address);
@@ -138,12 +218,12 @@ public class Reaper {
    */
   public ConflationSnapshot collapse(final WorldUpdater world) {
     // Collapse accounts
-    final List<AccountSnapshot> accounts = this.conflationAddresses.collapse(world);
+    final List<AccountSnapshot> accounts = this.conflationAddresses.collapse(world, this.codes);
     // Collapse storage
     final List<StorageSnapshot> storage = conflationStorage.collapse(world);
     // Collapse block hashes
     final List<BlockHashSnapshot> hashes = conflationHashes.collapse();
     // Done
-    return new ConflationSnapshot(this.blocks, accounts, storage, hashes);
+    return new ConflationSnapshot(this.blocks, accounts, storage, hashes, this.codes);
   }
 }
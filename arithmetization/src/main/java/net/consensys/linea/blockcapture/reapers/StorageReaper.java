@@ -59,4 +59,8 @@ public class StorageReaper {
 
     return storage;
   }
+
+  public Map<Address, Set<UInt256>> touched() {
+    return this.touchedLocations;
+  }
 }
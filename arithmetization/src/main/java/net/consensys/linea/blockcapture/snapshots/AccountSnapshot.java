@@ -15,13 +15,40 @@
 
 package net.consensys.linea.blockcapture.snapshots;
 
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.evm.account.Account;
 import org.hyperledger.besu.evm.worldstate.WorldView;
 
-public record AccountSnapshot(String address, long nonce, String balance, String code) {
-  public static Optional<AccountSnapshot> from(Address address, WorldView world) {
+/**
+ * The state of an account. Within a {@link TransactionResultSnapshot}, only the fields changed by
+ * the transaction are set, the others being null.
+ *
+ * @param address the address of the account
+ * @param nonce the nonce of the account
+ * @param balance the balance of the account
+ * @param code the code of the account; only set by captures predating the code table of {@link
+ *     ConflationSnapshot}
+ * @param codeHash the hash of the code of the account, referencing the code table of {@link
+ *     ConflationSnapshot}
+ */
+public record AccountSnapshot(
+    String address, Long nonce, String balance, String code, String codeHash) {
+  public AccountSnapshot(String address, long nonce, String balance, String code) {
+    this(address, (Long) nonce, balance, code, null);
+  }
+
+  /**
+   * @param address the address of the account
+   * @param world the state to read the account from
+   * @param codes the code table, filled with the code of the account if missing
+   * @return the state of the account, if it exists
+   */
+  public static Optional<AccountSnapshot> from(
+      Address address, WorldView world, Map<String, String> codes) {
     return Optional.ofNullable(world.get(address))
         .map(
             account ->
@@ -29,6 +56,37 @@ public record AccountSnapshot(String address, long nonce, String balance, String
                     address.toHexString(),
                     account.getNonce(),
                     account.getBalance().toHexString(),
-                    account.getCode().toHexString()));
+                    null,
+                    codeHash(account, codes)));
+  }
+
+  /**
+   * @param address the address of an account which does not exist
+   * @return a state every existing account differs from in all its fields
+   */
+  public static AccountSnapshot absent(Address address) {
+    return new AccountSnapshot(address.toHexString(), null, null, null, null);
+  }
+
+  /**
+   * @param previous the state of the account before the transaction
+   * @return the fields changed since {@code previous}, if any
+   */
+  public Optional<AccountSnapshot> delta(AccountSnapshot previous) {
+    final Long changedNonce = Objects.equals(nonce, previous.nonce()) ? null : nonce;
+    final String changedBalance = Objects.equals(balance, previous.balance()) ? null : balance;
+    final String changedCodeHash = Objects.equals(codeHash, previous.codeHash()) ? null : codeHash;
+    if (changedNonce == null && changedBalance == null && changedCodeHash == null) {
+      return Optional.empty();
+    }
+    return Optional.of(
+        new AccountSnapshot(address, changedNonce, changedBalance, null, changedCodeHash));
+  }
+
+  /** The code is only hex-encoded the first time its hash is met. */
+  private static String codeHash(Account account, Map<String, String> codes) {
+    final String codeHash = account.getCodeHash().toHexString();
+    codes.computeIfAbsent(codeHash, h -> account.getCode().toHexString());
+    return codeHash;
   }
 }
@@ -19,6 +19,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.operation.BlockHashOperation.BlockHashLookup;
 
@@ -29,12 +30,41 @@ import org.hyperledger.besu.evm.operation.BlockHashOperation.BlockHashLookup;
  * @param blocks the blocks within the conflation
  * @param accounts the accounts whose state will be read during the conflation execution
  * @param storage storage cells that will be accessed during the conflation execution
+ * @param blockHashes the hashes of the blocks read during the conflation execution
+ * @param codes the code of the accounts, by code hash, so that every code is only stored once
  */
 public record ConflationSnapshot(
     List<BlockSnapshot> blocks,
     List<AccountSnapshot> accounts,
     List<StorageSnapshot> storage,
-    List<BlockHashSnapshot> blockHashes) {
+    List<BlockHashSnapshot> blockHashes,
+    Map<String, String> codes) {
+
+  public ConflationSnapshot(
+      List<BlockSnapshot> blocks,
+      List<AccountSnapshot> accounts,
+      List<StorageSnapshot> storage,
+      List<BlockHashSnapshot> blockHashes) {
+    this(blocks, accounts, storage, blockHashes, Map.of());
+  }
+
+  /**
+   * Resolve the code of an account of this conflation, either inlined (for older replays) or
+   * referenced by hash in {@link #codes}.
+   *
+   * @param account an account of this conflation
+   * @return the code of the account
+   */
+  public Bytes code(AccountSnapshot account) {
+    if (account.code() != null) {
+      return Bytes.fromHexString(account.code());
+    }
+    final String code = this.codes() == null ? null : this.codes().get(account.codeHash());
+    if (code == null) {
+      throw new IllegalArgumentException("missing code of account " + account.address());
+    }
+    return Bytes.fromHexString(code);
+  }
 
   /**
    * Construct a block hash map for any block hashes embedded in this conflation.
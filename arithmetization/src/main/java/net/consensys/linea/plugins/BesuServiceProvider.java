@@ -16,8 +16,10 @@
 package net.consensys.linea.plugins;
 
 import org.hyperledger.besu.plugin.BesuContext;
+import org.hyperledger.besu.plugin.services.BesuConfiguration;
 import org.hyperledger.besu.plugin.services.BesuEvents;
 import org.hyperledger.besu.plugin.services.BesuService;
+import org.hyperledger.besu.plugin.services.BlockchainService;
 import org.hyperledger.besu.plugin.services.PicoCLIOptions;
 import org.hyperledger.besu.plugin.services.RpcEndpointService;
 import org.hyperledger.besu.plugin.services.TraceService;
@@ -41,6 +43,10 @@ public class BesuServiceProvider {
                         .formatted(clazz.getName())));
   }
 
+  public static BesuConfiguration getBesuConfiguration(final BesuContext context) {
+    return getBesuService(context, BesuConfiguration.class);
+  }
+
   public static TraceService getTraceService(final BesuContext context) {
     return getBesuService(context, TraceService.class);
   }
@@ -60,4 +66,8 @@ public class BesuServiceProvider {
   public static BesuEvents getBesuEventsService(final BesuContext context) {
     return getBesuService(context, BesuEvents.class);
   }
+
+  public static BlockchainService getBlockchainService(final BesuContext context) {
+    return getBesuService(context, BlockchainService.class);
+  }
 }
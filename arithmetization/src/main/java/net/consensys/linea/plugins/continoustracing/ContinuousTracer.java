@@ -20,13 +20,16 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Optional;
 
+import com.google.common.base.Stopwatch;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.corset.CorsetValidator;
 import net.consensys.linea.plugins.exception.InvalidBlockTraceException;
 import net.consensys.linea.plugins.exception.TraceOutputException;
 import net.consensys.linea.plugins.exception.TraceVerificationException;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import net.consensys.linea.tracewriter.TraceWriter;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.module.DebugMode;
 import org.apache.commons.io.FileUtils;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.plugin.data.BlockTraceResult;
@@ -55,6 +58,7 @@ public class ContinuousTracer {
   public CorsetValidator.Result verifyTraceOfBlock(
       final long blockNumber, final Hash blockHash, final ZkTracer zkTracer)
       throws TraceVerificationException, InvalidBlockTraceException {
+    zkTracer.setDebugMode(continuousTracingConfiguration.debugMode());
     zkTracer.traceStartConflation(1);
 
     final BlockTraceResult blockTraceResult;
@@ -69,6 +73,7 @@ public class ContinuousTracer {
     for (final TransactionTraceResult transactionTraceResult :
         blockTraceResult.transactionTraceResults()) {
       if (transactionTraceResult.getStatus() != TransactionTraceResult.Status.SUCCESS) {
+        logDebugReport(blockHash, zkTracer);
         throw new InvalidBlockTraceException(
             transactionTraceResult.getTxHash(),
             transactionTraceResult.errorMessage().orElse("Unknown error"));
@@ -81,10 +86,18 @@ public class ContinuousTracer {
       final Path traceFilePath =
           traceWriter.writeTraceToFile(
               tracesOutputPath, blockNumber, blockNumber, DUMMY_TRACES_ENGINE_VERSION);
+      final Stopwatch sw = Stopwatch.createStarted();
       result = corsetValidator.validate(traceFilePath, continuousTracingConfiguration.zkEvmBin());
+      TracerMetrics.shared()
+          .histogram(
+              "corset_validation_duration_seconds",
+              "Duration of the corset validation of the traced blocks",
+              TracerMetrics.DURATION_BUCKETS)
+          .observe(sw);
 
       if (!result.isValid()) {
         log.error("Trace of block {} is not valid", blockHash.toHexString());
+        logDebugReport(blockHash, zkTracer);
         return result;
       }
     } catch (RuntimeException e) {
@@ -103,6 +116,20 @@ public class ContinuousTracer {
     return result;
   }
 
+  private static void logDebugReport(final Hash blockHash, final ZkTracer zkTracer) {
+    zkTracer
+        .getDebugMode()
+        .flatMap(DebugMode::ringBuffer)
+        .ifPresent(
+            ringBuffer -> {
+              log.info(
+                  "Debug report of block {} ({} older lines dropped):",
+                  blockHash.toHexString(),
+                  ringBuffer.droppedLines());
+              ringBuffer.drain().forEach(line -> log.info("  {}", line));
+            });
+  }
+
   private Path initTracesOutputPath() {
     final Optional<Path> tracesOutputPath =
         Optional.of(Paths.get(continuousTracingConfiguration.tracesDir()));
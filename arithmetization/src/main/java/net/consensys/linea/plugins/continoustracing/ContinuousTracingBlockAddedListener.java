@@ -16,28 +16,40 @@ package net.consensys.linea.plugins.continoustracing;
 
 import java.io.IOException;
 import java.nio.file.Files;
+import java.util.Map;
 import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentSkipListMap;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
-import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.corset.CorsetValidator;
 import net.consensys.linea.plugins.exception.InvalidBlockTraceException;
 import net.consensys.linea.plugins.exception.InvalidTraceHandlerException;
 import net.consensys.linea.plugins.exception.TraceVerificationException;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.ZkTracerPool;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.plugin.data.AddedBlockContext;
 import org.hyperledger.besu.plugin.data.BlockHeader;
 import org.hyperledger.besu.plugin.services.BesuEvents;
 
 @Slf4j
-@RequiredArgsConstructor
 public class ContinuousTracingBlockAddedListener implements BesuEvents.BlockAddedListener {
   private final ContinuousTracer continuousTracer;
   private final TraceFailureHandler traceFailureHandler;
 
+  /** the number of the last block added to the chain */
+  private final AtomicLong headBlock = new AtomicLong(-1);
+
+  /**
+   * the number of tracings under way for each block number; a reorg may have several blocks of the
+   * same number traced at once
+   */
+  private final ConcurrentSkipListMap<Long, Integer> inFlightBlocks = new ConcurrentSkipListMap<>();
+
   static final int BLOCK_PARALLELISM = 5;
   final ThreadPoolExecutor pool =
       new ThreadPoolExecutor(
@@ -48,18 +60,47 @@ public class ContinuousTracingBlockAddedListener implements BesuEvents.BlockAdde
           new ArrayBlockingQueue<>(BLOCK_PARALLELISM),
           new ThreadPoolExecutor.CallerRunsPolicy());
 
+  public ContinuousTracingBlockAddedListener(
+      final ContinuousTracer continuousTracer, final TraceFailureHandler traceFailureHandler) {
+    this.continuousTracer = continuousTracer;
+    this.traceFailureHandler = traceFailureHandler;
+
+    final TracerMetrics metrics = TracerMetrics.shared();
+    metrics.gauge(
+        "continuous_tracing_lag_blocks",
+        "Number of blocks added to the chain but not traced yet",
+        this::lag);
+    metrics.gauge(
+        "continuous_tracing_queue_depth",
+        "Number of blocks waiting for a continuous tracing thread",
+        () -> pool.getQueue().size());
+  }
+
+  /**
+   * @return the number of blocks from the lowest block still being traced up to the head, as the
+   *     blocks are traced in parallel and may end in any order
+   */
+  long lag() {
+    final Map.Entry<Long, Integer> lowest = inFlightBlocks.firstEntry();
+    return lowest == null ? 0 : headBlock.get() - lowest.getKey() + 1;
+  }
+
   @Override
   public void onBlockAdded(final AddedBlockContext addedBlockContext) {
+    final long blockNumber = addedBlockContext.getBlockHeader().getNumber();
+    headBlock.accumulateAndGet(blockNumber, Math::max);
+    inFlightBlocks.merge(blockNumber, 1, Integer::sum);
+
     pool.submit(
         () -> {
           final BlockHeader blockHeader = addedBlockContext.getBlockHeader();
           final Hash blockHash = blockHeader.getBlockHash();
           log.info("Tracing block {} ({})", blockHeader.getNumber(), blockHash.toHexString());
 
+          final ZkTracer tracer = ZkTracerPool.shared().acquire();
           try {
             final CorsetValidator.Result traceResult =
-                continuousTracer.verifyTraceOfBlock(
-                    blockHeader.getNumber(), blockHash, new ZkTracer());
+                continuousTracer.verifyTraceOfBlock(blockHeader.getNumber(), blockHash, tracer);
             Files.delete(traceResult.traceFile().toPath());
 
             if (!traceResult.isValid()) {
@@ -78,6 +119,9 @@ public class ContinuousTracingBlockAddedListener implements BesuEvents.BlockAdde
           } catch (IOException e) {
             log.error("IO error: {}", e.getMessage());
           } finally {
+            ZkTracerPool.shared().release(tracer);
+            inFlightBlocks.computeIfPresent(
+                blockHeader.getNumber(), (number, count) -> count == 1 ? null : count - 1);
             log.info("End of tracing block {}", blockHeader.getNumber());
           }
         });
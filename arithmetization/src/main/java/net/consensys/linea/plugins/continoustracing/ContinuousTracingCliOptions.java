@@ -15,6 +15,7 @@
 package net.consensys.linea.plugins.continoustracing;
 
 import com.google.common.base.MoreObjects;
+import net.consensys.linea.zktracer.module.DebugModeConfiguration;
 import picocli.CommandLine;
 
 public class ContinuousTracingCliOptions {
@@ -26,6 +27,8 @@ public class ContinuousTracingCliOptions {
   public static final String CONTINUOUS_TRACING_TRACES_DIR =
       "--plugin-linea-continuous-tracing-traces-output-path";
 
+  public static final String CONTINUOUS_TRACING_DEBUG = "--plugin-linea-continuous-tracing-debug";
+
   @CommandLine.Option(
       names = {CONTINUOUS_TRACING_ENABLED},
       hidden = true,
@@ -47,6 +50,16 @@ public class ContinuousTracingCliOptions {
       description = "Path to where traces will be written")
   private String tracesOutputPath = null;
 
+  @CommandLine.Option(
+      names = {CONTINUOUS_TRACING_DEBUG},
+      hidden = true,
+      paramLabel = "<SPEC>",
+      description =
+          "What to report while tracing a block, logged if its trace is invalid, e.g."
+              + " pins=tx,opcode;every=10;reverted;opcodes=SSTORE;addresses=0x…;buffer=4096"
+              + " (default: nothing)")
+  private String debug = null;
+
   private ContinuousTracingCliOptions() {}
 
   public static ContinuousTracingCliOptions create() {
@@ -54,7 +67,8 @@ public class ContinuousTracingCliOptions {
   }
 
   public ContinuousTracingConfiguration toDomainObject() {
-    return new ContinuousTracingConfiguration(continuousTracingEnabled, zkEvmBin, tracesOutputPath);
+    return new ContinuousTracingConfiguration(
+        continuousTracingEnabled, zkEvmBin, tracesOutputPath, DebugModeConfiguration.parse(debug));
   }
 
   @Override
@@ -63,6 +77,7 @@ public class ContinuousTracingCliOptions {
         .add(CONTINUOUS_TRACING_ENABLED, continuousTracingEnabled)
         .add(CONTINUOUS_TRACING_ZK_EVM_BIN, zkEvmBin)
         .add(CONTINUOUS_TRACING_TRACES_DIR, tracesOutputPath)
+        .add(CONTINUOUS_TRACING_DEBUG, debug)
         .toString();
   }
 }
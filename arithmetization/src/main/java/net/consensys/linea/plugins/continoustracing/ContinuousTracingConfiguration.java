@@ -14,5 +14,14 @@
  */
 package net.consensys.linea.plugins.continoustracing;
 
+import net.consensys.linea.zktracer.module.DebugModeConfiguration;
+
+/**
+ * @param debugMode what to report while tracing a block; the report is logged when the block trace
+ *     is invalid
+ */
 public record ContinuousTracingConfiguration(
-    boolean continuousTracing, String zkEvmBin, String tracesDir) {}
+    boolean continuousTracing,
+    String zkEvmBin,
+    String tracesDir,
+    DebugModeConfiguration debugMode) {}
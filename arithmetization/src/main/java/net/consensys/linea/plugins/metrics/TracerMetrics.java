@@ -0,0 +1,300 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.metrics;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.DoubleAdder;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.regex.Pattern;
+
+import com.google.common.base.Preconditions;
+import com.google.common.base.Stopwatch;
+
+/**
+ * A minimal registry of the service-level metrics of the tracer, rendered in the Prometheus text
+ * exposition format by the readiness HTTP server.
+ *
+ * <p>Metrics are identified by their name and their (constant) labels; asking twice for the same
+ * metric returns the same instance, so that call sites do not need to keep references around.
+ */
+public class TracerMetrics {
+  public static final String PREFIX = "linea_tracer_";
+
+  /** Buckets (in seconds) of the duration histograms, from a block count to a large conflation */
+  public static final double[] DURATION_BUCKETS =
+      new double[] {0.01, 0.05, 0.1, 0.25, 0.5, 1, 2.5, 5, 10, 30, 60, 120, 300, 600};
+
+  /** Buckets (in bytes) of the trace file size histogram */
+  public static final double[] SIZE_BUCKETS =
+      new double[] {1 << 20, 1 << 23, 1 << 25, 1 << 27, 1 << 29, 1L << 31, 1L << 33};
+
+  private static final Pattern NAME_PATTERN = Pattern.compile("[a-zA-Z_:][a-zA-Z0-9_:]*");
+
+  /** The metrics of this process */
+  private static final TracerMetrics SHARED = new TracerMetrics();
+
+  private final Map<String, Family> families = new ConcurrentSkipListMap<>();
+
+  public static TracerMetrics shared() {
+    return SHARED;
+  }
+
+  private enum Type {
+    COUNTER,
+    GAUGE,
+    HISTOGRAM;
+
+    String exposed() {
+      return name().toLowerCase();
+    }
+  }
+
+  private interface Metric {
+    void render(String name, String labels, StringBuilder out);
+  }
+
+  private record Family(Type type, String help, Map<String, Metric> series) {}
+
+  public static final class Counter implements Metric {
+    private final LongAdder value = new LongAdder();
+
+    public void inc() {
+      value.increment();
+    }
+
+    public void inc(final long amount) {
+      Preconditions.checkArgument(amount >= 0, "A counter can not decrease");
+      value.add(amount);
+    }
+
+    public long value() {
+      return value.sum();
+    }
+
+    @Override
+    public void render(final String name, final String labels, final StringBuilder out) {
+      out.append(name).append(braces(labels)).append(' ').append(value.sum()).append('\n');
+    }
+  }
+
+  private record Gauge(LongSupplier value) implements Metric {
+    @Override
+    public void render(final String name, final String labels, final StringBuilder out) {
+      out.append(name).append(braces(labels)).append(' ').append(value.getAsLong()).append('\n');
+    }
+  }
+
+  public static final class Histogram implements Metric {
+    private final double[] bounds;
+    private final LongAdder[] buckets;
+    private final LongAdder count = new LongAdder();
+    private final DoubleAdder sum = new DoubleAdder();
+
+    private Histogram(final double[] bounds) {
+      this.bounds = bounds.clone();
+      Arrays.sort(this.bounds);
+      this.buckets = new LongAdder[bounds.length];
+      Arrays.setAll(buckets, i -> new LongAdder());
+    }
+
+    public void observe(final double value) {
+      final int bucket = Arrays.binarySearch(bounds, value);
+      final int i = bucket >= 0 ? bucket : -bucket - 1;
+      if (i < buckets.length) {
+        buckets[i].increment();
+      }
+      count.increment();
+      sum.add(value);
+    }
+
+    /** Observe the time elapsed on {@code sw}, in seconds. */
+    public void observe(final Stopwatch sw) {
+      observe(sw.elapsed(TimeUnit.NANOSECONDS) / 1e9);
+    }
+
+    public long count() {
+      return count.sum();
+    }
+
+    public double sum() {
+      return sum.sum();
+    }
+
+    @Override
+    public void render(final String name, final String labels, final StringBuilder out) {
+      final String separator = labels.isEmpty() ? "" : ",";
+      long cumulative = 0;
+      for (int i = 0; i < bounds.length; i++) {
+        cumulative += buckets[i].sum();
+        out.append(name)
+            .append("_bucket{")
+            .append(labels)
+            .append(separator)
+            .append("le=\"")
+            .append(format(bounds[i]))
+            .append("\"} ")
+            .append(cumulative)
+            .append('\n');
+      }
+      final long total = count.sum();
+      out.append(name)
+          .append("_bucket{")
+          .append(labels)
+          .append(separator)
+          .append("le=\"+Inf\"} ")
+          .append(Math.max(total, cumulative))
+          .append('\n');
+      out.append(name).append("_sum").append(braces(labels)).append(' ');
+      out.append(format(sum.sum())).append('\n');
+      out.append(name).append("_count").append(braces(labels)).append(' ');
+      out.append(total).append('\n');
+    }
+  }
+
+  /**
+   * @param name the name of the counter, without {@link #PREFIX}
+   * @param help the description of the counter
+   * @param labels alternating label names and values
+   * @return the counter registered under {@code name} and {@code labels}
+   */
+  public Counter counter(final String name, final String help, final String... labels) {
+    return (Counter) register(Type.COUNTER, name, help, labels, Counter::new);
+  }
+
+  /**
+   * Register a gauge whose value is read from {@code value} every time the metrics are rendered. A
+   * gauge registered again under the same name and labels replaces the previous one.
+   *
+   * @param name the name of the gauge, without {@link #PREFIX}
+   * @param help the description of the gauge
+   * @param value supplies the current value of the gauge
+   * @param labels alternating label names and values
+   */
+  public void gauge(
+      final String name, final String help, final LongSupplier value, final String... labels) {
+    family(Type.GAUGE, name, help).series().put(labels(labels), new Gauge(value));
+  }
+
+  /**
+   * @param name the name of the histogram, without {@link #PREFIX}
+   * @param help the description of the histogram
+   * @param buckets the upper bounds of the buckets, used only on first registration
+   * @param labels alternating label names and values
+   * @return the histogram registered under {@code name} and {@code labels}
+   */
+  public Histogram histogram(
+      final String name, final String help, final double[] buckets, final String... labels) {
+    return (Histogram) register(Type.HISTOGRAM, name, help, labels, () -> new Histogram(buckets));
+  }
+
+  /**
+   * Execute a request of an RPC endpoint, recording its duration and whether it failed.
+   *
+   * @param endpoint the name of the endpoint
+   * @param request the request processing
+   * @return the result of {@code request}
+   */
+  public <T> T timeRequest(final String endpoint, final Supplier<T> request) {
+    final Stopwatch sw = Stopwatch.createStarted();
+    try {
+      return request.get();
+    } catch (RuntimeException e) {
+      counter("request_failures_total", "Failed RPC requests", "endpoint", endpoint).inc();
+      throw e;
+    } finally {
+      histogram(
+              "request_duration_seconds",
+              "Duration of the RPC requests",
+              DURATION_BUCKETS,
+              "endpoint",
+              endpoint)
+          .observe(sw);
+    }
+  }
+
+  /** @return all the registered metrics, in the Prometheus text exposition format */
+  public String render() {
+    final StringBuilder out = new StringBuilder();
+    for (Map.Entry<String, Family> entry : families.entrySet()) {
+      final String name = entry.getKey();
+      final Family family = entry.getValue();
+      out.append("# HELP ").append(name).append(' ').append(family.help()).append('\n');
+      out.append("# TYPE ").append(name).append(' ').append(family.type().exposed()).append('\n');
+      for (Map.Entry<String, Metric> series : family.series().entrySet()) {
+        series.getValue().render(name, series.getKey(), out);
+      }
+    }
+    return out.toString();
+  }
+
+  public void clear() {
+    families.clear();
+  }
+
+  private Metric register(
+      final Type type,
+      final String name,
+      final String help,
+      final String[] labels,
+      final Supplier<Metric> factory) {
+    return family(type, name, help).series().computeIfAbsent(labels(labels), k -> factory.get());
+  }
+
+  private Family family(final Type type, final String name, final String help) {
+    final String fullName = PREFIX + name;
+    Preconditions.checkArgument(
+        NAME_PATTERN.matcher(fullName).matches(), "Invalid metric name %s", name);
+    final Family family =
+        families.computeIfAbsent(
+            fullName, k -> new Family(type, help, new ConcurrentSkipListMap<>()));
+    Preconditions.checkArgument(
+        family.type() == type, "%s is already registered as a %s", name, family.type());
+    return family;
+  }
+
+  private static String labels(final String[] labels) {
+    Preconditions.checkArgument(labels.length % 2 == 0, "Labels must be name/value pairs");
+    final StringBuilder out = new StringBuilder();
+    for (int i = 0; i < labels.length; i += 2) {
+      Preconditions.checkArgument(
+          NAME_PATTERN.matcher(labels[i]).matches(), "Invalid label name %s", labels[i]);
+      if (i > 0) {
+        out.append(',');
+      }
+      out.append(labels[i]).append("=\"").append(escape(labels[i + 1])).append('"');
+    }
+    return out.toString();
+  }
+
+  private static String escape(final String value) {
+    return value.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+  }
+
+  private static String braces(final String labels) {
+    return labels.isEmpty() ? "" : "{" + labels + "}";
+  }
+
+  private static String format(final double value) {
+    return value == Math.rint(value) && !Double.isInfinite(value)
+        ? String.valueOf((long) value)
+        : String.valueOf(value);
+  }
+}
@@ -29,6 +29,7 @@ import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.AbstractLineaOptionsPlugin;
 import net.consensys.linea.plugins.BesuServiceProvider;
 import net.consensys.linea.plugins.LineaOptionsPluginConfiguration;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.RequestLimiterDispatcher;
 import org.hyperledger.besu.plugin.BesuContext;
@@ -39,6 +40,8 @@ import org.hyperledger.besu.plugin.services.sync.SynchronizationService;
 @AutoService(BesuPlugin.class)
 public class TracerReadinessPlugin extends AbstractLineaOptionsPlugin {
   private static final String TRACER_READINESS_ENDPOINT_NAME = "/tracer-readiness";
+  private static final String TRACER_METRICS_ENDPOINT_NAME = "/metrics";
+  private static final String METRICS_CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
 
   private final AtomicBoolean isInSync = new AtomicBoolean(false);
 
@@ -116,6 +119,17 @@ public class TracerReadinessPlugin extends AbstractLineaOptionsPlugin {
               }
             });
 
+    // Register the service-level metrics handler
+    router
+        .get(TRACER_METRICS_ENDPOINT_NAME)
+        .handler(
+            routingContext ->
+                routingContext
+                    .response()
+                    .putHeader("Content-Type", METRICS_CONTENT_TYPE)
+                    .setStatusCode(200)
+                    .end(TracerMetrics.shared().render()));
+
     // Start the Vertx HTTP server
     server =
         vertx
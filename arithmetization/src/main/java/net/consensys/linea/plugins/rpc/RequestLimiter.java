@@ -20,6 +20,7 @@ import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 
 import lombok.Builder;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.plugin.services.exception.PluginRpcEndpointException;
 import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
@@ -35,6 +36,11 @@ public class RequestLimiter {
 
   public <T extends PluginRpcRequest, R> R execute(T request, Function<T, R> processingFunc) {
     if (!semaphore.tryAcquire()) {
+      TracerMetrics.shared()
+          .counter(
+              "request_limiter_rejections_total",
+              "RPC requests rejected because all the concurrent request slots were taken")
+          .inc();
       throw new PluginRpcEndpointException(
           RpcErrorType.INVALID_REQUEST,
           "Request still in progress, wait until available permits are available.");
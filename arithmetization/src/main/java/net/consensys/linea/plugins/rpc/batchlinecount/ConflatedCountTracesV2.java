@@ -22,10 +22,12 @@ import java.util.TreeMap;
 import com.google.common.base.Stopwatch;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.BesuServiceProvider;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.Validator;
-import net.consensys.linea.plugins.rpc.tracegeneration.TraceRequestParams;
+import net.consensys.linea.zktracer.TransactionLineCounts;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.ZkTracerPool;
 import net.consensys.linea.zktracer.json.JsonConverter;
 import org.hyperledger.besu.plugin.BesuContext;
 import org.hyperledger.besu.plugin.services.TraceService;
@@ -65,7 +67,8 @@ public class ConflatedCountTracesV2 {
    * @return an execution file trace.
    */
   public ConflatedLineCounts execute(final PluginRpcRequest request) {
-    return requestLimiter.execute(request, this::countConflation);
+    return TracerMetrics.shared()
+        .timeRequest(getName(), () -> requestLimiter.execute(request, this::countConflation));
   }
 
   private ConflatedLineCounts countConflation(PluginRpcRequest request) {
@@ -78,23 +81,32 @@ public class ConflatedCountTracesV2 {
 
     Validator.validatePluginRpcRequestParams(rawParams);
 
-    TraceRequestParams params =
-        CONVERTER.fromJson(CONVERTER.toJson(rawParams[0]), TraceRequestParams.class);
+    ConflatedLineCountsRequestParams params =
+        CONVERTER.fromJson(
+            CONVERTER.toJson(rawParams[0]), ConflatedLineCountsRequestParams.class);
 
     params.validate();
 
     final long fromBlock = params.startBlockNumber();
     final long toBlock = params.endBlockNumber();
-    final ZkTracer tracer = new ZkTracer();
-
-    traceService.trace(
-        fromBlock,
-        toBlock,
-        worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
-        tracer::traceEndConflation,
-        tracer);
-
-    Map<String, Integer> counts = tracer.getModulesLineCount();
+    final ZkTracer tracer = ZkTracerPool.shared().acquire();
+    tracer.setLineCountsByTx(params.countsByTransaction());
+    final Map<String, Integer> counts;
+    final Map<String, Map<String, Integer>> countsByTransaction;
+    try {
+      traceService.trace(
+          fromBlock,
+          toBlock,
+          worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
+          tracer::traceEndConflation,
+          tracer);
+
+      counts = tracer.getModulesLineCount();
+      countsByTransaction =
+          tracer.getTransactionLineCounts().map(TransactionLineCounts::byTransaction).orElse(null);
+    } finally {
+      ZkTracerPool.shared().release(tracer);
+    }
     log.info(
         "[TRACING] counting lines for conflated blocks {}-{} computed in {}",
         fromBlock,
@@ -103,6 +115,10 @@ public class ConflatedCountTracesV2 {
     sw.reset().start();
 
     return new ConflatedLineCounts(
-        params.expectedTracesEngineVersion(), fromBlock, toBlock, new TreeMap<>(counts));
+        params.expectedTracesEngineVersion(),
+        fromBlock,
+        toBlock,
+        new TreeMap<>(counts),
+        countsByTransaction);
   }
 }
@@ -17,11 +17,19 @@ package net.consensys.linea.plugins.rpc.batchlinecount;
 
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-/** FileTrace represents an execution trace. */
+/**
+ * FileTrace represents an execution trace.
+ *
+ * @param traceCountersByTransaction the lines added to every module by each transaction of the
+ *     conflation, by transaction hash; only present if requested
+ */
 public record ConflatedLineCounts(
     @JsonProperty("tracesEngineVersion") String tracesEngineVersion,
     @JsonProperty("from") long from,
     @JsonProperty("to") long to,
-    @JsonProperty("tracesCounters") Map<String, Integer> traceCountersByModule) {}
+    @JsonProperty("tracesCounters") Map<String, Integer> traceCountersByModule,
+    @JsonProperty("transactionsTracesCounters") @JsonInclude(JsonInclude.Include.NON_NULL)
+        Map<String, Map<String, Integer>> traceCountersByTransaction) {}
@@ -0,0 +1,67 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.batchlinecount;
+
+import java.security.InvalidParameterException;
+
+import net.consensys.linea.zktracer.ZkTracer;
+
+/**
+ * Holds needed parameters for sending a conflated line counts request.
+ *
+ * @param byTransaction whether to break the line counts of every module down by transaction; only
+ *     the conflation totals are returned if absent
+ */
+public record ConflatedLineCountsRequestParams(
+    long startBlockNumber,
+    long endBlockNumber,
+    String expectedTracesEngineVersion,
+    Boolean byTransaction) {
+
+  public void validate() {
+    if (!expectedTracesEngineVersion.equals(getTracerRuntime())) {
+      throw new InvalidParameterException(
+          "INVALID_TRACES_VERSION: Runtime version is %s, requesting version %s"
+              .formatted(getTracerRuntime(), expectedTracesEngineVersion));
+    }
+
+    if (startBlockNumber < 0) {
+      throw new InvalidParameterException(
+          "INVALID_START_BLOCK_NUMBER: startBlockNumber: %d cannot be a negative number"
+              .formatted(startBlockNumber));
+    }
+
+    if (endBlockNumber < 0) {
+      throw new InvalidParameterException(
+          "INVALID_END_BLOCK_NUMBER: endBlockNumber: %d cannot be a negative number"
+              .formatted(endBlockNumber));
+    }
+
+    if (endBlockNumber - startBlockNumber < 0) {
+      throw new InvalidParameterException(
+          "INVALID_END_BLOCK_NUMBER: endBlockNumber: %d cannot be less than startBlockNumber: %d"
+              .formatted(endBlockNumber, startBlockNumber));
+    }
+  }
+
+  public boolean countsByTransaction() {
+    return Boolean.TRUE.equals(byTransaction);
+  }
+
+  private static String getTracerRuntime() {
+    return ZkTracer.class.getPackage().getSpecificationVersion();
+  }
+}
@@ -18,6 +18,7 @@ package net.consensys.linea.plugins.rpc.capture;
 import com.google.common.base.Stopwatch;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.blockcapture.BlockCapturer;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import org.hyperledger.besu.plugin.BesuContext;
 import org.hyperledger.besu.plugin.services.TraceService;
 import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
@@ -52,6 +53,10 @@ public class CaptureToFile {
    * @return an execution file trace.
    */
   public Capture execute(final PluginRpcRequest request) {
+    return TracerMetrics.shared().timeRequest(getName(), () -> capture(request));
+  }
+
+  private Capture capture(final PluginRpcRequest request) {
     if (this.traceService == null) {
       this.traceService = getTraceService();
     }
@@ -15,38 +15,51 @@
 
 package net.consensys.linea.plugins.rpc.linecounts;
 
+import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 
 import com.google.common.base.Stopwatch;
-import com.google.common.cache.Cache;
-import com.google.common.cache.CacheBuilder;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.BesuServiceProvider;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.Validator;
+import net.consensys.linea.zktracer.TransactionLineCounts;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.ZkTracerPool;
 import net.consensys.linea.zktracer.json.JsonConverter;
+import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.plugin.BesuContext;
+import org.hyperledger.besu.plugin.services.BlockchainService;
 import org.hyperledger.besu.plugin.services.TraceService;
 import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
 
-/** This class is used to generate trace counters. */
+/**
+ * This class is used to generate trace counters. The counts are served from the {@link
+ * LineCountsStore} when available, without taking a slot of the {@link RequestLimiter}; they are
+ * otherwise computed and stored.
+ */
 @Slf4j
 public class GenerateLineCountsV2 {
   private static final JsonConverter CONVERTER = JsonConverter.builder().build();
-  private static final int CACHE_SIZE = 10_000;
-  private static final Cache<Long, Map<String, Integer>> CACHE =
-      CacheBuilder.newBuilder().maximumSize(CACHE_SIZE).build();
 
   private final RequestLimiter requestLimiter;
+  private final LineCountsStore store;
 
   private final BesuContext besuContext;
   private TraceService traceService;
+  private BlockchainService blockchainService;
 
   public GenerateLineCountsV2(final BesuContext context, final RequestLimiter requestLimiter) {
+    this(context, requestLimiter, LineCountsStore.shared());
+  }
+
+  public GenerateLineCountsV2(
+      final BesuContext context, final RequestLimiter requestLimiter, final LineCountsStore store) {
     this.besuContext = context;
     this.requestLimiter = requestLimiter;
+    this.store = store;
   }
 
   public String getNamespace() {
@@ -62,18 +75,121 @@ public class GenerateLineCountsV2 {
    *
    * @param request The PluginRpcRequest object encapsulating the parameters of the RPC request.
    * @return A Counters object encapsulating the results of the counters generation (Modules Line
-   *     Count). The method uses a caching mechanism to store and retrieve previously computed trace
-   *     counters for specific block numbers
+   *     Count). The counts of a block are stored by block hash, so that they are reused until the
+   *     block is reorged out
    *     <p>If an exception occurs during the execution of the request, it is caught and wrapped in
    *     a PluginRpcEndpointException and rethrown.
    */
   public LineCounts execute(final PluginRpcRequest request) {
-    return requestLimiter.execute(request, this::getLineCounts);
+    return TracerMetrics.shared()
+        .timeRequest(
+            getName(),
+            () ->
+                storedLineCounts(request)
+                    .orElseGet(() -> requestLimiter.execute(request, this::getLineCounts)));
+  }
+
+  /**
+   * @return the stored counts of the requested block, if any; malformed requests are left to be
+   *     reported by {@link #getLineCounts}
+   */
+  private Optional<LineCounts> storedLineCounts(final PluginRpcRequest request) {
+    final LineCountsRequestParams params;
+    try {
+      params = parseParams(request);
+    } catch (RuntimeException e) {
+      return Optional.empty();
+    }
+    if (params.countsByTransaction()) {
+      // the store only holds the block totals
+      return Optional.empty();
+    }
+
+    final long blockNumber = params.blockNumber();
+    return canonicalBlockHash(blockNumber)
+        .flatMap(blockHash -> store.get(blockNumber, blockHash))
+        .map(
+            counts ->
+                new LineCounts(params.expectedTracesEngineVersion(), blockNumber, counts, null));
   }
 
   private LineCounts getLineCounts(PluginRpcRequest request) {
     final Stopwatch sw = Stopwatch.createStarted();
 
+    final LineCountsRequestParams params = parseParams(request);
+    final long requestedBlockNumber = params.blockNumber();
+    final Hash blockHash =
+        canonicalBlockHash(requestedBlockNumber)
+            .orElseThrow(
+                () -> new IllegalArgumentException("Block not found: " + requestedBlockNumber));
+
+    final Optional<Map<String, Integer>> storedLineCounts =
+        params.countsByTransaction()
+            ? Optional.empty()
+            : store.get(requestedBlockNumber, blockHash);
+    final LineCounts lineCounts =
+        storedLineCounts
+            .map(
+                counts ->
+                    new LineCounts(
+                        params.expectedTracesEngineVersion(), requestedBlockNumber, counts, null))
+            .orElseGet(() -> traceLineCounts(params, blockHash));
+    store.put(requestedBlockNumber, blockHash, lineCounts.traceCountersByModule());
+
+    log.info("Line count for {} returned in {}", requestedBlockNumber, sw);
+
+    return lineCounts;
+  }
+
+  private LineCounts traceLineCounts(final LineCountsRequestParams params, final Hash blockHash) {
+    final long blockNumber = params.blockNumber();
+    return ZkTracerPool.shared()
+        .apply(
+            tracer -> {
+              tracer.setLineCountsByTx(params.countsByTransaction());
+              traceBlock(traceService, tracer, blockNumber, blockHash);
+
+              return new LineCounts(
+                  params.expectedTracesEngineVersion(),
+                  blockNumber,
+                  tracer.getModulesLineCount(),
+                  tracer
+                      .getTransactionLineCounts()
+                      .map(TransactionLineCounts::byTransaction)
+                      .orElse(null));
+            });
+  }
+
+  /**
+   * Trace a single block as a conflation of its own.
+   *
+   * @param traceService the service tracing the canonical block at a given height
+   * @param tracer the tracer to trace the block into
+   * @param blockNumber the number of the block
+   * @param blockHash the hash of the block
+   * @throws IllegalStateException if the canonical block at {@code blockNumber} is no longer
+   *     {@code blockHash}, e.g. after a reorg, in which case the counts of the tracer are those of
+   *     another block
+   */
+  static void traceBlock(
+      final TraceService traceService,
+      final ZkTracer tracer,
+      final long blockNumber,
+      final Hash blockHash) {
+    traceService.trace(
+        blockNumber,
+        blockNumber,
+        worldStateBeforeTracing -> tracer.traceStartConflation(1),
+        tracer::traceEndConflation,
+        tracer);
+    if (!tracer.getTracedBlockHashes().equals(List.of(blockHash))) {
+      throw new IllegalStateException(
+          "Block %d is no longer %s, traced %s instead"
+              .formatted(blockNumber, blockHash, tracer.getTracedBlockHashes()));
+    }
+  }
+
+  private LineCountsRequestParams parseParams(final PluginRpcRequest request) {
     this.traceService =
         Optional.ofNullable(traceService).orElse(BesuServiceProvider.getTraceService(besuContext));
 
@@ -86,30 +202,16 @@ public class GenerateLineCountsV2 {
 
     params.validate();
 
-    final long requestedBlockNumber = params.blockNumber();
-
-    final LineCounts r =
-        new LineCounts(
-            params.expectedTracesEngineVersion(),
-            requestedBlockNumber,
-            CACHE
-                .asMap()
-                .computeIfAbsent(
-                    requestedBlockNumber,
-                    blockNumber -> {
-                      final ZkTracer tracer = new ZkTracer();
-                      traceService.trace(
-                          blockNumber,
-                          blockNumber,
-                          worldStateBeforeTracing -> tracer.traceStartConflation(1),
-                          tracer::traceEndConflation,
-                          tracer);
-
-                      return tracer.getModulesLineCount();
-                    }));
+    return params;
+  }
 
-    log.info("Line count for {} returned in {}", requestedBlockNumber, sw);
+  private Optional<Hash> canonicalBlockHash(final long blockNumber) {
+    this.blockchainService =
+        Optional.ofNullable(blockchainService)
+            .orElse(BesuServiceProvider.getBlockchainService(besuContext));
 
-    return r;
+    return blockchainService
+        .getBlockByNumber(blockNumber)
+        .map(block -> block.getBlockHeader().getBlockHash());
   }
 }
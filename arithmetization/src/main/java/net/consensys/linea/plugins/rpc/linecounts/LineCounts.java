@@ -17,10 +17,18 @@ package net.consensys.linea.plugins.rpc.linecounts;
 
 import java.util.Map;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-/** FileTrace represents an execution trace. */
+/**
+ * FileTrace represents an execution trace.
+ *
+ * @param traceCountersByTransaction the lines added to every module by each transaction of the
+ *     block, by transaction hash; only present if requested
+ */
 public record LineCounts(
     @JsonProperty("tracesEngineVersion") String tracesEngineVersion,
     @JsonProperty("blockNumber") long blockNumber,
-    @JsonProperty("tracesCounters") Map<String, Integer> traceCountersByModule) {}
+    @JsonProperty("tracesCounters") Map<String, Integer> traceCountersByModule,
+    @JsonProperty("transactionsTracesCounters") @JsonInclude(JsonInclude.Include.NON_NULL)
+        Map<String, Map<String, Integer>> traceCountersByTransaction) {}
@@ -0,0 +1,98 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.linecounts;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.zktracer.ZkTracerPool;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.data.AddedBlockContext;
+import org.hyperledger.besu.plugin.data.BlockHeader;
+import org.hyperledger.besu.plugin.services.BesuEvents;
+import org.hyperledger.besu.plugin.services.TraceService;
+
+/**
+ * Computes the line counts of every imported block in the background and stores them in a {@link
+ * LineCountsStore}, so that {@code getBlockTracesCountersV2} answers recent blocks without tracing.
+ *
+ * <p>Blocks are traced one at a time; blocks imported while the queue is full (e.g. while syncing)
+ * are skipped, their counts being computed on demand instead. So are the blocks no longer
+ * canonical by the time they are traced, e.g. those of a fork or reorged out, since the trace
+ * service only traces canonical blocks.
+ */
+@Slf4j
+public class LineCountsBlockAddedListener implements BesuEvents.BlockAddedListener {
+  static final int QUEUE_SIZE = 16;
+
+  /** How often, in blocks, the counts older than the retention are deleted */
+  static final int PRUNING_PERIOD = 1_000;
+
+  private final TraceService traceService;
+  private final LineCountsStore store;
+  private final long retentionBlocks;
+
+  private final ThreadPoolExecutor pool =
+      new ThreadPoolExecutor(
+          1,
+          1,
+          0L,
+          TimeUnit.SECONDS,
+          new ArrayBlockingQueue<>(QUEUE_SIZE),
+          new ThreadFactoryBuilder().setNameFormat("line-counts-%d").setDaemon(true).build(),
+          new ThreadPoolExecutor.DiscardPolicy());
+
+  public LineCountsBlockAddedListener(
+      final TraceService traceService, final LineCountsStore store, final long retentionBlocks) {
+    this.traceService = traceService;
+    this.store = store;
+    this.retentionBlocks = retentionBlocks;
+  }
+
+  @Override
+  public void onBlockAdded(final AddedBlockContext addedBlockContext) {
+    final BlockHeader blockHeader = addedBlockContext.getBlockHeader();
+    pool.execute(() -> countLines(blockHeader.getNumber(), blockHeader.getBlockHash()));
+  }
+
+  private void countLines(final long blockNumber, final Hash blockHash) {
+    if (store.get(blockNumber, blockHash).isPresent()) {
+      return;
+    }
+
+    try {
+      final Map<String, Integer> lineCounts =
+          ZkTracerPool.shared()
+              .apply(
+                  tracer -> {
+                    GenerateLineCountsV2.traceBlock(traceService, tracer, blockNumber, blockHash);
+                    return tracer.getModulesLineCount();
+                  });
+      store.put(blockNumber, blockHash, lineCounts);
+    } catch (Exception e) {
+      log.warn("Could not count the lines of block {}: {}", blockNumber, e.getMessage());
+      return;
+    }
+
+    if (blockNumber % PRUNING_PERIOD == 0 && blockNumber > retentionBlocks) {
+      store.pruneBelow(blockNumber - retentionBlocks);
+    }
+  }
+}
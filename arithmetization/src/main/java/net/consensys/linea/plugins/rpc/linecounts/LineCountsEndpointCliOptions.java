@@ -0,0 +1,91 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.linecounts;
+
+import com.google.common.base.MoreObjects;
+import net.consensys.linea.plugins.LineaCliOptions;
+import picocli.CommandLine;
+
+class LineCountsEndpointCliOptions implements LineaCliOptions {
+
+  static final String CONFIG_KEY = "line-counts-endpoint-config";
+
+  static final String LINE_COUNTS_STORE_ENABLED = "--plugin-linea-line-counts-store-enabled";
+
+  static final String LINE_COUNTS_STORE_RETENTION_BLOCKS =
+      "--plugin-linea-line-counts-store-retention-blocks";
+
+  @CommandLine.Option(
+      names = {LINE_COUNTS_STORE_ENABLED},
+      hidden = true,
+      paramLabel = "<BOOLEAN>",
+      description =
+          "Count the lines of every imported block and persist them under the data path"
+              + " (default: false)")
+  private boolean storeEnabled = false;
+
+  @CommandLine.Option(
+      names = {LINE_COUNTS_STORE_RETENTION_BLOCKS},
+      hidden = true,
+      paramLabel = "<BLOCK_COUNT>",
+      description = "Number of most recent blocks whose line counts are kept (default: 100000)")
+  private long storeRetentionBlocks = 100_000;
+
+  private LineCountsEndpointCliOptions() {}
+
+  /**
+   * Create Linea cli options.
+   *
+   * @return the Linea cli options
+   */
+  static LineCountsEndpointCliOptions create() {
+    return new LineCountsEndpointCliOptions();
+  }
+
+  /**
+   * Linea cli options from config.
+   *
+   * @param config the config
+   * @return the Linea cli options
+   */
+  static LineCountsEndpointCliOptions fromConfig(final LineCountsEndpointConfiguration config) {
+    final LineCountsEndpointCliOptions options = create();
+    options.storeEnabled = config.storeEnabled();
+    options.storeRetentionBlocks = config.storeRetentionBlocks();
+    return options;
+  }
+
+  /**
+   * To domain object Linea factory configuration.
+   *
+   * @return the Linea factory configuration
+   */
+  @Override
+  public LineCountsEndpointConfiguration toDomainObject() {
+    return LineCountsEndpointConfiguration.builder()
+        .storeEnabled(storeEnabled)
+        .storeRetentionBlocks(storeRetentionBlocks)
+        .build();
+  }
+
+  @Override
+  public String toString() {
+    return MoreObjects.toStringHelper(this)
+        .add(LINE_COUNTS_STORE_ENABLED, storeEnabled)
+        .add(LINE_COUNTS_STORE_RETENTION_BLOCKS, storeRetentionBlocks)
+        .toString();
+  }
+}
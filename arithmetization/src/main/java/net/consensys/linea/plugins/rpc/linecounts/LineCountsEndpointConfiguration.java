@@ -0,0 +1,29 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.linecounts;
+
+import lombok.Builder;
+import net.consensys.linea.plugins.LineaOptionsConfiguration;
+
+/**
+ * The line counts endpoint configuration.
+ *
+ * @param storeEnabled whether the line counts of imported blocks are computed and persisted
+ * @param storeRetentionBlocks the number of most recent blocks whose line counts are kept
+ */
+@Builder(toBuilder = true)
+public record LineCountsEndpointConfiguration(boolean storeEnabled, long storeRetentionBlocks)
+    implements LineaOptionsConfiguration {}
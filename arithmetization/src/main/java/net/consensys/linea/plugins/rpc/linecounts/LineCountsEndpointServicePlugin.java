@@ -15,9 +15,14 @@
 
 package net.consensys.linea.plugins.rpc.linecounts;
 
+import java.io.IOException;
+import java.util.Map;
+
 import com.google.auto.service.AutoService;
+import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.AbstractLineaPrivateOptionsPlugin;
 import net.consensys.linea.plugins.BesuServiceProvider;
+import net.consensys.linea.plugins.LineaOptionsPluginConfiguration;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.RequestLimiterDispatcher;
 import org.hyperledger.besu.plugin.BesuContext;
@@ -30,11 +35,27 @@ import org.hyperledger.besu.plugin.services.RpcEndpointService;
  * <p>The CountersEndpointServicePlugin registers an RPC endpoint named
  * 'getTracesCountersByBlockNumberV0' under the 'rollup' namespace. When this endpoint is called,
  * returns trace counters based on the provided request parameters. See {@link GenerateLineCountsV2}
+ *
+ * <p>When the line counts store is enabled, the counts of every imported block are computed in the
+ * background and persisted under the Besu data path. See {@link LineCountsBlockAddedListener}
  */
+@Slf4j
 @AutoService(BesuPlugin.class)
 public class LineCountsEndpointServicePlugin extends AbstractLineaPrivateOptionsPlugin {
+  private static final String LINE_COUNTS_STORE_DIRECTORY = "linea-line-counts";
+
   private BesuContext besuContext;
   private RpcEndpointService rpcEndpointService;
+  private LineCountsEndpointConfiguration endpointConfiguration;
+
+  @Override
+  public Map<String, LineaOptionsPluginConfiguration> getLineaPluginConfigMap() {
+    final LineCountsEndpointCliOptions lineCountsEndpointCliOptions =
+        LineCountsEndpointCliOptions.create();
+
+    return Map.of(
+        LineCountsEndpointCliOptions.CONFIG_KEY, lineCountsEndpointCliOptions.asPluginConfig());
+  }
 
   /**
    * Register the RPC service.
@@ -52,6 +73,10 @@ public class LineCountsEndpointServicePlugin extends AbstractLineaPrivateOptions
   public void beforeExternalServices() {
     super.beforeExternalServices();
 
+    endpointConfiguration =
+        (LineCountsEndpointConfiguration)
+            getConfigurationByKey(LineCountsEndpointCliOptions.CONFIG_KEY).optionsConfig();
+
     RequestLimiterDispatcher.setLimiterIfMissing(
         RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY,
         rpcConfiguration().concurrentRequestsLimit());
@@ -75,7 +100,28 @@ public class LineCountsEndpointServicePlugin extends AbstractLineaPrivateOptions
         method.getNamespace(), method.getName(), method::execute);
   }
 
-  /** Start the RPC service. This method loads the OpCodes. */
+  /** Start counting the lines of imported blocks, if the line counts store is enabled. */
   @Override
-  public void start() {}
+  public void start() {
+    if (!endpointConfiguration.storeEnabled()) {
+      return;
+    }
+
+    try {
+      LineCountsStore.shared()
+          .persistTo(
+              BesuServiceProvider.getBesuConfiguration(besuContext)
+                  .getDataPath()
+                  .resolve(LINE_COUNTS_STORE_DIRECTORY));
+    } catch (IOException e) {
+      log.warn("Line counts will only be kept in memory: {}", e.getMessage());
+    }
+
+    BesuServiceProvider.getBesuEventsService(besuContext)
+        .addBlockAddedListener(
+            new LineCountsBlockAddedListener(
+                BesuServiceProvider.getTraceService(besuContext),
+                LineCountsStore.shared(),
+                endpointConfiguration.storeRetentionBlocks()));
+  }
 }
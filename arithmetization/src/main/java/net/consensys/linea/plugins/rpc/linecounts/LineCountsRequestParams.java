@@ -19,8 +19,14 @@ import java.security.InvalidParameterException;
 
 import net.consensys.linea.zktracer.ZkTracer;
 
-/** Holds needed parameters for sending an execution trace generation request. */
-public record LineCountsRequestParams(long blockNumber, String expectedTracesEngineVersion) {
+/**
+ * Holds needed parameters for sending an execution trace generation request.
+ *
+ * @param byTransaction whether to break the line counts of every module down by transaction; only
+ *     the block totals are returned if absent
+ */
+public record LineCountsRequestParams(
+    long blockNumber, String expectedTracesEngineVersion, Boolean byTransaction) {
   public void validate() {
     if (!expectedTracesEngineVersion.equals(getTracerRuntime())) {
       throw new InvalidParameterException(
@@ -36,6 +42,10 @@ public record LineCountsRequestParams(long blockNumber, String expectedTracesEng
     }
   }
 
+  public boolean countsByTransaction() {
+    return Boolean.TRUE.equals(byTransaction);
+  }
+
   private static String getTracerRuntime() {
     return ZkTracer.class.getPackage().getSpecificationVersion();
   }
@@ -0,0 +1,174 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.linecounts;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import lombok.extern.slf4j.Slf4j;
+import net.consensys.linea.zktracer.ZkTracer;
+import org.hyperledger.besu.datatypes.Hash;
+
+/**
+ * Stores the module line counts of blocks, keyed by block hash so that the counts of a block
+ * replaced by a reorg are never served for its successor at the same height.
+ *
+ * <p>The most recent counts are kept in memory. Once {@link #persistTo(Path)} is called, counts are
+ * also written to one small file per block, under a directory specific to the tracer version, so
+ * that they survive restarts and are never served by another version of the tracer.
+ */
+@Slf4j
+public class LineCountsStore {
+  private static final int MEMORY_CACHE_SIZE = 10_000;
+  private static final String FILE_SUFFIX = ".json";
+  private static final String TMP_FILE_SUFFIX = FILE_SUFFIX + ".tmp";
+  private static final ObjectMapper MAPPER = new ObjectMapper();
+  private static final TypeReference<TreeMap<String, Integer>> LINE_COUNTS_TYPE =
+      new TypeReference<>() {};
+
+  /** The store shared by the RPC endpoints of this process */
+  private static final LineCountsStore SHARED = new LineCountsStore();
+
+  private final Cache<Hash, Map<String, Integer>> memory =
+      CacheBuilder.newBuilder().maximumSize(MEMORY_CACHE_SIZE).build();
+
+  /** The directory holding the counts of the current tracer version, if persisted */
+  private volatile Path directory = null;
+
+  public static LineCountsStore shared() {
+    return SHARED;
+  }
+
+  /**
+   * Persist the counts stored from now on under {@code root}, and serve the ones persisted there by
+   * previous runs of the same tracer version. The temporary files of the writes interrupted by a
+   * previous run are deleted.
+   *
+   * @param root the directory holding the counts of all the tracer versions
+   */
+  public void persistTo(final Path root) throws IOException {
+    final Path versionDirectory = root.resolve(tracerVersion());
+    Files.createDirectories(versionDirectory);
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(versionDirectory, "*" + TMP_FILE_SUFFIX)) {
+      for (Path file : files) {
+        Files.deleteIfExists(file);
+      }
+    }
+    this.directory = versionDirectory;
+  }
+
+  /**
+   * @param blockNumber the number of the block
+   * @param blockHash the hash of the block
+   * @return the line counts of the block, if stored
+   */
+  public Optional<Map<String, Integer>> get(final long blockNumber, final Hash blockHash) {
+    final Map<String, Integer> cached = memory.getIfPresent(blockHash);
+    if (cached != null) {
+      return Optional.of(cached);
+    }
+
+    final Path directory = this.directory;
+    if (directory == null) {
+      return Optional.empty();
+    }
+    final Path file = directory.resolve(fileName(blockNumber, blockHash));
+    if (!Files.exists(file)) {
+      return Optional.empty();
+    }
+    try {
+      final Map<String, Integer> counts = MAPPER.readValue(file.toFile(), LINE_COUNTS_TYPE);
+      memory.put(blockHash, counts);
+      return Optional.of(counts);
+    } catch (IOException e) {
+      log.warn("Ignoring unreadable line counts {}: {}", file, e.getMessage());
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * Store the line counts of a block.
+   *
+   * @param blockNumber the number of the block
+   * @param blockHash the hash of the block
+   * @param counts the line count of every module after tracing the block alone
+   */
+  public void put(final long blockNumber, final Hash blockHash, final Map<String, Integer> counts) {
+    final Map<String, Integer> sortedCounts = new TreeMap<>(counts);
+    memory.put(blockHash, sortedCounts);
+
+    final Path directory = this.directory;
+    if (directory == null) {
+      return;
+    }
+    final Path file = directory.resolve(fileName(blockNumber, blockHash));
+    try {
+      final Path tmpFile = file.resolveSibling(file.getFileName() + ".tmp");
+      Files.writeString(tmpFile, MAPPER.writeValueAsString(sortedCounts), StandardCharsets.UTF_8);
+      Files.move(tmpFile, file, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Could not persist line counts of block {}: {}", blockNumber, e.getMessage());
+    }
+  }
+
+  /**
+   * Delete the persisted counts of the blocks below {@code blockNumber}.
+   *
+   * @param blockNumber the lowest block number to keep
+   */
+  public void pruneBelow(final long blockNumber) {
+    final Path directory = this.directory;
+    if (directory == null) {
+      return;
+    }
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + FILE_SUFFIX)) {
+      for (Path file : files) {
+        final String name = file.getFileName().toString();
+        final int separator = name.indexOf('_');
+        if (separator > 0 && Long.parseLong(name.substring(0, separator)) < blockNumber) {
+          Files.deleteIfExists(file);
+        }
+      }
+    } catch (IOException | NumberFormatException e) {
+      log.warn("Could not prune line counts in {}: {}", directory, e.getMessage());
+    }
+  }
+
+  public void clear() {
+    memory.invalidateAll();
+  }
+
+  private static String fileName(final long blockNumber, final Hash blockHash) {
+    return blockNumber + "_" + blockHash.toUnprefixedHexString() + FILE_SUFFIX;
+  }
+
+  private static String tracerVersion() {
+    return Optional.ofNullable(ZkTracer.class.getPackage().getSpecificationVersion())
+        .orElse("unknown");
+  }
+}
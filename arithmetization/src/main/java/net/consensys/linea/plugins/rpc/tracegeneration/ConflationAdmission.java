@@ -0,0 +1,201 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.tracegeneration;
+
+import java.security.InvalidParameterException;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.LongFunction;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.hyperledger.besu.plugin.data.BlockContext;
+import org.hyperledger.besu.plugin.data.BlockHeader;
+
+/**
+ * Bounds the heap retained by the conflations being traced or written. A conflation is kept in heap
+ * by its tracer from the start of its tracing until its trace file is written; its footprint is
+ * estimated upfront from cheap per-block signals:
+ *
+ * <ul>
+ *   <li>the line counts of the block, when already stored by {@code getBlockTracesCountersV2};
+ *   <li>otherwise, the gas used by the block and its number of transactions.
+ * </ul>
+ *
+ * <p>A conflation whose estimate exceeds the whole budget is rejected, with the size of the ranges
+ * that would fit; otherwise it waits until enough of the budget is released by the conflations in
+ * flight.
+ */
+@Slf4j
+public class ConflationAdmission {
+  /** Estimated heap retained per trace line, across the operations of all the modules */
+  static final long BYTES_PER_LINE = 48;
+
+  /** Estimated heap retained per unit of gas, when the line counts of a block are unknown */
+  static final long BYTES_PER_GAS = 16;
+
+  /** Estimated heap retained per transaction, on top of its gas */
+  static final long BYTES_PER_TRANSACTION = 64 * 1024;
+
+  private static final long MIB = 1024 * 1024;
+
+  /** A budget of 0 disables admission control */
+  private final long budgetBytes;
+
+  private final long timeoutMillis;
+  private final Function<BlockHeader, Optional<Map<String, Integer>>> lineCounts;
+  private final LongFunction<Optional<BlockContext>> blocks;
+
+  /** The sum of the estimates of the conflations in flight */
+  private long reservedBytes = 0;
+
+  /**
+   * A reservation of the budget, to be released once the conflation is no longer retained.
+   *
+   * @param admission the admission controller the budget was reserved from; null if admission
+   *     control is disabled
+   * @param estimatedBytes the estimated heap footprint of the conflation
+   */
+  public record Ticket(ConflationAdmission admission, long estimatedBytes) {
+    static final Ticket UNCONTROLLED = new Ticket(null, 0);
+
+    public void release() {
+      if (admission != null) {
+        admission.release(estimatedBytes);
+      }
+    }
+  }
+
+  /**
+   * @param budgetMib the heap budget, in MiB, shared by the conflations in flight; 0 disables
+   *     admission control
+   * @param timeoutMillis how long a conflation may wait for the budget to be released
+   * @param lineCounts the stored line counts of a block, if any
+   * @param blocks the block of a given number, if known
+   */
+  public ConflationAdmission(
+      final long budgetMib,
+      final long timeoutMillis,
+      final Function<BlockHeader, Optional<Map<String, Integer>>> lineCounts,
+      final LongFunction<Optional<BlockContext>> blocks) {
+    Preconditions.checkArgument(budgetMib >= 0, "the memory budget must be positive");
+    Preconditions.checkArgument(timeoutMillis >= 0, "the admission timeout must be positive");
+    this.budgetBytes = budgetMib * MIB;
+    this.timeoutMillis = timeoutMillis;
+    this.lineCounts = lineCounts;
+    this.blocks = blocks;
+  }
+
+  public boolean enabled() {
+    return budgetBytes > 0;
+  }
+
+  /**
+   * @return the estimated heap footprint of tracing blocks {@code fromBlock} to {@code toBlock}
+   */
+  public long estimate(final long fromBlock, final long toBlock) {
+    long estimate = 0;
+    for (long block = fromBlock; block <= toBlock; block++) {
+      estimate += estimateBlock(block);
+    }
+    return estimate;
+  }
+
+  private long estimateBlock(final long blockNumber) {
+    return blocks.apply(blockNumber).map(this::estimateBlock).orElse(0L);
+  }
+
+  private long estimateBlock(final BlockContext block) {
+    final Optional<Map<String, Integer>> counts = lineCounts.apply(block.getBlockHeader());
+    if (counts.isPresent()) {
+      long lines = 0;
+      for (int moduleLines : counts.get().values()) {
+        lines += moduleLines;
+      }
+      return lines * BYTES_PER_LINE;
+    }
+
+    return block.getBlockHeader().getGasUsed() * BYTES_PER_GAS
+        + block.getBlockBody().getTransactions().size() * BYTES_PER_TRANSACTION;
+  }
+
+  /**
+   * Reserve the estimated footprint of a conflation, waiting for the conflations in flight to
+   * release enough of the budget if need be.
+   *
+   * @return the reservation, to be released once the conflation is no longer retained
+   * @throws InvalidParameterException if the conflation can never fit in the budget
+   * @throws IllegalStateException if the budget was not released in time
+   */
+  public Ticket admit(final long fromBlock, final long toBlock) {
+    if (!enabled()) {
+      return Ticket.UNCONTROLLED;
+    }
+
+    final long estimate = estimate(fromBlock, toBlock);
+    if (estimate > budgetBytes) {
+      final long blockCount = toBlock - fromBlock + 1;
+      final long fittingBlockCount = Math.max(1, blockCount * budgetBytes / estimate);
+      throw new InvalidParameterException(
+          ("CONFLATION_TOO_LARGE: estimated heap footprint of %d MiB for blocks %d-%d exceeds the"
+                  + " budget of %d MiB; request ranges of at most %d blocks")
+              .formatted(
+                  estimate / MIB, fromBlock, toBlock, budgetBytes / MIB, fittingBlockCount));
+    }
+
+    final long deadline = System.currentTimeMillis() + timeoutMillis;
+    synchronized (this) {
+      while (reservedBytes + estimate > budgetBytes) {
+        final long remaining = deadline - System.currentTimeMillis();
+        if (remaining <= 0) {
+          throw new IllegalStateException(
+              ("MEMORY_BUDGET_EXHAUSTED: estimated heap footprint of %d MiB for blocks %d-%d,"
+                      + " %d MiB of %d MiB still held by the conflations in flight")
+                  .formatted(
+                      estimate / MIB,
+                      fromBlock,
+                      toBlock,
+                      reservedBytes / MIB,
+                      budgetBytes / MIB));
+        }
+        try {
+          this.wait(remaining);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new IllegalStateException("Interrupted while waiting for the memory budget");
+        }
+      }
+      reservedBytes += estimate;
+    }
+
+    log.info(
+        "[TRACING] admitted {}-{} with an estimated footprint of {} MiB",
+        fromBlock,
+        toBlock,
+        estimate / MIB);
+    return new Ticket(this, estimate);
+  }
+
+  public synchronized long reservedBytes() {
+    return reservedBytes;
+  }
+
+  private synchronized void release(final long estimate) {
+    reservedBytes -= estimate;
+    this.notifyAll();
+  }
+}
@@ -15,20 +15,37 @@
 
 package net.consensys.linea.plugins.rpc.tracegeneration;
 
+import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.security.InvalidParameterException;
 import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 import com.google.common.base.Stopwatch;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.BesuServiceProvider;
+import net.consensys.linea.plugins.metrics.TracerMetrics;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.Validator;
+import net.consensys.linea.plugins.rpc.linecounts.LineCountsStore;
 import net.consensys.linea.tracewriter.TraceWriter;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.ZkTracerPool;
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
+import net.consensys.linea.zktracer.module.DebugMode;
 import net.consensys.linea.zktracer.json.JsonConverter;
+import org.hyperledger.besu.ethereum.api.jsonrpc.internal.response.RpcErrorType;
 import org.hyperledger.besu.plugin.BesuContext;
 import org.hyperledger.besu.plugin.services.TraceService;
+import org.hyperledger.besu.plugin.services.exception.PluginRpcEndpointException;
 import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
 
 /**
@@ -36,6 +53,16 @@ import org.hyperledger.besu.plugin.services.rpc.PluginRpcRequest;
  * named 'generateConflatedTracesToFileV0' under the 'rollup' namespace. When this endpoint is
  * called, it triggers the execution of the 'execute' method, which generates conflated file traces
  * based on the provided request parameters and writes them to a file.
+ *
+ * <p>Only the tracing holds a slot of the {@link RequestLimiter}: the trace file is then written by
+ * a bounded pool of writer threads, so that the next conflation can be traced in the meantime. The
+ * heap retained by the conflations in flight is bounded by a {@link ConflationAdmission}, which
+ * admits a conflation before it takes a slot, so that waiting for the budget never holds one.
+ *
+ * <p>The requests for a trace file already being written wait for that write, see {@link
+ * TraceFileWrites}; a write failing after its requester was answered PENDING is reported to the
+ * next request for the same trace file. The requests for a trace file already written are answered
+ * READY without tracing the conflation again.
  */
 @Slf4j
 public class GenerateConflatedTracesV2 {
@@ -47,13 +74,60 @@ public class GenerateConflatedTracesV2 {
   private final BesuContext besuContext;
   private TraceService traceService;
 
+  /** Writes the trace files; when saturated, the trace file is written by the tracing thread */
+  private final ThreadPoolExecutor traceFileWriters;
+
+  /** The trace files being written, and the failed writes not reported yet */
+  private final TraceFileWrites traceFileWrites = new TraceFileWrites();
+
+  private final ConflationAdmission admission;
+
+  /** The tracers of this endpoint, which presize their containers from the conflations traced */
+  private final ZkTracerPool tracerPool;
+
+  private record TraceFileWrite(
+      TraceRequestParams params, CompletableFuture<Path> completion, Long estimatedHeapBytes) {}
+
   public GenerateConflatedTracesV2(
       final BesuContext besuContext,
       final RequestLimiter requestLimiter,
-      final TracesEndpointConfiguration endpointConfiguration) {
+      final TracesEndpointConfiguration endpointConfiguration,
+      final ContainerSizingProfile sizingProfile) {
     this.besuContext = besuContext;
     this.requestLimiter = requestLimiter;
     this.tracesOutputPath = Paths.get(endpointConfiguration.tracesOutputPath());
+
+    final int writerThreads = Math.max(1, endpointConfiguration.traceFileWriterThreads());
+    this.traceFileWriters =
+        new ThreadPoolExecutor(
+            writerThreads,
+            writerThreads,
+            0L,
+            TimeUnit.SECONDS,
+            new ArrayBlockingQueue<>(writerThreads),
+            new ThreadFactoryBuilder()
+                .setNameFormat("trace-file-writer-%d")
+                .setDaemon(true)
+                .build(),
+            new ThreadPoolExecutor.CallerRunsPolicy());
+
+    this.tracerPool =
+        new ZkTracerPool(
+            () -> {
+              final ZkTracer tracer = new ZkTracer();
+              tracer.setSizingProfile(sizingProfile);
+              return tracer;
+            },
+            ZkTracerPool.DEFAULT_MAX_IDLE_TRACERS);
+
+    this.admission =
+        new ConflationAdmission(
+            endpointConfiguration.memoryBudgetMib(),
+            endpointConfiguration.admissionTimeoutMillis(),
+            header -> LineCountsStore.shared().get(header.getNumber(), header.getBlockHash()),
+            blockNumber ->
+                BesuServiceProvider.getBlockchainService(besuContext)
+                    .getBlockByNumber(blockNumber));
   }
 
   public String getNamespace() {
@@ -71,47 +145,238 @@ public class GenerateConflatedTracesV2 {
    * @return an execution file trace.
    */
   public TraceFile execute(final PluginRpcRequest request) {
-    return requestLimiter.execute(request, this::generateTraceFile);
+    return TracerMetrics.shared()
+        .timeRequest(getName(), () -> awaitTraceFile(generateTraceFile(request)));
   }
 
-  private TraceFile generateTraceFile(PluginRpcRequest request) {
-    Stopwatch sw = Stopwatch.createStarted();
+  private TraceFileWrite generateTraceFile(final PluginRpcRequest request) {
+    final TraceRequestParams params = parseParams(request);
+    final long fromBlock = params.startBlockNumber();
+    final long toBlock = params.endBlockNumber();
 
-    this.traceService =
-        Optional.ofNullable(traceService).orElse(BesuServiceProvider.getTraceService(besuContext));
+    final Path path =
+        TraceWriter.traceFilePath(
+            tracesOutputPath, fromBlock, toBlock, params.expectedTracesEngineVersion());
+    final Optional<Throwable> failure = traceFileWrites.takeUnreportedFailure(path);
+    if (failure.isPresent()) {
+      throw new PluginRpcEndpointException(
+          RpcErrorType.PLUGIN_INTERNAL_ERROR,
+          "The previous write of %s failed: %s".formatted(path, failure.get().getMessage()));
+    }
+
+    final CompletableFuture<Path> write = new CompletableFuture<>();
+    final CompletableFuture<Path> pendingWrite = traceFileWrites.register(path, write);
+    if (pendingWrite != write || write.isDone()) {
+      log.info(
+          "[TRACING] trace for {}-{} is already written or being written to {}",
+          fromBlock,
+          toBlock,
+          path);
+      return new TraceFileWrite(params, pendingWrite, null);
+    }
 
-    final Object[] rawParams = request.getParams();
+    try {
+      final ConflationAdmission.Ticket ticket = admit(fromBlock, toBlock);
+      try {
+        return requestLimiter.execute(request, r -> traceConflation(params, ticket, write));
+      } catch (RuntimeException e) {
+        ticket.release();
+        throw e;
+      }
+    } catch (RuntimeException e) {
+      // reported to this request, and to the requests waiting for the same trace file
+      write.completeExceptionally(e);
+      traceFileWrites.reported(path, e);
+      throw e;
+    }
+  }
 
-    Validator.validatePluginRpcRequestParams(rawParams);
+  private TraceRequestParams parseParams(final PluginRpcRequest request) {
+    try {
+      final Object[] rawParams = request.getParams();
+      Validator.validatePluginRpcRequestParams(rawParams);
 
-    TraceRequestParams params =
-        CONVERTER.fromJson(CONVERTER.toJson(rawParams[0]), TraceRequestParams.class);
+      final TraceRequestParams params =
+          CONVERTER.fromJson(CONVERTER.toJson(rawParams[0]), TraceRequestParams.class);
+      params.validate();
+      return params;
+    } catch (InvalidParameterException e) {
+      throw new PluginRpcEndpointException(RpcErrorType.INVALID_PARAMS, e.getMessage());
+    }
+  }
 
-    params.validate();
+  /**
+   * Reserve the memory budget of a conflation, without holding a slot of the request limiter.
+   *
+   * @return the reservation, to be handed over to the writer of the trace file
+   */
+  private ConflationAdmission.Ticket admit(final long fromBlock, final long toBlock) {
+    try {
+      return admission.admit(fromBlock, toBlock);
+    } catch (InvalidParameterException e) {
+      throw new PluginRpcEndpointException(RpcErrorType.INVALID_PARAMS, e.getMessage());
+    } catch (IllegalStateException e) {
+      throw new PluginRpcEndpointException(RpcErrorType.PLUGIN_INTERNAL_ERROR, e.getMessage());
+    }
+  }
 
+  /**
+   * Trace a conflation while holding a slot of the request limiter, then hand the tracer and the
+   * reservation over to a trace file writer.
+   */
+  private TraceFileWrite traceConflation(
+      final TraceRequestParams params,
+      final ConflationAdmission.Ticket ticket,
+      final CompletableFuture<Path> write) {
+    final Stopwatch sw = Stopwatch.createStarted();
     final long fromBlock = params.startBlockNumber();
     final long toBlock = params.endBlockNumber();
-    final ZkTracer tracer = new ZkTracer();
-    final TraceWriter traceWriter = new TraceWriter(tracer);
 
-    traceService.trace(
-        fromBlock,
-        toBlock,
-        worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
-        tracer::traceEndConflation,
-        tracer);
+    this.traceService =
+        Optional.ofNullable(traceService).orElse(BesuServiceProvider.getTraceService(besuContext));
+
+    final ZkTracer tracer = tracerPool.acquire();
+    if (params.debug() != null) {
+      tracer.setDebugMode(params.debug());
+    }
+    try {
+      traceService.trace(
+          fromBlock,
+          toBlock,
+          worldStateBeforeTracing -> tracer.traceStartConflation(toBlock - fromBlock + 1),
+          tracer::traceEndConflation,
+          tracer);
+    } catch (RuntimeException e) {
+      tracerPool.release(tracer);
+      throw e;
+    }
 
     log.info("[TRACING] trace for {}-{} computed in {}", fromBlock, toBlock, sw);
-    sw.reset().start();
 
+    traceFileWriters.execute(() -> writeTraceFile(tracer, ticket, params, write));
+
+    return new TraceFileWrite(
+        params, write, admission.enabled() ? ticket.estimatedBytes() : null);
+  }
+
+  private void writeTraceFile(
+      final ZkTracer tracer,
+      final ConflationAdmission.Ticket ticket,
+      final TraceRequestParams params,
+      final CompletableFuture<Path> write) {
+    final Stopwatch sw = Stopwatch.createStarted();
+    try {
+      final Path path =
+          new TraceWriter(tracer)
+              .writeTraceToFile(
+                  tracesOutputPath,
+                  params.startBlockNumber(),
+                  params.endBlockNumber(),
+                  params.expectedTracesEngineVersion());
+      log.info(
+          "[TRACING] trace for {}-{} serialized to {} in {}",
+          params.startBlockNumber(),
+          params.endBlockNumber(),
+          path,
+          sw);
+      recordTraceFileMetrics(path, sw);
+      write.complete(path);
+    } catch (Exception e) {
+      log.error(
+          "[TRACING] failed to write trace for {}-{}: {}",
+          params.startBlockNumber(),
+          params.endBlockNumber(),
+          e.getMessage());
+      write.completeExceptionally(e);
+    } finally {
+      writeDebugReport(tracer, params);
+      tracerPool.release(tracer);
+      ticket.release();
+    }
+  }
+
+  private static void recordTraceFileMetrics(final Path path, final Stopwatch sw) {
+    final TracerMetrics metrics = TracerMetrics.shared();
+    metrics
+        .histogram(
+            "trace_file_write_duration_seconds",
+            "Duration of the trace files serialization",
+            TracerMetrics.DURATION_BUCKETS)
+        .observe(sw);
+    try {
+      final long size = Files.size(path);
+      metrics
+          .histogram("trace_file_size_bytes", "Size of the trace files", TracerMetrics.SIZE_BUCKETS)
+          .observe(size);
+      metrics.counter("trace_file_written_bytes_total", "Bytes written to trace files").inc(size);
+    } catch (IOException e) {
+      log.warn("[TRACING] could not read the size of {}: {}", path, e.getMessage());
+    }
+  }
+
+  /** Write the lines buffered by the debug mode of {@code tracer}, if any, next to its trace. */
+  private void writeDebugReport(final ZkTracer tracer, final TraceRequestParams params) {
+    final Optional<DebugMode.RingBuffer> ringBuffer =
+        tracer.getDebugMode().flatMap(DebugMode::ringBuffer);
+    if (ringBuffer.isEmpty()) {
+      return;
+    }
+
+    final Path traceFile =
+        TraceWriter.traceFilePath(
+            tracesOutputPath,
+            params.startBlockNumber(),
+            params.endBlockNumber(),
+            params.expectedTracesEngineVersion());
+    final Path reportFile = traceFile.resolveSibling(traceFile.getFileName() + ".debug.log");
+    try {
+      Files.write(reportFile, ringBuffer.get().drain());
+      log.info(
+          "[TRACING] debug report for {}-{} written to {} ({} older lines dropped)",
+          params.startBlockNumber(),
+          params.endBlockNumber(),
+          reportFile,
+          ringBuffer.get().droppedLines());
+    } catch (IOException e) {
+      log.warn("[TRACING] could not write debug report {}: {}", reportFile, e.getMessage());
+    }
+  }
+
+  private TraceFile awaitTraceFile(final TraceFileWrite write) {
+    final TraceRequestParams params = write.params();
     final Path path =
-        traceWriter.writeTraceToFile(
+        TraceWriter.traceFilePath(
             tracesOutputPath,
             params.startBlockNumber(),
             params.endBlockNumber(),
             params.expectedTracesEngineVersion());
-    log.info("[TRACING] trace for {}-{} serialized to {} in {}", path, toBlock, fromBlock, sw);
 
-    return new TraceFile(params.expectedTracesEngineVersion(), path.toString());
+    try {
+      if (params.writeTimeoutMillis() == null) {
+        write.completion().get();
+      } else {
+        write.completion().get(params.writeTimeoutMillis(), TimeUnit.MILLISECONDS);
+      }
+    } catch (TimeoutException e) {
+      return new TraceFile(
+          params.expectedTracesEngineVersion(),
+          path.toString(),
+          TraceFile.Status.PENDING,
+          write.estimatedHeapBytes());
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new PluginRpcEndpointException(
+          RpcErrorType.PLUGIN_INTERNAL_ERROR, "Interrupted while writing " + path);
+    } catch (ExecutionException e) {
+      traceFileWrites.reported(path, e.getCause());
+      throw new PluginRpcEndpointException(
+          RpcErrorType.PLUGIN_INTERNAL_ERROR, e.getCause().getMessage());
+    }
+
+    return new TraceFile(
+        params.expectedTracesEngineVersion(),
+        write.completion().join().toString(),
+        TraceFile.Status.READY,
+        write.estimatedHeapBytes());
   }
 }
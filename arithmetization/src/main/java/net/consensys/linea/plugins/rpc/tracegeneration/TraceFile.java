@@ -15,9 +15,25 @@
 
 package net.consensys.linea.plugins.rpc.tracegeneration;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
-/** FileTrace represents an execution trace. */
+/**
+ * FileTrace represents an execution trace. The file is only guaranteed to exist when its status is
+ * {@link Status#READY}; a {@link Status#PENDING} file appears atomically once fully written.
+ *
+ * @param estimatedHeapBytes the heap footprint estimated by the admission control before tracing
+ *     the conflation; absent if admission control is disabled
+ */
 public record TraceFile(
     @JsonProperty("tracesEngineVersion") String tracesEngineVersion,
-    @JsonProperty("conflatedTracesFileName") String conflatedTracesFileName) {}
+    @JsonProperty("conflatedTracesFileName") String conflatedTracesFileName,
+    @JsonProperty("status") Status status,
+    @JsonInclude(JsonInclude.Include.NON_NULL) @JsonProperty("estimatedHeapBytes")
+        Long estimatedHeapBytes) {
+
+  public enum Status {
+    PENDING,
+    READY
+  }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+
+package net.consensys.linea.plugins.rpc.tracegeneration;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * The trace files being written, indexed by their final path, so that the requests for a trace
+ * file already being written wait for that write instead of tracing the conflation again.
+ *
+ * <p>A write may fail after its requester was told the trace file is pending. Such a failure is
+ * kept until it is reported to the next request for the same trace file. Conversely, the write of
+ * a trace file already written completes at once, so that a requester polling for a trace file it
+ * was told is pending finds it ready instead of tracing the conflation again.
+ */
+public class TraceFileWrites {
+  private final ConcurrentMap<Path, CompletableFuture<Path>> pending = new ConcurrentHashMap<>();
+
+  /** The failed writes, by path, whose failure was not reported to any request yet */
+  private final ConcurrentMap<Path, Throwable> unreportedFailures = new ConcurrentHashMap<>();
+
+  /**
+   * Register a write of {@code path}, unless one is already in progress. The write is completed
+   * at once if the trace file was already written.
+   *
+   * @param path the final path of the trace file
+   * @param write the write to register
+   * @return the write of {@code path} in progress, which is {@code write} if there was none
+   */
+  public CompletableFuture<Path> register(final Path path, final CompletableFuture<Path> write) {
+    final CompletableFuture<Path> inProgress = pending.computeIfAbsent(path, p -> write);
+    if (inProgress == write) {
+      write.whenComplete(
+          (p, failure) -> {
+            // recorded before the write is removed, so that it is always visible one way or another
+            if (failure != null) {
+              unreportedFailures.put(path, failure);
+            }
+            pending.remove(path, write);
+          });
+      // trace files are moved in place once fully written
+      if (Files.exists(path)) {
+        write.complete(path);
+      }
+    }
+    return inProgress;
+  }
+
+  /**
+   * Take the failure of the last write of {@code path}, if it was not reported yet; it is then
+   * considered reported.
+   *
+   * @param path the final path of a trace file
+   * @return the failure of the last write of {@code path}, if not reported yet
+   */
+  public Optional<Throwable> takeUnreportedFailure(final Path path) {
+    return Optional.ofNullable(unreportedFailures.remove(path));
+  }
+
+  /**
+   * Mark the failure of a write of {@code path} as reported, e.g. to a request waiting for it.
+   *
+   * @param path the final path of the trace file
+   * @param failure the failure of the write
+   */
+  public void reported(final Path path, final Throwable failure) {
+    unreportedFailures.remove(path, failure);
+  }
+}
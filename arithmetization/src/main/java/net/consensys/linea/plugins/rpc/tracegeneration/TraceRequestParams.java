@@ -18,10 +18,22 @@ package net.consensys.linea.plugins.rpc.tracegeneration;
 import java.security.InvalidParameterException;
 
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.module.DebugModeConfiguration;
 
-/** Holds needed parameters for sending an execution trace generation request. */
+/**
+ * Holds needed parameters for sending an execution trace generation request.
+ *
+ * @param writeTimeoutMillis how long to wait for the trace file to be written before answering
+ *     with a pending status; waits until the file is written if absent
+ * @param debug what to report while tracing the conflation, next to the trace file; nothing is
+ *     reported if absent
+ */
 public record TraceRequestParams(
-    long startBlockNumber, long endBlockNumber, String expectedTracesEngineVersion) {
+    long startBlockNumber,
+    long endBlockNumber,
+    String expectedTracesEngineVersion,
+    Long writeTimeoutMillis,
+    DebugModeConfiguration debug) {
 
   public void validate() {
     if (!expectedTracesEngineVersion.equals(getTracerRuntime())) {
@@ -47,6 +59,20 @@ public record TraceRequestParams(
           "INVALID_END_BLOCK_NUMBER: endBlockNumber: %d cannot be less than startBlockNumber: %d"
               .formatted(endBlockNumber, startBlockNumber));
     }
+
+    if (writeTimeoutMillis != null && writeTimeoutMillis < 0) {
+      throw new InvalidParameterException(
+          "INVALID_WRITE_TIMEOUT: writeTimeoutMillis: %d cannot be a negative number"
+              .formatted(writeTimeoutMillis));
+    }
+
+    if (debug != null) {
+      try {
+        debug.validate();
+      } catch (IllegalArgumentException e) {
+        throw new InvalidParameterException("INVALID_DEBUG: " + e.getMessage());
+      }
+    }
   }
 
   private static String getTracerRuntime() {
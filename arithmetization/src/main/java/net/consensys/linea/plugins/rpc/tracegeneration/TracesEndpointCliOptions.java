@@ -17,6 +17,7 @@ package net.consensys.linea.plugins.rpc.tracegeneration;
 
 import com.google.common.base.MoreObjects;
 import net.consensys.linea.plugins.LineaCliOptions;
+import net.consensys.linea.zktracer.module.rom.RomImageCache;
 import picocli.CommandLine;
 
 class TracesEndpointCliOptions implements LineaCliOptions {
@@ -29,6 +30,18 @@ class TracesEndpointCliOptions implements LineaCliOptions {
   static final String CONFLATED_TRACE_GENERATION_CONCURRENT_REQUESTS_LIMIT =
       "--plugin-linea-conflated-trace-generation-concurrent-requests-limit";
 
+  static final String CONFLATED_TRACE_GENERATION_WRITER_THREADS =
+      "--plugin-linea-conflated-trace-generation-writer-threads";
+
+  static final String CONFLATED_TRACE_GENERATION_MEMORY_BUDGET =
+      "--plugin-linea-conflated-trace-generation-memory-budget-mib";
+
+  static final String CONFLATED_TRACE_GENERATION_ADMISSION_TIMEOUT =
+      "--plugin-linea-conflated-trace-generation-admission-timeout-millis";
+
+  static final String CONFLATED_TRACE_GENERATION_ROM_IMAGE_CACHE_SIZE =
+      "--plugin-linea-conflated-trace-generation-rom-image-cache-mib";
+
   @CommandLine.Option(
       required = true,
       names = {CONFLATED_TRACE_GENERATION_TRACES_OUTPUT_PATH},
@@ -37,6 +50,39 @@ class TracesEndpointCliOptions implements LineaCliOptions {
       description = "Path to where traces will be written")
   private String tracesOutputPath = null;
 
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_WRITER_THREADS},
+      hidden = true,
+      paramLabel = "<THREAD_COUNT>",
+      description = "Number of threads writing trace files once tracing is done (default: 1)")
+  private int traceFileWriterThreads = 1;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_MEMORY_BUDGET},
+      hidden = true,
+      paramLabel = "<MIB>",
+      description =
+          "Estimated heap, in MiB, the conflations being traced or written may retain; 0 disables"
+              + " the admission control (default: 0)")
+  private long memoryBudgetMib = 0;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_ADMISSION_TIMEOUT},
+      hidden = true,
+      paramLabel = "<MILLIS>",
+      description =
+          "How long a conflation may wait for the memory budget to be released (default: 60000)")
+  private long admissionTimeoutMillis = 60_000;
+
+  @CommandLine.Option(
+      names = {CONFLATED_TRACE_GENERATION_ROM_IMAGE_CACHE_SIZE},
+      hidden = true,
+      paramLabel = "<MIB>",
+      description =
+          "Heap, in MiB, retained across conflations by the ROM rows of the contracts already"
+              + " traced; 0 disables the cache (default: 256)")
+  private long romImageCacheMib = RomImageCache.DEFAULT_MAX_CACHED_BYTES / (1024 * 1024);
+
   private TracesEndpointCliOptions() {}
 
   /**
@@ -57,6 +103,10 @@ class TracesEndpointCliOptions implements LineaCliOptions {
   static TracesEndpointCliOptions fromConfig(final TracesEndpointConfiguration config) {
     final TracesEndpointCliOptions options = create();
     options.tracesOutputPath = config.tracesOutputPath();
+    options.traceFileWriterThreads = config.traceFileWriterThreads();
+    options.memoryBudgetMib = config.memoryBudgetMib();
+    options.admissionTimeoutMillis = config.admissionTimeoutMillis();
+    options.romImageCacheMib = config.romImageCacheMib();
     return options;
   }
 
@@ -67,13 +117,23 @@ class TracesEndpointCliOptions implements LineaCliOptions {
    */
   @Override
   public TracesEndpointConfiguration toDomainObject() {
-    return TracesEndpointConfiguration.builder().tracesOutputPath(tracesOutputPath).build();
+    return TracesEndpointConfiguration.builder()
+        .tracesOutputPath(tracesOutputPath)
+        .traceFileWriterThreads(traceFileWriterThreads)
+        .memoryBudgetMib(memoryBudgetMib)
+        .admissionTimeoutMillis(admissionTimeoutMillis)
+        .romImageCacheMib(romImageCacheMib)
+        .build();
   }
 
   @Override
   public String toString() {
     return MoreObjects.toStringHelper(this)
         .add(CONFLATED_TRACE_GENERATION_TRACES_OUTPUT_PATH, tracesOutputPath)
+        .add(CONFLATED_TRACE_GENERATION_WRITER_THREADS, traceFileWriterThreads)
+        .add(CONFLATED_TRACE_GENERATION_MEMORY_BUDGET, memoryBudgetMib)
+        .add(CONFLATED_TRACE_GENERATION_ADMISSION_TIMEOUT, admissionTimeoutMillis)
+        .add(CONFLATED_TRACE_GENERATION_ROM_IMAGE_CACHE_SIZE, romImageCacheMib)
         .toString();
   }
 }
@@ -18,7 +18,20 @@ package net.consensys.linea.plugins.rpc.tracegeneration;
 import lombok.Builder;
 import net.consensys.linea.plugins.LineaOptionsConfiguration;
 
-/** The Linea tracer configuration private to this repo. */
+/**
+ * The Linea tracer configuration private to this repo.
+ *
+ * @param memoryBudgetMib the heap budget shared by the conflations being traced or written; 0
+ *     disables admission control
+ * @param admissionTimeoutMillis how long a conflation may wait for the budget to be released
+ * @param romImageCacheMib the heap retained across conflations by the ROM images of the contracts
+ *     already traced; 0 disables the cache
+ */
 @Builder(toBuilder = true)
-public record TracesEndpointConfiguration(String tracesOutputPath)
+public record TracesEndpointConfiguration(
+    String tracesOutputPath,
+    int traceFileWriterThreads,
+    long memoryBudgetMib,
+    long admissionTimeoutMillis,
+    long romImageCacheMib)
     implements LineaOptionsConfiguration {}
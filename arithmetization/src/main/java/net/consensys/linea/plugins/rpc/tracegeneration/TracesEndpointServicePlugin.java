@@ -30,6 +30,8 @@ import net.consensys.linea.plugins.LineaOptionsPluginConfiguration;
 import net.consensys.linea.plugins.exception.TraceOutputException;
 import net.consensys.linea.plugins.rpc.RequestLimiter;
 import net.consensys.linea.plugins.rpc.RequestLimiterDispatcher;
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
+import net.consensys.linea.zktracer.module.rom.RomImageCache;
 import org.hyperledger.besu.plugin.BesuContext;
 import org.hyperledger.besu.plugin.BesuPlugin;
 import org.hyperledger.besu.plugin.services.RpcEndpointService;
@@ -43,8 +45,14 @@ import org.hyperledger.besu.plugin.services.RpcEndpointService;
 @Slf4j
 @AutoService(BesuPlugin.class)
 public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlugin {
+  private static final String SIZING_PROFILE_FILE_NAME = "linea-tracer-sizing-profile.toml";
+
   private BesuContext besuContext;
   private RpcEndpointService rpcEndpointService;
+  private Path sizingProfilePath;
+
+  /** The sizes reached by the conflations traced by the endpoint, used to presize the next ones */
+  private final ContainerSizingProfile sizingProfile = new ContainerSizingProfile();
 
   @Override
   public Map<String, LineaOptionsPluginConfiguration> getLineaPluginConfigMap() {
@@ -81,6 +89,8 @@ public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlug
               .formatted(TracesEndpointCliOptions.CONFLATED_TRACE_GENERATION_TRACES_OUTPUT_PATH));
     }
 
+    RomImageCache.shared().maxCachedBytes(endpointConfiguration.romImageCacheMib() * 1024 * 1024);
+
     RequestLimiterDispatcher.setLimiterIfMissing(
         RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY,
         rpcConfiguration().concurrentRequestsLimit());
@@ -89,9 +99,16 @@ public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlug
             RequestLimiterDispatcher.SINGLE_INSTANCE_REQUEST_LIMITER_KEY);
 
     final GenerateConflatedTracesV2 method =
-        new GenerateConflatedTracesV2(besuContext, reqLimiter, endpointConfiguration);
+        new GenerateConflatedTracesV2(
+            besuContext, reqLimiter, endpointConfiguration, sizingProfile);
 
     createAndRegister(method, rpcEndpointService);
+
+    sizingProfilePath =
+        BesuServiceProvider.getBesuConfiguration(besuContext)
+            .getDataPath()
+            .resolve(SIZING_PROFILE_FILE_NAME);
+    sizingProfile.load(sizingProfilePath);
   }
 
   private Optional<Path> initTracesOutputPath(final String tracesOutputPathOption) {
@@ -121,4 +138,13 @@ public class TracesEndpointServicePlugin extends AbstractLineaPrivateOptionsPlug
   /** Start the RPC service. This method loads the OpCodes. */
   @Override
   public void start() {}
+
+  /** Persist the container sizes reached so far, to be reused after a restart. */
+  @Override
+  public void stop() {
+    super.stop();
+    if (sizingProfilePath != null) {
+      sizingProfile.save(sizingProfilePath);
+    }
+  }
 }
@@ -46,7 +46,7 @@ public class TraceWriter {
       final String expectedTracesEngineVersion) {
     // Generate the original and final trace file name.
     final String origTraceFileName =
-        generateOutputFileName(startBlockNumber, endBlockNumber, expectedTracesEngineVersion);
+        outputFileName(startBlockNumber, endBlockNumber, expectedTracesEngineVersion);
     // Generate and resolve the original and final trace file path.
     final Path origTraceFilePath =
         generateOutputFilePath(tracesOutputDirPath, origTraceFileName + TRACE_FILE_EXTENSION);
@@ -88,6 +88,22 @@ public class TraceWriter {
     return traceFile;
   }
 
+  /**
+   * @return the path where {@link #writeTraceToFile(Path, long, long, String)} writes the trace of
+   *     the given conflation
+   */
+  public static Path traceFilePath(
+      final Path tracesOutputDirPath,
+      final long startBlockNumber,
+      final long endBlockNumber,
+      final String expectedTracesEngineVersion) {
+    return tracesOutputDirPath
+        .resolve(
+            outputFileName(startBlockNumber, endBlockNumber, expectedTracesEngineVersion)
+                + TRACE_FILE_EXTENSION)
+        .toAbsolutePath();
+  }
+
   private Path generateOutputFilePath(final Path tracesOutputDirPath, final String traceFileName) {
     if (!Files.isDirectory(tracesOutputDirPath) && !tracesOutputDirPath.toFile().mkdirs()) {
       throw new RuntimeException(
@@ -99,7 +115,7 @@ public class TraceWriter {
     return tracesOutputDirPath.resolve(Paths.get(traceFileName));
   }
 
-  private String generateOutputFileName(
+  private static String outputFileName(
       final long startBlockNumber,
       final long endBlockNumber,
       final String expectedTracesEngineVersion) {
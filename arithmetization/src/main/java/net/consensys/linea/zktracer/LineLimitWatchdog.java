@@ -0,0 +1,132 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.IntSupplier;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+/**
+ * Interrupts the tracing of a transaction as soon as a module exceeds its line limit, instead of
+ * tracing it to the end only for the caller to pop it. The limits apply to the line counts of the
+ * whole conflation, spillings included, as returned by {@link ZkTracer#getModulesLineCount()}.
+ *
+ * <p>Only the modules with a limit are watched, and they are only checked every {@link
+ * #checkInterval} instructions, so that the overhead on the tracing stays negligible; a
+ * transaction may thus overflow by a few instructions before being interrupted.
+ */
+@Accessors(fluent = true)
+public class LineLimitWatchdog {
+  /** The default number of instructions traced between two checks of the line counts */
+  public static final int DEFAULT_CHECK_INTERVAL = 64;
+
+  /**
+   * The module that exceeded its limit.
+   *
+   * @param module the key of the module
+   * @param lineCount the line count of the module when the overflow was detected
+   * @param limit the line limit of the module
+   */
+  public record Overflow(String module, int lineCount, int limit) {}
+
+  private final int checkInterval;
+  private final String[] modules;
+  private final IntSupplier[] lineCounts;
+  private final int[] limits;
+
+  /** the number of instructions left before the next check */
+  private int countdown;
+
+  /** the overflow interrupting the current transaction, if any */
+  @Getter private Optional<Overflow> overflow = Optional.empty();
+
+  /**
+   * @param limits the line limits, by module key; modules without a line count are ignored
+   * @param lineCounts supplies the current line count of every module, by module key
+   * @param checkInterval the number of instructions traced between two checks
+   */
+  public LineLimitWatchdog(
+      final Map<String, Integer> limits,
+      final Map<String, IntSupplier> lineCounts,
+      final int checkInterval) {
+    Preconditions.checkArgument(checkInterval > 0, "The check interval must be positive");
+    final List<String> watchedModules = new ArrayList<>(limits.size());
+    for (String module : limits.keySet()) {
+      if (lineCounts.containsKey(module)) {
+        watchedModules.add(module);
+      }
+    }
+
+    this.checkInterval = checkInterval;
+    this.modules = watchedModules.toArray(String[]::new);
+    this.lineCounts = new IntSupplier[modules.length];
+    this.limits = new int[modules.length];
+    for (int i = 0; i < modules.length; i++) {
+      this.lineCounts[i] = lineCounts.get(modules[i]);
+      this.limits[i] = limits.get(modules[i]);
+    }
+    this.countdown = checkInterval;
+  }
+
+  /** @return whether the tracing of the current transaction has been interrupted */
+  public boolean tripped() {
+    return overflow.isPresent();
+  }
+
+  /**
+   * To be called after every traced instruction.
+   *
+   * @return whether the tracing of the current transaction must be interrupted
+   */
+  boolean checkInstruction() {
+    if (--countdown > 0) {
+      return tripped();
+    }
+    countdown = checkInterval;
+    return check();
+  }
+
+  /**
+   * Check the line counts of the watched modules, regardless of the check interval.
+   *
+   * @return whether the tracing of the current transaction must be interrupted
+   */
+  boolean check() {
+    if (tripped()) {
+      return true;
+    }
+    for (int i = 0; i < modules.length; i++) {
+      final int lineCount = lineCounts[i].getAsInt();
+      if (lineCount > limits[i]) {
+        overflow = Optional.of(new Overflow(modules[i], lineCount, limits[i]));
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /** Forget the overflow of the last transaction, whether it was popped or not. */
+  void reset() {
+    overflow = Optional.empty();
+    countdown = checkInterval;
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Evaluates candidate transactions against the current conflation state of a {@link ZkTracer}
+ * without keeping them in the trace. Every candidate is traced on top of the same base state, its
+ * per-module line count delta is recorded, and its tracing is then reverted with {@link
+ * ZkTracer#popLastTransaction()}.
+ *
+ * <p>The candidates are evaluated one after the other: the {@link
+ * net.consensys.linea.zktracer.module.hub.Hub} state (call stack, deployment info, ROM lex, …) is
+ * shared mutable state and can not be forked.
+ */
+@RequiredArgsConstructor
+public class SpeculativeLineCounter {
+  private final ZkTracer tracer;
+
+  /**
+   * The outcome of tracing a single candidate.
+   *
+   * @param lineCount the modules line count the conflation would have with the candidate
+   * @param lineCountDelta the number of lines the candidate adds to each module
+   * @param tracingExceptions the exceptions raised while tracing the candidate
+   */
+  public record Outcome(
+      Map<String, Integer> lineCount,
+      Map<String, Integer> lineCountDelta,
+      List<Exception> tracingExceptions) {
+
+    public boolean isTraceable() {
+      return tracingExceptions.isEmpty();
+    }
+
+    /**
+     * @param limits the line count limits of the modules
+     * @return the keys of the modules whose limit would be exceeded by adding the candidate
+     */
+    public List<String> overflowingModules(final Map<String, Integer> limits) {
+      final List<String> overflowingModules = new ArrayList<>();
+      for (Map.Entry<String, Integer> limit : limits.entrySet()) {
+        final Integer moduleLineCount = lineCount.get(limit.getKey());
+        if (moduleLineCount != null && moduleLineCount > limit.getValue()) {
+          overflowingModules.add(limit.getKey());
+        }
+      }
+      return overflowingModules;
+    }
+  }
+
+  /**
+   * Trace every candidate against the current state of the tracer, then revert it.
+   *
+   * @param candidates the candidates to evaluate
+   * @param execution executes a candidate (e.g. through the transaction processor) with {@link
+   *     #tracer} as operation tracer
+   * @return the outcome of every candidate, in iteration order of {@code candidates}
+   */
+  public <T> Map<T, Outcome> evaluate(final Collection<T> candidates, final Consumer<T> execution) {
+    final Map<T, Outcome> outcomes = new LinkedHashMap<>(candidates.size());
+    final Map<String, Integer> baseLineCount = tracer.getModulesLineCount();
+    for (T candidate : candidates) {
+      outcomes.put(candidate, evaluate(baseLineCount, candidate, execution));
+    }
+    return outcomes;
+  }
+
+  private <T> Outcome evaluate(
+      final Map<String, Integer> baseLineCount, final T candidate, final Consumer<T> execution) {
+    final int absoluteTransactionNumber = tracer.getHub().txStack().getCurrentAbsNumber();
+    final int exceptionCount = tracer.getTracingExceptions().size();
+
+    execution.accept(candidate);
+
+    final List<Exception> tracingExceptions = tracer.getTracingExceptions();
+    final List<Exception> raisedByCandidate =
+        tracingExceptions.subList(exceptionCount, tracingExceptions.size());
+    final List<Exception> candidateExceptions = new ArrayList<>(raisedByCandidate);
+    raisedByCandidate.clear();
+
+    final Map<String, Integer> lineCount =
+        candidateExceptions.isEmpty() ? tracer.getModulesLineCount() : baseLineCount;
+    final Map<String, Integer> lineCountDelta = new HashMap<>(lineCount.size());
+    for (Map.Entry<String, Integer> module : lineCount.entrySet()) {
+      lineCountDelta.put(
+          module.getKey(), module.getValue() - baseLineCount.getOrDefault(module.getKey(), 0));
+    }
+
+    if (tracer.getHub().txStack().getCurrentAbsNumber() > absoluteTransactionNumber) {
+      tracer.popLastTransaction();
+    }
+
+    return new Outcome(lineCount, lineCountDelta, candidateExceptions);
+  }
+}
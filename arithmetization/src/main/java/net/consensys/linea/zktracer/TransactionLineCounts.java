@@ -0,0 +1,69 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.hyperledger.besu.datatypes.Hash;
+
+/**
+ * Attributes the lines of every module to the transactions of a conflation, from the module line
+ * counts at the boundaries of each transaction. Only the lines traced between the start and the end
+ * of a transaction are attributed to it: the lines traced at block or conflation boundaries are
+ * attributed to no transaction, hence the attributed lines may sum to less than the module totals.
+ */
+public class TransactionLineCounts {
+  /** the line counts of the transactions, in tracing order */
+  private final Map<Hash, Map<String, Integer>> lineCounts = new LinkedHashMap<>();
+
+  /** the module line counts when the current transaction started */
+  private Map<String, Integer> lineCountsAtStart = Map.of();
+
+  void startTransaction(final Map<String, Integer> moduleLineCounts) {
+    lineCountsAtStart = moduleLineCounts;
+  }
+
+  void endTransaction(final Hash transactionHash, final Map<String, Integer> moduleLineCounts) {
+    final Map<String, Integer> delta = new HashMap<>();
+    for (Map.Entry<String, Integer> module : moduleLineCounts.entrySet()) {
+      final int lines = module.getValue() - lineCountsAtStart.getOrDefault(module.getKey(), 0);
+      if (lines != 0) {
+        delta.put(module.getKey(), lines);
+      }
+    }
+    lineCounts.put(transactionHash, delta);
+    lineCountsAtStart = Map.of();
+  }
+
+  void popTransaction(final Hash transactionHash) {
+    lineCounts.remove(transactionHash);
+  }
+
+  /**
+   * @return the lines added to every module by each transaction, by transaction hash and in tracing
+   *     order; modules a transaction adds no line to are omitted
+   */
+  public Map<String, Map<String, Integer>> byTransaction() {
+    final Map<String, Map<String, Integer>> byTransaction = new LinkedHashMap<>(lineCounts.size());
+    for (Map.Entry<Hash, Map<String, Integer>> tx : lineCounts.entrySet()) {
+      byTransaction.put(tx.getKey().toHexString(), new TreeMap<>(tx.getValue()));
+    }
+    return byTransaction;
+  }
+}
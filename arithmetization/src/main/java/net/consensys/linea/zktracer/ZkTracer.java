@@ -27,13 +27,22 @@ import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntSupplier;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.plugins.config.LineaL1L2BridgeSharedConfiguration;
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.exceptions.TracingExceptions;
 import net.consensys.linea.zktracer.module.DebugMode;
+import net.consensys.linea.zktracer.module.DebugModeConfiguration;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.runtime.callstack.CallFrame;
 import net.consensys.linea.zktracer.types.FiniteList;
@@ -60,6 +69,12 @@ public class ZkTracer implements ConflationAwareOperationTracer {
 
   private static final Map<String, Integer> spillings;
 
+  /** Commits the modules whose trace is independent of the other modules */
+  private static final ExecutorService COMMIT_EXECUTOR =
+      Executors.newFixedThreadPool(
+          Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+          new ThreadFactoryBuilder().setNameFormat("zktracer-commit-%d").setDaemon(true).build());
+
   static {
     try {
       // Load spillings configured in src/main/resources/spillings.toml.
@@ -73,9 +88,27 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   }
 
   @Getter private final Hub hub;
-  private final Optional<DebugMode> debugMode;
+
+  /** Reports the tracing as selected by {@link #setDebugMode}; off unless explicitly enabled */
+  @Getter private Optional<DebugMode> debugMode;
+
+  /** Attributes the module lines to transactions as selected by {@link #setLineCountsByTx} */
+  @Getter private Optional<TransactionLineCounts> transactionLineCounts;
+
+  /** Interrupts the transactions exceeding the limits selected by {@link #setLineLimits} */
+  @Getter private Optional<LineLimitWatchdog> lineLimitWatchdog;
+
   private Hash hashOfLastTransactionTraced = Hash.EMPTY;
 
+  /** The hashes of the blocks traced in the current conflation, in order */
+  @Getter private final List<Hash> tracedBlockHashes = new ArrayList<>();
+
+  /**
+   * Whether the modules that do not depend on the rest of the trace are committed concurrently
+   * with the others when writing the trace file; the resulting file is identical.
+   */
+  @Setter private boolean parallelCommit = true;
+
   /** Accumulate all the exceptions that happened at tracing time. */
   @Getter private final List<Exception> tracingExceptions = new FiniteList<>(50);
 
@@ -94,21 +127,123 @@ public class ZkTracer implements ConflationAwareOperationTracer {
     BigInteger nonnegativeChainId = chainId.abs();
     this.hub =
         new Hub(bridgeConfiguration.contract(), bridgeConfiguration.topic(), nonnegativeChainId);
+    this.init();
     for (Module m : this.hub.getModulesToCount()) {
       if (!spillings.containsKey(m.moduleKey())) {
         throw new IllegalStateException(
             "Spilling for module " + m.moduleKey() + " not defined in spillings.toml");
       }
     }
-    // >>>> CHANGE ME >>>>
-    // >>>> CHANGE ME >>>>
-    // >>>> CHANGE ME >>>>
-    final DebugMode.PinLevel debugLevel = new DebugMode.PinLevel();
-    // <<<< CHANGE ME <<<<
-    // <<<< CHANGE ME <<<<
-    // <<<< CHANGE ME <<<<
+  }
+
+  /**
+   * Discard all the tracing state accumulated so far, so that this tracer can be reused for a new
+   * conflation. The modules are cleared in place, keeping the memory they already allocated. The
+   * {@link #setSizingProfile sizing profile}, if any, is kept.
+   */
+  public void reset() {
+    this.tracingExceptions.clear();
+    this.hashOfLastTransactionTraced = Hash.EMPTY;
+    this.tracedBlockHashes.clear();
+    this.hub.reset();
+    this.init();
+  }
+
+  private void init() {
+    this.debugMode = Optional.empty();
+    this.transactionLineCounts = Optional.empty();
+    this.lineLimitWatchdog = Optional.empty();
+  }
+
+  /**
+   * Presize the conflation-level containers of this tracer at {@link #traceStartConflation(long)}
+   * from the sizes reached during the previous conflations recorded in {@code profile}, and record
+   * the sizes reached by every conflation into it. Presizing is off by default, and the profile is
+   * kept by {@link #reset()}.
+   *
+   * @param profile the profile of the conflations traced by this tracer
+   */
+  public void setSizingProfile(final ContainerSizingProfile profile) {
+    this.hub.sizingProfile(profile);
+  }
+
+  /**
+   * Select what this tracer reports about the rest of the conflation. Debugging is turned off by
+   * {@link #reset()}.
+   *
+   * @param configuration the debug configuration; {@link DebugModeConfiguration#DISABLED} turns
+   *     debugging off
+   */
+  public void setDebugMode(final DebugModeConfiguration configuration) {
     this.debugMode =
-        debugLevel.none() ? Optional.empty() : Optional.of(new DebugMode(debugLevel, this.hub));
+        configuration.enabled()
+            ? Optional.of(new DebugMode(configuration, this.hub))
+            : Optional.empty();
+  }
+
+  /**
+   * Select whether the lines of every module are attributed to the transactions adding them. This
+   * costs a line count of every module at both ends of every transaction, and is turned off by
+   * {@link #reset()}.
+   *
+   * @param enabled whether to attribute module lines to transactions
+   */
+  public void setLineCountsByTx(final boolean enabled) {
+    this.transactionLineCounts =
+        enabled ? Optional.of(new TransactionLineCounts()) : Optional.empty();
+  }
+
+  /**
+   * Select the line limits of the modules, spillings included, beyond which the tracing of the
+   * current transaction is interrupted. An interrupted transaction is left half-traced and must be
+   * removed with {@link #popTransaction}; the overflowing module is reported by the {@link
+   * #getLineLimitWatchdog() watchdog}. The limits are turned off by {@link #reset()}.
+   *
+   * @param limits the line limits, by module key as in {@link #getModulesLineCount()}; an empty
+   *     map turns the limits off
+   */
+  public void setLineLimits(final Map<String, Integer> limits) {
+    setLineLimits(limits, LineLimitWatchdog.DEFAULT_CHECK_INTERVAL);
+  }
+
+  /**
+   * @param limits the line limits, by module key as in {@link #getModulesLineCount()}; an empty
+   *     map turns the limits off
+   * @param checkInterval the number of instructions traced between two checks of the line counts
+   */
+  public void setLineLimits(final Map<String, Integer> limits, final int checkInterval) {
+    if (limits.isEmpty()) {
+      this.lineLimitWatchdog = Optional.empty();
+      return;
+    }
+
+    final List<Module> modules = hub.getModulesToCount();
+    final Map<String, IntSupplier> lineCounts = new HashMap<>(modules.size() + 1);
+    for (Module m : modules) {
+      final int spilling = spillings.get(m.moduleKey());
+      lineCounts.put(m.moduleKey(), () -> m.lineCount() + spilling);
+    }
+    lineCounts.put("BLOCK_TRANSACTIONS", hub::cumulatedTxCount);
+    this.lineLimitWatchdog = Optional.of(new LineLimitWatchdog(limits, lineCounts, checkInterval));
+  }
+
+  /** @return whether the tracing of the current transaction was interrupted by the watchdog */
+  private boolean isInterrupted() {
+    return lineLimitWatchdog.isPresent() && lineLimitWatchdog.get().tripped();
+  }
+
+  /** An interrupted transaction left in the trace would make it inconsistent. */
+  private void maybeReportUnpoppedTransaction() {
+    if (isInterrupted()) {
+      this.tracingExceptions.add(
+          new IllegalStateException(
+              "Transaction "
+                  + hashOfLastTransactionTraced
+                  + " was interrupted by "
+                  + lineLimitWatchdog.get().overflow().get()
+                  + " but was not popped"));
+      lineLimitWatchdog.get().reset();
+    }
   }
 
   public void writeToFile(final Path filename) {
@@ -133,6 +268,7 @@ public class ZkTracer implements ConflationAwareOperationTracer {
         header.putInt(h.length());
       }
       long offset = headerSize;
+      final List<List<MappedByteBuffer>> modulesBuffers = new ArrayList<>(modules.size());
       for (Module m : modules) {
         final List<MappedByteBuffer> buffers = new ArrayList<>();
         for (ColumnHeader columnHeader : m.columnsHeaders()) {
@@ -140,8 +276,9 @@ public class ZkTracer implements ConflationAwareOperationTracer {
           buffers.add(file.getChannel().map(FileChannel.MapMode.READ_WRITE, offset, columnLength));
           offset += columnLength;
         }
-        m.commit(buffers);
+        modulesBuffers.add(buffers);
       }
+      commit(modules, modulesBuffers);
       file.getChannel().force(false);
     } catch (IOException e) {
       log.error("Error while writing to the file {}", filename);
@@ -149,6 +286,37 @@ public class ZkTracer implements ConflationAwareOperationTracer {
     }
   }
 
+  /**
+   * Commit every module into its column buffers. Modules listed by {@link
+   * Hub#getIndependentlyCommittedModules()} are committed on {@link #COMMIT_EXECUTOR} while the
+   * others are committed sequentially, in order, on the calling thread.
+   */
+  private void commit(final List<Module> modules, final List<List<MappedByteBuffer>> buffers) {
+    final Set<Module> independentModules =
+        parallelCommit ? Set.copyOf(hub.getIndependentlyCommittedModules()) : Set.of();
+    final List<CompletableFuture<Void>> independentCommits = new ArrayList<>();
+
+    for (int i = 0; i < modules.size(); i++) {
+      final Module m = modules.get(i);
+      final List<MappedByteBuffer> moduleBuffers = buffers.get(i);
+      if (independentModules.contains(m)) {
+        independentCommits.add(
+            CompletableFuture.runAsync(() -> m.commit(moduleBuffers), COMMIT_EXECUTOR));
+      } else {
+        m.commit(moduleBuffers);
+      }
+    }
+
+    try {
+      CompletableFuture.allOf(independentCommits.toArray(CompletableFuture[]::new)).join();
+    } catch (CompletionException e) {
+      if (e.getCause() instanceof RuntimeException cause) {
+        throw cause;
+      }
+      throw e;
+    }
+  }
+
   @Override
   public void traceStartConflation(final long numBlocksInConflation) {
     try {
@@ -161,6 +329,7 @@ public class ZkTracer implements ConflationAwareOperationTracer {
 
   @Override
   public void traceEndConflation(final WorldView state) {
+    maybeReportUnpoppedTransaction();
     try {
       this.hub.traceEndConflation(state);
       this.debugMode.ifPresent(DebugMode::traceEndConflation);
@@ -185,6 +354,7 @@ public class ZkTracer implements ConflationAwareOperationTracer {
 
   @Override
   public void traceStartBlock(final BlockHeader blockHeader, final BlockBody blockBody) {
+    this.tracedBlockHashes.add(blockHeader.getBlockHash());
     try {
       this.hub.traceStartBlock(blockHeader);
       this.debugMode.ifPresent(x -> x.traceStartBlock(blockHeader, blockBody));
@@ -195,6 +365,7 @@ public class ZkTracer implements ConflationAwareOperationTracer {
 
   @Override
   public void traceEndBlock(final BlockHeader blockHeader, final BlockBody blockBody) {
+    maybeReportUnpoppedTransaction();
     try {
       this.hub.traceEndBlock(blockHeader, blockBody);
       this.debugMode.ifPresent(DebugMode::traceEndBlock);
@@ -204,8 +375,12 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   }
 
   public void tracePrepareTransaction(WorldView worldView, Transaction transaction) {
+    maybeReportUnpoppedTransaction();
+    this.lineLimitWatchdog.ifPresent(LineLimitWatchdog::reset);
     try {
       hashOfLastTransactionTraced = transaction.getHash();
+      // before the hub traces the start of the transaction, whose lines are attributed to it
+      this.transactionLineCounts.ifPresent(x -> x.startTransaction(rawModulesLineCount()));
       this.debugMode.ifPresent(x -> x.tracePrepareTx(worldView, transaction));
       this.hub.traceStartTransaction(worldView, transaction);
     } catch (final Exception e) {
@@ -222,9 +397,14 @@ public class ZkTracer implements ConflationAwareOperationTracer {
       long gasUsed,
       Set<Address> selfDestructs,
       long timeNs) {
+    if (isInterrupted()) {
+      return;
+    }
     try {
       this.debugMode.ifPresent(x -> x.traceEndTx(worldView, tx, status, output, logs, gasUsed));
       this.hub.traceEndTransaction(worldView, tx, status, logs, selfDestructs);
+      this.transactionLineCounts.ifPresent(
+          x -> x.endTransaction(tx.getHash(), rawModulesLineCount()));
     } catch (final Exception e) {
       this.tracingExceptions.add(e);
     }
@@ -240,6 +420,9 @@ public class ZkTracer implements ConflationAwareOperationTracer {
    */
   @Override
   public void tracePreExecution(final MessageFrame frame) {
+    if (isInterrupted()) {
+      return;
+    }
     this.hub.currentFrame().frame(frame);
     if (frame.getCode().getSize() > 0) {
       try {
@@ -259,13 +442,19 @@ public class ZkTracer implements ConflationAwareOperationTracer {
    */
   @Override
   public void tracePostExecution(MessageFrame frame, Operation.OperationResult operationResult) {
-    if (frame.getCode().getSize() > 0) {
+    if (frame.getCode().getSize() > 0 && !isInterrupted()) {
       try {
         this.hub.tracePostExecution(frame, operationResult);
         this.debugMode.ifPresent(x -> x.tracePostOpcode(frame, operationResult));
       } catch (final Exception e) {
         this.tracingExceptions.add(e);
       }
+      if (lineLimitWatchdog.isPresent() && lineLimitWatchdog.get().checkInstruction()) {
+        log.debug(
+            "Interrupted the tracing of transaction {}: {}",
+            hashOfLastTransactionTraced,
+            lineLimitWatchdog.get().overflow().get());
+      }
     }
   }
 
@@ -273,7 +462,7 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   public void traceContextEnter(MessageFrame frame) {
     // We only want to trigger on creation of new contexts, not on re-entry in
     // existing contexts
-    if (frame.getState() == MessageFrame.State.NOT_STARTED) {
+    if (frame.getState() == MessageFrame.State.NOT_STARTED && !isInterrupted()) {
       try {
         this.hub.traceContextEnter(frame);
         this.debugMode.ifPresent(x -> x.traceContextEnter(frame));
@@ -285,6 +474,9 @@ public class ZkTracer implements ConflationAwareOperationTracer {
 
   @Override
   public void traceContextReEnter(MessageFrame frame) {
+    if (isInterrupted()) {
+      return;
+    }
     try {
       this.hub.traceContextReEnter(frame);
       this.debugMode.ifPresent(x -> x.traceContextReEnter(frame));
@@ -295,6 +487,9 @@ public class ZkTracer implements ConflationAwareOperationTracer {
 
   @Override
   public void traceContextExit(MessageFrame frame) {
+    if (isInterrupted()) {
+      return;
+    }
     try {
       this.hub.traceContextExit(frame);
       this.debugMode.ifPresent(x -> x.traceContextExit(frame));
@@ -306,10 +501,17 @@ public class ZkTracer implements ConflationAwareOperationTracer {
   /** When called, erase all tracing related to the last included transaction. */
   public void popTransaction(final PendingTransaction pendingTransaction) {
     if (hashOfLastTransactionTraced.equals(pendingTransaction.getTransaction().getHash())) {
-      hub.popTransaction();
+      popLastTransaction();
     }
   }
 
+  /** Erase all tracing related to the last traced transaction, whether complete or interrupted. */
+  public void popLastTransaction() {
+    hub.popTransaction();
+    transactionLineCounts.ifPresent(x -> x.popTransaction(hashOfLastTransactionTraced));
+    lineLimitWatchdog.ifPresent(LineLimitWatchdog::reset);
+  }
+
   private void maybeThrowTracingExceptions() {
     if (!this.tracingExceptions.isEmpty()) {
       throw new TracingExceptions(this.tracingExceptions);
@@ -336,4 +538,27 @@ public class ZkTracer implements ConflationAwareOperationTracer {
     modulesLineCount.put("BLOCK_TRANSACTIONS", hub.cumulatedTxCount());
     return modulesLineCount;
   }
+
+  /**
+   * @return the number of lines of all the modules, spillings excluded; the containers of the
+   *     modules retain a capacity in proportion, even once cleared by {@link #reset()}
+   */
+  public long totalLineCount() {
+    long lines = 0;
+    for (Module m : hub.getModulesToCount()) {
+      lines += m.lineCount();
+    }
+    return lines;
+  }
+
+  /** The module line counts without spillings, which cancel out when subtracted. */
+  private Map<String, Integer> rawModulesLineCount() {
+    final List<Module> modules = hub.getModulesToCount();
+    final Map<String, Integer> modulesLineCount = new HashMap<>(modules.size() + 1);
+    for (Module m : modules) {
+      modulesLineCount.put(m.moduleKey(), m.lineCount());
+    }
+    modulesLineCount.put("BLOCK_TRANSACTIONS", hub.cumulatedTxCount());
+    return modulesLineCount;
+  }
 }
@@ -0,0 +1,135 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+
+/**
+ * A bounded pool of {@link ZkTracer}, reset between two conflations. The pool never keeps more idle
+ * tracers than the maximal number of tracers that were simultaneously in use (the high-water mark),
+ * itself bounded by {@link #maxIdleTracers}.
+ *
+ * <p>A reset tracer keeps the capacity its containers reached, so a tracer given back after a
+ * conflation of more than {@link #maxPooledLines} lines is dropped rather than kept idle, lest a
+ * single huge conflation pin its memory for the lifetime of the process.
+ */
+@Accessors(fluent = true)
+public class ZkTracerPool {
+  public static final int DEFAULT_MAX_IDLE_TRACERS = 4;
+
+  /** Default bound on the lines of the last conflation of a pooled tracer, 2^24 */
+  public static final long DEFAULT_MAX_POOLED_LINES = 1L << 24;
+
+  /** The pool of default-configured tracers used by the RPC endpoints */
+  private static final ZkTracerPool SHARED =
+      new ZkTracerPool(ZkTracer::new, DEFAULT_MAX_IDLE_TRACERS);
+
+  private final Supplier<ZkTracer> factory;
+  private final int maxIdleTracers;
+  private final long maxPooledLines;
+  private final Deque<ZkTracer> idleTracers = new ArrayDeque<>();
+
+  /** the number of tracers currently lent */
+  @Getter private int inUse = 0;
+
+  /** the maximal number of tracers simultaneously lent */
+  @Getter private int highWaterMark = 0;
+
+  public ZkTracerPool(final Supplier<ZkTracer> factory, final int maxIdleTracers) {
+    this(factory, maxIdleTracers, DEFAULT_MAX_POOLED_LINES);
+  }
+
+  public ZkTracerPool(
+      final Supplier<ZkTracer> factory, final int maxIdleTracers, final long maxPooledLines) {
+    Preconditions.checkArgument(maxIdleTracers >= 0, "maxIdleTracers must not be negative");
+    Preconditions.checkArgument(maxPooledLines >= 0, "maxPooledLines must not be negative");
+    this.factory = factory;
+    this.maxIdleTracers = maxIdleTracers;
+    this.maxPooledLines = maxPooledLines;
+  }
+
+  public static ZkTracerPool shared() {
+    return SHARED;
+  }
+
+  /**
+   * @return a tracer ready to trace a new conflation; must be given back with {@link
+   *     #release(ZkTracer)}
+   */
+  public ZkTracer acquire() {
+    final ZkTracer tracer;
+    synchronized (this) {
+      inUse++;
+      highWaterMark = Math.max(highWaterMark, inUse);
+      tracer = idleTracers.pollFirst();
+    }
+    return tracer != null ? tracer : factory.get();
+  }
+
+  /**
+   * Give back a tracer acquired from this pool. The tracer must not be used afterward.
+   *
+   * @param tracer the tracer to give back
+   */
+  public void release(final ZkTracer tracer) {
+    boolean small;
+    try {
+      small = tracer.totalLineCount() <= maxPooledLines;
+    } catch (RuntimeException e) {
+      // a tracer left in a state where its lines cannot be counted is not worth reusing
+      small = false;
+    }
+    final boolean keep;
+    synchronized (this) {
+      inUse--;
+      keep = small && idleTracers.size() < Math.min(highWaterMark, maxIdleTracers);
+    }
+    if (!keep) {
+      return;
+    }
+
+    tracer.reset();
+    synchronized (this) {
+      idleTracers.addFirst(tracer);
+    }
+  }
+
+  /**
+   * Lend a tracer to {@code f} for the duration of its execution.
+   *
+   * @param f the computation requiring a tracer
+   * @return the result of {@code f}
+   */
+  public <T> T apply(final Function<ZkTracer, T> f) {
+    final ZkTracer tracer = acquire();
+    try {
+      return f.apply(tracer);
+    } finally {
+      release(tracer);
+    }
+  }
+
+  public synchronized int idleCount() {
+    return idleTracers.size();
+  }
+}
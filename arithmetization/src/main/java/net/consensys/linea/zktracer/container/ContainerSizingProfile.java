@@ -0,0 +1,179 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.container;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import com.google.common.base.Preconditions;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.tuweni.toml.Toml;
+import org.apache.tuweni.toml.TomlArray;
+import org.apache.tuweni.toml.TomlParseResult;
+import org.apache.tuweni.toml.TomlTable;
+
+/**
+ * Keeps track of the sizes reached by the conflation-level containers of the tracer during the last
+ * conflations, so that the containers of the next conflation can be allocated upfront instead of
+ * repeatedly growing (and rehashing) while tracing.
+ *
+ * <p>The expected size of a container is the {@link #percentile} of the sizes it reached during the
+ * last {@link #window} conflations, so that a single outsized conflation does not inflate the
+ * following ones. Profiles are opted into by the tracers (see {@link
+ * net.consensys.linea.zktracer.ZkTracer#setSizingProfile}), and can be persisted to and restored
+ * from a TOML file, whose {@code [sizing]} table maps every key to the list of its recorded sizes.
+ */
+@Slf4j
+public class ContainerSizingProfile {
+  /** The default number of conflations taken into account */
+  public static final int DEFAULT_WINDOW = 16;
+
+  /** The default percentile of the recorded sizes used as expected size */
+  public static final int DEFAULT_PERCENTILE = 50;
+
+  /** Upper bound on the number of elements preallocated for a single container */
+  public static final int MAX_EXPECTED_SIZE = 1 << 22;
+
+  private static final String TOML_TABLE = "sizing";
+
+  private final int window;
+  private final int percentile;
+  private final Map<String, Deque<Integer>> history = new HashMap<>();
+
+  public ContainerSizingProfile() {
+    this(DEFAULT_WINDOW, DEFAULT_PERCENTILE);
+  }
+
+  /**
+   * @param window the number of conflations taken into account
+   * @param percentile the percentile, in [1; 100], of the recorded sizes used as expected size
+   */
+  public ContainerSizingProfile(final int window, final int percentile) {
+    Preconditions.checkArgument(window > 0, "The window must be positive");
+    Preconditions.checkArgument(
+        percentile > 0 && percentile <= 100, "The percentile must be in [1; 100]");
+    this.window = window;
+    this.percentile = percentile;
+  }
+
+  /**
+   * Record the size reached by a container at the end of a conflation.
+   *
+   * @param key identifies the container
+   * @param size the number of elements the container held
+   */
+  public synchronized void record(final String key, final int size) {
+    final Deque<Integer> sizes = history.computeIfAbsent(key, k -> new ArrayDeque<>(window));
+    if (sizes.size() == window) {
+      sizes.removeFirst();
+    }
+    sizes.addLast(size);
+  }
+
+  /**
+   * @param key identifies the container
+   * @return the number of elements the container is expected to hold, 0 if unknown
+   */
+  public synchronized int expectedSize(final String key) {
+    final Deque<Integer> sizes = history.get(key);
+    if (sizes == null || sizes.isEmpty()) {
+      return 0;
+    }
+    final int[] sortedSizes = sizes.stream().mapToInt(Integer::intValue).toArray();
+    Arrays.sort(sortedSizes);
+    // nearest-rank percentile
+    final int rank = (percentile * sortedSizes.length + 99) / 100;
+    return Math.min(sortedSizes[rank - 1], MAX_EXPECTED_SIZE);
+  }
+
+  public synchronized void clear() {
+    history.clear();
+  }
+
+  /**
+   * Replace the content of this profile by the one persisted at {@code path}. Nothing happens if
+   * the file does not exist or can not be parsed.
+   *
+   * @param path the TOML file to read
+   */
+  public void load(final Path path) {
+    if (!Files.exists(path)) {
+      return;
+    }
+
+    final TomlParseResult toml;
+    try {
+      toml = Toml.parse(path);
+    } catch (IOException e) {
+      log.warn("Could not read sizing profile {}: {}", path, e.getMessage());
+      return;
+    }
+    if (toml.hasErrors() || !toml.isTable(TOML_TABLE)) {
+      log.warn("Ignoring malformed sizing profile {}", path);
+      return;
+    }
+
+    final TomlTable table = toml.getTable(TOML_TABLE);
+    synchronized (this) {
+      history.clear();
+      for (String key : table.keySet()) {
+        final TomlArray sizes = table.getArray(key);
+        if (sizes == null) {
+          continue;
+        }
+        for (int i = Math.max(0, sizes.size() - window); i < sizes.size(); i++) {
+          record(key, Math.toIntExact(sizes.getLong(i)));
+        }
+      }
+    }
+  }
+
+  /**
+   * Persist this profile at {@code path}, replacing any previous content atomically.
+   *
+   * @param path the TOML file to write
+   */
+  public void save(final Path path) {
+    final StringBuilder toml = new StringBuilder("[" + TOML_TABLE + "]\n");
+    synchronized (this) {
+      for (Map.Entry<String, Deque<Integer>> entry : new TreeMap<>(history).entrySet()) {
+        toml.append(entry.getKey())
+            .append(" = [")
+            .append(
+                entry.getValue().stream().map(String::valueOf).collect(Collectors.joining(", ")))
+            .append("]\n");
+      }
+    }
+
+    try {
+      final Path tmpPath = path.resolveSibling(path.getFileName() + ".tmp");
+      Files.writeString(tmpPath, toml, StandardCharsets.UTF_8);
+      Files.move(tmpPath, path, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException e) {
+      log.warn("Could not persist sizing profile to {}: {}", path, e.getMessage());
+    }
+  }
+}
@@ -36,6 +36,11 @@ public interface CountingOnlyModule extends Module {
     counts().pop();
   }
 
+  @Override
+  default void reset() {
+    counts().clear();
+  }
+
   @Override
   default int lineCount() {
     return counts().lineCount();
@@ -19,6 +19,7 @@ import java.nio.MappedByteBuffer;
 import java.util.List;
 
 import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
 import net.consensys.linea.zktracer.types.TransactionProcessingMetadata;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.worldstate.WorldView;
@@ -57,8 +58,23 @@ public interface Module {
   /** Called when a transaction execution is cancelled; should revert the state of the module. */
   void popTransaction();
 
+  /**
+   * Called when the tracer is reused for a new conflation; should bring the module back to its
+   * freshly constructed state, keeping the containers it already allocated.
+   */
+  void reset();
+
   int lineCount();
 
+  /**
+   * Called at the start of a conflation; intended to preallocate the containers of the module from
+   * the sizes they reached in the previous conflations.
+   */
+  default void presizeContainers(final ContainerSizingProfile profile) {}
+
+  /** Called at the end of a conflation; records the sizes reached by the containers. */
+  default void recordContainerSizes(final ContainerSizingProfile profile) {}
+
   List<ColumnHeader> columnsHeaders();
 
   default void commit(List<MappedByteBuffer> buffers) {
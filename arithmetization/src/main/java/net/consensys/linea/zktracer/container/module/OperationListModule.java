@@ -15,6 +15,7 @@
 
 package net.consensys.linea.zktracer.container.module;
 
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
 import net.consensys.linea.zktracer.container.ModuleOperation;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedList;
 import org.hyperledger.besu.evm.worldstate.WorldView;
@@ -36,11 +37,26 @@ public interface OperationListModule<E extends ModuleOperation> extends Module {
     operations().pop();
   }
 
+  @Override
+  default void reset() {
+    operations().clear();
+  }
+
   @Override
   default int lineCount() {
     return operations().lineCount();
   }
 
+  @Override
+  default void presizeContainers(final ContainerSizingProfile profile) {
+    operations().ensureCapacity(profile.expectedSize(moduleKey()));
+  }
+
+  @Override
+  default void recordContainerSizes(final ContainerSizingProfile profile) {
+    profile.record(moduleKey(), operations().size());
+  }
+
   @Override
   default void traceEndConflation(final WorldView state) {
     operations().finishConflation();
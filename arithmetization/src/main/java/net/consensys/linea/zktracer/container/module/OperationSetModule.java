@@ -18,6 +18,7 @@ package net.consensys.linea.zktracer.container.module;
 import java.util.Comparator;
 import java.util.List;
 
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
 import net.consensys.linea.zktracer.container.ModuleOperation;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
 import org.hyperledger.besu.evm.worldstate.WorldView;
@@ -40,11 +41,26 @@ public interface OperationSetModule<E extends ModuleOperation> extends Module {
     operations().pop();
   }
 
+  @Override
+  default void reset() {
+    operations().clear();
+  }
+
   @Override
   default int lineCount() {
     return operations().lineCount();
   }
 
+  @Override
+  default void presizeContainers(final ContainerSizingProfile profile) {
+    operations().ensureCapacity(profile.expectedSize(moduleKey()));
+  }
+
+  @Override
+  default void recordContainerSizes(final ContainerSizingProfile profile) {
+    profile.record(moduleKey(), operations().size());
+  }
+
   @Override
   default void traceEndConflation(final WorldView state) {
     operations().finishConflation();
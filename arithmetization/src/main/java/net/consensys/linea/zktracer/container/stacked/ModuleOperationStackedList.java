@@ -37,7 +37,7 @@ import org.jetbrains.annotations.NotNull;
  */
 @Accessors(fluent = true)
 public class ModuleOperationStackedList<E extends ModuleOperation> {
-  private final List<E> operationsCommitedToTheConflation;
+  private final ArrayList<E> operationsCommitedToTheConflation;
   @Getter private final List<E> operationsInTransaction;
   private final CountOnlyOperation lineCounter = new CountOnlyOperation();
   private boolean conflationFinished = false;
@@ -127,6 +127,16 @@ public class ModuleOperationStackedList<E extends ModuleOperation> {
     operationsCommitedToTheConflation.clear();
     operationsInTransaction.clear();
     lineCounter.clear();
+    conflationFinished = false;
+  }
+
+  /**
+   * Preallocate the memory needed to store the given number of operations for the conflation.
+   *
+   * @param expectedConflationNumberOperations the expected number of operations in the conflation
+   */
+  public void ensureCapacity(final int expectedConflationNumberOperations) {
+    operationsCommitedToTheConflation.ensureCapacity(expectedConflationNumberOperations);
   }
 
   public void finishConflation() {
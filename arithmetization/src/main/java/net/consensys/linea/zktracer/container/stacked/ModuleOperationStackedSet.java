@@ -126,10 +126,11 @@ public class ModuleOperationStackedSet<E extends ModuleOperation> extends Stacke
     return r;
   }
 
+  @Override
   public void clear() {
-    operationsCommitedToTheConflation().clear();
-    operationsInTransaction().clear();
+    super.clear();
     lineCounter.clear();
+    conflationFinished = false;
   }
 
   public void finishConflation() {
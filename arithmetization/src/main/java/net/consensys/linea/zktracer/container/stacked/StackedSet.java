@@ -24,7 +24,7 @@ import lombok.experimental.Accessors;
 @Accessors(fluent = true)
 @Getter
 public class StackedSet<E> {
-  private final Set<E> operationsCommitedToTheConflation;
+  private Set<E> operationsCommitedToTheConflation;
   private final Set<E> operationsInTransaction;
 
   public StackedSet() {
@@ -55,6 +55,25 @@ public class StackedSet<E> {
     operationsInTransaction().clear();
   }
 
+  /** Drop every element, committed or not, e.g. to reuse the set for a new conflation. */
+  public void clear() {
+    operationsCommitedToTheConflation().clear();
+    operationsInTransaction().clear();
+  }
+
+  /**
+   * Preallocate the memory needed to store the given number of elements for the conflation. As a
+   * {@link HashSet} can't be resized upfront, this is only effective while the set is still empty,
+   * i.e. at the beginning of the conflation.
+   *
+   * @param expectedConflationNumberOperations the expected number of elements in the conflation
+   */
+  public void ensureCapacity(final int expectedConflationNumberOperations) {
+    if (operationsCommitedToTheConflation.isEmpty() && expectedConflationNumberOperations > 0) {
+      operationsCommitedToTheConflation = HashSet.newHashSet(expectedConflationNumberOperations);
+    }
+  }
+
   public boolean add(E e) {
     if (!operationsCommitedToTheConflation().contains(e)) {
       return operationsInTransaction().add(e);
@@ -15,14 +15,19 @@
 
 package net.consensys.linea.zktracer.module;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
-import lombok.RequiredArgsConstructor;
+import com.google.common.base.Preconditions;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.DelegatingBytes;
+import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Quantity;
 import org.hyperledger.besu.datatypes.Transaction;
 import org.hyperledger.besu.evm.frame.MessageFrame;
@@ -31,9 +36,15 @@ import org.hyperledger.besu.evm.operation.Operation;
 import org.hyperledger.besu.evm.worldstate.WorldView;
 import org.hyperledger.besu.plugin.data.BlockBody;
 import org.hyperledger.besu.plugin.data.ProcessableBlockHeader;
+import org.slf4j.helpers.MessageFormatter;
 
+/**
+ * Reports what the tracer does, at the granularity selected by its {@link PinLevel}. When built
+ * from a {@link DebugModeConfiguration}, only a sample of the transactions, instructions and
+ * contexts is reported, and the report is kept in a bounded {@link RingBuffer} instead of being
+ * logged.
+ */
 @Slf4j
-@RequiredArgsConstructor
 public class DebugMode {
   public static class PinLevel {
     private static final int CONFLATION = 1;
@@ -141,35 +152,160 @@ public class DebugMode {
     }
   }
 
+  /** Receives the lines reported by a {@link DebugMode}, in slf4j format. */
+  public interface Sink {
+    void accept(String format, Object... args);
+  }
+
+  /** Logs every line as soon as it is reported */
+  public static final Sink LOG = (format, args) -> log.info(format, args);
+
+  /**
+   * Keeps the last {@link #capacity} reported lines, so that a trace can be diagnosed after the
+   * fact without logging every instruction of every transaction.
+   */
+  public static class RingBuffer implements Sink {
+    private final int capacity;
+    private final ArrayDeque<String> lines;
+    private long droppedLines = 0;
+
+    public RingBuffer(final int capacity) {
+      Preconditions.checkArgument(capacity > 0, "capacity must be positive");
+      this.capacity = capacity;
+      this.lines = new ArrayDeque<>(capacity);
+    }
+
+    @Override
+    public synchronized void accept(String format, Object... args) {
+      if (lines.size() == capacity) {
+        lines.removeFirst();
+        droppedLines++;
+      }
+      lines.addLast(MessageFormatter.arrayFormat(format, args).getMessage());
+    }
+
+    /**
+     * @return the number of lines evicted to make room for more recent ones
+     */
+    public synchronized long droppedLines() {
+      return droppedLines;
+    }
+
+    /**
+     * Empty the buffer.
+     *
+     * @return the buffered lines, oldest first
+     */
+    public synchronized List<String> drain() {
+      final List<String> drained = new ArrayList<>(lines);
+      lines.clear();
+      return drained;
+    }
+  }
+
   private static final int MAX_STACK_ELT_DISPLAY = 5;
   private final PinLevel l;
   private final Hub hub;
+  private final Sink sink;
+  private final int samplingPeriod;
+  private final Set<OpCode> opCodes;
+  private final Set<Address> addresses;
+
+  /** Holds the lines of the current transaction until we know whether it reverted */
+  private final RingBuffer pendingTxLines;
+
+  private long txCount = 0;
+  private boolean inTx = false;
+  private boolean txSampled = true;
+
+  /** Log every event selected by {@code l}, as it happens. */
+  public DebugMode(PinLevel l, Hub hub) {
+    this(l, hub, LOG, 1, null, Set.of(), Set.of());
+  }
+
+  public DebugMode(DebugModeConfiguration configuration, Hub hub) {
+    this(
+        configuration.pinLevel(),
+        hub,
+        configuration.ringBufferSize() == 0 ? LOG : new RingBuffer(configuration.ringBufferSize()),
+        configuration.samplingPeriod(),
+        configuration.onlyReverted()
+            ? new RingBuffer(
+                configuration.ringBufferSize() == 0
+                    ? DebugModeConfiguration.DEFAULT_BUFFER_SIZE
+                    : configuration.ringBufferSize())
+            : null,
+        configuration.opCodeFilter(),
+        configuration.addressFilter());
+  }
+
+  private DebugMode(
+      PinLevel l,
+      Hub hub,
+      Sink sink,
+      int samplingPeriod,
+      RingBuffer pendingTxLines,
+      Set<OpCode> opCodes,
+      Set<Address> addresses) {
+    this.l = l;
+    this.hub = hub;
+    this.sink = sink;
+    this.samplingPeriod = samplingPeriod;
+    this.pendingTxLines = pendingTxLines;
+    this.opCodes = opCodes;
+    this.addresses = addresses;
+  }
+
+  /**
+   * @return the buffer holding the reported lines, if they are not logged directly
+   */
+  public Optional<RingBuffer> ringBuffer() {
+    return sink instanceof RingBuffer ringBuffer ? Optional.of(ringBuffer) : Optional.empty();
+  }
+
+  private void emit(String format, Object... args) {
+    if (inTx && pendingTxLines != null) {
+      pendingTxLines.accept(format, args);
+    } else {
+      sink.accept(format, args);
+    }
+  }
+
+  /** Whether the current context is selected by the transaction sampling and address filter */
+  private boolean reportFrame() {
+    return txSampled
+        && (addresses.isEmpty() || addresses.contains(hub.currentFrame().byteCodeAddress()));
+  }
+
+  private boolean reportOpCode() {
+    return opCodes.isEmpty() || opCodes.contains(hub.opCode());
+  }
 
   public void traceStartConflation(long blockCount) {
     if (!this.l.doConflation()) {
       return;
     }
-    log.info("=== Start conflation ({} blocks) ===", blockCount);
+    emit("=== Start conflation ({} blocks) ===", blockCount);
   }
 
   public void traceEndConflation() {
     if (!this.l.doConflation()) {
       return;
     }
-    log.info("=== Stop conflation ===");
+    emit("=== Stop conflation ===");
   }
 
   public void traceStartBlock(ProcessableBlockHeader processableBlockHeader, final BlockBody body) {
     if (!this.l.doBlock()) {
       return;
     }
-    log.info(
+    emit(
         "== Enter block {} ({} txs.)",
         processableBlockHeader.getNumber(),
         body.getTransactions().size());
-    log.info("    coinbase:  {}", processableBlockHeader.getCoinbase());
-    log.info("    gas limit: {}", processableBlockHeader.getGasLimit());
-    log.info(
+    emit("    coinbase:  {}", processableBlockHeader.getCoinbase());
+    emit("    gas limit: {}", processableBlockHeader.getGasLimit());
+    emit(
         "    base fee:  {}",
         processableBlockHeader.getBaseFee().map(Quantity::toHexString).orElse("N/A"));
   }
@@ -178,29 +314,30 @@ public class DebugMode {
     if (!this.l.doBlock()) {
       return;
     }
-    log.info("== End of block");
+    emit("== End of block");
   }
 
   public void tracePrepareTx(WorldView worldView, Transaction tx) {
-    if (!this.l.doTx()) {
+    this.txSampled = this.txCount++ % this.samplingPeriod == 0;
+    this.inTx = true;
+    if (!this.l.doTx() || !this.txSampled) {
       return;
     }
-    log.info("= Starting transaction {}", tx.getHash());
-    log.info(" -- General --");
-    log.info("  nonce: {}", tx.getNonce());
-    log.info("  from:  {}", tx.getSender());
-    log.info("  to:    {}", tx.getTo().map(DelegatingBytes::toString).orElse("NONE"));
-    log.info("  type:  {}", tx.getType());
-    log.info("  value: {}", tx.getValue().toHexString());
-    log.info("  data:  {}B", tx.getPayload().size());
-    log.info(" -- Gas info ---");
-    log.info("  gas limit:              {}", tx.getGasLimit());
-    log.info(
-        "  gas price:              {}", tx.getGasPrice().map(Quantity::toHexString).orElse("N/A"));
-    log.info(
+    emit("= Starting transaction {}", tx.getHash());
+    emit(" -- General --");
+    emit("  nonce: {}", tx.getNonce());
+    emit("  from:  {}", tx.getSender());
+    emit("  to:    {}", tx.getTo().map(DelegatingBytes::toString).orElse("NONE"));
+    emit("  type:  {}", tx.getType());
+    emit("  value: {}", tx.getValue().toHexString());
+    emit("  data:  {}B", tx.getPayload().size());
+    emit(" -- Gas info ---");
+    emit("  gas limit:              {}", tx.getGasLimit());
+    emit("  gas price:              {}", tx.getGasPrice().map(Quantity::toHexString).orElse("N/A"));
+    emit(
         "  max. fee per gas:       {}",
         tx.getMaxFeePerGas().map(Quantity::toHexString).orElse("N/A"));
-    log.info(
+    emit(
         "  max. prio. fee per gas: {}",
         tx.getMaxPriorityFeePerGas().map(Quantity::toHexString).orElse("N/A"));
   }
@@ -212,17 +349,27 @@ public class DebugMode {
       Bytes output,
       List<Log> logs,
       long gasUsed) {
-    if (!this.l.doTx()) {
-      return;
+    if (this.l.doTx() && this.txSampled) {
+      emit("= Ending transaction: {}", isSuccessful ? "SUCCESS" : "FAILURE");
+    }
+
+    this.inTx = false;
+    this.txSampled = true;
+    if (this.pendingTxLines != null) {
+      final List<String> txLines = this.pendingTxLines.drain();
+      if (!isSuccessful) {
+        for (String line : txLines) {
+          this.sink.accept("{}", line);
+        }
+      }
     }
-    log.info("= Ending transaction: {}", isSuccessful ? "SUCCESS" : "FAILURE");
   }
 
   public void traceContextEnter(final MessageFrame frame) {
-    if (!this.l.doContext()) {
+    if (!this.l.doContext() || !reportFrame()) {
       return;
     }
-    log.info(
+    emit(
         "--> ID: {} CN: {} {} @ {}",
         hub.currentFrame().id(),
         hub.currentFrame().contextNumber(),
@@ -231,10 +378,10 @@ public class DebugMode {
   }
 
   public void traceContextReEnter(final MessageFrame frame) {
-    if (!this.l.doContext()) {
+    if (!this.l.doContext() || !reportFrame()) {
       return;
     }
-    log.info(
+    emit(
         "<-> ID: {} CN: {} {} @ {}",
         hub.currentFrame().id(),
         hub.currentFrame().contextNumber(),
@@ -243,10 +390,10 @@ public class DebugMode {
   }
 
   public void traceContextExit(final MessageFrame frame) {
-    if (!this.l.doContext()) {
+    if (!this.l.doContext() || !reportFrame()) {
       return;
     }
-    log.info(
+    emit(
         "<-- ID: {} CN: {} {} @ {}",
         hub.currentFrame().id(),
         hub.currentFrame().contextNumber(),
@@ -255,11 +402,11 @@ public class DebugMode {
   }
 
   public void tracePreOpcode(final MessageFrame frame) {
-    if (!this.l.doOpcode()) {
+    if (!this.l.doOpcode() || !reportFrame() || !reportOpCode()) {
       return;
     }
 
-    log.info(
+    emit(
         "{}#{} {}",
         Integer.toHexString(hub.currentFrame().pc()),
         hub.currentFrame().id(),
@@ -267,12 +414,15 @@ public class DebugMode {
   }
 
   public void tracePostOpcode(final MessageFrame frame, Operation.OperationResult operationResult) {
+    if (!reportFrame()) {
+      return;
+    }
+
     if (operationResult.getHaltReason() != null) {
-      log.info(
-          "{} failed: {}", frame.getCurrentOperation().getName(), operationResult.getHaltReason());
+      emit("{} failed: {}", frame.getCurrentOperation().getName(), operationResult.getHaltReason());
     }
 
-    if (!this.l.doStack()) {
+    if (!this.l.doStack() || !reportOpCode()) {
       return;
     }
 
@@ -287,7 +437,7 @@ public class DebugMode {
         s.append(" | ");
       }
     }
-    log.info("{}", s);
+    emit("{}", s);
   }
 
   private static String maybeStackItem(final MessageFrame frame, int i) {
@@ -0,0 +1,185 @@
+/*
+ * Copyright ConsenSys AG.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.hyperledger.besu.datatypes.Address;
+
+/**
+ * Selects what a {@link DebugMode} reports, and where. Every component is optional so that the
+ * configuration can be given as a JSON object in an RPC request; absent components take their
+ * default value.
+ *
+ * @param pins the events to report, among {@code conflation}, {@code block}, {@code tx}, {@code
+ *     context}, {@code opcode}, {@code stack} and {@code all}; nothing is reported if absent
+ * @param everyNthTransaction only report one transaction out of this many (default: 1)
+ * @param revertedOnly only report the transactions that did not succeed (default: false)
+ * @param opCodes only report the instructions with these mnemonics (default: all of them)
+ * @param addresses only report the contexts executing the code of these addresses (default: all)
+ * @param bufferSize the number of lines kept in the ring buffer; if 0, the lines are logged
+ *     directly (default: {@link #DEFAULT_BUFFER_SIZE})
+ */
+public record DebugModeConfiguration(
+    List<String> pins,
+    Integer everyNthTransaction,
+    Boolean revertedOnly,
+    List<String> opCodes,
+    List<String> addresses,
+    Integer bufferSize) {
+  public static final int DEFAULT_BUFFER_SIZE = 4096;
+
+  public static final DebugModeConfiguration DISABLED =
+      new DebugModeConfiguration(null, null, null, null, null, null);
+
+  public boolean enabled() {
+    return !pinLevel().none();
+  }
+
+  public DebugMode.PinLevel pinLevel() {
+    final DebugMode.PinLevel pinLevel = new DebugMode.PinLevel();
+    if (pins == null) {
+      return pinLevel;
+    }
+    for (String pin : pins) {
+      switch (pin.toLowerCase(Locale.ROOT)) {
+        case "all" -> pinLevel.all();
+        case "conflation" -> pinLevel.conflation(true);
+        case "block" -> pinLevel.block(true);
+        case "tx" -> pinLevel.tx(true);
+        case "context" -> pinLevel.context(true);
+        case "opcode" -> pinLevel.opCode(true);
+        case "stack" -> pinLevel.stack(true);
+        default -> throw new IllegalArgumentException("unknown debug pin: " + pin);
+      }
+    }
+    return pinLevel;
+  }
+
+  public int samplingPeriod() {
+    return everyNthTransaction == null ? 1 : everyNthTransaction;
+  }
+
+  public boolean onlyReverted() {
+    return revertedOnly != null && revertedOnly;
+  }
+
+  /**
+   * @return the instructions to report, empty if all of them are
+   */
+  public Set<OpCode> opCodeFilter() {
+    if (opCodes == null || opCodes.isEmpty()) {
+      return Set.of();
+    }
+    final Set<OpCode> filter = EnumSet.noneOf(OpCode.class);
+    for (String mnemonic : opCodes) {
+      filter.add(OpCode.fromMnemonic(mnemonic));
+    }
+    return filter;
+  }
+
+  /**
+   * @return the code addresses to report, empty if all of them are
+   */
+  public Set<Address> addressFilter() {
+    if (addresses == null || addresses.isEmpty()) {
+      return Set.of();
+    }
+    final Set<Address> filter = new HashSet<>();
+    for (String address : addresses) {
+      filter.add(Address.fromHexString(address));
+    }
+    return filter;
+  }
+
+  public int ringBufferSize() {
+    return bufferSize == null ? DEFAULT_BUFFER_SIZE : bufferSize;
+  }
+
+  /**
+   * @throws IllegalArgumentException if a component of this configuration is malformed
+   */
+  public void validate() {
+    pinLevel();
+    opCodeFilter();
+    addressFilter();
+    if (samplingPeriod() <= 0) {
+      throw new IllegalArgumentException(
+          "everyNthTransaction must be positive, got " + samplingPeriod());
+    }
+    if (ringBufferSize() < 0) {
+      throw new IllegalArgumentException(
+          "bufferSize must be non-negative, got " + ringBufferSize());
+    }
+  }
+
+  /**
+   * Parse a configuration given on the command line as {@code ;}-separated {@code key=value}
+   * entries, lists being {@code ,}-separated, e.g. {@code
+   * pins=tx,opcode;every=100;reverted;opcodes=SSTORE,CALL;addresses=0x…;buffer=1024}.
+   *
+   * @param spec the configuration to parse; an empty or null spec disables debugging
+   * @return the parsed configuration
+   */
+  public static DebugModeConfiguration parse(final String spec) {
+    if (spec == null || spec.isBlank()) {
+      return DISABLED;
+    }
+
+    List<String> pins = null;
+    Integer everyNthTransaction = null;
+    Boolean revertedOnly = null;
+    List<String> opCodes = null;
+    List<String> addresses = null;
+    Integer bufferSize = null;
+    for (String entry : spec.split(";")) {
+      final String[] keyValue = entry.trim().split("=", 2);
+      final String value = keyValue.length > 1 ? keyValue[1].trim() : "";
+      switch (keyValue[0].trim().toLowerCase(Locale.ROOT)) {
+        case "pins" -> pins = list(value);
+        case "every" -> everyNthTransaction = Integer.parseInt(value);
+        case "reverted" -> revertedOnly = value.isEmpty() || Boolean.parseBoolean(value);
+        case "opcodes" -> opCodes = list(value);
+        case "addresses" -> addresses = list(value);
+        case "buffer" -> bufferSize = Integer.parseInt(value);
+        case "" -> {}
+        default -> throw new IllegalArgumentException("unknown debug option: " + keyValue[0]);
+      }
+    }
+
+    final DebugModeConfiguration configuration =
+        new DebugModeConfiguration(
+            pins, everyNthTransaction, revertedOnly, opCodes, addresses, bufferSize);
+    configuration.validate();
+    return configuration;
+  }
+
+  private static List<String> list(final String value) {
+    final List<String> list = new ArrayList<>();
+    for (String item : value.split(",")) {
+      if (!item.isBlank()) {
+        list.add(item.trim());
+      }
+    }
+    return list;
+  }
+}
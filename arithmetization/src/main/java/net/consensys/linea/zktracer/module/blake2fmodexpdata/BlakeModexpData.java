@@ -49,6 +49,12 @@ public class BlakeModexpData implements OperationListModule<BlakeModexpDataOpera
     return "BLAKE_MODEXP_DATA";
   }
 
+  @Override
+  public void reset() {
+    operations.clear();
+    previousID = 0;
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(this.lineCount());
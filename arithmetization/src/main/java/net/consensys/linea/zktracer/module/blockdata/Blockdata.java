@@ -80,6 +80,13 @@ public class Blockdata implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void reset() {
+    operations.clear();
+    conflationFinished = false;
+    previousTimestamp = 0;
+  }
+
   @Override
   public int lineCount() {
     final int numberOfBlock = conflationFinished ? operations.size() : operations.size() + 1;
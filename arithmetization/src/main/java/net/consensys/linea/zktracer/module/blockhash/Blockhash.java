@@ -73,6 +73,15 @@ public class Blockhash implements OperationSetModule<BlockhashOperation>, PostOp
     return "BLOCK_HASH";
   }
 
+  @Override
+  public void reset() {
+    operations.clear();
+    sortedOperations = null;
+    blockHashMap.clear();
+    numberOfCall.clear();
+    relativeBlock = 0;
+  }
+
   @Override
   public void traceStartBlock(final ProcessableBlockHeader processableBlockHeader) {
     relativeBlock += 1;
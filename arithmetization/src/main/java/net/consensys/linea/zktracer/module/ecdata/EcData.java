@@ -65,6 +65,12 @@ public class EcData implements OperationListModule<EcDataOperation> {
     return "EC_DATA";
   }
 
+  @Override
+  public void reset() {
+    operations.clear();
+    ecDataOperation = null;
+  }
+
   @Override
   public List<ColumnHeader> columnsHeaders() {
     return Trace.headers(this.lineCount());
@@ -64,8 +64,6 @@ import net.consensys.linea.zktracer.types.EWord;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.tuweni.bytes.Bytes;
-import org.hyperledger.besu.crypto.altbn128.AltBn128Fq2Point;
-import org.hyperledger.besu.crypto.altbn128.Fq2;
 
 @Accessors(fluent = true)
 public class EcDataOperation extends ModuleOperation {
@@ -499,6 +497,9 @@ public class EcDataOperation extends ModuleOperation {
   }
 
   void handlePairing() {
+    // the precompile only succeeds if all the large points are on G2, in which case they need not
+    // be checked again
+    final boolean allLargePointsAreOnG2 = !returnData.isEmpty();
     boolean atLeastOneLargePointIsNotInfinity = false;
     boolean firstLargePointNotInfinity = false;
     boolean atLeastOneLargePointIsNotOnG2 = false;
@@ -543,10 +544,12 @@ public class EcDataOperation extends ModuleOperation {
       boolean largePointIsAtInfinity = callToWellFormedCoordinatesReturnedValues.getRight();
 
       // Check if the large point is on G2
-      final Fq2 bX = Fq2.create(bXRe.toUnsignedBigInteger(), bXIm.toUnsignedBigInteger());
-      final Fq2 bY = Fq2.create(bYRe.toUnsignedBigInteger(), bYIm.toUnsignedBigInteger());
-      final AltBn128Fq2Point b = new AltBn128Fq2Point(bX, bY);
-      if (!atLeastOneLargePointIsNotOnG2 && (!b.isOnCurve() || !b.isInGroup())) {
+      if (!allLargePointsAreOnG2
+          && !atLeastOneLargePointIsNotOnG2
+          && !G2MembershipCache.shared()
+              .isOnG2(
+                  rightPaddedCallData.slice(
+                      64 + bytesOffset, G2MembershipCache.LARGE_POINT_BYTE_SIZE))) {
         atLeastOneLargePointIsNotOnG2 = true;
         firstLargePointNotOnG2 = true;
         notOnG2AccMax = true;
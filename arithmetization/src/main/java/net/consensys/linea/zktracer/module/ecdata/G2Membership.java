@@ -0,0 +1,227 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata;
+
+import java.math.BigInteger;
+
+import com.google.common.base.Preconditions;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * G2 membership of the large points of ECPAIRING, i.e. of points of the twist E'(Fp2): y² = x³ +
+ * 3/(9+u) of the BN254 curve.
+ *
+ * <p>Instead of checking that [r]Q is the point at infinity, which requires a 254-bit scalar
+ * multiplication, the subgroup check relies on the untwist-Frobenius-twist endomorphism ψ: a point
+ * Q of the twist is in G2 iff [x₀+1]Q + ψ([x₀]Q) + ψ²([x₀]Q) = ψ³([2x₀]Q), where x₀ is the 63-bit
+ * parameter of the curve (El Housni, Guillevic, Piellard, <i>Co-factor clearing and subgroup
+ * membership testing on pairing-friendly curves</i>, §5.1). The arithmetic is done in Jacobian
+ * coordinates, so that the check boils down to a scalar multiplication by x₀ without any field
+ * inversion.
+ */
+public final class G2Membership {
+  static final BigInteger P =
+      new BigInteger("30644e72e131a029b85045b68181585d97816a916871ca8d3c208c16d87cfd47", 16);
+
+  /** The parameter of the BN254 curve */
+  private static final BigInteger X0 = new BigInteger("4965661367192848881");
+
+  private static final Fq2 XI = new Fq2(BigInteger.valueOf(9), BigInteger.ONE);
+  private static final Fq2 B_TWIST = new Fq2(BigInteger.valueOf(3), BigInteger.ZERO).div(XI);
+
+  /** ξ^((p-1)/3) and ξ^((p-1)/2), the coefficients of ψ */
+  private static final Fq2 PSI_X =
+      XI.pow(P.subtract(BigInteger.ONE).divide(BigInteger.valueOf(3)));
+
+  private static final Fq2 PSI_Y = XI.pow(P.subtract(BigInteger.ONE).shiftRight(1));
+
+  private G2Membership() {}
+
+  /**
+   * @param largePoint the encoding of a large point, i.e. the big-endian coordinates (x_im, x_re,
+   *     y_im, y_re)
+   * @return whether the coordinates are in Fp, and the point on the twisted curve and in the G2
+   *     subgroup; the point at infinity, encoded as zeroes, is in G2
+   */
+  public static boolean isOnG2(final Bytes largePoint) {
+    Preconditions.checkArgument(
+        largePoint.size() == G2MembershipCache.LARGE_POINT_BYTE_SIZE,
+        "a large point is encoded on 128 bytes");
+
+    final BigInteger xIm = largePoint.slice(0, 32).toUnsignedBigInteger();
+    final BigInteger xRe = largePoint.slice(32, 32).toUnsignedBigInteger();
+    final BigInteger yIm = largePoint.slice(64, 32).toUnsignedBigInteger();
+    final BigInteger yRe = largePoint.slice(96, 32).toUnsignedBigInteger();
+    if (xIm.compareTo(P) >= 0
+        || xRe.compareTo(P) >= 0
+        || yIm.compareTo(P) >= 0
+        || yRe.compareTo(P) >= 0) {
+      return false;
+    }
+
+    final Fq2 x = new Fq2(xRe, xIm);
+    final Fq2 y = new Fq2(yRe, yIm);
+    if (x.isZero() && y.isZero()) {
+      return true;
+    }
+    if (!y.square().equals(x.square().mul(x).add(B_TWIST))) {
+      return false;
+    }
+
+    return isInSubgroup(new Point(x, y, Fq2.ONE));
+  }
+
+  static boolean isInSubgroup(final Point q) {
+    final Point a = q.mul(X0);
+    final Point lhs = a.add(q).add(a.psi()).add(a.psi().psi());
+    final Point rhs = a.dbl().psi().psi().psi();
+    return lhs.isEqual(rhs);
+  }
+
+  /** An element re + im·u of Fp2 = Fp[u]/(u² + 1) */
+  record Fq2(BigInteger re, BigInteger im) {
+    static final Fq2 ZERO = new Fq2(BigInteger.ZERO, BigInteger.ZERO);
+    static final Fq2 ONE = new Fq2(BigInteger.ONE, BigInteger.ZERO);
+
+    boolean isZero() {
+      return re.signum() == 0 && im.signum() == 0;
+    }
+
+    Fq2 add(final Fq2 other) {
+      return new Fq2(re.add(other.re).mod(P), im.add(other.im).mod(P));
+    }
+
+    Fq2 sub(final Fq2 other) {
+      return new Fq2(re.subtract(other.re).mod(P), im.subtract(other.im).mod(P));
+    }
+
+    Fq2 mul(final Fq2 other) {
+      final BigInteger reRe = re.multiply(other.re);
+      final BigInteger imIm = im.multiply(other.im);
+      final BigInteger cross = re.add(im).multiply(other.re.add(other.im));
+      return new Fq2(reRe.subtract(imIm).mod(P), cross.subtract(reRe).subtract(imIm).mod(P));
+    }
+
+    Fq2 square() {
+      return new Fq2(
+          re.add(im).multiply(re.subtract(im)).mod(P), re.multiply(im).shiftLeft(1).mod(P));
+    }
+
+    Fq2 twice() {
+      return add(this);
+    }
+
+    Fq2 conjugate() {
+      return new Fq2(re, im.negate().mod(P));
+    }
+
+    Fq2 inverse() {
+      final BigInteger norm = re.multiply(re).add(im.multiply(im)).modInverse(P);
+      return new Fq2(re.multiply(norm).mod(P), im.negate().multiply(norm).mod(P));
+    }
+
+    Fq2 div(final Fq2 other) {
+      return mul(other.inverse());
+    }
+
+    Fq2 pow(final BigInteger exponent) {
+      Fq2 result = ONE;
+      for (int i = exponent.bitLength() - 1; i >= 0; i--) {
+        result = result.square();
+        if (exponent.testBit(i)) {
+          result = result.mul(this);
+        }
+      }
+      return result;
+    }
+  }
+
+  /** A point of the twist in Jacobian coordinates (X/Z², Y/Z³); Z = 0 at infinity */
+  record Point(Fq2 x, Fq2 y, Fq2 z) {
+    static final Point INFINITY = new Point(Fq2.ONE, Fq2.ONE, Fq2.ZERO);
+
+    boolean isInfinity() {
+      return z.isZero();
+    }
+
+    Point psi() {
+      return new Point(x.conjugate().mul(PSI_X), y.conjugate().mul(PSI_Y), z.conjugate());
+    }
+
+    Point dbl() {
+      if (isInfinity() || y.isZero()) {
+        return INFINITY;
+      }
+      final Fq2 a = x.square();
+      final Fq2 b = y.square();
+      final Fq2 c = b.square();
+      final Fq2 d = x.add(b).square().sub(a).sub(c).twice();
+      final Fq2 e = a.twice().add(a);
+      final Fq2 x3 = e.square().sub(d.twice());
+      final Fq2 y3 = e.mul(d.sub(x3)).sub(c.twice().twice().twice());
+      final Fq2 z3 = y.mul(z).twice();
+      return new Point(x3, y3, z3);
+    }
+
+    Point add(final Point other) {
+      if (isInfinity()) {
+        return other;
+      }
+      if (other.isInfinity()) {
+        return this;
+      }
+      final Fq2 z1z1 = z.square();
+      final Fq2 z2z2 = other.z.square();
+      final Fq2 u1 = x.mul(z2z2);
+      final Fq2 u2 = other.x.mul(z1z1);
+      final Fq2 s1 = y.mul(other.z).mul(z2z2);
+      final Fq2 s2 = other.y.mul(z).mul(z1z1);
+      final Fq2 h = u2.sub(u1);
+      final Fq2 r = s2.sub(s1).twice();
+      if (h.isZero()) {
+        return r.isZero() ? dbl() : INFINITY;
+      }
+      final Fq2 i = h.twice().square();
+      final Fq2 j = h.mul(i);
+      final Fq2 v = u1.mul(i);
+      final Fq2 x3 = r.square().sub(j).sub(v.twice());
+      final Fq2 y3 = r.mul(v.sub(x3)).sub(s1.mul(j).twice());
+      final Fq2 z3 = z.add(other.z).square().sub(z1z1).sub(z2z2).mul(h);
+      return new Point(x3, y3, z3);
+    }
+
+    Point mul(final BigInteger scalar) {
+      Point result = INFINITY;
+      for (int i = scalar.bitLength() - 1; i >= 0; i--) {
+        result = result.dbl();
+        if (scalar.testBit(i)) {
+          result = result.add(this);
+        }
+      }
+      return result;
+    }
+
+    boolean isEqual(final Point other) {
+      if (isInfinity() || other.isInfinity()) {
+        return isInfinity() && other.isInfinity();
+      }
+      final Fq2 z1z1 = z.square();
+      final Fq2 z2z2 = other.z.square();
+      return x.mul(z2z2).equals(other.x.mul(z1z1))
+          && y.mul(other.z).mul(z2z2).equals(other.y.mul(z).mul(z1z1));
+    }
+  }
+}
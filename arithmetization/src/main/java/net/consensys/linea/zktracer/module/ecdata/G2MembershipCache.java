@@ -0,0 +1,88 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import org.apache.tuweni.bytes.Bytes;
+
+/**
+ * A bounded, least-recently-used cache of the G2 membership of the large points given to
+ * ECPAIRING. The subgroup check of a large point is by far the most expensive part of tracing a
+ * pairing, and bridges or signature aggregators keep pairing against the same verification keys;
+ * the outcome only depends on the 128 bytes encoding the point, so it is shared by all the tracers
+ * of the process.
+ */
+public class G2MembershipCache {
+  /** Default bound on the number of cached points */
+  public static final int DEFAULT_MAX_CACHED_POINTS = 1 << 14;
+
+  /** The size of the encoding of a large point in the ECPAIRING call data */
+  public static final int LARGE_POINT_BYTE_SIZE = 128;
+
+  private static final G2MembershipCache SHARED = new G2MembershipCache(DEFAULT_MAX_CACHED_POINTS);
+
+  private final int maxCachedPoints;
+  private final Map<Bytes, Boolean> memberships = new LinkedHashMap<>(16, 0.75f, true);
+
+  public G2MembershipCache(final int maxCachedPoints) {
+    Preconditions.checkArgument(maxCachedPoints >= 0, "maxCachedPoints must not be negative");
+    this.maxCachedPoints = maxCachedPoints;
+  }
+
+  public static G2MembershipCache shared() {
+    return SHARED;
+  }
+
+  /**
+   * @param largePoint the encoding of a large point, i.e. the big-endian coordinates (x_im, x_re,
+   *     y_im, y_re)
+   * @return whether the point is on the twisted curve and in the G2 subgroup
+   */
+  public boolean isOnG2(final Bytes largePoint) {
+    Preconditions.checkArgument(
+        largePoint.size() == LARGE_POINT_BYTE_SIZE, "a large point is encoded on 128 bytes");
+
+    synchronized (this) {
+      final Boolean cached = memberships.get(largePoint);
+      if (cached != null) {
+        return cached;
+      }
+    }
+
+    final boolean isOnG2 = G2Membership.isOnG2(largePoint);
+    synchronized (this) {
+      // the key is copied so as not to retain the whole call data it may be a slice of
+      memberships.put(largePoint.copy(), isOnG2);
+      final var eldest = memberships.entrySet().iterator();
+      while (memberships.size() > maxCachedPoints) {
+        eldest.next();
+        eldest.remove();
+      }
+    }
+    return isOnG2;
+  }
+
+  public synchronized int size() {
+    return memberships.size();
+  }
+
+  public synchronized void clear() {
+    memberships.clear();
+  }
+}
@@ -16,7 +16,6 @@
 package net.consensys.linea.zktracer.module.exp;
 
 import static com.google.common.base.Preconditions.*;
-import static com.google.common.math.BigIntegerMath.log2;
 import static java.lang.Math.min;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.EVM_INST_ISZERO;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.EVM_INST_LT;
@@ -32,7 +31,6 @@ import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
 
 import java.math.BigInteger;
-import java.math.RoundingMode;
 
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
@@ -46,6 +44,7 @@ import net.consensys.linea.zktracer.module.hub.fragment.imc.exp.ModexpLogExpCall
 import net.consensys.linea.zktracer.module.hub.precompiles.ModexpMetadata;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
 import net.consensys.linea.zktracer.types.EWord;
+import net.consensys.linea.zktracer.types.U256;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
 
@@ -72,7 +71,7 @@ public class ExpOperation extends ModuleOperation {
   protected Bytes[] pPreprocessingWcpArg1Lo;
   protected Bytes[] pPreprocessingWcpArg2Hi;
   protected Bytes[] pPreprocessingWcpArg2Lo;
-  protected UnsignedByte[] pPreprocessingWcpInst;
+  protected byte[] pPreprocessingWcpInst;
   protected boolean[] pPreprocessingWcpRes;
 
   boolean isExpLog;
@@ -138,7 +137,7 @@ public class ExpOperation extends ModuleOperation {
     pPreprocessingWcpArg1Lo[0] = explogExpCall.exponent().hi();
     pPreprocessingWcpArg2Hi[0] = Bytes.EMPTY;
     pPreprocessingWcpArg2Lo[0] = Bytes.EMPTY;
-    pPreprocessingWcpInst[0] = UnsignedByte.of(EVM_INST_ISZERO);
+    pPreprocessingWcpInst[0] = (byte) EVM_INST_ISZERO;
     final boolean expnHiIsZero = wcp.callISZERO(explogExpCall.exponent().hi());
     ;
     pPreprocessingWcpRes[0] = expnHiIsZero;
@@ -177,7 +176,7 @@ public class ExpOperation extends ModuleOperation {
     pPreprocessingWcpArg1Lo[0] = Bytes.of(modexplogExpCall.getCdsCutoff());
     pPreprocessingWcpArg2Hi[0] = Bytes.of(0);
     pPreprocessingWcpArg2Lo[0] = Bytes.of(modexplogExpCall.getEbsCutoff());
-    pPreprocessingWcpInst[0] = UnsignedByte.of(EVM_INST_LT);
+    pPreprocessingWcpInst[0] = (byte) EVM_INST_LT;
     pPreprocessingWcpRes[0] =
         wcp.callLT(
             Bytes.of(modexplogExpCall.getCdsCutoff()), Bytes.of(modexplogExpCall.getEbsCutoff()));
@@ -189,7 +188,7 @@ public class ExpOperation extends ModuleOperation {
     pPreprocessingWcpArg1Lo[1] = Bytes.of(minCutoff);
     pPreprocessingWcpArg2Hi[1] = Bytes.of(0);
     pPreprocessingWcpArg2Lo[1] = Bytes.of(LLARGEPO);
-    pPreprocessingWcpInst[1] = UnsignedByte.of(EVM_INST_LT);
+    pPreprocessingWcpInst[1] = (byte) EVM_INST_LT;
     final boolean minCutoffLeq16 = wcp.callLT(Bytes.of(minCutoff), Bytes.of(LLARGEPO));
     pPreprocessingWcpRes[1] = minCutoffLeq16;
 
@@ -202,7 +201,7 @@ public class ExpOperation extends ModuleOperation {
     pPreprocessingWcpArg1Lo[2] = rawLeadHi;
     pPreprocessingWcpArg2Hi[2] = Bytes.of(0);
     pPreprocessingWcpArg2Lo[2] = Bytes.of(0);
-    pPreprocessingWcpInst[2] = UnsignedByte.of(EVM_INST_ISZERO);
+    pPreprocessingWcpInst[2] = (byte) EVM_INST_ISZERO;
     final boolean rawLeadHiIsZero = wcp.callISZERO(rawLeadHi);
     pPreprocessingWcpRes[2] = rawLeadHiIsZero;
 
@@ -241,7 +240,7 @@ public class ExpOperation extends ModuleOperation {
     pPreprocessingWcpArg1Lo[3] = pComputationTrimAcc;
     pPreprocessingWcpArg2Hi[3] = Bytes.of(0);
     pPreprocessingWcpArg2Lo[3] = Bytes.of(0);
-    pPreprocessingWcpInst[3] = UnsignedByte.of(EVM_INST_ISZERO);
+    pPreprocessingWcpInst[3] = (byte) EVM_INST_ISZERO;
     final boolean trimAccIsZero = wcp.callISZERO(pComputationTrimAcc);
     pPreprocessingWcpRes[3] = trimAccIsZero;
   }
@@ -263,7 +262,7 @@ public class ExpOperation extends ModuleOperation {
       pComputationMsb
       */
       // tanzb turns to 1 iff trimAcc is nonzero
-      tanzb = pComputationTrimAcc.slice(0, i + 1).toUnsignedBigInteger().signum() != 0;
+      tanzb = !pComputationTrimAcc.slice(0, i + 1).isZero();
       pComputationTanzbAcc += (short) (tanzb ? 1 : 0);
       // manzb turns to 1 iff msbAcc is nonzero
       manzb = i > maxCt - 8 && pComputationMsb.slice(0, i % 8 + 1) != 0;
@@ -326,7 +325,7 @@ public class ExpOperation extends ModuleOperation {
           .pPreprocessingWcpArg1Lo(pPreprocessingWcpArg1Lo[i])
           .pPreprocessingWcpArg2Hi(pPreprocessingWcpArg2Hi[i])
           .pPreprocessingWcpArg2Lo(pPreprocessingWcpArg2Lo[i])
-          .pPreprocessingWcpInst(pPreprocessingWcpInst[i])
+          .pPreprocessingWcpInst(UnsignedByte.of(pPreprocessingWcpInst[i]))
           .pPreprocessingWcpRes(pPreprocessingWcpRes[i])
           .fillAndValidateRow();
     }
@@ -342,7 +341,7 @@ public class ExpOperation extends ModuleOperation {
     pPreprocessingWcpArg1Lo = new Bytes[pPreprocessingLen];
     pPreprocessingWcpArg2Hi = new Bytes[pPreprocessingLen];
     pPreprocessingWcpArg2Lo = new Bytes[pPreprocessingLen];
-    pPreprocessingWcpInst = new UnsignedByte[pPreprocessingLen];
+    pPreprocessingWcpInst = new byte[pPreprocessingLen];
     pPreprocessingWcpRes = new boolean[pPreprocessingLen];
   }
 
@@ -355,25 +354,20 @@ public class ExpOperation extends ModuleOperation {
     return CT_MAX_CMPTN_MODEXP_LOG + CT_MAX_PRPRC_MODEXP_LOG + 3;
   }
 
-  public record LeadLogTrimLead(int leadLog, BigInteger trim) {
+  public record LeadLogTrimLead(int leadLog, U256 trim) {
     public static LeadLogTrimLead fromArgs(EWord rawLead, int cdsCutoff, int ebsCutoff) {
       // min_cutoff
       final int minCutoff = min(cdsCutoff, ebsCutoff);
 
-      BigInteger mask = new BigInteger("FF".repeat(minCutoff), 16);
-      if (minCutoff < 32) {
-        // 32 - minCutoff is the shift distance in bytes, but we need bits
-        mask = mask.shiftLeft(8 * (32 - minCutoff));
-      }
-
-      // trim (keep only minCutoff bytes of rawLead)
-      final BigInteger trim = rawLead.toUnsignedBigInteger().and(mask);
+      // trim (keep only the minCutoff leading bytes of rawLead)
+      final int trimmedBits = 8 * (32 - minCutoff);
+      final U256 trim = U256.of(rawLead).shiftRight(trimmedBits).shiftLeft(trimmedBits);
 
       // lead (keep only minCutoff bytes of rawLead and potentially pad to ebsCutoff with 0's)
-      final BigInteger lead = trim.shiftRight(8 * (32 - ebsCutoff));
+      final U256 lead = trim.shiftRight(8 * (32 - ebsCutoff));
 
       // lead_log (same as EYP)
-      final int leadLog = lead.signum() == 0 ? 0 : log2(lead, RoundingMode.FLOOR);
+      final int leadLog = lead.isZero() ? 0 : lead.bitLength() - 1;
 
       return new LeadLogTrimLead(leadLog, trim);
     }
@@ -16,24 +16,14 @@
 package net.consensys.linea.zktracer.module.ext.calculator.addmod;
 
 import static net.consensys.linea.zktracer.module.Util.uInt64ToBytes;
-import static net.consensys.linea.zktracer.module.ext.BigIntegerConverter.fromLongArray;
 
-import java.math.BigInteger;
-
-import net.consensys.linea.zktracer.bytestheta.BaseTheta;
 import net.consensys.linea.zktracer.bytestheta.BytesArray;
-import net.consensys.linea.zktracer.module.UtilCalculator;
-import net.consensys.linea.zktracer.module.ext.BigIntegerConverter;
+import net.consensys.linea.zktracer.types.U256;
 import org.apache.tuweni.bytes.Bytes32;
-import org.apache.tuweni.units.bigints.UInt256;
 
 /**
- * A calculator for computing the Q values for an AddMod operation in bytes format. Q values are
- * calculated based on the given arguments arg1, arg2 and arg3. If the sum of arg1 and arg2 is less
- * than or equal to arg3, then q values are calculated as the quotient of the sum and arg3 converted
- * to base theta. If the sum of arg1 and arg2 is greater than arg3, then q values are calculated by
- * dividing the sum and arg3 in BigInteger format with overflow, and converting the quotient to
- * bytes format.
+ * A calculator for computing the Q values for an AddMod operation in bytes format. Q values are the
+ * limbs of the quotient of the (up to 257 bits) sum of arg1 and arg2 by arg3.
  */
 public class AddModBytesQCalculator {
 
@@ -47,37 +37,19 @@ public class AddModBytesQCalculator {
    */
   public static BytesArray computeQs(Bytes32 arg1, Bytes32 arg2, Bytes32 arg3) {
     byte[][] qBytes = new byte[8][8];
-    UInt256 sum = UtilCalculator.calculateSum(arg1, arg2);
+    U256 a = U256.of(arg1);
+    U256 sum = a.add(U256.of(arg2));
 
-    // Addition does not overflow
-    if (UInt256.fromBytes(arg1).compareTo(sum) <= 0) {
-      BigInteger quotBigInteger =
-          UtilCalculator.calculateQuotient(sum.toUnsignedBigInteger(), arg3);
-      BaseTheta quotBaseTheta = UtilCalculator.convertToBaseTheta(quotBigInteger);
+    // The fifth limb holds the carry of the addition
+    long[] sumWithOverflow = new long[5];
+    System.arraycopy(sum.limbs(), 0, sumWithOverflow, 0, 4);
+    sumWithOverflow[4] = a.compareTo(sum) <= 0 ? 0 : 1;
 
-      for (int k = 0; k < 4; k++) {
-        qBytes[k] = quotBaseTheta.get(k).toArray();
-      }
-    } else {
-      BigInteger bigIntegerOverflow = convertToBigIntegerWithOverflow(sum);
-      BigInteger[] divAndRemainder =
-          bigIntegerOverflow.divideAndRemainder(arg3.toUnsignedBigInteger());
-      long[] quot = BigIntegerConverter.toLongArray(divAndRemainder[0]);
-      for (int k = 0; k < quot.length; k++) {
-        qBytes[k] = uInt64ToBytes(quot[k]);
-      }
+    long[] quot = U256.divideAndRemainder(sumWithOverflow, U256.of(arg3).limbs())[0];
+    for (int k = 0; k < quot.length; k++) {
+      qBytes[k] = uInt64ToBytes(quot[k]);
     }
 
     return new BytesArray(qBytes);
   }
-
-  private static BigInteger convertToBigIntegerWithOverflow(UInt256 sum) {
-    long[] sumUInt64 = new long[5];
-    for (int k = 0; k < 4; k++) {
-      sumUInt64[k] = sum.toUnsignedBigInteger().shiftRight(k * 64).longValue();
-    }
-    sumUInt64[4] = 1L;
-
-    return fromLongArray(sumUInt64);
-  }
 }
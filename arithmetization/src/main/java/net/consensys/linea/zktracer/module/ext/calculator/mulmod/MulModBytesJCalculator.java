@@ -17,10 +17,8 @@ package net.consensys.linea.zktracer.module.ext.calculator.mulmod;
 
 import static net.consensys.linea.zktracer.module.Util.uInt64ToBytes;
 
-import java.math.BigInteger;
-
 import net.consensys.linea.zktracer.bytestheta.BytesArray;
-import net.consensys.linea.zktracer.module.ext.BigIntegerConverter;
+import net.consensys.linea.zktracer.types.U256;
 import org.apache.tuweni.bytes.Bytes32;
 
 public class MulModBytesJCalculator {
@@ -34,12 +32,8 @@ public class MulModBytesJCalculator {
   public static BytesArray computeJs(Bytes32 arg1, Bytes32 arg2) {
     byte[][] jBytes = new byte[8][8];
 
-    BigInteger arg1UInt = arg1.toUnsignedBigInteger();
-    BigInteger arg2UInt = arg2.toUnsignedBigInteger();
-    // Compute the product of the two unsigned BigIntegers.
-    BigInteger prod = arg1UInt.multiply(arg2UInt);
-
-    long[] prodArray = BigIntegerConverter.toLongArray(prod);
+    // Compute the 512-bit product of the two arguments.
+    long[] prodArray = U256.of(arg1).multiplyFull(U256.of(arg2));
     // Iterate through the long array and convert each element to a byte array.
     for (int k = 0; k < prodArray.length; k++) {
       jBytes[k] = uInt64ToBytes(prodArray[k]);
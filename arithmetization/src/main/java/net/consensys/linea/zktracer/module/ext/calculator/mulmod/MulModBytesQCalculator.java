@@ -15,15 +15,10 @@
 
 package net.consensys.linea.zktracer.module.ext.calculator.mulmod;
 
-import static net.consensys.linea.zktracer.module.Util.isUInt256;
 import static net.consensys.linea.zktracer.module.Util.uInt64ToBytes;
 
-import java.math.BigInteger;
-
-import net.consensys.linea.zktracer.bytestheta.BaseTheta;
 import net.consensys.linea.zktracer.bytestheta.BytesArray;
-import net.consensys.linea.zktracer.module.UtilCalculator;
-import net.consensys.linea.zktracer.module.ext.BigIntegerConverter;
+import net.consensys.linea.zktracer.types.U256;
 import org.apache.tuweni.bytes.Bytes32;
 
 public class MulModBytesQCalculator {
@@ -39,24 +34,13 @@ public class MulModBytesQCalculator {
   public static BytesArray computeQs(Bytes32 arg1, Bytes32 arg2, Bytes32 arg3) {
     byte[][] qBytes = new byte[8][8];
 
-    BigInteger prod = UtilCalculator.calculateProduct(arg1, arg2);
-
-    if (isUInt256(prod)) {
-      BigInteger quotBigInteger = UtilCalculator.calculateQuotient(prod, arg3);
-      BaseTheta quotBaseTheta = UtilCalculator.convertToBaseTheta(quotBigInteger);
-
-      for (int i = 0; i < 4; i++) {
-        // Copy the BaseTheta byte arrays into the result byte array.
-        qBytes[i] = quotBaseTheta.get(i).toArray();
-      }
-    } else {
-      // Divide the product by arg3 and convert the quotient to a byte array.
-      BigInteger[] divAndRemainder = prod.divideAndRemainder(arg3.toUnsignedBigInteger());
-      long[] quot = BigIntegerConverter.toLongArray(divAndRemainder[0]);
-      for (int k = 0; k < quot.length; k++) {
-        qBytes[k] = uInt64ToBytes(quot[k]);
-      }
+    // Divide the 512-bit product by arg3 and convert the quotient limbs to byte arrays.
+    long[] prod = U256.of(arg1).multiplyFull(U256.of(arg2));
+    long[] quot = U256.divideAndRemainder(prod, U256.of(arg3).limbs())[0];
+    for (int k = 0; k < quot.length; k++) {
+      qBytes[k] = uInt64ToBytes(quot[k]);
     }
+
     // Return the result as a BytesArray.
     return new BytesArray(qBytes);
   }
@@ -35,7 +35,7 @@ public class GasOperation extends ModuleOperation {
   @EqualsAndHashCode.Include @Getter GasParameters gasParameters;
   BigInteger[] wcpArg1Lo;
   BigInteger[] wcpArg2Lo;
-  UnsignedByte[] wcpInst;
+  byte[] wcpInst;
   boolean[] wcpRes;
   int ctMax;
 
@@ -46,20 +46,20 @@ public class GasOperation extends ModuleOperation {
     // init arrays
     wcpArg1Lo = initArray(BigInteger.ZERO, ctMax + 1);
     wcpArg2Lo = initArray(BigInteger.ZERO, ctMax + 1);
-    wcpInst = initArray(UnsignedByte.of(0), ctMax + 1);
+    wcpInst = new byte[ctMax + 1];
     wcpRes = new boolean[ctMax + 1];
 
     // row 0
     wcpArg1Lo[0] = BigInteger.ZERO;
     wcpArg2Lo[0] = gasParameters.gasActual();
-    wcpInst[0] = UnsignedByte.of(WCP_INST_LEQ);
+    wcpInst[0] = (byte) WCP_INST_LEQ;
     final boolean gasActualIsNonNegative = wcp.callLEQ(0, gasParameters.gasActual().longValue());
     wcpRes[0] = gasActualIsNonNegative; // supposed to be true
 
     // row 1
     wcpArg1Lo[1] = BigInteger.ZERO;
     wcpArg2Lo[1] = gasParameters.gasCost();
-    wcpInst[1] = UnsignedByte.of(WCP_INST_LEQ);
+    wcpInst[1] = (byte) WCP_INST_LEQ;
     final boolean gasCostIsNonNegative = wcp.callLEQ(0, gasParameters.gasCost().longValue());
     wcpRes[1] = gasCostIsNonNegative; // supposed to be true
 
@@ -67,7 +67,7 @@ public class GasOperation extends ModuleOperation {
     if (compareGasActualAndGasCost()) {
       wcpArg1Lo[2] = gasParameters.gasActual();
       wcpArg2Lo[2] = gasParameters.gasCost();
-      wcpInst[2] = UnsignedByte.of(EVM_INST_LT);
+      wcpInst[2] = (byte) EVM_INST_LT;
       final boolean gasActualLTGasCost =
           wcp.callLT(gasParameters.gasActual().longValue(), gasParameters.gasCost().longValue());
       wcpRes[2] = gasActualLTGasCost; // supposed to be equal to gasParameters.isOogx()
@@ -96,7 +96,7 @@ public class GasOperation extends ModuleOperation {
           .outOfGasException(gasParameters.oogx())
           .wcpArg1Lo(bigIntegerToBytes(wcpArg1Lo[i]))
           .wcpArg2Lo(bigIntegerToBytes(wcpArg2Lo[i]))
-          .wcpInst(wcpInst[i])
+          .wcpInst(UnsignedByte.of(wcpInst[i]))
           .wcpRes(wcpRes[i])
           .validateRow();
     }
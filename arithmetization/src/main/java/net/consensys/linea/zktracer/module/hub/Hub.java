@@ -40,6 +40,7 @@ import lombok.Getter;
 import lombok.experimental.Accessors;
 import lombok.extern.slf4j.Slf4j;
 import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.module.add.Add;
 import net.consensys.linea.zktracer.module.bin.Bin;
@@ -66,6 +67,7 @@ import net.consensys.linea.zktracer.module.hub.section.halt.SelfdestructSection;
 import net.consensys.linea.zktracer.module.hub.section.halt.StopSection;
 import net.consensys.linea.zktracer.module.hub.signals.Exceptions;
 import net.consensys.linea.zktracer.module.hub.signals.PlatformController;
+import net.consensys.linea.zktracer.module.hub.signals.Signals;
 import net.consensys.linea.zktracer.module.hub.transients.Transients;
 import net.consensys.linea.zktracer.module.limits.Keccak;
 import net.consensys.linea.zktracer.module.limits.L2Block;
@@ -95,6 +97,7 @@ import net.consensys.linea.zktracer.module.rlptxrcpt.RlpTxnRcpt;
 import net.consensys.linea.zktracer.module.rom.Rom;
 import net.consensys.linea.zktracer.module.romlex.ContractMetadata;
 import net.consensys.linea.zktracer.module.romlex.RomLex;
+import net.consensys.linea.zktracer.module.shakiradata.HashDigests;
 import net.consensys.linea.zktracer.module.shakiradata.ShakiraData;
 import net.consensys.linea.zktracer.module.shf.Shf;
 import net.consensys.linea.zktracer.module.stp.Stp;
@@ -136,6 +139,10 @@ public class Hub implements Module {
 
   public static final GasProjector GAS_PROJECTOR = new GasProjector();
 
+  // keys of the containers of the hub in the sizing profile
+  private static final String TRANSACTIONS_SIZING_KEY = "HUB_TRANSACTIONS";
+  private static final String CALL_FRAMES_SIZING_KEY = "HUB_CALL_FRAMES";
+
   /** accumulate the trace information for the Hub */
   @Getter public final State state = new State();
 
@@ -160,6 +167,12 @@ public class Hub implements Module {
   /** stores all data related to failure states & module activation */
   @Getter private final PlatformController pch = new PlatformController(this);
 
+  /** the digests computed during the conflation, shared by all the modules */
+  @Getter private final HashDigests hashDigests = new HashDigests();
+
+  /** the sizes reached by the containers during the previous conflations, if presizing is on */
+  private Optional<ContainerSizingProfile> sizingProfile = Optional.empty();
+
   @Override
   public String moduleKey() {
     return "HUB";
@@ -337,6 +350,18 @@ public class Hub implements Module {
         .toList();
   }
 
+  /**
+   * List the modules whose trace only depends on their own operations, which are all known once
+   * the conflation is over. These modules can thus be committed concurrently with all the others.
+   *
+   * @return the modules that can be committed independently
+   */
+  public List<Module> getIndependentlyCommittedModules() {
+    return Stream.concat(
+            Stream.of(add, bin, euc, ext, mod, mul, shf, trm, wcp), refTableModules.stream())
+        .toList();
+  }
+
   /**
    * List all the modules for which to generate counters. Intersects with, but is not equal to
    * {@code getModulesToTrace}.
@@ -449,6 +474,7 @@ public class Hub implements Module {
   public void popTransaction() {
     txStack.pop();
     state.pop();
+    defers.discardTransactionDefers();
     transients.conflation().stackHeightChecksForStackUnderflows().pop();
     transients.conflation().stackHeightChecksForStackOverflows().pop();
     for (Module m : modules) {
@@ -456,9 +482,32 @@ public class Hub implements Module {
     }
   }
 
+  /**
+   * Bring the hub and all the modules back to their freshly constructed state, so that the tracer
+   * can be reused for a new conflation. The containers are cleared in place, and thus keep the
+   * memory they allocated.
+   */
+  @Override
+  public void reset() {
+    state.clear();
+    transients.reset();
+    callStack.clear();
+    txStack.clear();
+    defers.clear();
+    pch.reset();
+    hashDigests.clear();
+    failureConditionForCreates = false;
+    for (Module m : getModulesToCount()) {
+      if (m != this) {
+        m.reset();
+      }
+    }
+  }
+
   /** Tracing Operation, triggered by Besu hook */
   @Override
   public void traceStartConflation(long blockCount) {
+    sizingProfile.ifPresent(this::presizeContainers);
     for (Module m : modules) {
       m.traceStartConflation(blockCount);
     }
@@ -473,6 +522,34 @@ public class Hub implements Module {
     for (Module m : modules) {
       m.traceEndConflation(world);
     }
+
+    sizingProfile.ifPresent(this::recordContainerSizes);
+  }
+
+  /**
+   * Presize the conflation-level containers from the sizes recorded in {@code profile} at the start
+   * of every conflation, and record their final sizes into it at the end.
+   *
+   * @param profile the profile of the previous conflations
+   */
+  public void sizingProfile(final ContainerSizingProfile profile) {
+    this.sizingProfile = Optional.of(profile);
+  }
+
+  private void presizeContainers(final ContainerSizingProfile profile) {
+    txStack.ensureCapacity(profile.expectedSize(TRANSACTIONS_SIZING_KEY));
+    callStack.ensureCapacity(profile.expectedSize(CALL_FRAMES_SIZING_KEY));
+    for (Module m : modules) {
+      m.presizeContainers(profile);
+    }
+  }
+
+  private void recordContainerSizes(final ContainerSizingProfile profile) {
+    profile.record(TRANSACTIONS_SIZING_KEY, txStack.getTransactions().size());
+    profile.record(CALL_FRAMES_SIZING_KEY, callStack.callFrames().size());
+    for (Module m : modules) {
+      m.recordContainerSizes(profile);
+    }
   }
 
   @Override
@@ -901,29 +978,20 @@ public class Hub implements Module {
   }
 
   void triggerModules(MessageFrame frame) {
-    if (pch.signals().add()) {
-      add.tracePreOpcode(frame);
-    }
-    if (pch.signals().bin()) {
-      bin.tracePreOpcode(frame);
-    }
-    if (pch.signals().mul()) {
-      mul.tracePreOpcode(frame);
-    }
-    if (pch.signals().ext()) {
-      ext.tracePreOpcode(frame);
-    }
-    if (pch.signals().mod()) {
-      mod.tracePreOpcode(frame);
-    }
-    if (pch.signals().wcp()) {
-      wcp.tracePreOpcode(frame);
-    }
-    if (pch.signals().shf()) {
-      shf.tracePreOpcode(frame);
+    final Signals.TriggeredModule module = pch.signals().triggeredModule();
+    if (module == null) {
+      return;
     }
-    if (pch.signals().blockhash()) {
-      blockhash.tracePreOpcode(frame);
+
+    switch (module) {
+      case ADD -> add.tracePreOpcode(frame);
+      case BIN -> bin.tracePreOpcode(frame);
+      case BLOCKHASH -> blockhash.tracePreOpcode(frame);
+      case EXT -> ext.tracePreOpcode(frame);
+      case MOD -> mod.tracePreOpcode(frame);
+      case MUL -> mul.tracePreOpcode(frame);
+      case SHF -> shf.tracePreOpcode(frame);
+      case WCP -> wcp.tracePreOpcode(frame);
     }
   }
 
@@ -975,6 +1043,7 @@ public class Hub implements Module {
   }
 
   void processStateExec(MessageFrame frame) {
+    transients.op().resetCost();
     pch.setup(frame);
 
     this.handleStack(frame);
@@ -1110,7 +1179,7 @@ public class Hub implements Module {
   }
 
   public CallFrame getLastChildCallFrame(final CallFrame parentFrame) {
-    return callStack.getById(parentFrame.childFramesId().getLast());
+    return callStack.getById(callStack.lastChildId(parentFrame.id()));
   }
 
   // Quality of life deployment info related functions
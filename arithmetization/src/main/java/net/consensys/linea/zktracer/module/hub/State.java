@@ -112,6 +112,12 @@ public class State implements StackedContainer {
     return state.size();
   }
 
+  void clear() {
+    state.clear();
+    lineCounter.clear();
+    processingPhase = null;
+  }
+
   @Override
   public void enter() {
     if (state.isEmpty()) {
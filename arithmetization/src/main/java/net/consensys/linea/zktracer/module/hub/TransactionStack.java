@@ -16,7 +16,6 @@
 package net.consensys.linea.zktracer.module.hub;
 
 import java.util.ArrayList;
-import java.util.List;
 
 import lombok.Getter;
 import net.consensys.linea.zktracer.container.StackedContainer;
@@ -27,8 +26,7 @@ import org.hyperledger.besu.evm.worldstate.WorldView;
 
 @Getter
 public class TransactionStack implements StackedContainer {
-  private final List<TransactionProcessingMetadata> transactions =
-      new ArrayList<>(200); // TODO: write the allocated memory from .toml file
+  private final ArrayList<TransactionProcessingMetadata> transactions = new ArrayList<>(200);
   private int currentAbsNumber;
   private int relativeTransactionNumber;
 
@@ -58,10 +56,20 @@ public class TransactionStack implements StackedContainer {
     this.relativeTransactionNumber -= 1;
   }
 
+  public void ensureCapacity(final int expectedTransactionCount) {
+    this.transactions.ensureCapacity(expectedTransactionCount);
+  }
+
   public void resetBlock() {
     this.relativeTransactionNumber = 0;
   }
 
+  public void clear() {
+    this.transactions.clear();
+    this.currentAbsNumber = 0;
+    this.relativeTransactionNumber = 0;
+  }
+
   public void enterTransaction(final WorldView world, final Transaction tx, Block block) {
     this.enter();
 
@@ -105,6 +105,25 @@ public class DeferRegistry
     rollbackDefers.get(callFrame).add(defer);
   }
 
+  /**
+   * Forget the actions deferred within the current transaction, e.g. when its tracing was
+   * interrupted before completion. Actions deferred to the end of the conflation are kept.
+   */
+  public void discardTransactionDefers() {
+    postOpcodeDefers.clear();
+    immediateContextEntryDefers.clear();
+    contextExitDefers.clear();
+    contextReEntryDefers.clear();
+    postTransactionDefers.clear();
+    rollbackDefers.clear();
+  }
+
+  /** Forget all the deferred actions, including those deferred to the end of the conflation. */
+  public void clear() {
+    discardTransactionDefers();
+    postConflationDefers.clear();
+  }
+
   /**
    * Trigger the execution of the actions deferred to the end of the transaction.
    *
@@ -182,9 +201,11 @@ public class DeferRegistry
 
     // recursively roll back child call frames
     final CallStack callStack = hub.callStack();
-    currentCallFrame.childFramesId().stream()
-        .map(callStack::getById)
-        .forEach(childCallFrame -> resolvePostRollback(hub, messageFrame, childCallFrame));
+    for (int childId = callStack.firstChildId(currentCallFrame.id());
+        childId != -1;
+        childId = callStack.nextSiblingId(childId)) {
+      resolvePostRollback(hub, messageFrame, callStack.getById(childId));
+    }
   }
 
   @Override
@@ -34,16 +34,16 @@ import net.consensys.linea.zktracer.module.hub.fragment.common.CommonFragmentVal
 import net.consensys.linea.zktracer.module.hub.signals.AbortingConditions;
 import net.consensys.linea.zktracer.module.hub.signals.Exceptions;
 import net.consensys.linea.zktracer.module.hub.signals.TracedException;
+import net.consensys.linea.zktracer.module.hub.transients.InstructionCost;
+import net.consensys.linea.zktracer.module.shakiradata.HashDigests;
 import net.consensys.linea.zktracer.opcode.InstructionFamily;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import net.consensys.linea.zktracer.opcode.gas.MxpType;
-import net.consensys.linea.zktracer.opcode.gas.projector.GasProjection;
 import net.consensys.linea.zktracer.runtime.stack.Stack;
 import net.consensys.linea.zktracer.runtime.stack.StackItem;
 import net.consensys.linea.zktracer.types.EWord;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
-import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.evm.internal.Words;
 
 @Accessors(fluent = true)
@@ -54,7 +54,11 @@ public final class StackFragment implements TraceFragment {
   private final long staticGas;
   @Setter public boolean hashInfoFlag;
   private EWord hashInfoKeccak = EWord.ZERO;
-  @Setter public Bytes hash;
+
+  /** The bytes whose KECCAK is traced as hash info, until their digest is known */
+  private Bytes hashInfoPreimage = null;
+
+  private final HashDigests hashDigests;
   @Getter private final OpCode opCode;
   @Setter private boolean jumpDestinationVettingRequired;
   @Setter private boolean validJumpDestination;
@@ -67,7 +71,7 @@ public final class StackFragment implements TraceFragment {
       List<StackItem> stackOps,
       short exceptions,
       AbortingConditions aborts,
-      GasProjection gp,
+      InstructionCost cost,
       boolean isDeploying,
       CommonFragmentValues commonFragmentValues) {
     this.stack = stack;
@@ -76,9 +80,9 @@ public final class StackFragment implements TraceFragment {
     this.opCode = stack.getCurrentOpcodeData().mnemonic();
     this.hashInfoFlag =
         switch (this.opCode) {
-          case SHA3 -> Exceptions.none(exceptions) && gp.messageSize() > 0;
-          case RETURN -> Exceptions.none(exceptions) && gp.messageSize() > 0 && isDeploying;
-          case CREATE2 -> Exceptions.none(exceptions) && aborts.none() && gp.messageSize() > 0;
+          case SHA3 -> Exceptions.none(exceptions) && cost.messageSize() > 0;
+          case RETURN -> Exceptions.none(exceptions) && cost.messageSize() > 0 && isDeploying;
+          case CREATE2 -> Exceptions.none(exceptions) && aborts.none() && cost.messageSize() > 0;
           default -> false;
         };
     if (this.hashInfoFlag) {
@@ -97,10 +101,12 @@ public final class StackFragment implements TraceFragment {
         default -> throw new UnsupportedOperationException(
             "Hash was attempted by the following opcode: " + this.opCode().toString());
       }
-      this.hashInfoKeccak = EWord.of(Hash.hash(memorySegmentToHash));
+      // the digest is usually provided by the EVM or by SHAKIRA before this fragment is traced
+      this.hashInfoPreimage = memorySegmentToHash;
     }
+    this.hashDigests = hub.hashDigests();
 
-    this.staticGas = gp.staticGas();
+    this.staticGas = cost.staticGas();
 
     if (opCode.isJump() && !Exceptions.stackException(exceptions)) {
       final BigInteger prospectivePcNew =
@@ -134,11 +140,23 @@ public final class StackFragment implements TraceFragment {
       final List<StackItem> stackItems,
       final short exceptions,
       final AbortingConditions aborts,
-      final GasProjection gp,
+      final InstructionCost cost,
       boolean isDeploying,
       CommonFragmentValues commonFragmentValues) {
     return new StackFragment(
-        hub, stack, stackItems, exceptions, aborts, gp, isDeploying, commonFragmentValues);
+        hub, stack, stackItems, exceptions, aborts, cost, isDeploying, commonFragmentValues);
+  }
+
+  /**
+   * Set the digest of the bytes hashed by the instruction, as computed by the EVM or by SHAKIRA.
+   *
+   * @param hash the KECCAK of the hashed bytes
+   */
+  public void hash(final Bytes hash) {
+    if (this.hashInfoPreimage != null) {
+      this.hashInfoKeccak = EWord.of(hash);
+      this.hashInfoPreimage = null;
+    }
   }
 
   private boolean traceLog() {
@@ -147,6 +165,10 @@ public final class StackFragment implements TraceFragment {
 
   @Override
   public Trace trace(Trace trace) {
+    if (hashInfoPreimage != null) {
+      hashInfoKeccak = EWord.of(hashDigests.lookupKeccak(hashInfoPreimage));
+      hashInfoPreimage = null;
+    }
 
     final List<Function<Bytes, Trace>> valHiTracers =
         List.of(
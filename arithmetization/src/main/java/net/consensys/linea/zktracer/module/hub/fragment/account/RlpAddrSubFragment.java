@@ -27,7 +27,6 @@ import net.consensys.linea.zktracer.module.hub.transients.OperationAncillaries;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import org.hyperledger.besu.crypto.Hash;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
@@ -45,8 +44,7 @@ public class RlpAddrSubFragment implements TraceSubFragment {
         final MessageFrame frame = hub.currentFrame().frame();
         final Bytes32 salt = Bytes32.leftPad(frame.getStackItem(3));
         final Bytes initCode = OperationAncillaries.initCode(frame);
-        final Bytes32 hash =
-            Hash.keccak256(initCode); // TODO: could be done better, we compute the HASH two times
+        final Bytes32 hash = hub.hashDigests().keccak(initCode);
         hub.rlpAddr().callRlpAddrCreate2(frame, salt, hash);
         return new RlpAddrSubFragment((short) 2, deploymentAddress, salt, hash);
       }
@@ -223,11 +223,11 @@ public class CommonFragmentValues {
   }
 
   private long computeGasCost() {
-    return Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).upfrontGasCost();
+    return hub.transients().op().cost().upfrontGasCost();
   }
 
   private long computeGasCostExcludingDeploymentCost() {
-    return Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).gasCostExcludingDeploymentCost();
+    return hub.transients().op().cost().gasCostExcludingDeploymentCost();
   }
 
   public long computeGasNext() {
@@ -242,12 +242,11 @@ public class CommonFragmentValues {
       case KEC, COPY, STACK_RAM, STORAGE, LOG, HALT -> (hub.raisesOogxOrIsUnexceptional()
           ? gasAfterDeductingCost
           : 0);
-      case CREATE -> gasAfterDeductingCost
-          - Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).gasPaidOutOfPocket();
+      case CREATE -> gasAfterDeductingCost - hub.transients().op().cost().gasPaidOutOfPocket();
       case CALL -> // TODO: this will not work because of 1. aborts with value transfers 2. EOA
       // calls 3. precompile calls
       gasAfterDeductingCost
-          - Hub.GAS_PROJECTOR.of(hub.messageFrame(), hub.opCode()).gasPaidOutOfPocket();
+          - hub.transients().op().cost().gasPaidOutOfPocket();
       default -> // ADD, MUL, MOD, EXT, WCP, BIN, SHF, CONTEXT, ACCOUNT, TRANSACTION, BATCH, JUMP,
       // MACHINE_STATE, PUSH_POP, DUP, SWAP, INVALID
       // TODO: this may not work for EXP, EXTCODEHASH, EXTCODESIZE, BALANCE as they require extra
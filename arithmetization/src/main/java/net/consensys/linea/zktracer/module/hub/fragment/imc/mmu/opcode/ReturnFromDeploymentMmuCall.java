@@ -17,6 +17,7 @@ package net.consensys.linea.zktracer.module.hub.fragment.imc.mmu.opcode;
 
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_INST_RAM_TO_EXO_WITH_PADDING;
 import static net.consensys.linea.zktracer.module.hub.Hub.newIdentifierFromStamp;
+import static net.consensys.linea.zktracer.module.shakiradata.HashFunction.KECCAK;
 import static net.consensys.linea.zktracer.runtime.callstack.CallFrame.extractContiguousLimbsFromMemory;
 import static org.hyperledger.besu.evm.internal.Words.clampedToLong;
 
@@ -55,8 +56,9 @@ public class ReturnFromDeploymentMmuCall extends MmuCall {
     final int depNumber = hub.deploymentNumberOf(contractAddress);
     contract = ContractMetadata.make(contractAddress, depNumber, false);
 
+    final Bytes byteCode = hub.romLex().byteCode();
     final ShakiraDataOperation shakiraDataOperation =
-        new ShakiraDataOperation(hub.stamp(), hub.romLex().byteCode());
+        new ShakiraDataOperation(hub.stamp(), KECCAK, byteCode, hub.hashDigests().keccak(byteCode));
     hub.shakiraData().call(shakiraDataOperation);
 
     hashResult = shakiraDataOperation.result();
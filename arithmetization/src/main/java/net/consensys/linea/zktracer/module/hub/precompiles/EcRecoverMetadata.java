@@ -15,8 +15,7 @@
 
 package net.consensys.linea.zktracer.module.hub.precompiles;
 
-import net.consensys.linea.zktracer.CurveOperations;
-import net.consensys.linea.zktracer.module.hub.Hub;
+import org.apache.tuweni.bytes.Bytes;
 
 /**
  * ECRECOVER hubSuccess must be captured at *CALL-time, when the data is still available.
@@ -24,8 +23,14 @@ import net.consensys.linea.zktracer.module.hub.Hub;
  * @param recoverySuccessful whether the recovery process is successful
  */
 public record EcRecoverMetadata(boolean recoverySuccessful) implements PrecompileMetadata {
-  public static EcRecoverMetadata of(final Hub hub) {
-    return new EcRecoverMetadata(
-        CurveOperations.ecRecoverSuccessful(hub.transients().op().callData()));
+  /**
+   * The recovery is not performed again: the precompile returns the recovered address on success
+   * and no data at all on failure.
+   *
+   * @param returnData the return data of the ECRECOVER precompile
+   * @return the metadata of the call
+   */
+  public static EcRecoverMetadata of(final Bytes returnData) {
+    return new EcRecoverMetadata(!returnData.isEmpty());
   }
 }
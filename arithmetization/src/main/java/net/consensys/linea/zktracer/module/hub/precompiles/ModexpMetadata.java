@@ -40,8 +40,23 @@ public class ModexpMetadata {
   private final EWord rawLeadingWord;
   @Setter private Bytes rawResult;
 
+  // The byte sizes only depend on the call data, but are queried by most of the modules involved
+  // in a MODEXP call (OOB, MMU, EXP, BLAKE_MODEXP_DATA); they are thus extracted only once.
+  private final EWord bbs;
+  private final EWord ebs;
+  private final EWord mbs;
+  private final int bbsInt;
+  private final int ebsInt;
+  private final int mbsInt;
+
   public ModexpMetadata(final Hub hub, final Bytes callData) {
     this.callData = callData;
+    this.bbs = EWord.of(rawBbs().shiftRight(bbsShift()).shiftLeft(bbsShift()));
+    this.ebs = EWord.of(rawEbs().shiftRight(ebsShift()).shiftLeft(ebsShift()));
+    this.mbs = EWord.of(rawMbs().shiftRight(mbsShift()).shiftLeft(mbsShift()));
+    this.bbsInt = (int) Words.clampedToLong(bbs);
+    this.ebsInt = (int) Words.clampedToLong(ebs);
+    this.mbsInt = (int) Words.clampedToLong(mbs);
     int exponentOffsetInCallData = BASE_MIN_OFFSET + bbsInt();
     this.rawLeadingWord =
         EWord.of(hub.messageFrame().shadowReadMemory(exponentOffsetInCallData, WORD_SIZE));
@@ -75,42 +90,18 @@ public class ModexpMetadata {
     return EBS_MIN_OFFSET - Math.min(EBS_MIN_OFFSET, callData.size());
   }
 
-  public EWord bbs() {
-    return EWord.of(rawBbs().shiftRight(bbsShift()).shiftLeft(bbsShift()));
-  }
-
   private int ebsShift() {
     return extractEbs()
         ? EBS_MIN_OFFSET - Math.min(EBS_MIN_OFFSET, callData.size() - EBS_MIN_OFFSET)
         : 0;
   }
 
-  public EWord ebs() {
-    return EWord.of(rawEbs().shiftRight(ebsShift()).shiftLeft(ebsShift()));
-  }
-
   private int mbsShift() {
     return extractMbs()
         ? EBS_MIN_OFFSET - Math.min(EBS_MIN_OFFSET, callData.size() - MBS_MIN_OFFSET)
         : 0;
   }
 
-  public EWord mbs() {
-    return EWord.of(rawMbs().shiftRight(mbsShift()).shiftLeft(mbsShift()));
-  }
-
-  public int bbsInt() {
-    return (int) Words.clampedToLong(bbs());
-  }
-
-  public int ebsInt() {
-    return (int) Words.clampedToLong(ebs());
-  }
-
-  public int mbsInt() {
-    return (int) Words.clampedToLong(mbs());
-  }
-
   public boolean loadRawLeadingWord() {
     return callData.size() > BASE_MIN_OFFSET + bbsInt() && !ebs().isZero();
   }
@@ -160,7 +151,7 @@ public class ModexpMetadata {
       final int sizeToExtract = Math.min(mbsInt(), callData.size() - firstOffset);
       unpadded = callData.slice(firstOffset, sizeToExtract);
     }
-    return rightPadTo(unpadded, (int) Words.clampedToLong(mbs()));
+    return rightPadTo(unpadded, mbsInt());
   }
 
   public boolean mbsNonZero() {
@@ -26,6 +26,7 @@ import static net.consensys.linea.zktracer.module.hub.fragment.scenario.CreateSc
 import static net.consensys.linea.zktracer.module.hub.fragment.scenario.CreateScenarioFragment.CreateScenario.CREATE_NON_EMPTY_INIT_CODE_FAILURE_WONT_REVERT;
 import static net.consensys.linea.zktracer.module.hub.fragment.scenario.CreateScenarioFragment.CreateScenario.CREATE_NON_EMPTY_INIT_CODE_SUCCESS_WILL_REVERT;
 import static net.consensys.linea.zktracer.module.hub.fragment.scenario.CreateScenarioFragment.CreateScenario.CREATE_NON_EMPTY_INIT_CODE_SUCCESS_WONT_REVERT;
+import static net.consensys.linea.zktracer.module.shakiradata.HashFunction.KECCAK;
 import static net.consensys.linea.zktracer.opcode.OpCode.*;
 import static net.consensys.linea.zktracer.types.AddressUtils.getDeploymentAddress;
 
@@ -154,7 +155,7 @@ public class CreateSection extends TraceSection
     final Address creatorAddress = callFrame.accountAddress();
     preOpcodeCreatorSnapshot = AccountSnapshot.canonical(hub, creatorAddress);
 
-    final Address createeAddress = getDeploymentAddress(messageFrame);
+    final Address createeAddress = getDeploymentAddress(messageFrame, hub.hashDigests());
     preOpcodeCreateeSnapshot = AccountSnapshot.canonical(hub, createeAddress);
 
     if (aborts.any()) {
@@ -191,7 +192,8 @@ public class CreateSection extends TraceSection
 
       final Bytes create2InitCode = messageFrame.shadowReadMemory(offset, size);
       final ShakiraDataOperation shakiraDataOperation =
-          new ShakiraDataOperation(hub.stamp(), create2InitCode);
+          new ShakiraDataOperation(
+              hub.stamp(), KECCAK, create2InitCode, hub.hashDigests().keccak(create2InitCode));
       hub.shakiraData().call(shakiraDataOperation);
 
       triggerHashInfo(shakiraDataOperation.result());
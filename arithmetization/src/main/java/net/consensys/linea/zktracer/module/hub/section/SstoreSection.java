@@ -106,10 +106,8 @@ public class SstoreSection extends TraceSection implements PostRollbackDefer {
     hub.state.updateOrInsertStorageSlotOccurrence(storageSlotIdentifier, doingSstore);
 
     // set the refundDelta
-    commonValues.refundDelta(
-        Hub.GAS_PROJECTOR
-            .of(hub.currentFrame().frame(), hub.opCode())
-            .refund()); // TODO should use Besu's value
+    // TODO should use Besu's value
+    commonValues.refundDelta(hub.transients().op().cost().refund());
   }
 
   private StorageFragment doingSstore(Hub hub) {
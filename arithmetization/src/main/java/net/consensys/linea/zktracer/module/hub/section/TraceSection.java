@@ -36,6 +36,7 @@ import net.consensys.linea.zktracer.module.hub.fragment.StackFragment;
 import net.consensys.linea.zktracer.module.hub.fragment.TraceFragment;
 import net.consensys.linea.zktracer.module.hub.fragment.common.CommonFragment;
 import net.consensys.linea.zktracer.module.hub.fragment.common.CommonFragmentValues;
+import net.consensys.linea.zktracer.module.hub.transients.InstructionCost;
 import net.consensys.linea.zktracer.runtime.callstack.CallFrame;
 import net.consensys.linea.zktracer.runtime.stack.Stack;
 import net.consensys.linea.zktracer.runtime.stack.StackLine;
@@ -160,6 +161,7 @@ public class TraceSection {
   private List<TraceFragment> makeStackFragments(final Hub hub, CallFrame currentFrame) {
     final List<TraceFragment> stackFragments = new ArrayList<>(2);
     final Stack snapshot = currentFrame.stack().snapshot();
+    final InstructionCost cost = hub.transients().op().cost();
     if (currentFrame.pending().lines().isEmpty()) {
       for (int i = 0; i < (currentFrame.opCodeData().numberOfStackRows()); i++) {
         stackFragments.add(
@@ -169,7 +171,7 @@ public class TraceSection {
                 new StackLine().asStackItems(),
                 hub.pch().exceptions(),
                 hub.pch().abortingConditions().snapshot(),
-                Hub.GAS_PROJECTOR.of(currentFrame.frame(), currentFrame.opCode()),
+                cost,
                 currentFrame.isDeployment(),
                 commonValues));
       }
@@ -182,7 +184,7 @@ public class TraceSection {
                 line.asStackItems(),
                 hub.pch().exceptions(),
                 hub.pch().abortingConditions().snapshot(),
-                Hub.GAS_PROJECTOR.of(currentFrame.frame(), currentFrame.opCode()),
+                cost,
                 currentFrame.isDeployment(),
                 commonValues));
       }
@@ -194,7 +196,7 @@ public class TraceSection {
     for (TraceFragment fragment : this.fragments()) {
       if (fragment instanceof StackFragment) {
         ((StackFragment) fragment).hashInfoFlag = true;
-        ((StackFragment) fragment).hash = hash;
+        ((StackFragment) fragment).hash(hash);
       }
     }
   }
@@ -24,9 +24,9 @@ import java.util.function.Consumer;
 
 import net.consensys.linea.zktracer.module.constants.GlobalConstants;
 import net.consensys.linea.zktracer.module.hub.Hub;
+import net.consensys.linea.zktracer.module.hub.transients.InstructionCost;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import net.consensys.linea.zktracer.opcode.OpCodeData;
-import net.consensys.linea.zktracer.opcode.gas.projector.GasProjector;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 import org.hyperledger.besu.evm.internal.Words;
 
@@ -132,14 +132,12 @@ public class Exceptions {
         > 1024;
   }
 
-  private static boolean isMemoryExpansionFault(
-      MessageFrame frame, OpCode opCode, GasProjector gp) {
-    return gp.of(frame, opCode).largestOffset() > 0xffffffffL;
+  private static boolean isMemoryExpansionFault(InstructionCost cost) {
+    return cost.largestOffset() > 0xffffffffL;
   }
 
-  private static boolean isOutOfGas(MessageFrame frame, OpCode opCode, GasProjector gp) {
-    final long required = gp.of(frame, opCode).upfrontGasCost();
-    return required > frame.getRemainingGas();
+  private static boolean isOutOfGas(MessageFrame frame, InstructionCost cost) {
+    return cost.upfrontGasCost() > frame.getRemainingGas();
   }
 
   private static boolean isReturnDataCopyFault(final MessageFrame frame, final OpCode opCode) {
@@ -257,7 +255,7 @@ public class Exceptions {
       return MAX_CODE_SIZE_EXCEPTION;
     }
 
-    final GasProjector gp = Hub.GAS_PROJECTOR;
+    final InstructionCost cost = hub.transients().op().cost();
     switch (opCode) {
       case CALLDATACOPY,
           CODECOPY,
@@ -280,10 +278,10 @@ public class Exceptions {
           MLOAD,
           MSTORE,
           MSTORE8 -> {
-        if (isMemoryExpansionFault(frame, opCode, gp)) {
+        if (isMemoryExpansionFault(cost)) {
           return MEMORY_EXPANSION_EXCEPTION;
         }
-        if (isOutOfGas(frame, opCode, gp)) {
+        if (isOutOfGas(frame, cost)) {
           return OUT_OF_GAS_EXCEPTION;
         }
       }
@@ -292,10 +290,10 @@ public class Exceptions {
         if (isReturnDataCopyFault(frame, opCode)) {
           return RETURN_DATA_COPY_FAULT;
         }
-        if (isMemoryExpansionFault(frame, opCode, gp)) {
+        if (isMemoryExpansionFault(cost)) {
           return MEMORY_EXPANSION_EXCEPTION;
         }
-        if (isOutOfGas(frame, opCode, gp)) {
+        if (isOutOfGas(frame, cost)) {
           return OUT_OF_GAS_EXCEPTION;
         }
       }
@@ -303,7 +301,7 @@ public class Exceptions {
       case STOP -> {}
 
       case JUMP, JUMPI -> {
-        if (isOutOfGas(frame, opCode, gp)) {
+        if (isOutOfGas(frame, cost)) {
           return OUT_OF_GAS_EXCEPTION;
         }
         if (isJumpFault(frame, opCode)) {
@@ -315,13 +313,13 @@ public class Exceptions {
         if (isOutOfSStore(frame, opCode)) {
           return OUT_OF_SSTORE;
         }
-        if (isOutOfGas(frame, opCode, gp)) {
+        if (isOutOfGas(frame, cost)) {
           return OUT_OF_GAS_EXCEPTION;
         }
       }
 
       default -> {
-        if (isOutOfGas(frame, opCode, gp)) {
+        if (isOutOfGas(frame, cost)) {
           return OUT_OF_GAS_EXCEPTION;
         }
       }
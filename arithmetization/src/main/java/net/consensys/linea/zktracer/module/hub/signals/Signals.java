@@ -23,6 +23,7 @@ import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.opcode.InstructionFamily;
 import net.consensys.linea.zktracer.opcode.OpCode;
+import net.consensys.linea.zktracer.opcode.OpCodes;
 import org.hyperledger.besu.evm.frame.MessageFrame;
 
 /**
@@ -41,6 +42,41 @@ public class Signals {
           InstructionFamily.HALT,
           InstructionFamily.INVALID);
 
+  /** The stateless modules an instruction may trigger; at most one per instruction */
+  public enum TriggeredModule {
+    ADD,
+    BIN,
+    BLOCKHASH,
+    EXT,
+    MOD,
+    MUL,
+    SHF,
+    WCP
+  }
+
+  /** The module triggered by every opcode value, null if none */
+  private static final TriggeredModule[] TRIGGERED_MODULES = new TriggeredModule[256];
+
+  static {
+    for (OpCode opCode : OpCode.values()) {
+      final TriggeredModule module =
+          switch (opCode) {
+            case EXP, MUL -> TriggeredModule.MUL;
+            case ADD, SUB -> TriggeredModule.ADD;
+            case DIV, SDIV, MOD, SMOD -> TriggeredModule.MOD;
+            case ADDMOD, MULMOD -> TriggeredModule.EXT;
+            case LT, GT, SLT, SGT, EQ, ISZERO -> TriggeredModule.WCP;
+            case AND, OR, XOR, NOT, SIGNEXTEND, BYTE -> TriggeredModule.BIN;
+            case SHL, SHR, SAR -> TriggeredModule.SHF;
+            case BLOCKHASH -> TriggeredModule.BLOCKHASH;
+            default -> null;
+          };
+      if (module != null) {
+        TRIGGERED_MODULES[OpCodes.of(opCode).value()] = module;
+      }
+    }
+  }
+
   @Getter private boolean add;
   @Getter private boolean blockhash;
   @Getter private boolean bin;
@@ -50,6 +86,9 @@ public class Signals {
   @Getter private boolean wcp;
   @Getter private boolean shf;
 
+  /** The module to trigger for the current instruction, null if none */
+  @Getter private TriggeredModule triggeredModule;
+
   private final PlatformController platformController;
 
   public void reset() {
@@ -61,6 +100,7 @@ public class Signals {
     mod = false;
     wcp = false;
     shf = false;
+    triggeredModule = null;
   }
 
   public Signals snapshot() {
@@ -73,6 +113,7 @@ public class Signals {
     r.mod = this.mod;
     r.wcp = this.wcp;
     r.shf = this.shf;
+    r.triggeredModule = this.triggeredModule;
     return r;
   }
 
@@ -85,22 +126,30 @@ public class Signals {
    * @param hub the execution context
    */
   public void prepare(MessageFrame frame, PlatformController platformController, Hub hub) {
-    final OpCode opCode = hub.opCode();
-    final short ex = platformController.exceptions();
+    final TriggeredModule module = TRIGGERED_MODULES[hub.opCodeData().value()];
+    if (module == null) {
+      return;
+    }
 
+    final short ex = platformController.exceptions();
     if (Exceptions.stackException(ex)) {
       return;
     }
 
-    switch (opCode) {
-      case EXP, MUL -> this.mul = !Exceptions.outOfGasException(ex);
-      case ADD, SUB -> this.add = !Exceptions.outOfGasException(ex);
-      case DIV, SDIV, MOD, SMOD -> this.mod = !Exceptions.outOfGasException(ex);
-      case ADDMOD, MULMOD -> this.ext = !Exceptions.outOfGasException(ex);
-      case LT, GT, SLT, SGT, EQ, ISZERO -> this.wcp = !Exceptions.outOfGasException(ex);
-      case AND, OR, XOR, NOT, SIGNEXTEND, BYTE -> this.bin = !Exceptions.outOfGasException(ex);
-      case SHL, SHR, SAR -> this.shf = !Exceptions.outOfGasException(ex);
-      case BLOCKHASH -> this.blockhash = Exceptions.none(ex);
+    final boolean triggered =
+        module == TriggeredModule.BLOCKHASH
+            ? Exceptions.none(ex)
+            : !Exceptions.outOfGasException(ex);
+    switch (module) {
+      case ADD -> this.add = triggered;
+      case BIN -> this.bin = triggered;
+      case BLOCKHASH -> this.blockhash = triggered;
+      case EXT -> this.ext = triggered;
+      case MOD -> this.mod = triggered;
+      case MUL -> this.mul = triggered;
+      case SHF -> this.shf = triggered;
+      case WCP -> this.wcp = triggered;
     }
+    this.triggeredModule = triggered ? module : null;
   }
 }
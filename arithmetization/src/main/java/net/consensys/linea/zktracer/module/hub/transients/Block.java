@@ -39,4 +39,10 @@ public class Block {
     this.coinbaseAddress = processableBlockHeader.getCoinbase();
     this.baseFee = Wei.fromQuantity(processableBlockHeader.getBaseFee().orElseThrow());
   }
+
+  public void reset() {
+    this.blockNumber = 0;
+    this.coinbaseAddress = null;
+    this.baseFee = null;
+  }
 }
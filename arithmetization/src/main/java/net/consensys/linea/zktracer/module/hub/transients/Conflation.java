@@ -41,4 +41,11 @@ public class Conflation {
   public int currentLogId() {
     return this.logs.size() - 1;
   }
+
+  public void clear() {
+    this.deploymentInfo.clear();
+    this.logs.clear();
+    this.stackHeightChecksForStackUnderflows.clear();
+    this.stackHeightChecksForStackOverflows.clear();
+  }
 }
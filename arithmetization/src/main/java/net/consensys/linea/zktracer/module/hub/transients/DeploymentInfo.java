@@ -27,6 +27,12 @@ public class DeploymentInfo {
   private final Map<Address, Boolean> deploymentStatus = new HashMap<>();
   private final Map<Address, Bytes> initializationCodes = new HashMap<>();
 
+  public void clear() {
+    this.deploymentNumber.clear();
+    this.deploymentStatus.clear();
+    this.initializationCodes.clear();
+  }
+
   /**
    * Returns the deployment number of the given address; sets it to zero if it is the first
    * deployment of this address.
@@ -0,0 +1,150 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.hub.transients;
+
+import static net.consensys.linea.zktracer.module.UtilCalculator.allButOneSixtyFourth;
+
+import net.consensys.linea.zktracer.module.hub.Hub;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import net.consensys.linea.zktracer.opcode.gas.projector.GasProjection;
+import org.hyperledger.besu.evm.frame.MessageFrame;
+import org.hyperledger.besu.evm.internal.Words;
+
+/**
+ * The gas costs of a single instruction, projected from its {@link MessageFrame} before its
+ * execution. The projection is built once and every cost is computed on first access, then shared
+ * by the exception detection, the stack and common fragments and the call gas computations of the
+ * instruction.
+ */
+public class InstructionCost {
+  private static final long UNKNOWN = -1;
+
+  private final MessageFrame frame;
+  private final OpCode opCode;
+  private final int pc;
+  private GasProjection projection;
+
+  private long staticGas = UNKNOWN;
+  private long memoryExpansion = UNKNOWN;
+  private long largestOffset = UNKNOWN;
+  private long messageSize = UNKNOWN;
+  private long gasCostExcludingDeploymentCost = UNKNOWN;
+  private long deploymentCost = UNKNOWN;
+  private long gasPaidOutOfPocket = UNKNOWN;
+  private long stipend = UNKNOWN;
+
+  InstructionCost(final MessageFrame frame, final OpCode opCode) {
+    this.frame = frame;
+    this.opCode = opCode;
+    this.pc = frame.getPC();
+  }
+
+  /**
+   * @param frame the current execution context
+   * @param opCode the current instruction
+   * @return whether this cost has been projected for the instruction at hand
+   */
+  boolean isFor(final MessageFrame frame, final OpCode opCode) {
+    return this.frame == frame && this.opCode == opCode && this.pc == frame.getPC();
+  }
+
+  private GasProjection projection() {
+    if (projection == null) {
+      projection = Hub.GAS_PROJECTOR.of(frame, opCode);
+    }
+    return projection;
+  }
+
+  public long staticGas() {
+    if (staticGas == UNKNOWN) {
+      staticGas = projection().staticGas();
+    }
+    return staticGas;
+  }
+
+  public long memoryExpansion() {
+    if (memoryExpansion == UNKNOWN) {
+      memoryExpansion = projection().memoryExpansion();
+    }
+    return memoryExpansion;
+  }
+
+  /** @return how far in the memory this instruction reaches, 0 if not applicable */
+  public long largestOffset() {
+    if (largestOffset == UNKNOWN) {
+      largestOffset = projection().largestOffset();
+    }
+    return largestOffset;
+  }
+
+  public long messageSize() {
+    if (messageSize == UNKNOWN) {
+      messageSize = projection().messageSize();
+    }
+    return messageSize;
+  }
+
+  public long gasCostExcludingDeploymentCost() {
+    if (gasCostExcludingDeploymentCost == UNKNOWN) {
+      gasCostExcludingDeploymentCost = projection().gasCostExcludingDeploymentCost();
+    }
+    return gasCostExcludingDeploymentCost;
+  }
+
+  public long deploymentCost() {
+    if (deploymentCost == UNKNOWN) {
+      deploymentCost = projection().deploymentCost();
+    }
+    return deploymentCost;
+  }
+
+  /**
+   * @return the gas cost that determines whether an <b>OUT_OF_GAS_EXCEPTION</b> occurred, see
+   *     {@link GasProjection#upfrontGasCost()}
+   */
+  public long upfrontGasCost() {
+    return gasCostExcludingDeploymentCost() + deploymentCost();
+  }
+
+  public long gasPaidOutOfPocket() {
+    if (gasPaidOutOfPocket == UNKNOWN) {
+      gasPaidOutOfPocket = projection().gasPaidOutOfPocket();
+    }
+    return gasPaidOutOfPocket;
+  }
+
+  public long stipend() {
+    if (stipend == UNKNOWN) {
+      stipend = projection().stipend();
+    }
+    return stipend;
+  }
+
+  /** @return the refund of the instruction, which may be negative */
+  public long refund() {
+    return projection().refund();
+  }
+
+  /**
+   * @param gas the gas requested by a CALL-type instruction
+   * @return the gas allowance of the child context, i.e. the stipend and the requested gas capped
+   *     by all but one 64th of the gas remaining after paying the upfront cost
+   */
+  public long callGasAllowance(final long gas) {
+    final long remainingGas = frame.getRemainingGas() - upfrontGasCost();
+    return stipend() + Math.max(Words.unsignedMin(allButOneSixtyFourth(remainingGas), gas), 0);
+  }
+}
@@ -16,15 +16,12 @@
 package net.consensys.linea.zktracer.module.hub.transients;
 
 import static com.google.common.base.Preconditions.*;
-import static net.consensys.linea.zktracer.module.UtilCalculator.allButOneSixtyFourth;
 import static net.consensys.linea.zktracer.types.AddressUtils.isPrecompile;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import net.consensys.linea.zktracer.module.constants.GlobalConstants;
 import net.consensys.linea.zktracer.module.hub.Hub;
 import net.consensys.linea.zktracer.opcode.OpCode;
-import net.consensys.linea.zktracer.types.EWord;
 import net.consensys.linea.zktracer.types.MemorySpan;
 import org.apache.tuweni.bytes.Bytes;
 import org.hyperledger.besu.datatypes.Address;
@@ -37,6 +34,24 @@ import org.hyperledger.besu.evm.internal.Words;
 public class OperationAncillaries {
   private final Hub hub;
 
+  /** the gas costs of the current instruction */
+  private InstructionCost cost;
+
+  /** Discard the gas costs of the previous instruction. */
+  public void resetCost() {
+    cost = null;
+  }
+
+  /** @return the gas costs of the current instruction, projected at most once per instruction */
+  public InstructionCost cost() {
+    final MessageFrame frame = hub.messageFrame();
+    final OpCode opCode = hub.opCode();
+    if (cost == null || !cost.isFor(frame, opCode)) {
+      cost = new InstructionCost(frame, opCode);
+    }
+    return cost;
+  }
+
   private static Bytes maybeShadowReadMemory(final MemorySpan span, final MessageFrame frame) {
     // Accesses to huge offset with 0-length are valid
     if (span.isEmpty()) {
@@ -58,21 +73,8 @@ public class OperationAncillaries {
    * @return the CALL gas allowance
    */
   public long gasAllowanceForCall() {
-    final OpCode opCode = hub.opCode();
-
-    if (opCode.isCall()) {
-      final long gas = Words.clampedToLong(hub.messageFrame().getStackItem(0));
-      EWord value = EWord.ZERO;
-      if (opCode == OpCode.CALL || opCode == OpCode.CALLCODE) {
-        value = EWord.of(hub.messageFrame().getStackItem(2));
-      }
-      final long stipend = value.isZero() ? 0 : GlobalConstants.GAS_CONST_G_CALL_STIPEND;
-      final long upfrontCost = Hub.GAS_PROJECTOR.of(hub.messageFrame(), opCode).upfrontGasCost();
-      return stipend
-          + Math.max(
-              Words.unsignedMin(
-                  allButOneSixtyFourth(hub.messageFrame().getRemainingGas() - upfrontCost), gas),
-              0);
+    if (hub.opCode().isCall()) {
+      return cost().callGasAllowance(Words.clampedToLong(hub.messageFrame().getStackItem(0)));
     }
 
     throw new IllegalStateException("not a CALL");
@@ -46,4 +46,11 @@ public class Transients {
     this.hub = hub;
     this.op = new OperationAncillaries(hub);
   }
+
+  /** Forget the information gathered during the previous conflation. */
+  public void reset() {
+    this.conflation.clear();
+    this.block.reset();
+    this.op.resetCost();
+  }
 }
@@ -66,6 +66,12 @@ public class L2Block implements Module {
     this.l2l1LogSizes.pop();
   }
 
+  @Override
+  public void reset() {
+    this.sizesRlpEncodedTxs.clear();
+    this.l2l1LogSizes.clear();
+  }
+
   @Override
   public int lineCount() {
     final int txCount = this.sizesRlpEncodedTxs.size();
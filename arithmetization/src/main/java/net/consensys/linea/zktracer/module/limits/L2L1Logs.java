@@ -36,6 +36,9 @@ public class L2L1Logs implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void reset() {}
+
   @Override
   public int lineCount() {
     return this.l2Block.l2l1LogsCount();
@@ -53,6 +53,11 @@ public class LogInfo implements Module {
     lineCounter.pop();
   }
 
+  @Override
+  public void reset() {
+    lineCounter.clear();
+  }
+
   /* WARN: make sure this is called after rlpTxnRcpt as we need the operation of the current transaction */
   @Override
   public void traceEndTx(TransactionProcessingMetadata tx) {
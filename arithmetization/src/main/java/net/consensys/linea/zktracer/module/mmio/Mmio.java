@@ -47,6 +47,8 @@ import org.apache.tuweni.bytes.Bytes;
 
 @RequiredArgsConstructor
 public class Mmio implements Module {
+  private static final Bytes ZERO = Bytes.ofUnsignedShort(0);
+
   private final Mmu mmu;
   private final CountOnlyOperation lineCounter = new CountOnlyOperation();
 
@@ -65,6 +67,11 @@ public class Mmio implements Module {
     lineCounter.pop();
   }
 
+  @Override
+  public void reset() {
+    lineCounter.clear();
+  }
+
   @Override
   public void traceEndTx(TransactionProcessingMetadata tx) {
     for (MmuOperation o : mmu.operations().operationsInTransaction()) {
@@ -82,6 +89,10 @@ public class Mmio implements Module {
     return Trace.headers(lineCount());
   }
 
+  /**
+   * Every MMIO instruction is computed and traced before the next one, so that the values of an
+   * instruction become garbage as soon as its rows are written.
+   */
   @Override
   public void commit(List<MappedByteBuffer> buffers) {
     Trace trace = new Trace(buffers);
@@ -89,27 +100,19 @@ public class Mmio implements Module {
     for (MmuOperation mmuOperation : mmu.operations().getAll()) {
 
       final MmuData currentMmuData = mmuOperation.mmuData();
+      final int mmioInstructionCount = currentMmuData.mmuToMmioInstructions().size();
 
       for (int currentMmioInstNumber = 0;
-          currentMmioInstNumber < currentMmuData.mmuToMmioInstructions().size();
+          currentMmioInstNumber < mmioInstructionCount;
           currentMmioInstNumber++) {
-
-        final MmioInstructions mmioInstructions =
-            new MmioInstructions(currentMmuData, currentMmioInstNumber);
-        final MmioData mmioData =
-            mmioInstructions.compute(
-                currentMmuData
-                    .mmuToMmioInstructions()
-                    .get(currentMmioInstNumber)
-                    .mmioInstruction());
-
-        trace(trace, mmioData, ++stamp);
+        trace(trace, MmioInstructions.compute(currentMmuData, currentMmioInstNumber), ++stamp);
       }
     }
   }
 
   void trace(Trace trace, MmioData mmioData, final int stamp) {
 
+    final int lineCount = lineCountOfMmioInstruction(mmioData.instruction());
     final boolean isFast = isFastOperation(mmioData.instruction());
     final boolean requiresExoFlag = mmioData.operationRequiresOperation();
 
@@ -142,14 +145,29 @@ public class Mmio implements Module {
     final boolean isRamToRamTwoTarget = (mmioData.instruction() == MMIO_INST_RAM_TO_RAM_TWO_TARGET);
     final boolean isRamVanishes = (mmioData.instruction() == MMIO_INST_RAM_VANISHES);
 
-    for (short ct = 0; ct < lineCountOfMmioInstruction(mmioData.instruction()); ct++) {
+    // constant over the rows of the instruction
+    final Bytes cnA = Bytes.minimalBytes(mmioData.cnA());
+    final Bytes cnB = Bytes.minimalBytes(mmioData.cnB());
+    final Bytes cnC = Bytes.minimalBytes(mmioData.cnC());
+    final Bytes indexA = Bytes.minimalBytes(mmioData.indexA());
+    final Bytes indexB = Bytes.minimalBytes(mmioData.indexB());
+    final Bytes indexC = Bytes.minimalBytes(mmioData.indexC());
+    final Bytes indexX = Bytes.minimalBytes(mmioData.indexX());
+    final Bytes contextSource = Bytes.minimalBytes(mmioData.sourceContext());
+    final Bytes contextTarget = Bytes.minimalBytes(mmioData.targetContext());
+    final Bytes sourceLimbOffset = Bytes.minimalBytes(mmioData.sourceLimbOffset());
+    final Bytes targetLimbOffset = Bytes.minimalBytes(mmioData.targetLimbOffset());
+    final Bytes size = Bytes.minimalBytes(mmioData.size());
+    final Bytes totalSize = Bytes.ofUnsignedLong(mmioData.totalSize());
+
+    for (short ct = 0; ct < lineCount; ct++) {
       trace
-          .cnA(Bytes.minimalBytes(mmioData.cnA()))
-          .cnB(Bytes.minimalBytes(mmioData.cnB()))
-          .cnC(Bytes.minimalBytes(mmioData.cnC()))
-          .indexA(Bytes.minimalBytes(mmioData.indexA()))
-          .indexB(Bytes.minimalBytes(mmioData.indexB()))
-          .indexC(Bytes.minimalBytes(mmioData.indexC()))
+          .cnA(cnA)
+          .cnB(cnB)
+          .cnC(cnC)
+          .indexA(indexA)
+          .indexB(indexB)
+          .indexC(indexC)
           .valA(mmioData.valA())
           .valB(mmioData.valB())
           .valC(mmioData.valC())
@@ -164,15 +182,15 @@ public class Mmio implements Module {
           .accC(mmioData.valC().slice(0, ct + 1))
           .mmioStamp(stamp)
           .mmioInstruction(mmioData.instruction())
-          .contextSource(Bytes.minimalBytes(mmioData.sourceContext()))
-          .contextTarget(Bytes.minimalBytes(mmioData.targetContext()))
-          .sourceLimbOffset(Bytes.minimalBytes(mmioData.sourceLimbOffset()))
-          .targetLimbOffset(Bytes.minimalBytes(mmioData.targetLimbOffset()))
+          .contextSource(contextSource)
+          .contextTarget(contextTarget)
+          .sourceLimbOffset(sourceLimbOffset)
+          .targetLimbOffset(targetLimbOffset)
           .sourceByteOffset(mmioData.sourceByteOffset())
           .targetByteOffset(mmioData.targetByteOffset())
-          .size(Bytes.minimalBytes(mmioData.size()))
+          .size(size)
           .limb(mmioData.limb())
-          .totalSize(Bytes.ofUnsignedLong(mmioData.totalSize()))
+          .totalSize(totalSize)
           .exoSum(mmioData.exoSum())
           .exoId(mmioData.exoId())
           .exoIsTxcd(effectiveExoIsTxcd)
@@ -200,7 +218,7 @@ public class Mmio implements Module {
           .isRamToRamTwoSource(isRamToRamTwoSource)
           .isRamToRamTwoTarget(isRamToRamTwoTarget)
           .isRamVanishes(isRamVanishes)
-          .indexX(Bytes.minimalBytes(mmioData.indexX()))
+          .indexX(indexX)
           .byteLimb(UnsignedByte.of(mmioData.limb().get(ct)))
           .accLimb(mmioData.limb().slice(0, ct + 1))
           .bit1(!mmioData.bit1().isEmpty() && mmioData.bit1().get(ct))
@@ -208,14 +226,12 @@ public class Mmio implements Module {
           .bit3(!mmioData.bit3().isEmpty() && mmioData.bit3().get(ct))
           .bit4(!mmioData.bit4().isEmpty() && mmioData.bit4().get(ct))
           .bit5(!mmioData.bit5().isEmpty() && mmioData.bit5().get(ct))
-          .acc1(mmioData.acc1().isEmpty() ? Bytes.ofUnsignedShort(0) : mmioData.acc1().get(ct))
-          .acc2(mmioData.acc2().isEmpty() ? Bytes.ofUnsignedShort(0) : mmioData.acc2().get(ct))
-          .acc3(mmioData.acc3().isEmpty() ? Bytes.ofUnsignedShort(0) : mmioData.acc3().get(ct))
-          .acc4(mmioData.acc4().isEmpty() ? Bytes.ofUnsignedShort(0) : mmioData.acc4().get(ct))
-          .pow2561(
-              mmioData.pow2561().isEmpty() ? Bytes.ofUnsignedShort(0) : mmioData.pow2561().get(ct))
-          .pow2562(
-              mmioData.pow2562().isEmpty() ? Bytes.ofUnsignedShort(0) : mmioData.pow2562().get(ct))
+          .acc1(mmioData.acc1().isEmpty() ? ZERO : mmioData.acc1().get(ct))
+          .acc2(mmioData.acc2().isEmpty() ? ZERO : mmioData.acc2().get(ct))
+          .acc3(mmioData.acc3().isEmpty() ? ZERO : mmioData.acc3().get(ct))
+          .acc4(mmioData.acc4().isEmpty() ? ZERO : mmioData.acc4().get(ct))
+          .pow2561(mmioData.pow2561().isEmpty() ? ZERO : mmioData.pow2561().get(ct))
+          .pow2562(mmioData.pow2562().isEmpty() ? ZERO : mmioData.pow2562().get(ct))
           .counter(ct)
           .validateRow();
     }
@@ -27,14 +27,13 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_LIMB_TWO_SOURCE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_RAM_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_VANISHES;
-import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.antiPower;
+import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.antiPowers;
 import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.isolateChunk;
 import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.isolatePrefix;
 import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.isolateSuffix;
-import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.plateau;
-import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.power;
+import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.plateaus;
+import static net.consensys.linea.zktracer.module.mmio.MmioPatterns.powers;
 
-import java.util.ArrayList;
 import java.util.List;
 
 import lombok.AllArgsConstructor;
@@ -150,27 +149,30 @@ public class MmioData {
         mmuToMmioConstantValues.successBit(),
         mmuToMmioInstruction.targetLimbIsTouchedTwice(),
         0,
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE),
-        new ArrayList<>(LLARGE));
+        // the flags, powers and accumulators are only set by the slow instructions
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of(),
+        List.of());
   }
 
   public static boolean isFastOperation(final int mmioInstruction) {
-    return List.of(
-            MMIO_INST_LIMB_VANISHES,
-            MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
-            MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
-            MMIO_INST_RAM_TO_RAM_TRANSPLANT,
-            MMIO_INST_RAM_VANISHES)
-        .contains(mmioInstruction);
+    return switch (mmioInstruction) {
+      case MMIO_INST_LIMB_VANISHES,
+          MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
+          MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
+          MMIO_INST_RAM_TO_RAM_TRANSPLANT,
+          MMIO_INST_RAM_VANISHES ->
+          true;
+      default -> false;
+    };
   }
 
   public static int lineCountOfMmioInstruction(final int mmioInstruction) {
@@ -183,15 +185,13 @@ public class MmioData {
       final short sourceOffsetTrigger,
       final short targetOffsetTrigger,
       final short size) {
-    for (short ct = 0; ct < LLARGE; ct++) {
-      bit1.add(ct, plateau(targetOffsetTrigger, ct));
-      bit2.add(ct, plateau(targetOffsetTrigger + size, ct));
-      bit3.add(ct, plateau(sourceOffsetTrigger, ct));
-      bit4.add(ct, plateau(sourceOffsetTrigger + size, ct));
-    }
+    bit1 = plateaus(targetOffsetTrigger);
+    bit2 = plateaus(targetOffsetTrigger + size);
+    bit3 = plateaus(sourceOffsetTrigger);
+    bit4 = plateaus(sourceOffsetTrigger + size);
     acc1 = isolateChunk(targetBytes, bit1, bit2);
     acc2 = isolateChunk(sourceBytes, bit3, bit4);
-    pow2561 = power(bit2);
+    pow2561 = powers(targetOffsetTrigger + size);
   }
 
   public void onePartialToTwo(
@@ -201,18 +201,16 @@ public class MmioData {
       final short sourceOffsetTrigger,
       final short target1OffsetTrigger,
       final short size) {
-    for (short ct = 0; ct < LLARGE; ct++) {
-      bit1.add(ct, plateau(target1OffsetTrigger, ct));
-      bit2.add(ct, plateau(target1OffsetTrigger + size - LLARGE, ct));
-      bit3.add(ct, plateau(sourceOffsetTrigger, ct));
-      bit4.add(ct, plateau(sourceOffsetTrigger + LLARGE - target1OffsetTrigger, ct));
-      bit5.add(ct, plateau(sourceOffsetTrigger + size, ct));
-    }
+    bit1 = plateaus(target1OffsetTrigger);
+    bit2 = plateaus(target1OffsetTrigger + size - LLARGE);
+    bit3 = plateaus(sourceOffsetTrigger);
+    bit4 = plateaus(sourceOffsetTrigger + LLARGE - target1OffsetTrigger);
+    bit5 = plateaus(sourceOffsetTrigger + size);
     acc1 = isolateSuffix(target1Bytes, bit1);
     acc2 = isolatePrefix(target2Bytes, bit2);
     acc3 = isolateChunk(sourceBytes, bit3, bit4);
     acc4 = isolateChunk(sourceBytes, bit4, bit5);
-    pow2561 = power(bit2);
+    pow2561 = powers(target1OffsetTrigger + size - LLARGE);
   }
 
   public void oneToOnePadded(
@@ -239,24 +237,20 @@ public class MmioData {
         "targetByteOffset has value %s.",
         targetByteOffset);
 
-    for (short ct = 0; ct < LLARGE; ct++) {
-      bit1.add(ct, plateau(sourceByteOffset, ct));
-      bit2.add(ct, plateau(sourceByteOffset + size, ct));
-      bit3.add(ct, plateau(targetByteOffset + size, ct));
-    }
+    bit1 = plateaus(sourceByteOffset);
+    bit2 = plateaus(sourceByteOffset + size);
+    bit3 = plateaus(targetByteOffset + size);
     acc1 = isolateChunk(sourceBytes, bit1, bit2);
-    pow2561 = power(bit3);
+    pow2561 = powers(targetByteOffset + size);
   }
 
   public void excision(final Bytes16 target, final short targetOffsetTrigger, final short size) {
 
-    for (short ct = 0; ct < LLARGE; ct++) {
-      bit1.add(ct, plateau(targetOffsetTrigger, ct));
-      bit2.add(ct, plateau(targetOffsetTrigger + size, ct));
-    }
+    bit1 = plateaus(targetOffsetTrigger);
+    bit2 = plateaus(targetOffsetTrigger + size);
 
     acc1 = isolateChunk(target, bit1, bit2);
-    pow2561 = power(bit2);
+    pow2561 = powers(targetOffsetTrigger + size);
   }
 
   public void twoToOnePadded(
@@ -282,16 +276,14 @@ public class MmioData {
         "targetByteOffset has value %s.",
         targetByteOffset);
 
-    for (short ct = 0; ct < LLARGE; ct++) {
-      bit1.add(ct, plateau(sourceByteOffset, ct));
-      bit2.add(ct, plateau(sourceByteOffset + size - LLARGE, ct));
-      bit3.add(ct, plateau(targetByteOffset + LLARGE - sourceByteOffset, ct));
-      bit4.add(ct, plateau(targetByteOffset + size, ct));
-    }
+    bit1 = plateaus(sourceByteOffset);
+    bit2 = plateaus(sourceByteOffset + size - LLARGE);
+    bit3 = plateaus(targetByteOffset + LLARGE - sourceByteOffset);
+    bit4 = plateaus(targetByteOffset + size);
     acc1 = isolateSuffix(sourceBytes1, bit1);
     acc2 = isolatePrefix(sourceBytes2, bit2);
-    pow2561 = power(bit3);
-    pow2562 = power(bit4);
+    pow2561 = powers(targetByteOffset + LLARGE - sourceByteOffset);
+    pow2562 = powers(targetByteOffset + size);
   }
 
   public void twoPartialToOne(
@@ -302,29 +294,29 @@ public class MmioData {
       final short targetByteOffset,
       final short size) {
 
-    for (short ct = 0; ct < LLARGE; ct++) {
-      bit1.add(ct, plateau(sourceByteOffset, ct));
-      bit2.add(ct, plateau(sourceByteOffset + size - LLARGE, ct));
-      bit3.add(ct, plateau(targetByteOffset, ct));
-      bit4.add(ct, plateau(targetByteOffset + size, ct));
-    }
+    bit1 = plateaus(sourceByteOffset);
+    bit2 = plateaus(sourceByteOffset + size - LLARGE);
+    bit3 = plateaus(targetByteOffset);
+    bit4 = plateaus(targetByteOffset + size);
 
     acc1 = isolateSuffix(source1, bit1);
     acc2 = isolatePrefix(source2, bit2);
     acc3 = isolateChunk(target, bit3, bit4);
 
-    pow2561 = power(bit4);
-    pow2562 = antiPower(bit2);
+    pow2561 = powers(targetByteOffset + size);
+    pow2562 = antiPowers(sourceByteOffset + size - LLARGE);
   }
 
   public boolean operationRequiresOperation() {
-    return List.of(
-            MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
-            MMIO_INST_LIMB_TO_RAM_ONE_TARGET,
-            MMIO_INST_LIMB_TO_RAM_TWO_TARGET,
-            MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
-            MMIO_INST_RAM_TO_LIMB_ONE_SOURCE,
-            MMIO_INST_RAM_TO_LIMB_TWO_SOURCE)
-        .contains(this.instruction);
+    return switch (this.instruction) {
+      case MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
+          MMIO_INST_LIMB_TO_RAM_ONE_TARGET,
+          MMIO_INST_LIMB_TO_RAM_TWO_TARGET,
+          MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
+          MMIO_INST_RAM_TO_LIMB_ONE_SOURCE,
+          MMIO_INST_RAM_TO_LIMB_TWO_SOURCE ->
+          true;
+      default -> false;
+    };
   }
 }
@@ -15,7 +15,6 @@
 
 package net.consensys.linea.zktracer.module.mmio;
 
-import static java.util.Map.entry;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_LIMB_TO_RAM_ONE_TARGET;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_LIMB_TO_RAM_TRANSPLANT;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_LIMB_TO_RAM_TWO_TARGET;
@@ -30,9 +29,6 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_TO_RAM_TWO_TARGET;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMIO_INST_RAM_VANISHES;
 
-import java.util.Map;
-
-import lombok.experimental.Accessors;
 import net.consensys.linea.zktracer.module.mmio.instructions.LimbToRamOneTarget;
 import net.consensys.linea.zktracer.module.mmio.instructions.LimbToRamTransplant;
 import net.consensys.linea.zktracer.module.mmio.instructions.LimbToRamTwoTarget;
@@ -49,48 +45,49 @@ import net.consensys.linea.zktracer.module.mmio.instructions.RamToRamTwoTarget;
 import net.consensys.linea.zktracer.module.mmio.instructions.RamVanishes;
 import net.consensys.linea.zktracer.module.mmu.MmuData;
 
-@Accessors(fluent = true)
-public class MmioInstructions {
-  private final Map<Integer, MmioInstruction> mmioInstructionMap;
+/** Dispatches the MMU-to-MMIO instructions to their MMIO implementation. */
+public final class MmioInstructions {
+  private MmioInstructions() {}
 
-  public MmioInstructions(final MmuData mmuData, final int mmioInstructionNumber) {
-    mmioInstructionMap =
-        Map.ofEntries(
-            entry(MMIO_INST_LIMB_VANISHES, new LimbVanishes(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_LIMB_TO_RAM_TRANSPLANT,
-                new LimbToRamTransplant(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_LIMB_TO_RAM_ONE_TARGET,
-                new LimbToRamOneTarget(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_LIMB_TO_RAM_TWO_TARGET,
-                new LimbToRamTwoTarget(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_LIMB_TRANSPLANT,
-                new RamToLimbTransplant(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_LIMB_ONE_SOURCE,
-                new RamToLimbOneSource(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_LIMB_TWO_SOURCE,
-                new RamToLimbTwoSource(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_TRANSPLANT,
-                new RamToRamTransplant(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_PARTIAL, new RamToRamPartial(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_TWO_TARGET,
-                new RamToRamTwoTarget(mmuData, mmioInstructionNumber)),
-            entry(MMIO_INST_RAM_EXCISION, new RamExcision(mmuData, mmioInstructionNumber)),
-            entry(
-                MMIO_INST_RAM_TO_RAM_TWO_SOURCE,
-                new RamToRamTwoSource(mmuData, mmioInstructionNumber)),
-            entry(MMIO_INST_RAM_VANISHES, new RamVanishes(mmuData, mmioInstructionNumber)));
+  /**
+   * Execute a single MMIO instruction of an MMU operation. The instructions of an operation must be
+   * executed in order, as some of them update the target RAM seen by the next ones.
+   *
+   * @param mmuData the MMU operation
+   * @param mmioInstructionNumber the index of the instruction among the MMIO instructions of {@code
+   *     mmuData}
+   * @return the values to trace for this instruction
+   */
+  public static MmioData compute(final MmuData mmuData, final int mmioInstructionNumber) {
+    final int mmioInstruction =
+        mmuData.mmuToMmioInstructions().get(mmioInstructionNumber).mmioInstruction();
+    return instruction(mmioInstruction, mmuData, mmioInstructionNumber).execute();
   }
 
-  public MmioData compute(final int mmioInstruction) {
-    return mmioInstructionMap.get(mmioInstruction).execute();
+  private static MmioInstruction instruction(
+      final int mmioInstruction, final MmuData mmuData, final int mmioInstructionNumber) {
+    return switch (mmioInstruction) {
+      case MMIO_INST_LIMB_VANISHES -> new LimbVanishes(mmuData, mmioInstructionNumber);
+      case MMIO_INST_LIMB_TO_RAM_TRANSPLANT ->
+          new LimbToRamTransplant(mmuData, mmioInstructionNumber);
+      case MMIO_INST_LIMB_TO_RAM_ONE_TARGET ->
+          new LimbToRamOneTarget(mmuData, mmioInstructionNumber);
+      case MMIO_INST_LIMB_TO_RAM_TWO_TARGET ->
+          new LimbToRamTwoTarget(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_TO_LIMB_TRANSPLANT ->
+          new RamToLimbTransplant(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_TO_LIMB_ONE_SOURCE ->
+          new RamToLimbOneSource(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_TO_LIMB_TWO_SOURCE ->
+          new RamToLimbTwoSource(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_TO_RAM_TRANSPLANT ->
+          new RamToRamTransplant(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_TO_RAM_PARTIAL -> new RamToRamPartial(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_TO_RAM_TWO_TARGET -> new RamToRamTwoTarget(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_EXCISION -> new RamExcision(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_TO_RAM_TWO_SOURCE -> new RamToRamTwoSource(mmuData, mmioInstructionNumber);
+      case MMIO_INST_RAM_VANISHES -> new RamVanishes(mmuData, mmioInstructionNumber);
+      default -> throw new IllegalArgumentException("Unknown MMIO instruction " + mmioInstruction);
+    };
   }
 }
@@ -20,12 +20,54 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLAR
 import java.util.ArrayList;
 import java.util.List;
 
+import net.consensys.linea.zktracer.module.constants.GlobalConstants;
 import net.consensys.linea.zktracer.module.mmu.MmuData;
 import net.consensys.linea.zktracer.types.Bytes16;
 import org.apache.tuweni.bytes.Bytes;
 
 public class MmioPatterns {
 
+  /**
+   * The {@link #plateau} flags over the {@link GlobalConstants#LLARGE} rows of an instruction only
+   * depend on the clamped trigger; they, and the powers derived from them, are shared by all the
+   * instructions.
+   */
+  private static final List<List<Boolean>> PLATEAUS = new ArrayList<>(LLARGE + 1);
+
+  private static final List<List<Bytes>> POWERS = new ArrayList<>(LLARGE + 1);
+  private static final List<List<Bytes>> ANTI_POWERS = new ArrayList<>(LLARGE + 1);
+
+  static {
+    for (int m = 0; m <= LLARGE; m++) {
+      final List<Boolean> flags = new ArrayList<>(LLARGE);
+      for (short ct = 0; ct < LLARGE; ct++) {
+        flags.add(plateau(m, ct));
+      }
+      PLATEAUS.add(List.copyOf(flags));
+      POWERS.add(List.copyOf(power(flags)));
+      ANTI_POWERS.add(List.copyOf(antiPower(flags)));
+    }
+  }
+
+  private static int clampTrigger(final int m) {
+    return Math.clamp(m, 0, LLARGE);
+  }
+
+  /** @return the (immutable) {@link #plateau} flags of trigger {@code m} for every row */
+  static List<Boolean> plateaus(final int m) {
+    return PLATEAUS.get(clampTrigger(m));
+  }
+
+  /** @return the (immutable) {@link #power} of the {@link #plateaus} of trigger {@code m} */
+  static List<Bytes> powers(final int m) {
+    return POWERS.get(clampTrigger(m));
+  }
+
+  /** @return the (immutable) {@link #antiPower} of the {@link #plateaus} of trigger {@code m} */
+  static List<Bytes> antiPowers(final int m) {
+    return ANTI_POWERS.get(clampTrigger(m));
+  }
+
   static List<Bytes> isolateSuffix(final Bytes16 input, final List<Boolean> flag) {
     final List<Bytes> output = new ArrayList<>(LLARGE);
 
@@ -182,17 +224,6 @@ public class MmioPatterns {
 
   public static void updateTemporaryTargetRam(
       MmuData mmuData, final long targetLimbOffsetToUpdate, final Bytes16 newLimb) {
-    final Bytes bytesPreLimb =
-        Bytes.repeat(
-            (byte) 0,
-            (int)
-                (LLARGE
-                    * targetLimbOffsetToUpdate)); // We won't access the preLimb again, so we don't
-    // care
-    // of its value
-    final Bytes bytesPostLimb =
-        mmuData.targetRamBytes().slice((int) ((targetLimbOffsetToUpdate + 1) * LLARGE));
-
-    mmuData.targetRamBytes(Bytes.concatenate(bytesPreLimb, newLimb, bytesPostLimb));
+    mmuData.updateTargetRamLimb(targetLimbOffsetToUpdate, newLimb);
   }
 }
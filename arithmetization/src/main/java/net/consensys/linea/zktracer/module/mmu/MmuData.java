@@ -15,6 +15,7 @@
 
 package net.consensys.linea.zktracer.module.mmu;
 
+import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_INST_ANY_TO_RAM_WITH_PADDING;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_INST_BLAKE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_INST_EXO_TO_RAM_TRANSPLANTS;
@@ -25,6 +26,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.MMU_
 import java.util.ArrayList;
 import java.util.List;
 
+import lombok.AccessLevel;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
@@ -37,6 +39,7 @@ import net.consensys.linea.zktracer.module.mmu.values.MmuToMmioConstantValues;
 import net.consensys.linea.zktracer.module.mmu.values.MmuToMmioInstruction;
 import net.consensys.linea.zktracer.module.mmu.values.MmuWcpCallRecord;
 import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.MutableBytes;
 
 @AllArgsConstructor
 @Getter
@@ -57,6 +60,12 @@ public class MmuData {
   private Bytes exoBytes;
   private Bytes sourceRamBytes;
   private Bytes targetRamBytes;
+
+  /** the copy of the target RAM updated by the MMIO instructions, if any */
+  @Getter(AccessLevel.NONE)
+  @Setter(AccessLevel.NONE)
+  private MutableBytes temporaryTargetRam;
+
   private final boolean exoLimbIsSource;
   private final boolean exoLimbIsTarget;
   private static final List<Integer> MMU_INST_EXO_IS_SOURCE =
@@ -84,6 +93,7 @@ public class MmuData {
         Bytes.EMPTY,
         Bytes.EMPTY,
         Bytes.EMPTY,
+        null,
         MMU_INST_EXO_IS_SOURCE.contains(mmuCall.instruction()),
         MMU_INST_EXO_IS_TARGET.contains(mmuCall.instruction()));
 
@@ -104,6 +114,24 @@ public class MmuData {
     mmuToMmioInstructions.add(mmuToMmioInstruction);
   }
 
+  /**
+   * Overwrite a limb of the target RAM. The RAM is copied on the first update, so that the bytes of
+   * the {@link MmuCall} are never modified, and then updated in place.
+   *
+   * @param limbOffset the offset of the limb to overwrite, in limbs
+   * @param newLimb the new value of the limb
+   */
+  public void updateTargetRamLimb(final long limbOffset, final Bytes newLimb) {
+    final int end = (int) ((limbOffset + 1) * LLARGE);
+    if (targetRamBytes != temporaryTargetRam || temporaryTargetRam.size() < end) {
+      final MutableBytes ram = MutableBytes.create(Math.max(end, targetRamBytes.size()));
+      targetRamBytes.copyTo(ram, 0);
+      temporaryTargetRam = ram;
+      targetRamBytes = ram;
+    }
+    temporaryTargetRam.set((int) (limbOffset * LLARGE), newLimb);
+  }
+
   public void setSourceRamBytes() {
     if (mmuCall.sourceRamBytes().isPresent()) {
       sourceRamBytes(mmuCall.sourceRamBytes().get());
@@ -16,15 +16,14 @@
 package net.consensys.linea.zktracer.module.mxp;
 
 import static com.google.common.base.Preconditions.*;
-import static net.consensys.linea.zktracer.module.Util.max;
 import static net.consensys.linea.zktracer.module.mxp.Trace.CT_MAX_NON_TRIVIAL;
 import static net.consensys.linea.zktracer.module.mxp.Trace.CT_MAX_NON_TRIVIAL_BUT_MXPX;
 import static net.consensys.linea.zktracer.module.mxp.Trace.CT_MAX_TRIVIAL;
-import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
+import static net.consensys.linea.zktracer.types.U256.TWO_POW_128;
+import static net.consensys.linea.zktracer.types.U256.TWO_POW_32;
 import static org.hyperledger.besu.evm.internal.Words.clampedAdd;
 import static org.hyperledger.besu.evm.internal.Words.clampedMultiply;
 
-import java.math.BigInteger;
 import java.util.Arrays;
 
 import lombok.Getter;
@@ -39,6 +38,7 @@ import net.consensys.linea.zktracer.opcode.gas.BillingRate;
 import net.consensys.linea.zktracer.opcode.gas.MxpType;
 import net.consensys.linea.zktracer.types.EWord;
 import net.consensys.linea.zktracer.types.MemorySpan;
+import net.consensys.linea.zktracer.types.U256;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -48,37 +48,34 @@ import org.hyperledger.besu.evm.internal.Words;
 
 @Getter
 public class MxpOperation extends ModuleOperation {
-  public static final BigInteger TWO_POW_128 = BigInteger.ONE.shiftLeft(128);
-  public static final BigInteger TWO_POW_32 = BigInteger.ONE.shiftLeft(32);
-
   final MxpCall mxpCall;
   private final int contextNumber;
 
-  private BigInteger maxOffset1 = BigInteger.ZERO;
-  private BigInteger maxOffset2 = BigInteger.ZERO;
-  private BigInteger maxOffset = BigInteger.ZERO;
+  private U256 maxOffset1 = U256.ZERO;
+  private U256 maxOffset2 = U256.ZERO;
+  private U256 maxOffset = U256.ZERO;
 
   private boolean roob;
   private boolean noOperation;
   private boolean comp;
 
-  private BigInteger acc1 = BigInteger.ZERO;
-  private BigInteger acc2 = BigInteger.ZERO;
-  private BigInteger acc3 = BigInteger.ZERO;
-  private BigInteger acc4 = BigInteger.ZERO;
-  private BigInteger accA = BigInteger.ZERO;
-  private BigInteger accW = BigInteger.ZERO;
-  private BigInteger accQ = BigInteger.ZERO;
-
-  private UnsignedByte[] byte1;
-  private UnsignedByte[] byte2;
-  private UnsignedByte[] byte3;
-  private UnsignedByte[] byte4;
-  private UnsignedByte[] byteA;
-  private UnsignedByte[] byteW;
-  private UnsignedByte[] byteQ;
-  private UnsignedByte[] byteQQ;
-  private UnsignedByte[] byteR;
+  private U256 acc1 = U256.ZERO;
+  private U256 acc2 = U256.ZERO;
+  private U256 acc3 = U256.ZERO;
+  private U256 acc4 = U256.ZERO;
+  private U256 accA = U256.ZERO;
+  private U256 accW = U256.ZERO;
+  private U256 accQ = U256.ZERO;
+
+  private byte[] byte1;
+  private byte[] byte2;
+  private byte[] byte3;
+  private byte[] byte4;
+  private byte[] byteA;
+  private byte[] byteW;
+  private byte[] byteQ;
+  private byte[] byteQQ;
+  private byte[] byteR;
 
   private boolean expands;
   private final MxpType typeMxp;
@@ -138,24 +135,15 @@ public class MxpOperation extends ModuleOperation {
 
   private void setInitializeByteArrays() {
     int nRows = nRows();
-    byte1 = new UnsignedByte[nRows];
-    byte2 = new UnsignedByte[nRows];
-    byte3 = new UnsignedByte[nRows];
-    byte4 = new UnsignedByte[nRows];
-    byteA = new UnsignedByte[nRows];
-    byteW = new UnsignedByte[nRows];
-    byteQ = new UnsignedByte[nRows];
-    byteQQ = new UnsignedByte[nRows];
-    byteR = new UnsignedByte[nRows];
-    Arrays.fill(byte1, UnsignedByte.of(0));
-    Arrays.fill(byte2, UnsignedByte.of(0));
-    Arrays.fill(byte3, UnsignedByte.of(0));
-    Arrays.fill(byte4, UnsignedByte.of(0));
-    Arrays.fill(byteA, UnsignedByte.of(0));
-    Arrays.fill(byteW, UnsignedByte.of(0));
-    Arrays.fill(byteQ, UnsignedByte.of(0));
-    Arrays.fill(byteQQ, UnsignedByte.of(0));
-    Arrays.fill(byteR, UnsignedByte.of(0));
+    byte1 = new byte[nRows];
+    byte2 = new byte[nRows];
+    byte3 = new byte[nRows];
+    byte4 = new byte[nRows];
+    byteA = new byte[nRows];
+    byteW = new byte[nRows];
+    byteQ = new byte[nRows];
+    byteQQ = new byte[nRows];
+    byteR = new byte[nRows];
   }
 
   private void setOffsetsAndSizes() {
@@ -200,17 +188,16 @@ public class MxpOperation extends ModuleOperation {
   protected void setRoob() {
     roob =
         switch (typeMxp) {
-          case TYPE_2, TYPE_3 -> mxpCall.getOffset1().toUnsignedBigInteger().compareTo(TWO_POW_128)
-              >= 0;
-          case TYPE_4 -> mxpCall.getSize1().toUnsignedBigInteger().compareTo(TWO_POW_128) >= 0
-              || (mxpCall.getOffset1().toUnsignedBigInteger().compareTo(TWO_POW_128) >= 0
-                  && !mxpCall.getSize1().toUnsignedBigInteger().equals(BigInteger.ZERO));
-          case TYPE_5 -> mxpCall.getSize1().toUnsignedBigInteger().compareTo(TWO_POW_128) >= 0
-              || (mxpCall.getOffset1().toUnsignedBigInteger().compareTo(TWO_POW_128) >= 0
-                  && !mxpCall.getSize1().toUnsignedBigInteger().equals(BigInteger.ZERO))
-              || (mxpCall.getSize2().toUnsignedBigInteger().compareTo(TWO_POW_128) >= 0
-                  || (mxpCall.getOffset2().toUnsignedBigInteger().compareTo(TWO_POW_128) >= 0
-                      && !mxpCall.getSize2().toUnsignedBigInteger().equals(BigInteger.ZERO)));
+          case TYPE_2, TYPE_3 -> U256.of(mxpCall.getOffset1()).compareTo(TWO_POW_128) >= 0;
+          case TYPE_4 -> U256.of(mxpCall.getSize1()).compareTo(TWO_POW_128) >= 0
+              || (U256.of(mxpCall.getOffset1()).compareTo(TWO_POW_128) >= 0
+                  && !mxpCall.getSize1().isZero());
+          case TYPE_5 -> U256.of(mxpCall.getSize1()).compareTo(TWO_POW_128) >= 0
+              || (U256.of(mxpCall.getOffset1()).compareTo(TWO_POW_128) >= 0
+                  && !mxpCall.getSize1().isZero())
+              || (U256.of(mxpCall.getSize2()).compareTo(TWO_POW_128) >= 0
+                  || (U256.of(mxpCall.getOffset2()).compareTo(TWO_POW_128) >= 0
+                      && !mxpCall.getSize2().isZero()));
           default -> false;
         };
   }
@@ -239,55 +226,44 @@ public class MxpOperation extends ModuleOperation {
   protected void setMaxOffset1and2() {
     if (getMxpExecutionPath() != mxpExecutionPath.TRIVIAL) {
       switch (typeMxp) {
-        case TYPE_2 -> maxOffset1 =
-            mxpCall.getOffset1().toUnsignedBigInteger().add(BigInteger.valueOf(31));
-        case TYPE_3 -> maxOffset1 = mxpCall.getOffset1().toUnsignedBigInteger();
+        case TYPE_2 -> maxOffset1 = U256.of(mxpCall.getOffset1()).add(31);
+        case TYPE_3 -> maxOffset1 = U256.of(mxpCall.getOffset1());
         case TYPE_4 -> {
-          if (!mxpCall.getSize1().toUnsignedBigInteger().equals(BigInteger.ZERO)) {
-            maxOffset1 =
-                mxpCall
-                    .getOffset1()
-                    .toUnsignedBigInteger()
-                    .add(mxpCall.getSize1().toUnsignedBigInteger())
-                    .subtract(BigInteger.ONE);
+          if (!mxpCall.getSize1().isZero()) {
+            maxOffset1 = maxOffset(mxpCall.getOffset1(), mxpCall.getSize1());
           }
         }
         case TYPE_5 -> {
-          if (!mxpCall.getSize1().toUnsignedBigInteger().equals(BigInteger.ZERO)) {
-            maxOffset1 =
-                mxpCall
-                    .getOffset1()
-                    .toUnsignedBigInteger()
-                    .add(mxpCall.getSize1().toUnsignedBigInteger())
-                    .subtract(BigInteger.ONE);
+          if (!mxpCall.getSize1().isZero()) {
+            maxOffset1 = maxOffset(mxpCall.getOffset1(), mxpCall.getSize1());
           }
-          if (!mxpCall.getSize2().toUnsignedBigInteger().equals(BigInteger.ZERO)) {
-            maxOffset2 =
-                mxpCall
-                    .getOffset2()
-                    .toUnsignedBigInteger()
-                    .add(mxpCall.getSize2().toUnsignedBigInteger())
-                    .subtract(BigInteger.ONE);
+          if (!mxpCall.getSize2().isZero()) {
+            maxOffset2 = maxOffset(mxpCall.getOffset2(), mxpCall.getSize2());
           }
         }
       }
     }
   }
 
+  /** offset and size are both smaller than 2^128 when not roob, so this can not overflow */
+  private static U256 maxOffset(final EWord offset, final EWord size) {
+    return U256.of(offset).add(U256.of(size)).subtract(U256.ONE);
+  }
+
   /** set max offset and mxpx. */
   protected void setMaxOffsetAndMxpx() {
     if (roob || noOperation) {
       mxpCall.setMxpx(roob);
     } else {
       // choose the max value
-      maxOffset = max(maxOffset1, maxOffset2);
+      maxOffset = U256.max(maxOffset1, maxOffset2);
       mxpCall.setMxpx(maxOffset.compareTo(TWO_POW_32) >= 0);
     }
   }
 
   public void setExpands() {
     if (!roob && !noOperation && !mxpCall.isMxpx()) {
-      expands = accA.compareTo(BigInteger.valueOf(mxpCall.getMemorySizeInWords())) > 0;
+      expands = accA.compareTo(U256.of(mxpCall.getMemorySizeInWords())) > 0;
     }
   }
 
@@ -322,20 +298,19 @@ public class MxpOperation extends ModuleOperation {
   // This should translate into code page 12, point 5?
   protected void setAccAAndFirstTwoBytesOfByteR() {
     if (this.getMxpExecutionPath() == mxpExecutionPath.NON_TRIVIAL) {
-      BigInteger maxOffsetPlusOne = maxOffset.add(BigInteger.ONE);
-      accA = divRoundedUpBigInteger(maxOffsetPlusOne, BigInteger.valueOf(32));
-      BigInteger diff = accA.multiply(BigInteger.valueOf(32)).subtract(maxOffsetPlusOne);
-      Bytes32 diffBytes = Bytes32.leftPad(UInt256.valueOf(diff));
-
-      UnsignedByte r = UnsignedByte.of(diffBytes.get(31));
-      int rAsInt = r.toInteger();
-      byteR[0] = UnsignedByte.of(rAsInt + 224);
-      byteR[1] = UnsignedByte.of(rAsInt);
+      U256 maxOffsetPlusOne = maxOffset.add(U256.ONE);
+      accA = divRoundedUp(maxOffsetPlusOne, 32);
+      U256 diff = accA.multiply(32).subtract(maxOffsetPlusOne);
+
+      final int r = (int) diff.toLong();
+      checkArgument(r <= 31, "r must be in [0,31], is %s", r);
+      byteR[0] = (byte) (r + 224);
+      byteR[1] = (byte) r;
     }
   }
 
-  public BigInteger divRoundedUpBigInteger(BigInteger a, BigInteger b) {
-    return a.add(b.subtract(BigInteger.ONE)).divide(b);
+  public U256 divRoundedUp(U256 a, long b) {
+    return a.add(b - 1).divide(b);
   }
 
   protected void setAcc1and2() {
@@ -360,16 +335,16 @@ public class MxpOperation extends ModuleOperation {
       acc3 = maxOffset1.subtract(maxOffset2);
     } else {
       acc3 = maxOffset2.subtract(maxOffset1);
-      acc3 = acc3.subtract(BigInteger.ONE);
+      acc3 = acc3.subtract(U256.ONE);
     }
   }
 
   protected void setAcc4() {
     if (this.getMxpExecutionPath() == mxpExecutionPath.NON_TRIVIAL) {
       if (expands) {
-        acc4 = accA.subtract(BigInteger.valueOf(mxpCall.getMemorySizeInWords() + 1));
+        acc4 = accA.subtract(mxpCall.getMemorySizeInWords() + 1);
       } else {
-        acc4 = BigInteger.valueOf(mxpCall.getMemorySizeInWords()).subtract(accA);
+        acc4 = U256.of(mxpCall.getMemorySizeInWords()).subtract(accA);
       }
     }
   }
@@ -381,21 +356,16 @@ public class MxpOperation extends ModuleOperation {
         return;
       }
 
-      accW =
-          mxpCall
-              .getSize1()
-              .toUnsignedBigInteger()
-              .add(BigInteger.valueOf(31))
-              .divide(BigInteger.valueOf(32));
+      final U256 size1 = U256.of(mxpCall.getSize1());
+      accW = divRoundedUp(size1, 32);
 
-      BigInteger r =
-          accW.multiply(BigInteger.valueOf(32)).subtract(mxpCall.getSize1().toUnsignedBigInteger());
+      U256 r = accW.multiply(32).subtract(size1);
 
       // r in [0,31]
-      UnsignedByte rByte = UnsignedByte.of(r.toByteArray()[r.toByteArray().length - 1]);
-      int rByteAsInt = rByte.toInteger();
-      byteR[2] = UnsignedByte.of(rByteAsInt + 224);
-      byteR[3] = rByte;
+      final int rByte = (int) r.toLong();
+      checkArgument(rByte <= 31, "r must be in [0,31], is %s", rByte);
+      byteR[2] = (byte) (rByte + 224);
+      byteR[3] = (byte) rByte;
     }
   }
 
@@ -440,34 +410,34 @@ public class MxpOperation extends ModuleOperation {
     long quotient = square / 512;
     long remainder = square % 512;
 
-    accQ = BigInteger.valueOf(quotient % (1L << 32));
+    accQ = U256.of(quotient % (1L << 32));
 
     Bytes32 quotientBytes = UInt256.valueOf(quotient); // q'
     Bytes32 remainderBytes = UInt256.valueOf(remainder); // r'
 
-    byteQQ[0] = UnsignedByte.of(quotientBytes.get(quotientBytes.size() - 6));
-    byteQQ[1] = UnsignedByte.of(quotientBytes.get(quotientBytes.size() - 5));
-    byteQQ[2] = UnsignedByte.of(remainderBytes.get(quotientBytes.size() - 2));
-    byteQQ[3] = UnsignedByte.of(remainderBytes.get(quotientBytes.size() - 1));
+    byteQQ[0] = quotientBytes.get(quotientBytes.size() - 6);
+    byteQQ[1] = quotientBytes.get(quotientBytes.size() - 5);
+    byteQQ[2] = remainderBytes.get(quotientBytes.size() - 2);
+    byteQQ[3] = remainderBytes.get(quotientBytes.size() - 1);
   }
 
   protected void setBytes() {
     final int nRows = nRows();
-    Bytes32 b1 = UInt256.valueOf(acc1);
-    Bytes32 b2 = UInt256.valueOf(acc2);
-    Bytes32 b3 = UInt256.valueOf(acc3);
-    Bytes32 b4 = UInt256.valueOf(acc4);
-    Bytes32 bA = UInt256.valueOf(accA);
-    Bytes32 bW = UInt256.valueOf(accW);
-    Bytes32 bQ = UInt256.valueOf(accQ);
+    Bytes32 b1 = acc1.toBytes32();
+    Bytes32 b2 = acc2.toBytes32();
+    Bytes32 b3 = acc3.toBytes32();
+    Bytes32 b4 = acc4.toBytes32();
+    Bytes32 bA = accA.toBytes32();
+    Bytes32 bW = accW.toBytes32();
+    Bytes32 bQ = accQ.toBytes32();
     for (int i = 0; i < nRows; i++) {
-      byte1[i] = UnsignedByte.of(b1.get(b1.size() - 1 - nRows + i));
-      byte2[i] = UnsignedByte.of(b2.get(b2.size() - 1 - nRows + i));
-      byte3[i] = UnsignedByte.of(b3.get(b3.size() - 1 - nRows + i));
-      byte4[i] = UnsignedByte.of(b4.get(b4.size() - 1 - nRows + i));
-      byteA[i] = UnsignedByte.of(bA.get(bA.size() - 1 - nRows + i));
-      byteW[i] = UnsignedByte.of(bW.get(bW.size() - 1 - nRows + i));
-      byteQ[i] = UnsignedByte.of(bQ.get(bQ.size() - 1 - nRows + i));
+      byte1[i] = b1.get(b1.size() - 1 - nRows + i);
+      byte2[i] = b2.get(b2.size() - 1 - nRows + i);
+      byte3[i] = b3.get(b3.size() - 1 - nRows + i);
+      byte4[i] = b4.get(b4.size() - 1 - nRows + i);
+      byteA[i] = bA.get(bA.size() - 1 - nRows + i);
+      byteW[i] = bW.get(bW.size() - 1 - nRows + i);
+      byteQ[i] = bQ.get(bQ.size() - 1 - nRows + i);
     }
   }
 
@@ -530,13 +500,13 @@ public class MxpOperation extends ModuleOperation {
   final void trace(int stamp, Trace trace) {
     this.compute();
 
-    Bytes32 acc1Bytes32 = Bytes32.leftPad(bigIntegerToBytes(this.getAcc1()));
-    Bytes32 acc2Bytes32 = Bytes32.leftPad(bigIntegerToBytes(this.getAcc2()));
-    Bytes32 acc3Bytes32 = Bytes32.leftPad(bigIntegerToBytes(this.getAcc3()));
-    Bytes32 acc4Bytes32 = Bytes32.leftPad(bigIntegerToBytes(this.getAcc4()));
-    Bytes32 accABytes32 = Bytes32.leftPad(bigIntegerToBytes(this.getAccA()));
-    Bytes32 accWBytes32 = Bytes32.leftPad(bigIntegerToBytes(this.getAccW()));
-    Bytes32 accQBytes32 = Bytes32.leftPad(bigIntegerToBytes(this.getAccQ()));
+    Bytes32 acc1Bytes32 = this.getAcc1().toBytes32();
+    Bytes32 acc2Bytes32 = this.getAcc2().toBytes32();
+    Bytes32 acc3Bytes32 = this.getAcc3().toBytes32();
+    Bytes32 acc4Bytes32 = this.getAcc4().toBytes32();
+    Bytes32 accABytes32 = this.getAccA().toBytes32();
+    Bytes32 accWBytes32 = this.getAccW().toBytes32();
+    Bytes32 accQBytes32 = this.getAccQ().toBytes32();
     final EWord eOffset1 = EWord.of(this.mxpCall.getOffset1());
     final EWord eOffset2 = EWord.of(this.mxpCall.getOffset2());
     final EWord eSize1 = EWord.of(this.mxpCall.getSize1());
@@ -578,9 +548,9 @@ public class MxpOperation extends ModuleOperation {
           .size1Lo(eSize1.lo())
           .size2Hi(eSize2.hi())
           .size2Lo(eSize2.lo())
-          .maxOffset1(bigIntegerToBytes(this.getMaxOffset1()))
-          .maxOffset2(bigIntegerToBytes(this.getMaxOffset2()))
-          .maxOffset(bigIntegerToBytes(this.getMaxOffset()))
+          .maxOffset1(this.getMaxOffset1().toMinimalBytes())
+          .maxOffset2(this.getMaxOffset2().toMinimalBytes())
+          .maxOffset(this.getMaxOffset().toMinimalBytes())
           .comp(this.isComp())
           .acc1(acc1Bytes32.slice(nRowsComplement, 1 + i))
           .acc2(acc2Bytes32.slice(nRowsComplement, 1 + i))
@@ -596,8 +566,8 @@ public class MxpOperation extends ModuleOperation {
           .byteA(UnsignedByte.of(accABytes32.get(nRowsComplement + i)))
           .byteW(UnsignedByte.of(accWBytes32.get(nRowsComplement + i)))
           .byteQ(UnsignedByte.of(accQBytes32.get(nRowsComplement + i)))
-          .byteQq(UnsignedByte.of(this.getByteQQ()[i].toInteger()))
-          .byteR(UnsignedByte.of(this.getByteR()[i].toInteger()))
+          .byteQq(UnsignedByte.of(byteQQ[i]))
+          .byteR(UnsignedByte.of(byteR[i]))
           .words(Bytes.ofUnsignedLong(this.mxpCall.getMemorySizeInWords()))
           .wordsNew(
               Bytes.ofUnsignedLong(
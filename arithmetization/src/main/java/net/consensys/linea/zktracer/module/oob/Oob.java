@@ -33,6 +33,7 @@ import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.OobCall;
 import net.consensys.linea.zktracer.module.hub.fragment.imc.oob.OobInstruction;
 import net.consensys.linea.zktracer.module.mod.Mod;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
+import net.consensys.linea.zktracer.types.UnsignedByte;
 
 /** Implementation of a {@link Module} for out of bounds. */
 @RequiredArgsConstructor
@@ -100,7 +101,7 @@ public class Oob implements OperationListModule<OobOperation> {
           .addFlag(oobOperation.getAddFlag()[ct])
           .modFlag(oobOperation.getModFlag()[ct])
           .wcpFlag(oobOperation.getWcpFlag()[ct])
-          .outgoingInst(oobOperation.getOutgoingInst()[ct])
+          .outgoingInst(UnsignedByte.of(oobOperation.getOutgoingInst()[ct]))
           .outgoingData1(bigIntegerToBytes(oobOperation.getOutgoingData1()[ct]))
           .outgoingData2(bigIntegerToBytes(oobOperation.getOutgoingData2()[ct]))
           .outgoingData3(bigIntegerToBytes(oobOperation.getOutgoingData3()[ct]))
@@ -96,7 +96,6 @@ import net.consensys.linea.zktracer.module.mod.Mod;
 import net.consensys.linea.zktracer.module.wcp.Wcp;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import net.consensys.linea.zktracer.types.EWord;
-import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
 import org.hyperledger.besu.datatypes.Address;
@@ -113,7 +112,7 @@ public class OobOperation extends ModuleOperation {
   private final boolean[] modFlag;
   private final boolean[] wcpFlag;
 
-  private final UnsignedByte[] outgoingInst;
+  private final byte[] outgoingInst;
 
   private final BigInteger[] outgoingData1;
   private final BigInteger[] outgoingData2;
@@ -184,7 +183,7 @@ public class OobOperation extends ModuleOperation {
     modFlag = new boolean[nRows];
     wcpFlag = new boolean[nRows];
 
-    outgoingInst = new UnsignedByte[nRows];
+    outgoingInst = new byte[nRows];
     outgoingData1 = new BigInteger[nRows];
     outgoingData2 = new BigInteger[nRows];
     outgoingData3 = new BigInteger[nRows];
@@ -269,7 +268,7 @@ public class OobOperation extends ModuleOperation {
       }
       case OOB_INST_CREATE -> {
         final Account creatorAccount = frame.getWorldUpdater().get(frame.getRecipientAddress());
-        final Address deploymentAddress = getDeploymentAddress(frame);
+        final Address deploymentAddress = getDeploymentAddress(frame, hub.hashDigests());
         final Account deployedAccount = frame.getWorldUpdater().get(deploymentAddress);
 
         final long nonce = (deployedAccount != null) ? deployedAccount.getNonce() : 0;
@@ -487,7 +486,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = true;
     modFlag[k] = false;
     wcpFlag[k] = false;
-    outgoingInst[k] = UnsignedByte.of(EVM_INST_ADD);
+    outgoingInst[k] = (byte) EVM_INST_ADD;
     outgoingData1[k] = arg1Hi;
     outgoingData2[k] = arg1Lo;
     outgoingData3[k] = arg2Hi;
@@ -510,7 +509,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = false;
     modFlag[k] = true;
     wcpFlag[k] = false;
-    outgoingInst[k] = UnsignedByte.of(EVM_INST_DIV);
+    outgoingInst[k] = (byte) EVM_INST_DIV;
     outgoingData1[k] = arg1Hi;
     outgoingData2[k] = arg1Lo;
     outgoingData3[k] = arg2Hi;
@@ -530,7 +529,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = false;
     modFlag[k] = true;
     wcpFlag[k] = false;
-    outgoingInst[k] = UnsignedByte.of(EVM_INST_MOD);
+    outgoingInst[k] = (byte) EVM_INST_MOD;
     outgoingData1[k] = arg1Hi;
     outgoingData2[k] = arg1Lo;
     outgoingData3[k] = arg2Hi;
@@ -551,7 +550,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = false;
     modFlag[k] = false;
     wcpFlag[k] = true;
-    outgoingInst[k] = UnsignedByte.of(EVM_INST_LT);
+    outgoingInst[k] = (byte) EVM_INST_LT;
     outgoingData1[k] = arg1Hi;
     outgoingData2[k] = arg1Lo;
     outgoingData3[k] = arg2Hi;
@@ -572,7 +571,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = false;
     modFlag[k] = false;
     wcpFlag[k] = true;
-    outgoingInst[k] = UnsignedByte.of(EVM_INST_GT);
+    outgoingInst[k] = (byte) EVM_INST_GT;
     outgoingData1[k] = arg1Hi;
     outgoingData2[k] = arg1Lo;
     outgoingData3[k] = arg2Hi;
@@ -589,7 +588,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = false;
     modFlag[k] = false;
     wcpFlag[k] = true;
-    outgoingInst[k] = UnsignedByte.of(EVM_INST_ISZERO);
+    outgoingInst[k] = (byte) EVM_INST_ISZERO;
     outgoingData1[k] = arg1Hi;
     outgoingData2[k] = arg1Lo;
     outgoingData3[k] = BigInteger.ZERO;
@@ -610,7 +609,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = false;
     modFlag[k] = false;
     wcpFlag[k] = true;
-    outgoingInst[k] = UnsignedByte.of(EVM_INST_EQ);
+    outgoingInst[k] = (byte) EVM_INST_EQ;
     outgoingData1[k] = arg1Hi;
     outgoingData2[k] = arg1Lo;
     outgoingData3[k] = arg2Hi;
@@ -624,7 +623,7 @@ public class OobOperation extends ModuleOperation {
     addFlag[k] = false;
     modFlag[k] = false;
     wcpFlag[k] = false;
-    outgoingInst[k] = UnsignedByte.of(0);
+    outgoingInst[k] = 0;
     outgoingData1[k] = BigInteger.ZERO;
     outgoingData2[k] = BigInteger.ZERO;
     outgoingData3[k] = BigInteger.ZERO;
@@ -41,7 +41,6 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_TXN_PHASE_VALUE;
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_TXN_PHASE_Y;
 import static net.consensys.linea.zktracer.module.rlputils.Pattern.byteCounting;
-import static net.consensys.linea.zktracer.module.rlputils.Pattern.innerRlpSize;
 import static net.consensys.linea.zktracer.module.rlputils.Pattern.outerRlpSize;
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Conversions.longToUnsignedBigInteger;
@@ -49,8 +48,6 @@ import static net.consensys.linea.zktracer.types.TransactionUtils.getChainIdFrom
 import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
 import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
 import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
-import static org.hyperledger.besu.ethereum.core.encoding.EncodingContext.BLOCK_BODY;
-import static org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder.encodeOpaqueBytes;
 
 import java.math.BigInteger;
 import java.nio.MappedByteBuffer;
@@ -72,15 +69,8 @@ import net.consensys.linea.zktracer.types.TransactionProcessingMetadata;
 import net.consensys.linea.zktracer.types.UnsignedByte;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
-import org.apache.tuweni.units.bigints.UInt256;
-import org.hyperledger.besu.datatypes.AccessListEntry;
 import org.hyperledger.besu.datatypes.Address;
 import org.hyperledger.besu.datatypes.Transaction;
-import org.hyperledger.besu.datatypes.TransactionType;
-import org.hyperledger.besu.datatypes.Wei;
-import org.hyperledger.besu.ethereum.core.encoding.AccessListTransactionEncoder;
-import org.hyperledger.besu.ethereum.rlp.RLP;
-import org.hyperledger.besu.ethereum.rlp.RLPOutput;
 import org.hyperledger.besu.evm.account.AccountState;
 import org.hyperledger.besu.evm.worldstate.WorldView;
 
@@ -101,11 +91,6 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
   public static final Bytes BYTES_PREFIX_SHORT_INT = Bytes.of(RLP_PREFIX_INT_SHORT);
   public static final Bytes BYTES_PREFIX_SHORT_LIST = Bytes.of(RLP_PREFIX_LIST_SHORT);
 
-  // Used to check the reconstruction of RLPs
-  Bytes reconstructedRlpLt;
-
-  Bytes reconstructedRlpLx;
-
   @Override
   public void traceStartTx(WorldView worldView, TransactionProcessingMetadata txMetaData) {
     final Transaction tx = txMetaData.getBesuTransaction();
@@ -144,68 +129,10 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
             : 0;
     traceValue.txType = getTxTypeAsInt(chunk.tx().getType());
 
-    // Initialise RLP_LT and RLP_LX byte size + verify that we construct the right RLP
-    this.reconstructedRlpLt = Bytes.EMPTY;
-    this.reconstructedRlpLx = Bytes.EMPTY;
-    Bytes besuRlpLt =
-        encodeOpaqueBytes((org.hyperledger.besu.ethereum.core.Transaction) chunk.tx(), BLOCK_BODY);
-    // the encodeOpaqueBytes method already concatenate with the first byte "transaction  type"
-    if (traceValue.txType == 0) {
-      traceValue.rlpLtByteSize = innerRlpSize(besuRlpLt.size());
-    } else {
-      traceValue.rlpLtByteSize = innerRlpSize(besuRlpLt.size() - 1);
-    }
-
-    Bytes besuRlpLx;
-    switch (traceValue.txType) {
-      case 0 -> {
-        besuRlpLx =
-            frontierPreimage(
-                chunk.tx().getNonce(),
-                (Wei) chunk.tx().getGasPrice().orElseThrow(),
-                chunk.tx().getGasLimit(),
-                chunk.tx().getTo().map(x -> (Address) x),
-                (Wei) chunk.tx().getValue(),
-                chunk.tx().getPayload(),
-                chunk.tx().getChainId());
-        traceValue.rlpLxByteSize = innerRlpSize(besuRlpLx.size());
-      }
-      case 1 -> {
-        List<AccessListEntry> accessList = null;
-        if (chunk.tx().getAccessList().isPresent()) {
-          accessList = chunk.tx().getAccessList().orElseThrow();
-        }
-        besuRlpLx =
-            accessListPreimage(
-                chunk.tx().getNonce(),
-                (Wei) chunk.tx().getGasPrice().orElseThrow(),
-                chunk.tx().getGasLimit(),
-                chunk.tx().getTo().map(x -> (Address) x),
-                (Wei) chunk.tx().getValue(),
-                chunk.tx().getPayload(),
-                accessList,
-                chunk.tx().getChainId());
-        // the innerRlp method already concatenate with the first byte "transaction  type"
-        traceValue.rlpLxByteSize = innerRlpSize(besuRlpLx.size() - 1);
-      }
-      case 2 -> {
-        besuRlpLx =
-            eip1559Preimage(
-                chunk.tx().getNonce(),
-                (Wei) chunk.tx().getMaxPriorityFeePerGas().orElseThrow(),
-                (Wei) chunk.tx().getMaxFeePerGas().orElseThrow(),
-                chunk.tx().getGasLimit(),
-                chunk.tx().getTo().map(x -> (Address) x),
-                (Wei) chunk.tx().getValue(),
-                chunk.tx().getPayload(),
-                chunk.tx().getChainId(),
-                chunk.tx().getAccessList());
-        // the innerRlp method already concatenate with the first byte "transaction  type"
-        traceValue.rlpLxByteSize = innerRlpSize(besuRlpLx.size() - 1);
-      }
-      default -> throw new IllegalStateException(
-          "Transaction Type not supported: " + traceValue.txType);
-    }
+    // Initialise RLP_LT and RLP_LX byte size
+    final RlpTxnSizes rlpSizes = RlpTxnSizes.of(chunk.tx());
+    traceValue.rlpLtByteSize = rlpSizes.rlpLtByteSize();
+    traceValue.rlpLxByteSize = rlpSizes.rlpLxByteSize();
 
     // Phase Global RLP prefix
     traceValue.dataLo = BigInteger.valueOf(traceValue.txType);
@@ -303,10 +230,9 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
     // Phase S
     handle32BytesInteger(traceValue, RLP_TXN_PHASE_S, chunk.tx().getS(), trace);
 
-    checkArgument(
-        this.reconstructedRlpLt.equals(besuRlpLt), "Reconstructed RLP LT and Besu RLP LT differ");
-    checkArgument(
-        this.reconstructedRlpLx.equals(besuRlpLx), "Reconstructed RLP LX and Besu RLP LX differ");
+    // Every limb of RLP(LT) and RLP(LX) was subtracted from their expected size
+    checkState(traceValue.rlpLtByteSize == 0, "Traced RLP LT and expected RLP LT sizes differ");
+    checkState(traceValue.rlpLxByteSize == 0, "Traced RLP LX and expected RLP LX sizes differ");
   }
 
   // Define each phase's constraints
@@ -492,7 +418,7 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
         nbSto += tx.getAccessList().orElseThrow().get(i).storageKeys().size();
         nbStoPerAddrList.add(tx.getAccessList().orElseThrow().get(i).storageKeys().size());
         accessTupleByteSizeList.add(
-            21 + outerRlpSize(33 * tx.getAccessList().orElseThrow().get(i).storageKeys().size()));
+            RlpTxnSizes.accessTupleSize(tx.getAccessList().orElseThrow().get(i)));
         phaseByteSize += outerRlpSize(accessTupleByteSizeList.get(i));
       }
 
@@ -649,12 +575,13 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
       boolean endPhase,
       RlpTxnColumnsValue traceValue,
       Trace trace) {
-    int lengthSize = bigIntegerToBytes(BigInteger.valueOf(length)).size();
+    final Bytes lengthBytes = Bytes.minimalBytes(length);
+    final int lengthSize = lengthBytes.size();
 
     ByteCountAndPowerOutput byteCountingOutput = byteCounting(lengthSize, 8);
 
     traceValue.partialReset(phase, 8, lt, lx);
-    traceValue.input1 = bigIntegerToBytes(BigInteger.valueOf(length));
+    traceValue.input1 = lengthBytes;
     traceValue.isPrefix = isPrefix;
     traceValue.depth1 = depth1;
     traceValue.depth2 = depth2;
@@ -667,7 +594,7 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
     } else {
       acc2LastRow = 55 - length;
     }
-    Bytes acc2LastRowShift = leftPadTo(bigIntegerToBytes(BigInteger.valueOf(acc2LastRow)), 8);
+    Bytes acc2LastRowShift = leftPadTo(Bytes.minimalBytes(acc2LastRow), 8);
 
     for (int ct = 0; ct < 8; ct++) {
       traceValue.counter = ct;
@@ -682,13 +609,8 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
         if (ct == 6) {
           traceValue.limbConstructed = true;
           traceValue.nBytes = 1;
-          BigInteger tmp;
-          if (isList) {
-            tmp = BigInteger.valueOf(RLP_PREFIX_LIST_LONG + lengthSize);
-          } else {
-            tmp = BigInteger.valueOf(RLP_PREFIX_INT_LONG + lengthSize);
-          }
-          traceValue.limb = bigIntegerToBytes(tmp);
+          traceValue.limb =
+              Bytes.of((isList ? RLP_PREFIX_LIST_LONG : RLP_PREFIX_INT_LONG) + lengthSize);
         }
 
         if (ct == 7) {
@@ -701,13 +623,8 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
       } else {
         if (ct == 7) {
           traceValue.limbConstructed = true;
-          Bytes tmp;
-          if (isList) {
-            tmp = bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_LIST_SHORT + length));
-          } else {
-            tmp = bigIntegerToBytes(BigInteger.valueOf(RLP_PREFIX_INT_SHORT + length));
-          }
-          traceValue.limb = tmp;
+          traceValue.limb =
+              Bytes.of((int) ((isList ? RLP_PREFIX_LIST_SHORT : RLP_PREFIX_INT_SHORT) + length));
           traceValue.nBytes = 1;
           traceValue.phaseEnd = endPhase;
         }
@@ -927,104 +844,6 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
     }
   }
 
-  private static Bytes frontierPreimage(
-      final long nonce,
-      final Wei gasPrice,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final Optional<BigInteger> chainId) {
-    return RLP.encode(
-        rlpOutput -> {
-          rlpOutput.startList();
-          rlpOutput.writeLongScalar(nonce);
-          rlpOutput.writeUInt256Scalar(gasPrice);
-          rlpOutput.writeLongScalar(gasLimit);
-          rlpOutput.writeBytes(to.map(Bytes::copy).orElse(Bytes.EMPTY));
-          rlpOutput.writeUInt256Scalar(value);
-          rlpOutput.writeBytes(payload);
-          if (chainId.isPresent()) {
-            rlpOutput.writeBigIntegerScalar(chainId.orElseThrow());
-            rlpOutput.writeUInt256Scalar(UInt256.ZERO);
-            rlpOutput.writeUInt256Scalar(UInt256.ZERO);
-          }
-          rlpOutput.endList();
-        });
-  }
-
-  private static Bytes accessListPreimage(
-      final long nonce,
-      final Wei gasPrice,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final List<AccessListEntry> accessList,
-      final Optional<BigInteger> chainId) {
-    final Bytes encode =
-        RLP.encode(
-            rlpOutput -> {
-              rlpOutput.startList();
-              AccessListTransactionEncoder.encodeAccessListInner(
-                  chainId, nonce, gasPrice, gasLimit, to, value, payload, accessList, rlpOutput);
-              rlpOutput.endList();
-            });
-    return Bytes.concatenate(Bytes.of(TransactionType.ACCESS_LIST.getSerializedType()), encode);
-  }
-
-  private static Bytes eip1559Preimage(
-      final long nonce,
-      final Wei maxPriorityFeePerGas,
-      final Wei maxFeePerGas,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final Optional<BigInteger> chainId,
-      final Optional<List<AccessListEntry>> accessList) {
-    final Bytes encoded =
-        RLP.encode(
-            rlpOutput -> {
-              rlpOutput.startList();
-              eip1559PreimageFields(
-                  nonce,
-                  maxPriorityFeePerGas,
-                  maxFeePerGas,
-                  gasLimit,
-                  to,
-                  value,
-                  payload,
-                  chainId,
-                  accessList,
-                  rlpOutput);
-              rlpOutput.endList();
-            });
-    return Bytes.concatenate(Bytes.of(TransactionType.EIP1559.getSerializedType()), encoded);
-  }
-
-  private static void eip1559PreimageFields(
-      final long nonce,
-      final Wei maxPriorityFeePerGas,
-      final Wei maxFeePerGas,
-      final long gasLimit,
-      final Optional<Address> to,
-      final Wei value,
-      final Bytes payload,
-      final Optional<BigInteger> chainId,
-      final Optional<List<AccessListEntry>> accessList,
-      final RLPOutput rlpOutput) {
-    rlpOutput.writeBigIntegerScalar(chainId.orElseThrow());
-    rlpOutput.writeLongScalar(nonce);
-    rlpOutput.writeUInt256Scalar(maxPriorityFeePerGas);
-    rlpOutput.writeUInt256Scalar(maxFeePerGas);
-    rlpOutput.writeLongScalar(gasLimit);
-    rlpOutput.writeBytes(to.map(Bytes::copy).orElse(Bytes.EMPTY));
-    rlpOutput.writeUInt256Scalar(value);
-    rlpOutput.writeBytes(payload);
-    AccessListTransactionEncoder.writeAccessList(rlpOutput, accessList);
-  }
-
   private void traceZeroInt(
       RlpTxnColumnsValue traceValue,
       int phase,
@@ -1183,16 +1002,6 @@ public class RlpTxn implements OperationListModule<RlpTxnOperation> {
       traceValue.resetDataHiLo();
     }
     builder.validateRow();
-
-    // reconstruct RLPs
-    if (traceValue.limbConstructed && traceValue.lt) {
-      this.reconstructedRlpLt =
-          Bytes.concatenate(this.reconstructedRlpLt, traceValue.limb.slice(0, traceValue.nBytes));
-    }
-    if (traceValue.limbConstructed && traceValue.lx) {
-      this.reconstructedRlpLx =
-          Bytes.concatenate(this.reconstructedRlpLx, traceValue.limb.slice(0, traceValue.nBytes));
-    }
   }
 
   @Override
@@ -0,0 +1,84 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rlptxn;
+
+import static net.consensys.linea.zktracer.module.Util.getTxTypeAsInt;
+import static net.consensys.linea.zktracer.module.rlputils.Pattern.outerRlpSize;
+import static net.consensys.linea.zktracer.module.rlputils.Pattern.rlpSize;
+
+import java.util.List;
+
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Transaction;
+
+/**
+ * The byte sizes of RLP(LT) and RLP(LX) of a transaction WITHOUT their RLP prefix, computed field
+ * by field instead of RLP-encoding the whole transaction. LT is the signed transaction, LX the
+ * message that is signed; both share their nonce, gas, to, value, data and access list fields,
+ * which are sized only once.
+ *
+ * @param rlpLtByteSize the size of the RLP payload of the signed transaction
+ * @param rlpLxByteSize the size of the RLP payload of the signed message
+ */
+record RlpTxnSizes(int rlpLtByteSize, int rlpLxByteSize) {
+
+  static RlpTxnSizes of(Transaction tx) {
+    final int txType = getTxTypeAsInt(tx.getType());
+
+    int commonSize = rlpSize(tx.getNonce());
+    switch (txType) {
+      case 0, 1 -> commonSize += rlpSize(tx.getGasPrice().orElseThrow().getAsBigInteger());
+      case 2 -> commonSize +=
+          rlpSize(tx.getMaxPriorityFeePerGas().orElseThrow().getAsBigInteger())
+              + rlpSize(tx.getMaxFeePerGas().orElseThrow().getAsBigInteger());
+      default -> throw new IllegalStateException("Transaction Type not supported: " + txType);
+    }
+    commonSize += rlpSize(tx.getGasLimit());
+    commonSize += tx.getTo().isPresent() ? 21 : 1;
+    commonSize += rlpSize(tx.getValue().getAsBigInteger());
+    commonSize += rlpSize(tx.getPayload());
+
+    final int signatureSize = rlpSize(tx.getR()) + rlpSize(tx.getS());
+    if (txType == 0) {
+      final int lxSize =
+          tx.getChainId().isPresent()
+              ? commonSize + rlpSize(tx.getChainId().get()) + 2 // RLP(0).RLP(0)
+              : commonSize;
+      return new RlpTxnSizes(commonSize + rlpSize(tx.getV()) + signatureSize, lxSize);
+    }
+
+    final int lxSize =
+        rlpSize(tx.getChainId().orElseThrow())
+            + commonSize
+            + accessListSize(tx.getAccessList().orElse(List.of()));
+    // RLP(y) is a single byte as y is 0 or 1
+    return new RlpTxnSizes(lxSize + 1 + signatureSize, lxSize);
+  }
+
+  /** Returns the size of RLP(accessList), prefix included. */
+  static int accessListSize(List<AccessListEntry> accessList) {
+    int size = 0;
+    for (AccessListEntry entry : accessList) {
+      size += outerRlpSize(accessTupleSize(entry));
+    }
+    return outerRlpSize(size);
+  }
+
+  /** Returns the size of RLP(accessTuple) WITHOUT its RLP prefix. */
+  static int accessTupleSize(AccessListEntry entry) {
+    return 21 + outerRlpSize(33 * entry.storageKeys().size());
+  }
+}
@@ -23,6 +23,7 @@ import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_
 import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_PREFIX_LIST_SHORT;
 import static net.consensys.linea.zktracer.module.rlputils.Pattern.byteCounting;
 import static net.consensys.linea.zktracer.module.rlputils.Pattern.outerRlpSize;
+import static net.consensys.linea.zktracer.module.rlputils.Pattern.rlpSize;
 import static net.consensys.linea.zktracer.types.Conversions.bigIntegerToBytes;
 import static net.consensys.linea.zktracer.types.Utils.bitDecomposition;
 import static net.consensys.linea.zktracer.types.Utils.leftPadTo;
@@ -31,7 +32,6 @@ import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
 import java.math.BigInteger;
 import java.nio.MappedByteBuffer;
 import java.util.List;
-import java.util.function.Function;
 
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
@@ -65,6 +65,12 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     return "RLP_TXN_RCPT";
   }
 
+  @Override
+  public void reset() {
+    operations.clear();
+    absLogNum = 0;
+  }
+
   @Override
   public void traceEndTx(TransactionProcessingMetadata txMetaData) {
     final RlpTxrcptOperation operation =
@@ -79,7 +85,9 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
   public void traceOperation(
       final RlpTxrcptOperation chunk, int absTxNum, int absLogNumMax, Trace trace) {
     RlpTxrcptColumns traceValue = new RlpTxrcptColumns();
-    traceValue.txrcptSize = txRcptSize(chunk);
+    // The log entry sizes are needed both by the receipt size and by phase 5
+    final int[] logSizes = logSizes(chunk.logs());
+    traceValue.txrcptSize = txRcptSize(chunk, logSizes);
     traceValue.absTxNum = absTxNum;
     traceValue.absLogNumMax = absLogNumMax;
 
@@ -96,7 +104,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     phase4(traceValue, chunk.logs(), trace);
 
     // Phase 5: log series Rl.
-    phase5(traceValue, chunk.logs(), trace);
+    phase5(traceValue, chunk.logs(), logSizes, trace);
   }
 
   private void phase1(RlpTxrcptColumns traceValue, TransactionType txType, Trace trace) {
@@ -236,7 +244,8 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     traceValue.indexLocal = 0;
   }
 
-  private void phase5(RlpTxrcptColumns traceValue, List<Log> logList, Trace trace) {
+  private void phase5(
+      RlpTxrcptColumns traceValue, List<Log> logList, int[] logSizes, Trace trace) {
     final int phase = 5;
     // Trivial case, there are no log entries.
     if (logList.isEmpty()) {
@@ -245,8 +254,8 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     } else {
       // RLP prefix of the list of log entries.
       int nbLog = logList.size();
-      for (Log log : logList) {
-        traceValue.phaseSize += outerRlpSize(logSize(log));
+      for (int logSize : logSizes) {
+        traceValue.phaseSize += outerRlpSize(logSize);
       }
       traceValue.partialReset(phase, 8);
       rlpByteString(
@@ -268,7 +277,7 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
         this.absLogNum += 1;
 
         // Log Entry RLP Prefix.
-        traceValue.logEntrySize = logSize(logList.get(i));
+        traceValue.logEntrySize = logSizes[i];
         rlpByteString(
             phase,
             traceValue.logEntrySize,
@@ -681,14 +690,12 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
         .nStep(traceValue.nStep)
         .phaseId(traceValue.getPhaseId());
 
-    List<Function<Boolean, Trace>> phaseColumns =
-        List.of(trace::phase1, trace::phase2, trace::phase3, trace::phase4, trace::phase5);
-
-    for (int i = 0; i < phaseColumns.size(); i++) {
-      phaseColumns.get(i).apply(i + 1 == traceValue.phase);
-    }
-
     trace
+        .phase1(traceValue.phase == 1)
+        .phase2(traceValue.phase == 2)
+        .phase3(traceValue.phase == 3)
+        .phase4(traceValue.phase == 4)
+        .phase5(traceValue.phase == 5)
         .phaseEnd(traceValue.phaseEnd)
         .phaseSize(traceValue.phaseSize)
         .power(bigIntegerToBytes(traceValue.power))
@@ -707,9 +714,10 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
    *
    * @param chunk an instance of {@link RlpTxrcptOperation} containing information pertaining to a
    *     transaction execution
+   * @param logSizes the sizes of the log entries of {@code chunk}, as given by {@link #logSizes}
    * @return the size of the RLP of a transaction receipt WITHOUT its RLP prefix
    */
-  private int txRcptSize(RlpTxrcptOperation chunk) {
+  private int txRcptSize(RlpTxrcptOperation chunk, int[] logSizes) {
 
     // The encoded status code is always of size 1.
     int size = 1;
@@ -721,22 +729,26 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     size += 259;
 
     // Add the size of the RLP(Log).
-    int nbLog = chunk.logs().size();
-    if (nbLog == 0) {
-      size += 1;
-    } else {
-      int tmp = 0;
-      for (int i = 0; i < nbLog; i++) {
-        tmp += outerRlpSize(logSize(chunk.logs().get(i)));
-      }
-      size += outerRlpSize(tmp);
+    int logsSize = 0;
+    for (int logSize : logSizes) {
+      logsSize += outerRlpSize(logSize);
     }
+    // An empty list of logs is RLP-ed to a single byte
+    size += outerRlpSize(logsSize);
 
     return size;
   }
 
+  private static int[] logSizes(List<Log> logs) {
+    final int[] logSizes = new int[logs.size()];
+    for (int i = 0; i < logSizes.length; i++) {
+      logSizes[i] = logSize(logs.get(i));
+    }
+    return logSizes;
+  }
+
   // Gives the byte size of the RLP-isation of a log entry WITHOUT its RLP prefix.
-  private int logSize(Log log) {
+  private static int logSize(Log log) {
     // The size of RLP(Oa) is always 21.
     int logSize = 21;
 
@@ -745,18 +757,8 @@ public class RlpTxnRcpt implements OperationListModule<RlpTxrcptOperation> {
     logSize += outerRlpSize(33 * log.getTopics().size());
 
     // RLP(Od) is of size OuterRlpSize(datasize) except if the Data is made of one
-    // byte.
-    if (log.getData().size() == 1) {
-      // If the byte is of value >= 128, its RLP is 2 byte, else 1 byte (no RLP
-      // prefix).
-      if (log.getData().toUnsignedBigInteger().compareTo(BigInteger.valueOf(128)) >= 0) {
-        logSize += 2;
-      } else {
-        logSize += 1;
-      }
-    } else {
-      logSize += outerRlpSize(log.getData().size());
-    }
+    // byte: if the byte is of value >= 128, its RLP is 2 byte, else 1 byte (no RLP prefix).
+    logSize += rlpSize(log.getData());
 
     return logSize;
   }
@@ -16,13 +16,37 @@
 package net.consensys.linea.zktracer.module.rlputils;
 
 import static com.google.common.base.Preconditions.*;
+import static net.consensys.linea.zktracer.module.constants.GlobalConstants.RLP_PREFIX_INT_SHORT;
 
 import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.apache.tuweni.bytes.Bytes;
 
 public class Pattern {
+  /** The largest number of steps of a ByteCountAndPower pattern, i.e. LLARGE */
+  private static final int MAX_BYTE_COUNTING_STEPS = 16;
+
+  /**
+   * {@link #byteCounting} only depends on its two small arguments: all its outputs are computed
+   * once, indexed by {@code [nbStep][inputByteLen]}.
+   */
+  private static final ByteCountAndPowerOutput[][] BYTE_COUNTING =
+      new ByteCountAndPowerOutput[MAX_BYTE_COUNTING_STEPS + 1][];
+
+  static {
+    for (int nbStep = 1; nbStep <= MAX_BYTE_COUNTING_STEPS; nbStep++) {
+      BYTE_COUNTING[nbStep] = new ByteCountAndPowerOutput[nbStep + 1];
+      for (int inputByteLen = 0; inputByteLen <= nbStep; inputByteLen++) {
+        final ByteCountAndPowerOutput output = computeByteCounting(inputByteLen, nbStep);
+        BYTE_COUNTING[nbStep][inputByteLen] =
+            new ByteCountAndPowerOutput(
+                List.copyOf(output.powerList()), List.copyOf(output.accByteSizeList()));
+      }
+    }
+  }
+
   /**
    * Returns the size of RLP(something) where something is of size inputSize (!=1) (it can be ZERO
    * though).
@@ -67,7 +91,38 @@ public class Pattern {
   }
 
   /**
-   * Create the Power and AccSize list of the ByteCountAndPower RLP pattern.
+   * Returns the size of RLP(bytes), i.e. including the single byte case where the RLP encoding is
+   * the byte itself. Scalars are encoded as their minimal big-endian representation, so the size of
+   * RLP(scalar) is {@code rlpSize(scalar.trimLeadingZeros())}.
+   */
+  public static int rlpSize(Bytes bytes) {
+    if (bytes.size() == 1) {
+      return (bytes.get(0) & 0xff) < RLP_PREFIX_INT_SHORT ? 1 : 2;
+    }
+    return outerRlpSize(bytes.size());
+  }
+
+  /** Returns the size of RLP(scalar) for a non-negative {@code scalar}. */
+  public static int rlpSize(long scalar) {
+    checkArgument(scalar >= 0, "scalar must be non-negative");
+    if (scalar < RLP_PREFIX_INT_SHORT) {
+      return 1;
+    }
+    return outerRlpSize((Long.SIZE - Long.numberOfLeadingZeros(scalar) + 7) / 8);
+  }
+
+  /** Returns the size of RLP(scalar) for a non-negative {@code scalar}. */
+  public static int rlpSize(BigInteger scalar) {
+    checkArgument(scalar.signum() >= 0, "scalar must be non-negative");
+    if (scalar.bitLength() < Long.SIZE) {
+      return rlpSize(scalar.longValue());
+    }
+    return outerRlpSize((scalar.bitLength() + 7) / 8);
+  }
+
+  /**
+   * Create the Power and AccSize list of the ByteCountAndPower RLP pattern. The returned lists are
+   * shared and must not be modified.
    *
    * @param inputByteLen represents the number of meaningful bytes of inputByte, i.e. without the
    *     zero left padding
@@ -75,6 +130,16 @@ public class Pattern {
    * @return
    */
   public static ByteCountAndPowerOutput byteCounting(int inputByteLen, int nbStep) {
+    if (nbStep > 0
+        && nbStep <= MAX_BYTE_COUNTING_STEPS
+        && inputByteLen >= 0
+        && inputByteLen <= nbStep) {
+      return BYTE_COUNTING[nbStep][inputByteLen];
+    }
+    return computeByteCounting(inputByteLen, nbStep);
+  }
+
+  private static ByteCountAndPowerOutput computeByteCounting(int inputByteLen, int nbStep) {
 
     ArrayList<BigInteger> powerInit = new ArrayList<>(nbStep);
     ArrayList<Integer> acc = new ArrayList<>(nbStep);
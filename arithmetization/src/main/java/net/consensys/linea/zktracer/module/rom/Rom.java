@@ -18,15 +18,40 @@ package net.consensys.linea.zktracer.module.rom;
 import java.nio.MappedByteBuffer;
 import java.util.List;
 
-import lombok.RequiredArgsConstructor;
 import net.consensys.linea.zktracer.ColumnHeader;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.module.romlex.RomLex;
 import net.consensys.linea.zktracer.module.romlex.RomOperation;
+import org.hyperledger.besu.datatypes.Hash;
 
-@RequiredArgsConstructor
 public class Rom implements Module {
+  private static final int CODE_FRAGMENT_INDEX_COLUMN = columnIndex("rom.CODE_FRAGMENT_INDEX");
+  private static final int CODE_FRAGMENT_INDEX_INFTY_COLUMN =
+      columnIndex("rom.CODE_FRAGMENT_INDEX_INFTY");
+  private static final List<Integer> CODE_FRAGMENT_INDEX_COLUMNS =
+      List.of(CODE_FRAGMENT_INDEX_COLUMN, CODE_FRAGMENT_INDEX_INFTY_COLUMN);
+
   private final RomLex romLex;
+  private final RomImageCache imageCache;
+
+  public Rom(final RomLex romLex) {
+    this(romLex, RomImageCache.shared());
+  }
+
+  public Rom(final RomLex romLex, final RomImageCache imageCache) {
+    this.romLex = romLex;
+    this.imageCache = imageCache;
+  }
+
+  private static int columnIndex(final String name) {
+    final List<ColumnHeader> headers = Trace.headers(0);
+    for (int i = 0; i < headers.size(); i++) {
+      if (headers.get(i).name().equals(name)) {
+        return i;
+      }
+    }
+    throw new IllegalStateException("No column " + name + " in the ROM");
+  }
 
   @Override
   public String moduleKey() {
@@ -39,6 +64,9 @@ public class Rom implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void reset() {}
+
   @Override
   public int lineCount() {
     return romLex.operations().lineCount();
@@ -56,7 +84,47 @@ public class Rom implements Module {
     int codeFragmentIndex = 0;
     final int codeFragmentIndexInfinity = romLex.sortedOperations().size();
     for (RomOperation chunk : romLex.sortedOperations()) {
-      chunk.trace(trace, ++codeFragmentIndex, codeFragmentIndexInfinity);
+      codeFragmentIndex++;
+      final Hash codeHash = romLex.codeHash(chunk.byteCode());
+      final RomImageCache.RomImage image = imageCache.get(codeHash);
+      if (image != null) {
+        write(buffers, image, codeFragmentIndex, codeFragmentIndexInfinity);
+      } else {
+        final int[] startPositions = RomImageCache.positions(buffers);
+        chunk.trace(trace, codeFragmentIndex, codeFragmentIndexInfinity);
+        imageCache.put(
+            codeHash,
+            RomImageCache.capture(
+                buffers, startPositions, CODE_FRAGMENT_INDEX_COLUMNS, chunk.lineCount()));
+      }
+    }
+  }
+
+  /** Write a cached code fragment, filling in its code fragment index columns */
+  private static void write(
+      final List<MappedByteBuffer> buffers,
+      final RomImageCache.RomImage image,
+      final int codeFragmentIndex,
+      final int codeFragmentIndexInfinity) {
+    for (int i = 0; i < buffers.size(); i++) {
+      if (image.columns()[i] != null) {
+        buffers.get(i).put(image.columns()[i]);
+      }
     }
+
+    final MappedByteBuffer cfi = buffers.get(CODE_FRAGMENT_INDEX_COLUMN);
+    final MappedByteBuffer cfiInfinity = buffers.get(CODE_FRAGMENT_INDEX_INFTY_COLUMN);
+    for (int row = 0; row < image.rowCount(); row++) {
+      putUnsignedInt(cfi, codeFragmentIndex);
+      putUnsignedInt(cfiInfinity, codeFragmentIndexInfinity);
+    }
+  }
+
+  /** Same encoding as {@link Trace#codeFragmentIndex(long)} */
+  private static void putUnsignedInt(final MappedByteBuffer buffer, final int value) {
+    buffer.put((byte) (value >> 24));
+    buffer.put((byte) (value >> 16));
+    buffer.put((byte) (value >> 8));
+    buffer.put((byte) value);
   }
 }
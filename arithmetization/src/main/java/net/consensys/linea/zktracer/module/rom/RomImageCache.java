@@ -0,0 +1,161 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rom;
+
+import java.nio.MappedByteBuffer;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.google.common.base.Preconditions;
+import lombok.Getter;
+import lombok.experimental.Accessors;
+import org.hyperledger.besu.datatypes.Hash;
+
+/**
+ * A bounded, least-recently-used cache of the ROM rows generated by a bytecode. The ROM rows of a
+ * code fragment only depend on its bytecode, except for its code fragment index columns; the
+ * images of all the other columns can thus be reused verbatim across conflations, which spares
+ * re-tracing the contracts called in most of them (routers, tokens, proxies, …).
+ *
+ * <p>The cache is shared by all the tracers of the process and bounded by the total size of the
+ * images it holds, {@link #DEFAULT_MAX_CACHED_BYTES} unless the traces endpoint is configured
+ * otherwise. The images are retained on top of the traces themselves, so this bound should be
+ * accounted for when sizing the heap.
+ */
+@Accessors(fluent = true)
+public class RomImageCache {
+  /** Default bound on the total size of the cached images, 256 MiB */
+  public static final long DEFAULT_MAX_CACHED_BYTES = 256L * 1024 * 1024;
+
+  private static final RomImageCache SHARED = new RomImageCache(DEFAULT_MAX_CACHED_BYTES);
+
+  /**
+   * The column images of a code fragment.
+   *
+   * @param columns the bytes written in every column, null for the code fragment index columns
+   * @param rowCount the number of rows of the code fragment
+   */
+  record RomImage(byte[][] columns, int rowCount) {
+    long size() {
+      long size = 0;
+      for (byte[] column : columns) {
+        size += column == null ? 0 : column.length;
+      }
+      return size;
+    }
+  }
+
+  /** the bound on the total size of the cached images */
+  @Getter private long maxCachedBytes;
+  private final Map<Hash, RomImage> images = new LinkedHashMap<>(16, 0.75f, true);
+
+  /** the total size of the cached images */
+  @Getter private long cachedBytes = 0;
+
+  public RomImageCache(final long maxCachedBytes) {
+    Preconditions.checkArgument(maxCachedBytes >= 0, "maxCachedBytes must not be negative");
+    this.maxCachedBytes = maxCachedBytes;
+  }
+
+  /**
+   * Change the bound on the total size of the cached images, evicting the least recently used ones
+   * if they no longer fit; 0 disables the cache.
+   *
+   * @param maxCachedBytes the new bound, in bytes
+   */
+  public synchronized void maxCachedBytes(final long maxCachedBytes) {
+    Preconditions.checkArgument(maxCachedBytes >= 0, "maxCachedBytes must not be negative");
+    this.maxCachedBytes = maxCachedBytes;
+    evict();
+  }
+
+  public static RomImageCache shared() {
+    return SHARED;
+  }
+
+  synchronized RomImage get(final Hash codeHash) {
+    return images.get(codeHash);
+  }
+
+  synchronized void put(final Hash codeHash, final RomImage image) {
+    final long imageSize = image.size();
+    if (imageSize > maxCachedBytes) {
+      return;
+    }
+
+    final RomImage previous = images.put(codeHash, image);
+    if (previous != null) {
+      cachedBytes -= previous.size();
+    }
+    cachedBytes += imageSize;
+    evict();
+  }
+
+  private void evict() {
+    final var eldest = images.entrySet().iterator();
+    while (cachedBytes > maxCachedBytes) {
+      cachedBytes -= eldest.next().getValue().size();
+      eldest.remove();
+    }
+  }
+
+  public synchronized int size() {
+    return images.size();
+  }
+
+  public synchronized void clear() {
+    images.clear();
+    cachedBytes = 0;
+  }
+
+  /**
+   * @return the current position of every column
+   */
+  static int[] positions(final List<MappedByteBuffer> buffers) {
+    final int[] positions = new int[buffers.size()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = buffers.get(i).position();
+    }
+    return positions;
+  }
+
+  /**
+   * Copy the bytes written in the columns since {@code startPositions}.
+   *
+   * @param buffers the columns of the ROM
+   * @param startPositions the positions of the columns before the code fragment was traced
+   * @param skippedColumns the columns not to capture
+   * @param rowCount the number of rows written
+   * @return the image of the code fragment
+   */
+  static RomImage capture(
+      final List<MappedByteBuffer> buffers,
+      final int[] startPositions,
+      final List<Integer> skippedColumns,
+      final int rowCount) {
+    final byte[][] columns = new byte[buffers.size()][];
+    for (int i = 0; i < columns.length; i++) {
+      if (skippedColumns.contains(i)) {
+        continue;
+      }
+      final MappedByteBuffer buffer = buffers.get(i);
+      columns[i] = new byte[buffer.position() - startPositions[i]];
+      buffer.get(startPositions[i], columns[i]);
+    }
+    return new RomImage(columns, rowCount);
+  }
+}
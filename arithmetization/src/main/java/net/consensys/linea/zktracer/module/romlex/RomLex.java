@@ -58,6 +58,19 @@ public class RomLex
   private final ModuleOperationStackedSet<RomOperation> operations =
       new ModuleOperationStackedSet<>();
 
+  /** All the operations of {@link #operations}, indexed by their metadata */
+  private final Map<ContractMetadata, RomOperation> operationsByMetadata = new HashMap<>();
+
+  /** The metadata of {@link #operations}, kept in code fragment index order */
+  private final NavigableSet<ContractMetadata> sortedMetadata =
+      new TreeSet<>(RomOperationComparator::compareMetadata);
+
+  /** {@link #sortedMetadata} as a list, to look the rank of a chunk up; dropped once modified */
+  private List<ContractMetadata> rankedMetadata = null;
+
+  /** The metadata added by the current transaction, to be removed if it is popped */
+  private final List<ContractMetadata> metadataAddedInTransaction = new ArrayList<>();
+
   @Getter private List<RomOperation> sortedOperations;
   Map<ContractMetadata, Integer> cfiMetadataCorrespondance = new HashMap<>();
   @Getter private Bytes byteCode = Bytes.EMPTY;
@@ -94,18 +107,9 @@ public class RomLex
   }
 
   public Optional<RomOperation> getChunkByMetadata(final ContractMetadata metadata) {
-    // First search in the chunk added in the current transaction
-    for (RomOperation c : operations.operationsInTransaction()) {
-      if (c.metadata().equals(metadata)) {
-        return Optional.of(c);
-      }
-    }
-
-    // If not found, search in the chunk added since the beginning of the conflation
-    for (RomOperation c : operations.operationsCommitedToTheConflation()) {
-      if (c.metadata().equals(metadata)) {
-        return Optional.of(c);
-      }
+    final RomOperation chunk = operationsByMetadata.get(metadata);
+    if (chunk != null) {
+      return Optional.of(chunk);
     }
     throw new RuntimeException(
         "RomChunk with:"
@@ -119,6 +123,83 @@ public class RomLex
     return getChunkByMetadata(metadata).map(RomOperation::byteCode).orElseThrow();
   }
 
+  /**
+   * @param address the address of a contract
+   * @param deploymentNumber the deployment of the contract
+   * @return the chunks of this deployment, i.e. its initialization code and its deployed code, in
+   *     code fragment index order
+   */
+  public List<RomOperation> getChunksByAddress(final Address address, final int deploymentNumber) {
+    final List<RomOperation> chunks = new ArrayList<>(2);
+    for (ContractMetadata metadata :
+        sortedMetadata.subSet(
+            ContractMetadata.underDeployment(address, deploymentNumber),
+            true,
+            ContractMetadata.make(address, deploymentNumber, false),
+            true)) {
+      chunks.add(operationsByMetadata.get(metadata));
+    }
+    return chunks;
+  }
+
+  /**
+   * The code fragment index a chunk would get if the conflation ended now. It is final once the
+   * conflation is over, chunks added in the meantime may shift it. The queries in between two
+   * additions of chunks are logarithmic.
+   *
+   * @param metadata the metadata of the chunk
+   * @return the code fragment index of the chunk among the chunks known so far
+   */
+  public int provisionalCodeFragmentIndexByMetadata(final ContractMetadata metadata) {
+    getChunkByMetadata(metadata);
+    if (rankedMetadata == null) {
+      rankedMetadata = new ArrayList<>(sortedMetadata);
+    }
+    return Collections.binarySearch(
+            rankedMetadata, metadata, RomOperationComparator::compareMetadata)
+        + 1;
+  }
+
+  private void addOperation(final RomOperation operation) {
+    if (operations.add(operation)) {
+      operationsByMetadata.put(operation.metadata(), operation);
+      sortedMetadata.add(operation.metadata());
+      metadataAddedInTransaction.add(operation.metadata());
+      rankedMetadata = null;
+    }
+  }
+
+  @Override
+  public void enterTransaction() {
+    operations.enter();
+    metadataAddedInTransaction.clear();
+  }
+
+  @Override
+  public void popTransaction() {
+    operations.pop();
+    for (ContractMetadata metadata : metadataAddedInTransaction) {
+      operationsByMetadata.remove(metadata);
+      sortedMetadata.remove(metadata);
+      rankedMetadata = null;
+    }
+    metadataAddedInTransaction.clear();
+  }
+
+  @Override
+  public void reset() {
+    operations.clear();
+    operationsByMetadata.clear();
+    sortedMetadata.clear();
+    metadataAddedInTransaction.clear();
+    rankedMetadata = null;
+    sortedOperations = null;
+    cfiMetadataCorrespondance.clear();
+    byteCode = Bytes.EMPTY;
+    address = Address.ZERO;
+    createDefers.clear();
+  }
+
   // TODO: it would maybe make more sense to only implement traceContextEnter
   //  and distinguish between depth == 0 and depth > 0. Why? So as to not have
   //  to manually tinker with deployment numbers / statuses.
@@ -132,7 +213,7 @@ public class RomLex
           new RomOperation(
               ContractMetadata.canonical(hub, deploymentAddress), false, false, tx.getInit().get());
 
-      operations.add(operation);
+      addOperation(operation);
     }
 
     // Call to an account with bytecode
@@ -148,7 +229,7 @@ public class RomLex
                     new RomOperation(
                         ContractMetadata.canonical(hub, calledAddress), true, false, code);
 
-                operations.add(operation);
+                addOperation(operation);
               }
             });
   }
@@ -163,7 +244,7 @@ public class RomLex
 
         hub.defers().scheduleForImmediateContextEntry(this);
         byteCode = frame.shadowReadMemory(offset, length);
-        address = getDeploymentAddress(frame);
+        address = getDeploymentAddress(frame, hub.hashDigests());
       }
 
       case RETURN -> {
@@ -203,7 +284,7 @@ public class RomLex
                     final RomOperation operation =
                         new RomOperation(
                             ContractMetadata.canonical(hub, calleeAddress), true, false, byteCode);
-                    operations.add(operation);
+                    addOperation(operation);
                   }
                 });
       }
@@ -234,7 +315,7 @@ public class RomLex
                             false,
                             byteCode);
 
-                    operations.add(operation);
+                    addOperation(operation);
                   }
                 });
       }
@@ -253,7 +334,7 @@ public class RomLex
     final ContractMetadata contractMetadata = ContractMetadata.canonical(hub, address);
 
     final RomOperation operation = new RomOperation(contractMetadata, true, false, byteCode);
-    operations.add(operation);
+    addOperation(operation);
     createDefers.trigger(contractMetadata);
   }
 
@@ -264,7 +345,7 @@ public class RomLex
       final int codeFragmentIndexInfinity,
       Trace trace) {
     final Hash codeHash =
-        operation.metadata().underDeployment() ? Hash.EMPTY : Hash.hash(operation.byteCode());
+        operation.metadata().underDeployment() ? Hash.EMPTY : codeHash(operation.byteCode());
     trace
         .codeFragmentIndex(cfi)
         .codeFragmentIndexInfty(codeFragmentIndexInfinity)
@@ -280,14 +361,21 @@ public class RomLex
         .validateRow();
   }
 
+  /**
+   * @param byteCode some byte code
+   * @return the hash of {@code byteCode}, reused if the code was deployed during the conflation
+   */
+  public Hash codeHash(final Bytes byteCode) {
+    return Hash.wrap(hub.hashDigests().lookupKeccak(byteCode));
+  }
+
   public void determineCodeFragmentIndex() {
     operations.finishConflation();
-    sortedOperations = new ArrayList<>(operations.getAll());
-    final RomOperationComparator ROM_CHUNK_COMPARATOR = new RomOperationComparator();
-    sortedOperations.sort(ROM_CHUNK_COMPARATOR);
-    for (int i = 0; i < sortedOperations.size(); i++) {
-      final RomOperation romOperation = sortedOperations.get(i);
-      cfiMetadataCorrespondance.put(romOperation.metadata(), i + 1);
+    metadataAddedInTransaction.clear();
+    sortedOperations = new ArrayList<>(sortedMetadata.size());
+    for (ContractMetadata metadata : sortedMetadata) {
+      sortedOperations.add(operationsByMetadata.get(metadata));
+      cfiMetadataCorrespondance.put(metadata, sortedOperations.size());
     }
   }
 
@@ -331,6 +419,6 @@ public class RomLex
         ContractMetadata.canonical(hub, hub.messageFrame().getContractAddress());
 
     final RomOperation chunk = new RomOperation(contractMetadata, false, true, byteCode);
-    operations.add(chunk);
+    addOperation(chunk);
   }
 }
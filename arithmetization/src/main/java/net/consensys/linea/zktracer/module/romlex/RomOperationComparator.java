@@ -19,23 +19,25 @@ import java.util.Comparator;
 
 class RomOperationComparator implements Comparator<RomOperation> {
   public int compare(RomOperation chunk1, RomOperation chunk2) {
+    return compareMetadata(chunk1.metadata(), chunk2.metadata());
+  }
+
+  static int compareMetadata(ContractMetadata metadata1, ContractMetadata metadata2) {
     // First sort by Address
-    final int addressComparison =
-        chunk1.metadata().address().compareTo(chunk2.metadata().address());
+    final int addressComparison = metadata1.address().compareTo(metadata2.address());
     if (addressComparison != 0) {
       return addressComparison;
     } else {
       // Second, sort by Deployment Number
-      int deploymentNumberComparison =
-          chunk1.metadata().deploymentNumber() - chunk2.metadata().deploymentNumber();
+      int deploymentNumberComparison = metadata1.deploymentNumber() - metadata2.deploymentNumber();
       if (deploymentNumberComparison != 0) {
         return deploymentNumberComparison;
       } else {
         // Third sort by Deployment Status (true greater)
-        if (chunk1.metadata().underDeployment() == chunk2.metadata().underDeployment()) {
+        if (metadata1.underDeployment() == metadata2.underDeployment()) {
           return 0;
         } else {
-          return chunk1.metadata().underDeployment() ? -1 : 1;
+          return metadata1.underDeployment() ? -1 : 1;
         }
       }
     }
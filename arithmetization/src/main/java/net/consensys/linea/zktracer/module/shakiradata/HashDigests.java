@@ -0,0 +1,66 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.shakiradata;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.crypto.Hash;
+
+/**
+ * The KECCAK digests hashed more than once during a conflation, so that they are computed at most
+ * once: the CREATE2 init code, hashed for the deployment address, the RLP_ADDR and SHAKIRA, and the
+ * deployed byte code, hashed by SHAKIRA at the end of the deployment and by the ROM afterwards.
+ *
+ * <p>Other preimages (the arguments of SHA3, the code read from the state, the inputs of the
+ * precompiles) are hashed once at most, and thus never retained. Retained preimages are kept until
+ * the end of the conflation, and must not be mutated.
+ */
+public class HashDigests {
+  private final Map<Bytes, Bytes32> digests = new ConcurrentHashMap<>();
+
+  /**
+   * @param preimage bytes whose digest is needed again later in the conflation
+   * @return the KECCAK256 of {@code preimage}, retained for the later lookups
+   */
+  public Bytes32 keccak(final Bytes preimage) {
+    return digests.computeIfAbsent(preimage, Hash::keccak256);
+  }
+
+  /**
+   * @param preimage the bytes to hash
+   * @return the KECCAK256 of {@code preimage}, computed without being retained if it was not
+   *     retained by {@link #keccak(Bytes)} already
+   */
+  public Bytes32 lookupKeccak(final Bytes preimage) {
+    final Bytes32 digest = digests.get(preimage);
+    return digest != null ? digest : Hash.keccak256(preimage);
+  }
+
+  /**
+   * @return the number of digests retained
+   */
+  public int size() {
+    return digests.size();
+  }
+
+  /** Forget all the digests, e.g. at the start of a new conflation. */
+  public void clear() {
+    digests.clear();
+  }
+}
@@ -51,6 +51,12 @@ public class ShakiraData implements OperationListModule<ShakiraDataOperation> {
     return "SHAKIRA_DATA";
   }
 
+  @Override
+  public void reset() {
+    operations.clear();
+    previousID = 0;
+  }
+
   @Override
   public int lineCount() {
     return operations.lineCount()
@@ -31,7 +31,6 @@ import static net.consensys.linea.zktracer.module.shakiradata.HashFunction.SHA25
 import static net.consensys.linea.zktracer.module.shakiradata.Trace.INDEX_MAX_RESULT;
 import static net.consensys.linea.zktracer.types.Conversions.bytesToHex;
 import static net.consensys.linea.zktracer.types.Utils.rightPadTo;
-import static org.hyperledger.besu.crypto.Hash.keccak256;
 
 import lombok.Getter;
 import lombok.experimental.Accessors;
@@ -52,22 +51,9 @@ public class ShakiraDataOperation extends ModuleOperation {
   @Getter private Bytes32 result;
 
   /**
-   * This constructor is used ONLY when we want to KECCAK the input, and it's not trivial to get the
-   * result from Besu. Prefer the other constructor when we give the hash result
+   * @param hash the digest of {@code input}, as computed by the EVM or retained by {@link
+   *     HashDigests} if it is needed again
    */
-  public ShakiraDataOperation(final int hubStamp, final Bytes input) {
-    final Bytes32 hash = keccak256(input);
-
-    hashType = KECCAK;
-    ID = newIdentifierFromStamp(hubStamp);
-    hashInput = input;
-    inputSize = input.size();
-    lastNBytes = (short) (inputSize % LLARGE == 0 ? LLARGE : inputSize % LLARGE);
-    // this.indexMaxData = Math.ceilDiv(inputSize, LLARGE) - 1;
-    indexMaxData = (inputSize + LLARGEMO) / LLARGE - 1;
-    result = Bytes32.leftPad(hash);
-  }
-
   public ShakiraDataOperation(
       final int hubStamp, final HashFunction hashFunction, final Bytes input, final Bytes hash) {
     hashType = hashFunction;
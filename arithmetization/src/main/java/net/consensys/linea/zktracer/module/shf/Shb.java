@@ -26,27 +26,20 @@ import org.apache.tuweni.bytes.Bytes32;
 @RequiredArgsConstructor
 public class Shb {
 
-  @Getter private final UnsignedByte[][] shbHi;
-  @Getter private final UnsignedByte[][] shbLo;
+  @Getter private final byte[][] shbHi;
+  @Getter private final byte[][] shbLo;
 
   public static Shb create(final OpCode opCode, final Bytes32 arg2, final UnsignedByte lsb) {
-    final UnsignedByte[][] shbHi = new UnsignedByte[5][LLARGE];
-    final UnsignedByte[][] shbLo = new UnsignedByte[5][LLARGE];
+    final byte[][] shbHi = new byte[5][];
+    final byte[][] shbLo = new byte[5][];
 
     for (int i = 3; i < 8; i++) {
       final UnsignedByte shiftAmount = (lsb.shiftLeft(8 - i)).shiftRight(8 - i);
 
       Bytes32 shiftedBytes = Shifter.shift(opCode, arg2, shiftAmount.toInteger());
 
-      final byte[] shbHiByteArray = shiftedBytes.slice(0, 16).toArray();
-      for (int j = 0; j < shbHiByteArray.length; j++) {
-        shbHi[i - 3][j] = UnsignedByte.of(shbHiByteArray[j]);
-      }
-
-      final byte[] shbLoByteArray = shiftedBytes.slice(16).toArray();
-      for (int j = 0; j < shbLoByteArray.length; j++) {
-        shbLo[i - 3][j] = UnsignedByte.of(shbLoByteArray[j]);
-      }
+      shbHi[i - 3] = shiftedBytes.slice(0, LLARGE).toArray();
+      shbLo[i - 3] = shiftedBytes.slice(LLARGE).toArray();
     }
 
     return new Shb(shbHi, shbLo);
@@ -188,16 +188,16 @@ final class ShfOperation extends ModuleOperation {
           .ones(arg2HiByteChunks.ones())
           .leftAlignedSuffixLow(arg2LoByteChunks.la())
           .rightAlignedPrefixLow(arg2LoByteChunks.ra())
-          .shb3Hi(shb.getShbHi()[0][i])
-          .shb3Lo(shb.getShbLo()[0][i])
-          .shb4Hi(shb.getShbHi()[4 - 3][i])
-          .shb4Lo(shb.getShbLo()[4 - 3][i])
-          .shb5Hi(shb.getShbHi()[5 - 3][i])
-          .shb5Lo(shb.getShbLo()[5 - 3][i])
-          .shb6Hi(shb.getShbHi()[6 - 3][i])
-          .shb6Lo(shb.getShbLo()[6 - 3][i])
-          .shb7Hi(shb.getShbHi()[7 - 3][i])
-          .shb7Lo(shb.getShbLo()[7 - 3][i])
+          .shb3Hi(UnsignedByte.of(shb.getShbHi()[0][i]))
+          .shb3Lo(UnsignedByte.of(shb.getShbLo()[0][i]))
+          .shb4Hi(UnsignedByte.of(shb.getShbHi()[4 - 3][i]))
+          .shb4Lo(UnsignedByte.of(shb.getShbLo()[4 - 3][i]))
+          .shb5Hi(UnsignedByte.of(shb.getShbHi()[5 - 3][i]))
+          .shb5Lo(UnsignedByte.of(shb.getShbLo()[5 - 3][i]))
+          .shb6Hi(UnsignedByte.of(shb.getShbHi()[6 - 3][i]))
+          .shb6Lo(UnsignedByte.of(shb.getShbLo()[6 - 3][i]))
+          .shb7Hi(UnsignedByte.of(shb.getShbHi()[7 - 3][i]))
+          .shb7Lo(UnsignedByte.of(shb.getShbLo()[7 - 3][i]))
           .shiftDirection(isShiftRight)
           .iomf(true)
           .shiftStamp(stamp)
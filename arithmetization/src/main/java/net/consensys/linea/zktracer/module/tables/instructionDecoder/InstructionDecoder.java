@@ -106,6 +106,9 @@ public final class InstructionDecoder implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void reset() {}
+
   @Override
   public int lineCount() {
     return 256;
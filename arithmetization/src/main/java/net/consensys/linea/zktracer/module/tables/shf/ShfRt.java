@@ -35,6 +35,9 @@ public record ShfRt() implements Module {
   @Override
   public void popTransaction() {}
 
+  @Override
+  public void reset() {}
+
   @Override
   public int lineCount() {
     return 256 * 9;
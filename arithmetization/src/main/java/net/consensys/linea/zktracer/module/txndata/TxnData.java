@@ -49,6 +49,12 @@ public class TxnData implements OperationListModule<TxndataOperation> {
     return "TXN_DATA";
   }
 
+  @Override
+  public void reset() {
+    operations.clear();
+    blocks.clear();
+  }
+
   @Override
   public void traceStartConflation(final long blockCount) {
     wcp.additionalRows.add(4); /* 4 = byte length of LINEA_BLOCK_GAS_LIMIT */
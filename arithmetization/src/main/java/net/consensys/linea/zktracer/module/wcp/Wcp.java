@@ -29,6 +29,7 @@ import java.util.List;
 
 import lombok.RequiredArgsConstructor;
 import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
 import net.consensys.linea.zktracer.container.module.Module;
 import net.consensys.linea.zktracer.container.stacked.CountOnlyOperation;
 import net.consensys.linea.zktracer.container.stacked.ModuleOperationStackedSet;
@@ -97,6 +98,14 @@ public class Wcp implements Module {
     additionalRows.pop();
   }
 
+  @Override
+  public void reset() {
+    for (ModuleOperationStackedSet<WcpOperation> operationsSet : operations) {
+      operationsSet.clear();
+    }
+    additionalRows.clear();
+  }
+
   @Override
   public void tracePreOpcode(final MessageFrame frame) {
     final OpCode opCode = OpCode.of(frame.getCurrentOperation().getOpcode());
@@ -211,4 +220,22 @@ public class Wcp implements Module {
       operationsSet.finishConflation();
     }
   }
+
+  @Override
+  public void presizeContainers(final ContainerSizingProfile profile) {
+    for (int i = 0; i < operations.size(); i++) {
+      operations.get(i).ensureCapacity(profile.expectedSize(sizingKey(i)));
+    }
+  }
+
+  @Override
+  public void recordContainerSizes(final ContainerSizingProfile profile) {
+    for (int i = 0; i < operations.size(); i++) {
+      profile.record(sizingKey(i), operations.get(i).size());
+    }
+  }
+
+  private String sizingKey(final int operationsSetIndex) {
+    return moduleKey() + "_" + operationsSetIndex;
+  }
 }
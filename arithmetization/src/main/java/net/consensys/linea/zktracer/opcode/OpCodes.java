@@ -18,9 +18,6 @@ package net.consensys.linea.zktracer.opcode;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.Optional;
-import java.util.stream.Collectors;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.type.CollectionType;
@@ -28,12 +25,16 @@ import com.fasterxml.jackson.databind.type.TypeFactory;
 import lombok.SneakyThrows;
 import net.consensys.linea.zktracer.json.JsonConverter;
 
-/** Responsible for managing opcode loading and opcode metadata retrieval. */
+/**
+ * Responsible for managing opcode loading and opcode metadata retrieval. Metadata are stored in
+ * dense arrays, indexed by opcode value and by {@link OpCode} ordinal, as they are looked up for
+ * every traced instruction.
+ */
 public class OpCodes {
   private static final JsonConverter YAML_CONVERTER = JsonConverter.builder().enableYaml().build();
 
-  private static Map<Integer, OpCodeData> valueToOpCodeDataMap;
-  private static Map<OpCode, OpCodeData> opCodeToOpCodeDataMap;
+  private static final OpCodeData[] valueToOpCodeData = new OpCodeData[256];
+  private static final OpCodeData[] opCodeToOpCodeData = new OpCodeData[OpCode.values().length];
 
   static {
     init();
@@ -54,9 +55,18 @@ public class OpCodes {
     List<OpCodeData> opCodes =
         YAML_CONVERTER.getObjectMapper().treeToValue(rootNode, typeReference);
 
-    valueToOpCodeDataMap = opCodes.stream().collect(Collectors.toMap(OpCodeData::value, e -> e));
-    opCodeToOpCodeDataMap =
-        opCodes.stream().collect(Collectors.toMap(OpCodeData::mnemonic, e -> e));
+    for (OpCodeData opCode : opCodes) {
+      valueToOpCodeData[opCode.value()] = opCode;
+      opCodeToOpCodeData[opCode.mnemonic().ordinal()] = opCode;
+    }
+
+    // Undefined opcodes behave as INVALID
+    final OpCodeData invalid = of(OpCode.INVALID);
+    for (int value = 0; value < valueToOpCodeData.length; value++) {
+      if (valueToOpCodeData[value] == null) {
+        valueToOpCodeData[value] = invalid;
+      }
+    }
   }
 
   /**
@@ -70,7 +80,7 @@ public class OpCodes {
       throw new IllegalArgumentException("No OpCode with value %s is defined.".formatted(value));
     }
 
-    return valueToOpCodeDataMap.getOrDefault(value, of(OpCode.INVALID));
+    return valueToOpCodeData[value];
   }
 
   /**
@@ -80,11 +90,11 @@ public class OpCodes {
    * @return an instance of {@link OpCodeData} corresponding to mnemonic of type {@link OpCode}.
    */
   public static OpCodeData of(final OpCode code) {
-    return Optional.ofNullable(opCodeToOpCodeDataMap.get(code))
-        .orElseThrow(
-            () ->
-                new IllegalArgumentException(
-                    "No OpCode of mnemonic %s is defined.".formatted(code)));
+    final OpCodeData opCodeData = opCodeToOpCodeData[code.ordinal()];
+    if (opCodeData == null) {
+      throw new IllegalArgumentException("No OpCode of mnemonic %s is defined.".formatted(code));
+    }
+    return opCodeData;
   }
 
   /**
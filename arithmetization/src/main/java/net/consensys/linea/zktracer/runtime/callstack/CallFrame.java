@@ -15,10 +15,6 @@
 
 package net.consensys.linea.zktracer.runtime.callstack;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-
 import com.google.common.base.Preconditions;
 import lombok.Getter;
 import lombok.Setter;
@@ -64,9 +60,6 @@ public class CallFrame {
   /** the ID of this {@link CallFrame} parent in the {@link CallStack}. */
   @Getter private int callerId;
 
-  /** all the {@link CallFrame} that have been called by this frame. */
-  @Getter private final List<Integer> childFramesId = new ArrayList<>();
-
   /** the {@link Address} of the account executing this {@link CallFrame}. */
   @Getter private final Address accountAddress;
 
@@ -291,19 +284,6 @@ public class CallFrame {
     return this.eCodeAddress;
   }
 
-  /**
-   * If any, returns the ID of the latest callee of this frame.
-   *
-   * @return the ID of the latest callee
-   */
-  public Optional<Integer> lastCallee() {
-    if (this.childFramesId.isEmpty()) {
-      return Optional.empty();
-    }
-
-    return Optional.of(this.childFramesId.get(this.childFramesId.size() - 1));
-  }
-
   /**
    * Returns a {@link ContractMetadata} instance representing the executed contract.
    *
@@ -314,16 +294,16 @@ public class CallFrame {
   }
 
   private void revertChildren(CallStack callStack, int parentRevertStamp) {
-    childFramesId.stream()
-        .map(callStack::getById)
-        .forEach(
-            frame -> {
-              frame.getsReverted = true;
-              if (!frame.selfReverts) {
-                frame.revertStamp = parentRevertStamp;
-              }
-              frame.revertChildren(callStack, parentRevertStamp);
-            });
+    for (int childId = callStack.firstChildId(id);
+        childId != -1;
+        childId = callStack.nextSiblingId(childId)) {
+      final CallFrame frame = callStack.getById(childId);
+      frame.getsReverted = true;
+      if (!frame.selfReverts) {
+        frame.revertStamp = parentRevertStamp;
+      }
+      frame.revertChildren(callStack, parentRevertStamp);
+    }
   }
 
   public void setRevertStamps(CallStack callStack, int currentStamp) {
@@ -348,8 +328,8 @@ public class CallFrame {
 
   public void frame(MessageFrame frame) {
     this.frame = frame;
-    opCode = OpCode.of(frame.getCurrentOperation().getOpcode());
-    opCodeData = OpCodes.of(opCode);
+    opCodeData = OpCodes.of(0xFF & frame.getCurrentOperation().getOpcode());
+    opCode = opCodeData.mnemonic();
     pc = frame.getPC();
   }
 
@@ -16,7 +16,7 @@
 package net.consensys.linea.zktracer.runtime.callstack;
 
 import java.util.ArrayList;
-import java.util.List;
+import java.util.Arrays;
 import java.util.Optional;
 
 import com.google.common.base.Preconditions;
@@ -35,22 +35,51 @@ import org.hyperledger.besu.evm.Code;
  *
  * <p>Although it is accessible in a stack-like manner, it is actually a tree, the stack access
  * representing the path from the latest leaf to the root context.
+ *
+ * <p>The tree links and the context number index are kept in flat arrays indexed by frame position,
+ * so that frames are found by context number in constant time and the children of a frame are
+ * traversed without allocating.
  */
 @Accessors(fluent = true)
 public final class CallStack {
   /** the maximal depth of the call stack (as defined by Ethereum) */
   static final int MAX_CALLSTACK_SIZE = 1024;
 
+  private static final int INITIAL_CAPACITY = 50;
+
+  /** marks the absence of a frame in the arrays below */
+  private static final int NONE = -1;
+
   /** a never-pruned-tree of the {@link CallFrame} executed by the {@link Hub} */
-  @Getter
-  private final List<CallFrame> callFrames =
-      new ArrayList<>(
-          50) { // TODO: PERF as the List of TraceSection, we should have an estimate based on
-        // gasLimit on the nb of CallFrame a tx might have
-        {
-          add(CallFrame.EMPTY);
-        }
-      };
+  @Getter private final ArrayList<CallFrame> callFrames = new ArrayList<>(INITIAL_CAPACITY);
+
+  /** the position of the first callee of every frame */
+  private int[] firstChildIds = new int[INITIAL_CAPACITY];
+
+  /** the position of the latest callee of every frame */
+  private int[] lastChildIds = new int[INITIAL_CAPACITY];
+
+  /** the position of the next callee of the caller of every frame */
+  private int[] nextSiblingIds = new int[INITIAL_CAPACITY];
+
+  /**
+   * the position of the first frame of every context number, shifted by one so that 0 means
+   * unknown; context numbers are hub stamps, hence dense
+   */
+  private int[] idsByContextNumber = new int[INITIAL_CAPACITY];
+
+  public CallStack() {
+    this.add(CallFrame.EMPTY);
+  }
+
+  /** Drop all the frames, keeping the memory already allocated for the next conflation. */
+  public void clear() {
+    this.callFrames.clear();
+    Arrays.fill(this.idsByContextNumber, 0);
+    this.depth = 0;
+    this.currentId = 0;
+    this.add(CallFrame.EMPTY);
+  }
 
   /** the current depth of the call stack. */
   @Getter private int depth;
@@ -99,7 +128,7 @@ public final class CallStack {
    */
   public void newTransactionCallDataContext(int transactionCallDataContextNumber, Bytes callData) {
     this.depth = -1;
-    this.callFrames.add(new CallFrame(Address.ZERO, callData, transactionCallDataContextNumber));
+    this.add(new CallFrame(Address.ZERO, callData, transactionCallDataContextNumber));
     this.enter(
         CallFrameType.TRANSACTION_CALL_DATA_HOLDER,
         transactionCallDataContextNumber,
@@ -133,6 +162,78 @@ public final class CallStack {
     return this.callFrames.get(this.currentId);
   }
 
+  /**
+   * Preallocate the memory needed to store the given number of {@link CallFrame}.
+   *
+   * @param expectedCallFrameCount the expected number of call frames in the conflation
+   */
+  public void ensureCapacity(final int expectedCallFrameCount) {
+    this.callFrames.ensureCapacity(expectedCallFrameCount);
+    this.growLinks(expectedCallFrameCount);
+  }
+
+  private void add(final CallFrame frame) {
+    final int position = this.callFrames.size();
+    this.callFrames.add(frame);
+    this.growLinks(position + 1);
+    this.firstChildIds[position] = NONE;
+    this.lastChildIds[position] = NONE;
+    this.nextSiblingIds[position] = NONE;
+
+    final int contextNumber = frame.contextNumber();
+    if (contextNumber >= this.idsByContextNumber.length) {
+      this.idsByContextNumber =
+          Arrays.copyOf(
+              this.idsByContextNumber, Math.max(contextNumber + 1, 2 * idsByContextNumber.length));
+    }
+    // the first frame of a context number wins, as for the mantle and root frames of a transaction
+    if (this.idsByContextNumber[contextNumber] == 0) {
+      this.idsByContextNumber[contextNumber] = position + 1;
+    }
+  }
+
+  private void growLinks(final int capacity) {
+    if (capacity > this.firstChildIds.length) {
+      final int newCapacity = Math.max(capacity, 2 * this.firstChildIds.length);
+      this.firstChildIds = Arrays.copyOf(this.firstChildIds, newCapacity);
+      this.lastChildIds = Arrays.copyOf(this.lastChildIds, newCapacity);
+      this.nextSiblingIds = Arrays.copyOf(this.nextSiblingIds, newCapacity);
+    }
+  }
+
+  private void addChild(final int parentId, final int childId) {
+    if (this.lastChildIds[parentId] == NONE) {
+      this.firstChildIds[parentId] = childId;
+    } else {
+      this.nextSiblingIds[this.lastChildIds[parentId]] = childId;
+    }
+    this.lastChildIds[parentId] = childId;
+  }
+
+  /**
+   * @param id the ID of a call frame
+   * @return the ID of the first callee of this frame, -1 if it has none
+   */
+  public int firstChildId(final int id) {
+    return id < 0 || id >= this.callFrames.size() ? NONE : this.firstChildIds[id];
+  }
+
+  /**
+   * @param id the ID of a call frame
+   * @return the ID of the latest callee of this frame, -1 if it has none
+   */
+  public int lastChildId(final int id) {
+    return id < 0 || id >= this.callFrames.size() ? NONE : this.lastChildIds[id];
+  }
+
+  /**
+   * @param id the ID of a call frame
+   * @return the ID of the callee of the same caller following this frame, -1 if it has none
+   */
+  public int nextSiblingId(final int id) {
+    return id < 0 || id >= this.callFrames.size() ? NONE : this.nextSiblingIds[id];
+  }
+
   public boolean isEmpty() {
     return this.callFrames.isEmpty();
   }
@@ -217,11 +318,11 @@ public final class CallStack {
             callDataSize,
             returnDataTargetInCaller);
 
-    this.callFrames.add(newFrame);
+    this.add(newFrame);
     this.currentId = newCallFrameId;
     if (callerId != -1) {
       this.callFrames.get(callerId).returnData(Bytes.EMPTY);
-      this.callFrames.get(callerId).childFramesId().add(newCallFrameId);
+      this.addChild(callerId, newCallFrameId);
     }
   }
 
@@ -287,9 +388,10 @@ public final class CallStack {
    * @throws IndexOutOfBoundsException if the index is out of range
    */
   public CallFrame getByContextNumber(final long i) {
-    for (CallFrame f : this.callFrames) {
-      if (f.contextNumber() == i) {
-        return f;
+    if (i >= 0 && i < this.idsByContextNumber.length) {
+      final int position = this.idsByContextNumber[(int) i];
+      if (position != 0) {
+        return this.callFrames.get(position - 1);
       }
     }
 
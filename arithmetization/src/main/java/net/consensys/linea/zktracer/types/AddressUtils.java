@@ -22,8 +22,10 @@ import static org.hyperledger.besu.crypto.Hash.keccak256;
 import static org.hyperledger.besu.evm.internal.Words.clampedToLong;
 
 import java.util.List;
+import java.util.function.Function;
 
 import net.consensys.linea.zktracer.module.hub.transients.OperationAncillaries;
+import net.consensys.linea.zktracer.module.shakiradata.HashDigests;
 import net.consensys.linea.zktracer.opcode.OpCode;
 import org.apache.tuweni.bytes.Bytes;
 import org.apache.tuweni.bytes.Bytes32;
@@ -106,10 +108,24 @@ public class AddressUtils {
   }
 
   public static Address getCreate2Address(final MessageFrame frame) {
+    return getCreate2Address(frame, Hash::keccak256);
+  }
+
+  /**
+   * @param frame the frame executing CREATE2
+   * @param hashDigests the digests of the conflation, providing the hash of the init code
+   * @return the address CREATE2 deploys at
+   */
+  public static Address getCreate2Address(final MessageFrame frame, final HashDigests hashDigests) {
+    return getCreate2Address(frame, hashDigests::keccak);
+  }
+
+  private static Address getCreate2Address(
+      final MessageFrame frame, final Function<Bytes, Bytes32> keccak) {
     final Address sender = frame.getRecipientAddress();
     final Bytes32 salt = Bytes32.leftPad(frame.getStackItem(3));
     final Bytes initCode = OperationAncillaries.initCode(frame);
-    final Bytes32 hash = Hash.keccak256(initCode);
+    final Bytes32 hash = keccak.apply(initCode);
     return Address.extract(getCreate2RawAddress(sender, salt, hash));
   }
 
@@ -119,6 +135,20 @@ public class AddressUtils {
     return opcode.equals(OpCode.CREATE) ? getCreateAddress(frame) : getCreate2Address(frame);
   }
 
+  /**
+   * @param frame the frame executing CREATE or CREATE2
+   * @param hashDigests the digests of the conflation, providing the hash of the CREATE2 init code
+   * @return the address CREATE or CREATE2 deploys at
+   */
+  public static Address getDeploymentAddress(
+      final MessageFrame frame, final HashDigests hashDigests) {
+    final OpCode opcode = OpCode.of(frame.getCurrentOperation().getOpcode());
+    checkArgument(opcode.isCreate(), "Must be called only for CREATE/CREATE2 opcode");
+    return opcode.equals(OpCode.CREATE)
+        ? getCreateAddress(frame)
+        : getCreate2Address(frame, hashDigests);
+  }
+
   public static Address addressFromBytes(final Bytes input) {
     return input.size() == Address.SIZE
         ? Address.wrap(input)
@@ -50,8 +50,7 @@ public class Conversions {
   }
 
   public static BigInteger unsignedBytesToUnsignedBigInteger(final UnsignedByte[] input) {
-    return Bytes.concatenate(Arrays.stream(input).map(i -> Bytes.of(i.toInteger())).toList())
-        .toUnsignedBigInteger();
+    return unsignedBytesToBytes(input).toUnsignedBigInteger();
   }
 
   public static BigInteger unsignedBytesSubArrayToUnsignedBigInteger(
@@ -90,8 +89,11 @@ public class Conversions {
   }
 
   public static Bytes unsignedBytesToBytes(final UnsignedByte[] bytes) {
-    return Bytes.concatenate(
-        Arrays.stream(bytes).map(b -> Bytes.of(b == null ? 0 : b.toByte())).toList());
+    final byte[] r = new byte[bytes.length];
+    for (int i = 0; i < bytes.length; i++) {
+      r[i] = bytes[i] == null ? 0 : bytes[i].toByte();
+    }
+    return Bytes.wrap(r);
   }
 
   public static UnsignedByte[] bigIntegerToUnsignedBytes32(final BigInteger value) {
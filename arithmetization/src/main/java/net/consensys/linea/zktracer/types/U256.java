@@ -0,0 +1,508 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import java.math.BigInteger;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+
+/**
+ * An immutable unsigned 256-bit integer stored as four 64-bit limbs, used instead of {@link
+ * BigInteger} for the fixed-width arithmetic of the modules (MXP, EXT, EXP, …). Arithmetic is
+ * performed modulo 2^256, except for {@link #multiplyFull(U256)} which returns the full 512-bit
+ * product.
+ *
+ * <p>Limbs are little-endian: limb 0 holds the 64 least significant bits.
+ */
+public final class U256 implements Comparable<U256> {
+  public static final U256 ZERO = new U256(0, 0, 0, 0);
+  public static final U256 ONE = new U256(1, 0, 0, 0);
+
+  /** 2^32 */
+  public static final U256 TWO_POW_32 = new U256(1L << 32, 0, 0, 0);
+
+  /** 2^128 */
+  public static final U256 TWO_POW_128 = new U256(0, 0, 1, 0);
+
+  private static final long INT_MASK = 0xFFFFFFFFL;
+
+  private final long l0;
+  private final long l1;
+  private final long l2;
+  private final long l3;
+
+  private U256(final long l0, final long l1, final long l2, final long l3) {
+    this.l0 = l0;
+    this.l1 = l1;
+    this.l2 = l2;
+    this.l3 = l3;
+  }
+
+  /**
+   * @param value interpreted as an unsigned 64-bit integer
+   */
+  public static U256 of(final long value) {
+    return value == 0 ? ZERO : new U256(value, 0, 0, 0);
+  }
+
+  /**
+   * @param bytes at most 32 bytes, big-endian
+   */
+  public static U256 of(final Bytes bytes) {
+    final int size = bytes.size();
+    if (size > 32) {
+      throw new IllegalArgumentException("Expected at most 32 bytes, got " + size);
+    }
+    final long[] limbs = new long[4];
+    for (int i = 0; i < size; i++) {
+      limbs[i / 8] |= (bytes.get(size - 1 - i) & 0xFFL) << (8 * (i % 8));
+    }
+    return of(limbs);
+  }
+
+  /**
+   * @param value a non-negative integer of at most 256 bits
+   */
+  public static U256 of(final BigInteger value) {
+    if (value.signum() < 0 || value.bitLength() > 256) {
+      throw new IllegalArgumentException("Not an unsigned 256-bit integer: " + value);
+    }
+    return new U256(
+        value.longValue(),
+        value.shiftRight(64).longValue(),
+        value.shiftRight(128).longValue(),
+        value.shiftRight(192).longValue());
+  }
+
+  private static U256 of(final long[] limbs) {
+    return new U256(limbs[0], limbs[1], limbs[2], limbs[3]);
+  }
+
+  /**
+   * @param i the index of the limb, 0 being the least significant
+   * @return the i-th 64-bit limb
+   */
+  public long limb(final int i) {
+    return switch (i) {
+      case 0 -> l0;
+      case 1 -> l1;
+      case 2 -> l2;
+      case 3 -> l3;
+      default -> throw new IndexOutOfBoundsException(i);
+    };
+  }
+
+  /**
+   * @return the limbs of this value, the least significant first
+   */
+  public long[] limbs() {
+    return new long[] {l0, l1, l2, l3};
+  }
+
+  public boolean isZero() {
+    return (l0 | l1 | l2 | l3) == 0;
+  }
+
+  /**
+   * @return whether this value fits in a non-negative long
+   */
+  public boolean fitsLong() {
+    return (l1 | l2 | l3) == 0 && l0 >= 0;
+  }
+
+  /**
+   * @return this value as a long; its upper bits are silently dropped
+   */
+  public long toLong() {
+    return l0;
+  }
+
+  public int bitLength() {
+    if (l3 != 0) {
+      return 256 - Long.numberOfLeadingZeros(l3);
+    }
+    if (l2 != 0) {
+      return 192 - Long.numberOfLeadingZeros(l2);
+    }
+    if (l1 != 0) {
+      return 128 - Long.numberOfLeadingZeros(l1);
+    }
+    return 64 - Long.numberOfLeadingZeros(l0);
+  }
+
+  public U256 add(final U256 other) {
+    final long r0 = l0 + other.l0;
+    long carry = Long.compareUnsigned(r0, l0) < 0 ? 1 : 0;
+    final long s1 = l1 + other.l1;
+    final long r1 = s1 + carry;
+    carry = (Long.compareUnsigned(s1, l1) < 0 || Long.compareUnsigned(r1, s1) < 0) ? 1 : 0;
+    final long s2 = l2 + other.l2;
+    final long r2 = s2 + carry;
+    carry = (Long.compareUnsigned(s2, l2) < 0 || Long.compareUnsigned(r2, s2) < 0) ? 1 : 0;
+    final long r3 = l3 + other.l3 + carry;
+    return new U256(r0, r1, r2, r3);
+  }
+
+  public U256 add(final long other) {
+    return add(of(other));
+  }
+
+  public U256 subtract(final U256 other) {
+    final long r0 = l0 - other.l0;
+    long borrow = Long.compareUnsigned(l0, other.l0) < 0 ? 1 : 0;
+    final long d1 = l1 - other.l1;
+    final long r1 = d1 - borrow;
+    borrow = borrow(l1, other.l1, d1, borrow);
+    final long d2 = l2 - other.l2;
+    final long r2 = d2 - borrow;
+    borrow = borrow(l2, other.l2, d2, borrow);
+    final long r3 = l3 - other.l3 - borrow;
+    return new U256(r0, r1, r2, r3);
+  }
+
+  private static long borrow(
+      final long minuend, final long subtrahend, final long difference, final long borrow) {
+    return Long.compareUnsigned(minuend, subtrahend) < 0
+            || Long.compareUnsigned(difference, borrow) < 0
+        ? 1
+        : 0;
+  }
+
+  public U256 subtract(final long other) {
+    return subtract(of(other));
+  }
+
+  /**
+   * @return the 256 least significant bits of the product
+   */
+  public U256 multiply(final U256 other) {
+    final long[] product = multiplyFull(other);
+    return new U256(product[0], product[1], product[2], product[3]);
+  }
+
+  public U256 multiply(final long other) {
+    return multiply(of(other));
+  }
+
+  /**
+   * @return the full 512-bit product, as 8 little-endian limbs
+   */
+  public long[] multiplyFull(final U256 other) {
+    final long[] a = {l0, l1, l2, l3};
+    final long[] b = {other.l0, other.l1, other.l2, other.l3};
+    final long[] product = new long[8];
+    for (int i = 0; i < 4; i++) {
+      if (a[i] == 0) {
+        continue;
+      }
+      long carry = 0;
+      for (int j = 0; j < 4; j++) {
+        final long lo = a[i] * b[j];
+        long hi = Math.unsignedMultiplyHigh(a[i], b[j]);
+        final long withAccumulator = lo + product[i + j];
+        if (Long.compareUnsigned(withAccumulator, lo) < 0) {
+          hi++;
+        }
+        final long withCarry = withAccumulator + carry;
+        if (Long.compareUnsigned(withCarry, withAccumulator) < 0) {
+          hi++;
+        }
+        product[i + j] = withCarry;
+        carry = hi;
+      }
+      product[i + 4] = carry;
+    }
+    return product;
+  }
+
+  /**
+   * @return the quotient and the remainder of the euclidean division of this value by {@code
+   *     divisor}
+   * @throws ArithmeticException if the divisor is zero
+   */
+  public U256[] divideAndRemainder(final U256 divisor) {
+    final long[][] qr = divideAndRemainder(limbs(), divisor.limbs());
+    return new U256[] {of(qr[0]), of(qr[1])};
+  }
+
+  public U256 divide(final U256 divisor) {
+    return divideAndRemainder(divisor)[0];
+  }
+
+  public U256 divide(final long divisor) {
+    return divide(of(divisor));
+  }
+
+  public U256 mod(final U256 divisor) {
+    return divideAndRemainder(divisor)[1];
+  }
+
+  /**
+   * Euclidean division of arbitrary width unsigned integers.
+   *
+   * @param dividend little-endian 64-bit limbs
+   * @param divisor little-endian 64-bit limbs
+   * @return the quotient (with as many limbs as the dividend) and the remainder (with as many limbs
+   *     as the divisor), as little-endian 64-bit limbs
+   * @throws ArithmeticException if the divisor is zero
+   */
+  public static long[][] divideAndRemainder(final long[] dividend, final long[] divisor) {
+    final int[] u = toDigits(dividend);
+    final int[] v = toDigits(divisor);
+    final int m = significantDigits(u);
+    final int n = significantDigits(v);
+    if (n == 0) {
+      throw new ArithmeticException("Division by zero");
+    }
+
+    final int[] q = new int[u.length];
+    final int[] r = new int[v.length];
+    if (m < n) {
+      System.arraycopy(u, 0, r, 0, m);
+    } else if (n == 1) {
+      final long d = v[0] & INT_MASK;
+      long rem = 0;
+      for (int i = m - 1; i >= 0; i--) {
+        final long current = (rem << 32) | (u[i] & INT_MASK);
+        q[i] = (int) Long.divideUnsigned(current, d);
+        rem = Long.remainderUnsigned(current, d);
+      }
+      r[0] = (int) rem;
+    } else {
+      divideDigits(u, m, v, n, q, r);
+    }
+
+    return new long[][] {fromDigits(q, dividend.length), fromDigits(r, divisor.length)};
+  }
+
+  /** Knuth's algorithm D (TAOCP vol. 2, 4.3.1) on 32-bit digits, for divisors of n >= 2 digits */
+  private static void divideDigits(
+      final int[] u, final int m, final int[] v, final int n, final int[] q, final int[] r) {
+    final long base = 1L << 32;
+    final int s = Integer.numberOfLeadingZeros(v[n - 1]);
+
+    // normalize so that the most significant digit of the divisor has its top bit set
+    final int[] vn = new int[n];
+    for (int i = n - 1; i > 0; i--) {
+      vn[i] = (v[i] << s) | (s == 0 ? 0 : v[i - 1] >>> (32 - s));
+    }
+    vn[0] = v[0] << s;
+    final int[] un = new int[m + 1];
+    un[m] = s == 0 ? 0 : u[m - 1] >>> (32 - s);
+    for (int i = m - 1; i > 0; i--) {
+      un[i] = (u[i] << s) | (s == 0 ? 0 : u[i - 1] >>> (32 - s));
+    }
+    un[0] = u[0] << s;
+
+    final long vTop = vn[n - 1] & INT_MASK;
+    final long vNext = vn[n - 2] & INT_MASK;
+    for (int j = m - n; j >= 0; j--) {
+      final long numerator = ((un[j + n] & INT_MASK) << 32) | (un[j + n - 1] & INT_MASK);
+      long qHat = Long.divideUnsigned(numerator, vTop);
+      long rHat = Long.remainderUnsigned(numerator, vTop);
+      while (qHat >= base
+          || Long.compareUnsigned(qHat * vNext, (rHat << 32) | (un[j + n - 2] & INT_MASK)) > 0) {
+        qHat--;
+        rHat += vTop;
+        if (rHat >= base) {
+          break;
+        }
+      }
+
+      // multiply and subtract
+      long borrow = 0;
+      long t;
+      for (int i = 0; i < n; i++) {
+        final long p = qHat * (vn[i] & INT_MASK);
+        t = (un[i + j] & INT_MASK) - borrow - (p & INT_MASK);
+        un[i + j] = (int) t;
+        borrow = (p >>> 32) - (t >> 32);
+      }
+      t = (un[j + n] & INT_MASK) - borrow;
+      un[j + n] = (int) t;
+
+      q[j] = (int) qHat;
+      if (t < 0) {
+        // qHat was one too large: add the divisor back
+        q[j]--;
+        long carry = 0;
+        for (int i = 0; i < n; i++) {
+          t = (un[i + j] & INT_MASK) + (vn[i] & INT_MASK) + carry;
+          un[i + j] = (int) t;
+          carry = t >>> 32;
+        }
+        un[j + n] += (int) carry;
+      }
+    }
+
+    // unnormalize the remainder
+    for (int i = 0; i < n - 1; i++) {
+      r[i] = (un[i] >>> s) | (s == 0 ? 0 : un[i + 1] << (32 - s));
+    }
+    r[n - 1] = un[n - 1] >>> s;
+  }
+
+  private static int[] toDigits(final long[] limbs) {
+    final int[] digits = new int[2 * limbs.length];
+    for (int i = 0; i < limbs.length; i++) {
+      digits[2 * i] = (int) limbs[i];
+      digits[2 * i + 1] = (int) (limbs[i] >>> 32);
+    }
+    return digits;
+  }
+
+  private static long[] fromDigits(final int[] digits, final int limbCount) {
+    final long[] limbs = new long[limbCount];
+    for (int i = 0; i < limbCount; i++) {
+      limbs[i] = (digits[2 * i] & INT_MASK) | ((long) digits[2 * i + 1] << 32);
+    }
+    return limbs;
+  }
+
+  private static int significantDigits(final int[] digits) {
+    int n = digits.length;
+    while (n > 0 && digits[n - 1] == 0) {
+      n--;
+    }
+    return n;
+  }
+
+  public U256 shiftLeft(final int distance) {
+    if (distance < 0) {
+      return shiftRight(-distance);
+    }
+    if (distance >= 256) {
+      return ZERO;
+    }
+    final long[] a = limbs();
+    final long[] r = new long[4];
+    final int limbShift = distance / 64;
+    final int bitShift = distance % 64;
+    for (int i = 3; i >= limbShift; i--) {
+      r[i] = a[i - limbShift] << bitShift;
+      if (bitShift != 0 && i - limbShift - 1 >= 0) {
+        r[i] |= a[i - limbShift - 1] >>> (64 - bitShift);
+      }
+    }
+    return of(r);
+  }
+
+  public U256 shiftRight(final int distance) {
+    if (distance < 0) {
+      return shiftLeft(-distance);
+    }
+    if (distance >= 256) {
+      return ZERO;
+    }
+    final long[] a = limbs();
+    final long[] r = new long[4];
+    final int limbShift = distance / 64;
+    final int bitShift = distance % 64;
+    for (int i = 0; i + limbShift < 4; i++) {
+      r[i] = a[i + limbShift] >>> bitShift;
+      if (bitShift != 0 && i + limbShift + 1 < 4) {
+        r[i] |= a[i + limbShift + 1] << (64 - bitShift);
+      }
+    }
+    return of(r);
+  }
+
+  public U256 and(final U256 other) {
+    return new U256(l0 & other.l0, l1 & other.l1, l2 & other.l2, l3 & other.l3);
+  }
+
+  /**
+   * @return the 128 most significant bits of this value
+   */
+  public U256 hi() {
+    return new U256(l2, l3, 0, 0);
+  }
+
+  /**
+   * @return the 128 least significant bits of this value
+   */
+  public U256 lo() {
+    return new U256(l0, l1, 0, 0);
+  }
+
+  public static U256 max(final U256 x, final U256 y) {
+    return x.compareTo(y) >= 0 ? x : y;
+  }
+
+  @Override
+  public int compareTo(final U256 other) {
+    int c = Long.compareUnsigned(l3, other.l3);
+    if (c != 0) {
+      return c;
+    }
+    c = Long.compareUnsigned(l2, other.l2);
+    if (c != 0) {
+      return c;
+    }
+    c = Long.compareUnsigned(l1, other.l1);
+    if (c != 0) {
+      return c;
+    }
+    return Long.compareUnsigned(l0, other.l0);
+  }
+
+  public Bytes32 toBytes32() {
+    final byte[] bytes = new byte[32];
+    final long[] limbs = {l3, l2, l1, l0};
+    for (int i = 0; i < 4; i++) {
+      for (int j = 0; j < 8; j++) {
+        bytes[8 * i + j] = (byte) (limbs[i] >>> (56 - 8 * j));
+      }
+    }
+    return Bytes32.wrap(bytes);
+  }
+
+  /**
+   * @return the big-endian representation of this value, without leading zero bytes
+   */
+  public Bytes toMinimalBytes() {
+    return toBytes32().trimLeadingZeros();
+  }
+
+  public BigInteger toBigInteger() {
+    return new BigInteger(1, toBytes32().toArrayUnsafe());
+  }
+
+  @Override
+  public boolean equals(final Object o) {
+    if (this == o) {
+      return true;
+    }
+    if (!(o instanceof U256 other)) {
+      return false;
+    }
+    return l0 == other.l0 && l1 == other.l1 && l2 == other.l2 && l3 == other.l3;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = Long.hashCode(l3);
+    result = 31 * result + Long.hashCode(l2);
+    result = 31 * result + Long.hashCode(l1);
+    return 31 * result + Long.hashCode(l0);
+  }
+
+  @Override
+  public String toString() {
+    return toBytes32().toQuantityHexString();
+  }
+}
@@ -19,8 +19,19 @@ import java.math.BigInteger;
 
 import com.fasterxml.jackson.annotation.JsonValue;
 
-/** Represents an unsigned byte type. */
+/**
+ * Represents an unsigned byte type. There are only 256 instances of this class, one per value, so
+ * that the factories never allocate.
+ */
 public class UnsignedByte {
+  private static final UnsignedByte[] INSTANCES = new UnsignedByte[256];
+
+  static {
+    for (int i = 0; i < INSTANCES.length; i++) {
+      INSTANCES[i] = new UnsignedByte((short) i);
+    }
+  }
+
   public static final UnsignedByte ZERO = UnsignedByte.of(0);
   public static final UnsignedByte[] EMPTY_BYTES16 = new UnsignedByte[16];
   private final short unsignedByte;
@@ -36,11 +47,7 @@ public class UnsignedByte {
    * @return an instance of {@link UnsignedByte}.
    */
   public static UnsignedByte of(final byte b) {
-    final short unsignedB = (short) (b & 0xff);
-
-    checkLength(unsignedB);
-
-    return new UnsignedByte(unsignedB);
+    return INSTANCES[b & 0xff];
   }
 
   /**
@@ -52,7 +59,7 @@ public class UnsignedByte {
   public static UnsignedByte of(final int b) {
     checkLength(b);
 
-    return new UnsignedByte((short) b);
+    return INSTANCES[b];
   }
 
   /**
@@ -64,7 +71,7 @@ public class UnsignedByte {
   public static UnsignedByte of(final long b) {
     checkLength(b);
 
-    return new UnsignedByte((short) b);
+    return INSTANCES[(int) b];
   }
 
   /**
@@ -84,7 +91,7 @@ public class UnsignedByte {
    * @return a bit shifted instance of {@link UnsignedByte}.
    */
   public UnsignedByte shiftLeft(final int shiftAmount) {
-    return new UnsignedByte((short) ((unsignedByte << shiftAmount) & 0xff));
+    return INSTANCES[(unsignedByte << shiftAmount) & 0xff];
   }
 
   /**
@@ -104,7 +111,7 @@ public class UnsignedByte {
    * @return a bit shifted instance of {@link UnsignedByte}.
    */
   public UnsignedByte shiftRight(final int shiftAmount) {
-    return new UnsignedByte((short) ((unsignedByte >> shiftAmount) & 0xff));
+    return INSTANCES[(unsignedByte >> shiftAmount) & 0xff];
   }
 
   /**
@@ -114,7 +121,7 @@ public class UnsignedByte {
    * @return the result of mod division as an instance of {@link UnsignedByte}.
    */
   public UnsignedByte mod(final int m) {
-    return new UnsignedByte((short) (unsignedByte % m));
+    return INSTANCES[unsignedByte % m];
   }
 
   @JsonValue
@@ -153,11 +160,7 @@ public class UnsignedByte {
     if (i < 0 || i >= 8) {
       throw new IndexOutOfBoundsException("Index must be between 0 - 7. Is " + i);
     }
-    String ub = Integer.toBinaryString(this.toInteger());
-    if (ub.length() < 8) {
-      ub = "0".repeat(8 - ub.length()) + ub;
-    }
-    return ub.charAt(i) == '1';
+    return ((unsignedByte >> (7 - i)) & 1) == 1;
   }
 
   /**
@@ -177,10 +180,6 @@ public class UnsignedByte {
     if (i < 0 || i >= 8 || i + length > 8) {
       throw new IndexOutOfBoundsException("Index out of bounds. i=" + i + ", length=" + length);
     }
-    String ub = Integer.toBinaryString(this.toInteger());
-    if (ub.length() < 8) {
-      ub = "0".repeat(8 - ub.length()) + ub;
-    }
-    return Integer.parseInt(ub.substring(i, i + length), 2);
+    return (unsignedByte >> (8 - i - length)) & ((1 << length) - 1);
   }
 }
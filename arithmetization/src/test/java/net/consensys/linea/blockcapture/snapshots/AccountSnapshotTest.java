@@ -0,0 +1,74 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.blockcapture.snapshots;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.evm.account.Account;
+import org.hyperledger.besu.evm.worldstate.WorldView;
+import org.junit.jupiter.api.Test;
+
+public class AccountSnapshotTest {
+  private static final Address ADDRESS = Address.fromHexString("0x1234");
+  private static final Bytes CODE = Bytes.fromHexString("0x600160005260206000f3");
+
+  @Test
+  void codeIsStoredOnceByHash() {
+    final Account account = mock(Account.class);
+    when(account.getNonce()).thenReturn(1L);
+    when(account.getBalance()).thenReturn(Wei.ONE);
+    when(account.getCode()).thenReturn(CODE);
+    when(account.getCodeHash()).thenReturn(Hash.hash(CODE));
+    final WorldView world = mock(WorldView.class);
+    when(world.get(ADDRESS)).thenReturn(account);
+    final Map<String, String> codes = new HashMap<>();
+
+    final AccountSnapshot first = AccountSnapshot.from(ADDRESS, world, codes).orElseThrow();
+    final AccountSnapshot second = AccountSnapshot.from(ADDRESS, world, codes).orElseThrow();
+
+    assertThat(first.code()).isNull();
+    assertThat(second.codeHash()).isEqualTo(Hash.hash(CODE).toHexString());
+    assertThat(codes).containsExactly(Map.entry(first.codeHash(), CODE.toHexString()));
+    verify(account, times(1)).getCode();
+
+    final ConflationSnapshot conflation = new ConflationSnapshot(null, null, null, null, codes);
+    assertThat(conflation.code(first)).isEqualTo(CODE);
+  }
+
+  @Test
+  void deltaOnlyKeepsTheChangedFields() {
+    final AccountSnapshot before =
+        new AccountSnapshot(ADDRESS.toHexString(), 1L, "0x01", null, "0xaa");
+    final AccountSnapshot after =
+        new AccountSnapshot(ADDRESS.toHexString(), 2L, "0x01", null, "0xaa");
+
+    assertThat(after.delta(before))
+        .contains(new AccountSnapshot(ADDRESS.toHexString(), 2L, null, null, null));
+    assertThat(before.delta(before)).isEmpty();
+    assertThat(after.delta(AccountSnapshot.absent(ADDRESS))).contains(after);
+  }
+}
@@ -28,6 +28,7 @@ import net.consensys.linea.plugins.continoustracing.ContinuousTracingConfigurati
 import net.consensys.linea.plugins.exception.InvalidBlockTraceException;
 import net.consensys.linea.plugins.exception.TraceVerificationException;
 import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.module.DebugModeConfiguration;
 import org.hyperledger.besu.datatypes.Hash;
 import org.hyperledger.besu.plugin.data.BlockTraceResult;
 import org.hyperledger.besu.plugin.data.TransactionTraceResult;
@@ -59,7 +60,8 @@ public class ContinuousTracerTest {
   @BeforeEach
   void setUp() {
     continuousTracingConfiguration =
-        new ContinuousTracingConfiguration(true, "testZkEvmBin", tracesOutputPath.toString());
+        new ContinuousTracingConfiguration(
+            true, "testZkEvmBin", tracesOutputPath.toString(), DebugModeConfiguration.DISABLED);
     continuousTracer =
         new ContinuousTracer(traceServiceMock, corsetValidatorMock, continuousTracingConfiguration);
   }
@@ -0,0 +1,97 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.metrics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+public class TracerMetricsTest {
+  @Test
+  void countersAreSharedByNameAndLabels() {
+    final TracerMetrics metrics = new TracerMetrics();
+
+    metrics.counter("requests_total", "Requests", "endpoint", "a").inc();
+    metrics.counter("requests_total", "Requests", "endpoint", "a").inc(2);
+    metrics.counter("requests_total", "Requests", "endpoint", "b").inc();
+
+    assertThat(metrics.counter("requests_total", "Requests", "endpoint", "a").value())
+        .isEqualTo(3);
+    assertThat(metrics.render())
+        .contains("# TYPE linea_tracer_requests_total counter\n")
+        .contains("linea_tracer_requests_total{endpoint=\"a\"} 3\n")
+        .contains("linea_tracer_requests_total{endpoint=\"b\"} 1\n");
+  }
+
+  @Test
+  void histogramBucketsAreCumulative() {
+    final TracerMetrics metrics = new TracerMetrics();
+    final TracerMetrics.Histogram histogram =
+        metrics.histogram("duration_seconds", "Durations", new double[] {1, 10});
+
+    histogram.observe(0.5);
+    histogram.observe(1);
+    histogram.observe(5);
+    histogram.observe(50);
+
+    assertThat(metrics.render())
+        .contains("linea_tracer_duration_seconds_bucket{le=\"1\"} 2\n")
+        .contains("linea_tracer_duration_seconds_bucket{le=\"10\"} 3\n")
+        .contains("linea_tracer_duration_seconds_bucket{le=\"+Inf\"} 4\n")
+        .contains("linea_tracer_duration_seconds_sum 56.5\n")
+        .contains("linea_tracer_duration_seconds_count 4\n");
+  }
+
+  @Test
+  void gaugesAreReadWhenRendered() {
+    final TracerMetrics metrics = new TracerMetrics();
+    final long[] lag = {1};
+    metrics.gauge("lag_blocks", "Lag", () -> lag[0]);
+
+    lag[0] = 7;
+
+    assertThat(metrics.render()).contains("linea_tracer_lag_blocks 7\n");
+  }
+
+  @Test
+  void failedRequestsAreCountedAndTimed() {
+    final TracerMetrics metrics = new TracerMetrics();
+
+    assertThatThrownBy(
+            () ->
+                metrics.timeRequest(
+                    "ping",
+                    () -> {
+                      throw new IllegalStateException("boom");
+                    }))
+        .isInstanceOf(IllegalStateException.class);
+    assertThat(metrics.timeRequest("ping", () -> 42)).isEqualTo(42);
+
+    assertThat(metrics.render())
+        .contains("linea_tracer_request_failures_total{endpoint=\"ping\"} 1\n")
+        .contains("linea_tracer_request_duration_seconds_count{endpoint=\"ping\"} 2\n");
+  }
+
+  @Test
+  void metricsCanNotChangeType() {
+    final TracerMetrics metrics = new TracerMetrics();
+    metrics.counter("events_total", "Events");
+
+    assertThatThrownBy(() -> metrics.histogram("events_total", "Events", new double[] {1}))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.linecounts;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+
+import net.consensys.linea.zktracer.ZkTracer;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.plugin.services.TraceService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+public class GenerateLineCountsV2Test {
+  private static final Hash CANONICAL = Hash.hash(Bytes.of(1));
+  private static final Hash REORGED = Hash.hash(Bytes.of(2));
+
+  @Mock TraceService traceServiceMock;
+  @Mock ZkTracer zkTracerMock;
+
+  @Test
+  void theRequestedBlockIsTraced() {
+    when(zkTracerMock.getTracedBlockHashes()).thenReturn(List.of(CANONICAL));
+
+    assertThatCode(
+            () -> GenerateLineCountsV2.traceBlock(traceServiceMock, zkTracerMock, 10, CANONICAL))
+        .doesNotThrowAnyException();
+  }
+
+  @Test
+  void anotherBlockAtTheSameHeightIsRejected() {
+    when(zkTracerMock.getTracedBlockHashes()).thenReturn(List.of(CANONICAL));
+
+    assertThatThrownBy(
+            () -> GenerateLineCountsV2.traceBlock(traceServiceMock, zkTracerMock, 10, REORGED))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("no longer");
+  }
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.linecounts;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Hash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class LineCountsStoreTest {
+  private static final Hash CANONICAL = Hash.hash(Bytes.of(1));
+  private static final Hash REORGED = Hash.hash(Bytes.of(2));
+  private static final Map<String, Integer> COUNTS = Map.of("HUB", 12, "MMU", 34);
+
+  @Test
+  void countsAreKeyedByBlockHash() {
+    final LineCountsStore store = new LineCountsStore();
+    store.put(10, CANONICAL, COUNTS);
+
+    assertThat(store.get(10, CANONICAL)).contains(COUNTS);
+    assertThat(store.get(10, REORGED)).isEmpty();
+  }
+
+  @Test
+  void persistedCountsSurviveRestarts(@TempDir final Path root) throws IOException {
+    final LineCountsStore store = new LineCountsStore();
+    store.persistTo(root);
+    store.put(10, CANONICAL, COUNTS);
+
+    final LineCountsStore restarted = new LineCountsStore();
+    assertThat(restarted.get(10, CANONICAL)).isEmpty();
+    restarted.persistTo(root);
+    assertThat(restarted.get(10, CANONICAL)).contains(COUNTS);
+  }
+
+  @Test
+  void pruningDeletesOlderBlocks(@TempDir final Path root) throws IOException {
+    final LineCountsStore store = new LineCountsStore();
+    store.persistTo(root);
+    store.put(9, REORGED, COUNTS);
+    store.put(10, CANONICAL, COUNTS);
+
+    store.pruneBelow(10);
+    store.clear();
+
+    assertThat(store.get(9, REORGED)).isEmpty();
+    assertThat(store.get(10, CANONICAL)).contains(COUNTS);
+  }
+
+  @Test
+  void interruptedWritesAreDeletedOnRestart(@TempDir final Path root) throws IOException {
+    final LineCountsStore store = new LineCountsStore();
+    store.persistTo(root);
+    store.put(10, CANONICAL, COUNTS);
+    final Path directory;
+    try (Stream<Path> versions = Files.list(root)) {
+      directory = versions.findFirst().orElseThrow();
+    }
+    final Path interrupted =
+        directory.resolve("11_" + REORGED.toUnprefixedHexString() + ".json.tmp");
+    Files.writeString(interrupted, "{\"HUB\":");
+
+    new LineCountsStore().persistTo(root);
+
+    assertThat(interrupted).doesNotExist();
+    try (Stream<Path> files = Files.list(directory)) {
+      assertThat(files).hasSize(1);
+    }
+  }
+}
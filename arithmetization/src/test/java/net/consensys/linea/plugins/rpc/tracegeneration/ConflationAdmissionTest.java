@@ -0,0 +1,113 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.tracegeneration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.security.InvalidParameterException;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.hyperledger.besu.plugin.data.BlockContext;
+import org.junit.jupiter.api.Test;
+
+public class ConflationAdmissionTest {
+  private static final int LINES_PER_BLOCK = 1024 * 1024 / (int) ConflationAdmission.BYTES_PER_LINE;
+  private static final long BYTES_PER_BLOCK = LINES_PER_BLOCK * ConflationAdmission.BYTES_PER_LINE;
+
+  /** Every block has known line counts, worth about 1 MiB of heap */
+  private static ConflationAdmission withOneMibPerBlock(final long budgetMib, final long timeout) {
+    final BlockContext block = mock(BlockContext.class);
+    return new ConflationAdmission(
+        budgetMib,
+        timeout,
+        header ->
+            Optional.of(
+                Map.of("HUB", LINES_PER_BLOCK / 2, "MMU", LINES_PER_BLOCK - LINES_PER_BLOCK / 2)),
+        n -> Optional.of(block));
+  }
+
+  @Test
+  void disabledAdmissionAcceptsEverything() {
+    final ConflationAdmission admission = withOneMibPerBlock(0, 0);
+
+    final ConflationAdmission.Ticket ticket = admission.admit(0, 1_000_000);
+
+    assertThat(admission.enabled()).isFalse();
+    assertThat(ticket.estimatedBytes()).isZero();
+    assertThat(admission.reservedBytes()).isZero();
+  }
+
+  @Test
+  void estimateFallsBackOnGasAndTransactions() {
+    final BlockContext block = mock(BlockContext.class, RETURNS_DEEP_STUBS);
+    when(block.getBlockHeader().getGasUsed()).thenReturn(1_000L);
+    doReturn(List.of()).when(block.getBlockBody()).getTransactions();
+    final ConflationAdmission admission =
+        new ConflationAdmission(
+            1,
+            0,
+            header -> Optional.empty(),
+            n -> n == 1 ? Optional.of(block) : Optional.empty());
+
+    assertThat(admission.estimate(0, 2)).isEqualTo(1_000L * ConflationAdmission.BYTES_PER_GAS);
+  }
+
+  @Test
+  void tooLargeConflationsAreRejectedWithAFittingRange() {
+    final ConflationAdmission admission = withOneMibPerBlock(10, 0);
+
+    assertThatThrownBy(() -> admission.admit(1, 40))
+        .isInstanceOf(InvalidParameterException.class)
+        .hasMessageContaining("CONFLATION_TOO_LARGE")
+        .hasMessageContaining("at most 10 blocks");
+    assertThat(admission.reservedBytes()).isZero();
+  }
+
+  @Test
+  void conflationsWaitForTheBudgetToBeReleased() throws Exception {
+    final ConflationAdmission admission = withOneMibPerBlock(10, 10_000);
+    final ConflationAdmission.Ticket first = admission.admit(1, 6);
+    assertThat(admission.reservedBytes()).isEqualTo(6 * BYTES_PER_BLOCK);
+
+    final CompletableFuture<ConflationAdmission.Ticket> second =
+        CompletableFuture.supplyAsync(() -> admission.admit(7, 12));
+    Thread.sleep(100);
+    assertThat(second).isNotDone();
+
+    first.release();
+    assertThat(second.get(5, TimeUnit.SECONDS).estimatedBytes()).isEqualTo(6 * BYTES_PER_BLOCK);
+    assertThat(admission.reservedBytes()).isEqualTo(6 * BYTES_PER_BLOCK);
+  }
+
+  @Test
+  void conflationsGiveUpWhenTheBudgetIsNotReleasedInTime() {
+    final ConflationAdmission admission = withOneMibPerBlock(10, 50);
+    admission.admit(1, 6);
+
+    assertThatThrownBy(() -> admission.admit(7, 12))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("MEMORY_BUDGET_EXHAUSTED");
+  }
+}
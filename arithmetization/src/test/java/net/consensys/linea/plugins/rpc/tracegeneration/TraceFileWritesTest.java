@@ -0,0 +1,135 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.plugins.rpc.tracegeneration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class TraceFileWritesTest {
+  private static final Path PATH = Path.of("1-10.conflated.lt");
+
+  @Test
+  void requestsForATraceFileBeingWrittenShareItsWrite() {
+    final TraceFileWrites writes = new TraceFileWrites();
+    final CompletableFuture<Path> first = new CompletableFuture<>();
+    final CompletableFuture<Path> second = new CompletableFuture<>();
+
+    assertThat(writes.register(PATH, first)).isSameAs(first);
+    assertThat(writes.register(PATH, second)).isSameAs(first);
+    assertThat(writes.register(Path.of("11-20.conflated.lt"), second)).isSameAs(second);
+  }
+
+  @Test
+  void theWriteOfATraceFileAlreadyWrittenIsCompleted(@TempDir final Path directory)
+      throws IOException {
+    final TraceFileWrites writes = new TraceFileWrites();
+    final Path path = Files.createFile(directory.resolve(PATH));
+    final CompletableFuture<Path> write = new CompletableFuture<>();
+
+    assertThat(writes.register(path, write)).isSameAs(write);
+    assertThat(write).isCompletedWithValue(path);
+
+    // no longer pending, so that a deleted trace file is written again
+    Files.delete(path);
+    final CompletableFuture<Path> next = new CompletableFuture<>();
+    assertThat(writes.register(path, next)).isSameAs(next);
+    assertThat(next).isNotDone();
+  }
+
+  @Test
+  void aCompletedWriteIsNoLongerPending() {
+    final TraceFileWrites writes = new TraceFileWrites();
+    final CompletableFuture<Path> first = new CompletableFuture<>();
+    writes.register(PATH, first);
+
+    first.complete(PATH);
+
+    final CompletableFuture<Path> second = new CompletableFuture<>();
+    assertThat(writes.register(PATH, second)).isSameAs(second);
+    assertThat(writes.takeUnreportedFailure(PATH)).isEmpty();
+  }
+
+  @Test
+  void concurrentRequestsRegisterASingleWrite() throws Exception {
+    final TraceFileWrites writes = new TraceFileWrites();
+    final int requests = 16;
+    final ExecutorService executor = Executors.newFixedThreadPool(requests);
+    final CountDownLatch start = new CountDownLatch(1);
+    try {
+      final List<Future<CompletableFuture<Path>>> registered = new ArrayList<>();
+      for (int i = 0; i < requests; i++) {
+        registered.add(
+            executor.submit(
+                () -> {
+                  start.await();
+                  return writes.register(PATH, new CompletableFuture<>());
+                }));
+      }
+      start.countDown();
+
+      final Set<CompletableFuture<Path>> distinct = new HashSet<>();
+      for (Future<CompletableFuture<Path>> write : registered) {
+        distinct.add(write.get());
+      }
+      assertThat(distinct).hasSize(1);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  void aFailureNobodyWaitedForIsReportedToTheNextRequest() {
+    final TraceFileWrites writes = new TraceFileWrites();
+    final CompletableFuture<Path> write = new CompletableFuture<>();
+    writes.register(PATH, write);
+    final IOException failure = new IOException("disk full");
+
+    write.completeExceptionally(failure);
+
+    assertThat(writes.takeUnreportedFailure(PATH)).containsSame(failure);
+    assertThat(writes.takeUnreportedFailure(PATH)).isEmpty();
+    final CompletableFuture<Path> retry = new CompletableFuture<>();
+    assertThat(writes.register(PATH, retry)).isSameAs(retry);
+  }
+
+  @Test
+  void aFailureReportedToAWaitingRequestIsNotReportedAgain() {
+    final TraceFileWrites writes = new TraceFileWrites();
+    final CompletableFuture<Path> write = new CompletableFuture<>();
+    writes.register(PATH, write);
+    final IOException failure = new IOException("disk full");
+
+    write.completeExceptionally(failure);
+    writes.reported(PATH, failure);
+
+    assertThat(writes.takeUnreportedFailure(PATH)).isEmpty();
+  }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import static net.consensys.linea.testing.ToyFixtures.ADDER;
+import static net.consensys.linea.testing.ToyFixtures.HASHER;
+import static net.consensys.linea.testing.ToyFixtures.SENDER;
+import static net.consensys.linea.testing.ToyFixtures.call;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import net.consensys.linea.corset.CorsetValidator;
+import net.consensys.linea.testing.BytecodeCompiler;
+import net.consensys.linea.testing.ExecutionEnvironment;
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyConflation;
+import net.consensys.linea.testing.ToyExecutionEnvironmentV2;
+import net.consensys.linea.zktracer.exceptions.TracingExceptions;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.junit.jupiter.api.Test;
+
+public class LineLimitWatchdogTest {
+  /** Calls the {@code HASHER}, so that it is interrupted in a nested context */
+  private static final ToyAccount CALLER =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(8)
+          .address(Address.fromHexString("0x333333"))
+          .code(
+              BytecodeCompiler.newProgram()
+                  .push(0) // return size
+                  .push(0) // return offset
+                  .push(0) // call data size
+                  .push(0) // call data offset
+                  .push(0) // value
+                  .push(HASHER.getAddress())
+                  .push(500_000) // gas
+                  .op(OpCode.CALL)
+                  .op(OpCode.POP)
+                  .compile())
+          .build();
+
+  private static final List<ToyAccount> ACCOUNTS = List.of(SENDER, ADDER, HASHER, CALLER);
+
+  private final AtomicInteger hub = new AtomicInteger();
+  private final AtomicInteger keccak = new AtomicInteger();
+
+  private LineLimitWatchdog watchdog(final int checkInterval) {
+    return new LineLimitWatchdog(
+        Map.of("HUB", 100, "SHAKIRA_DATA", 10, "UNKNOWN", 0),
+        Map.of("HUB", hub::get, "SHAKIRA_DATA", keccak::get, "ADD", () -> 1_000),
+        checkInterval);
+  }
+
+  @Test
+  void modulesWithinTheirLimitsAreNotInterrupted() {
+    final LineLimitWatchdog watchdog = watchdog(1);
+    hub.set(100);
+    keccak.set(10);
+
+    assertThat(watchdog.checkInstruction()).isFalse();
+    assertThat(watchdog.overflow()).isEmpty();
+  }
+
+  @Test
+  void theOverflowingModuleIsReported() {
+    final LineLimitWatchdog watchdog = watchdog(1);
+    keccak.set(11);
+
+    assertThat(watchdog.checkInstruction()).isTrue();
+    assertThat(watchdog.tripped()).isTrue();
+    assertThat(watchdog.overflow())
+        .contains(new LineLimitWatchdog.Overflow("SHAKIRA_DATA", 11, 10));
+  }
+
+  @Test
+  void lineCountsAreOnlyCheckedEveryInterval() {
+    final LineLimitWatchdog watchdog = watchdog(3);
+    hub.set(101);
+
+    assertThat(watchdog.checkInstruction()).isFalse();
+    assertThat(watchdog.checkInstruction()).isFalse();
+    assertThat(watchdog.checkInstruction()).isTrue();
+  }
+
+  @Test
+  void theOverflowIsForgottenOnReset() {
+    final LineLimitWatchdog watchdog = watchdog(1);
+    hub.set(101);
+    assertThat(watchdog.check()).isTrue();
+
+    hub.set(50);
+    watchdog.reset();
+
+    assertThat(watchdog.tripped()).isFalse();
+    assertThat(watchdog.check()).isFalse();
+  }
+
+  /** Start a conflation whose SHAKIRA_DATA limit is exceeded by a call to the {@code HASHER} */
+  private static ToyConflation startLimitedConflation(final ZkTracer tracer) {
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    conflation.execute(call(ADDER, 5));
+    tracer.setLineLimits(
+        Map.of("SHAKIRA_DATA", tracer.getModulesLineCount().get("SHAKIRA_DATA") + 10), 1);
+    return conflation;
+  }
+
+  private static void assertUnpoppedTransactionReported(final ZkTracer tracer) {
+    assertThat(tracer.getTracingExceptions())
+        .anySatisfy(e -> assertThat(e).hasMessageContaining("was not popped"));
+    assertThat(tracer.getLineLimitWatchdog().orElseThrow().tripped()).isFalse();
+  }
+
+  @Test
+  void anInterruptedTransactionIsPoppedAndTheConflationCompleted() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = startLimitedConflation(tracer);
+
+    conflation.simulate(call(CALLER, 6));
+
+    // interrupted within the HASHER, whose context exit and pending defers were never resolved
+    assertThat(tracer.getLineLimitWatchdog().orElseThrow().tripped()).isTrue();
+    assertThat(tracer.getLineLimitWatchdog().orElseThrow().overflow().orElseThrow().module())
+        .isEqualTo("SHAKIRA_DATA");
+    assertThat(tracer.getHub().callStack().depth()).isEqualTo(1);
+
+    tracer.popLastTransaction();
+    assertThat(tracer.getLineLimitWatchdog().orElseThrow().tripped()).isFalse();
+
+    conflation.execute(call(ADDER, 6));
+    conflation.end();
+
+    assertThat(tracer.getTracingExceptions()).isEmpty();
+    ExecutionEnvironment.checkTracer(tracer, new CorsetValidator(), Optional.empty());
+  }
+
+  @Test
+  void anUnpoppedTransactionIsReportedAtTheNextTransaction() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = startLimitedConflation(tracer);
+    conflation.simulate(call(CALLER, 6));
+
+    conflation.simulate(call(ADDER, 6));
+
+    assertUnpoppedTransactionReported(tracer);
+  }
+
+  @Test
+  void anUnpoppedTransactionIsReportedAtTheEndOfTheBlock() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = startLimitedConflation(tracer);
+    conflation.simulate(call(CALLER, 6));
+
+    conflation.endBlock();
+
+    assertUnpoppedTransactionReported(tracer);
+  }
+
+  @Test
+  void anUnpoppedTransactionIsReportedAtTheEndOfTheConflation() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = startLimitedConflation(tracer);
+    conflation.simulate(call(CALLER, 6));
+
+    assertThatThrownBy(conflation::endConflation).isInstanceOf(TracingExceptions.class);
+    assertUnpoppedTransactionReported(tracer);
+  }
+}
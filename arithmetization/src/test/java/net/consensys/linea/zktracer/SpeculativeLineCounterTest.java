@@ -0,0 +1,123 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import static net.consensys.linea.testing.ToyFixtures.ADDER;
+import static net.consensys.linea.testing.ToyFixtures.HASHER;
+import static net.consensys.linea.testing.ToyFixtures.SENDER;
+import static net.consensys.linea.testing.ToyFixtures.call;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import net.consensys.linea.corset.CorsetValidator;
+import net.consensys.linea.testing.ExecutionEnvironment;
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyConflation;
+import net.consensys.linea.testing.ToyExecutionEnvironmentV2;
+import net.consensys.linea.zktracer.SpeculativeLineCounter.Outcome;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.junit.jupiter.api.Test;
+
+public class SpeculativeLineCounterTest {
+  private static final List<ToyAccount> ACCOUNTS = List.of(SENDER, ADDER, HASHER);
+
+  @Test
+  void candidatesAreEvaluatedAgainstTheSameBaseAndReverted() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    conflation.execute(call(ADDER, 5));
+    final Map<String, Integer> baseLineCount = tracer.getModulesLineCount();
+
+    final Transaction adding = call(ADDER, 6);
+    final Transaction hashing = call(HASHER, 6);
+    final Map<Transaction, Outcome> outcomes =
+        new SpeculativeLineCounter(tracer).evaluate(List.of(adding, hashing), conflation::simulate);
+
+    for (Outcome outcome : outcomes.values()) {
+      assertThat(outcome.isTraceable()).isTrue();
+      assertThat(outcome.lineCountDelta().get("BLOCK_TRANSACTIONS")).isEqualTo(1);
+      assertThat(outcome.lineCountDelta().get("HUB")).isPositive();
+      for (Map.Entry<String, Integer> module : outcome.lineCount().entrySet()) {
+        assertThat(outcome.lineCountDelta().get(module.getKey()))
+            .isEqualTo(module.getValue() - baseLineCount.get(module.getKey()));
+      }
+    }
+    assertThat(outcomes.get(adding).lineCountDelta().get("ADD")).isPositive();
+    assertThat(outcomes.get(hashing).lineCountDelta().get("SHAKIRA_DATA")).isPositive();
+    assertThat(tracer.getModulesLineCount()).isEqualTo(baseLineCount);
+  }
+
+  @Test
+  void candidatesFailingToTraceAreReportedAndReverted() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    conflation.execute(call(ADDER, 5));
+    final Map<String, Integer> baseLineCount = tracer.getModulesLineCount();
+
+    final Transaction candidate = call(ADDER, 6);
+    final Outcome outcome =
+        new SpeculativeLineCounter(tracer)
+            .evaluate(
+                List.of(candidate),
+                tx -> {
+                  conflation.simulate(tx);
+                  tracer.getTracingExceptions().add(new IllegalStateException("tracing failed"));
+                })
+            .get(candidate);
+
+    assertThat(outcome.isTraceable()).isFalse();
+    assertThat(outcome.tracingExceptions()).hasSize(1);
+    assertThat(outcome.lineCount()).isEqualTo(baseLineCount);
+    assertThat(tracer.getTracingExceptions()).isEmpty();
+    assertThat(tracer.getModulesLineCount()).isEqualTo(baseLineCount);
+  }
+
+  @Test
+  void theTracerStateIsResetAfterEveryCandidate() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    tracer.setLineCountsByTx(true);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    final Transaction first = call(ADDER, 5);
+    conflation.execute(first);
+    final Map<String, Integer> limits =
+        Map.of("SHAKIRA_DATA", tracer.getModulesLineCount().get("SHAKIRA_DATA") + 10);
+    tracer.setLineLimits(limits, 1);
+
+    final Transaction candidate = call(HASHER, 6);
+    final Outcome outcome =
+        new SpeculativeLineCounter(tracer)
+            .evaluate(List.of(candidate), conflation::simulate)
+            .get(candidate);
+    assertThat(outcome.overflowingModules(limits)).containsExactly("SHAKIRA_DATA");
+
+    // neither the line counts by transaction nor the watchdog remember the candidate
+    assertThat(tracer.getLineLimitWatchdog().orElseThrow().tripped()).isFalse();
+    assertThat(tracer.getTransactionLineCounts().orElseThrow().byTransaction())
+        .containsOnlyKeys(first.getHash().toHexString());
+
+    final Transaction second = call(ADDER, 6);
+    conflation.execute(second);
+    conflation.end();
+
+    assertThat(tracer.getTracingExceptions()).isEmpty();
+    assertThat(tracer.getTransactionLineCounts().orElseThrow().byTransaction())
+        .containsOnlyKeys(first.getHash().toHexString(), second.getHash().toHexString());
+    ExecutionEnvironment.checkTracer(tracer, new CorsetValidator(), Optional.empty());
+  }
+}
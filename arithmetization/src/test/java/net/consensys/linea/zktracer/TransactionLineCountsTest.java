@@ -0,0 +1,55 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Map;
+
+import org.hyperledger.besu.datatypes.Hash;
+import org.junit.jupiter.api.Test;
+
+public class TransactionLineCountsTest {
+  private static final Hash TX_1 = Hash.fromHexStringLenient("0x01");
+  private static final Hash TX_2 = Hash.fromHexStringLenient("0x02");
+
+  @Test
+  void linesAreAttributedToTheTransactionAddingThem() {
+    final TransactionLineCounts lineCounts = new TransactionLineCounts();
+
+    lineCounts.startTransaction(Map.of("HUB", 10, "ADD", 0));
+    lineCounts.endTransaction(TX_1, Map.of("HUB", 25, "ADD", 3));
+    // lines traced at the block boundary are attributed to no transaction
+    lineCounts.startTransaction(Map.of("HUB", 30, "ADD", 3));
+    lineCounts.endTransaction(TX_2, Map.of("HUB", 31, "ADD", 3, "MUL", 8));
+
+    assertThat(lineCounts.byTransaction())
+        .containsExactly(
+            Map.entry(TX_1.toHexString(), Map.of("HUB", 15, "ADD", 3)),
+            Map.entry(TX_2.toHexString(), Map.of("HUB", 1, "MUL", 8)));
+  }
+
+  @Test
+  void poppedTransactionsAreForgotten() {
+    final TransactionLineCounts lineCounts = new TransactionLineCounts();
+
+    lineCounts.startTransaction(Map.of("HUB", 0));
+    lineCounts.endTransaction(TX_1, Map.of("HUB", 5));
+    lineCounts.popTransaction(TX_1);
+
+    assertThat(lineCounts.byTransaction()).isEmpty();
+  }
+}
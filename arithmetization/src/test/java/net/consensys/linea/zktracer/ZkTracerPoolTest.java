@@ -0,0 +1,69 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+public class ZkTracerPoolTest {
+
+  @Test
+  void releasedTracersAreResetAndReused() {
+    final ZkTracerPool pool = new ZkTracerPool(ZkTracer::new, 2);
+
+    final ZkTracer tracer = pool.acquire();
+    tracer.getHub().modexpEffectiveCall().enterTransaction();
+    tracer.getHub().modexpEffectiveCall().addPrecompileLimit(3);
+    assertThat(tracer.getHub().modexpEffectiveCall().lineCount()).isEqualTo(3);
+    pool.release(tracer);
+
+    final ZkTracer reused = pool.acquire();
+    assertThat(reused).isSameAs(tracer);
+    assertThat(reused.getHub().modexpEffectiveCall().lineCount()).isEqualTo(0);
+    pool.release(reused);
+  }
+
+  @Test
+  void idleTracersAreBoundedByTheHighWaterMark() {
+    final ZkTracerPool pool = new ZkTracerPool(ZkTracer::new, 2);
+
+    final ZkTracer first = pool.acquire();
+    final ZkTracer second = pool.acquire();
+    final ZkTracer third = pool.acquire();
+    assertThat(pool.highWaterMark()).isEqualTo(3);
+
+    pool.release(first);
+    pool.release(second);
+    pool.release(third);
+    assertThat(pool.inUse()).isEqualTo(0);
+    assertThat(pool.idleCount()).isEqualTo(2);
+  }
+
+  @Test
+  void tracersOfHugeConflationsAreDropped() {
+    final long freshLines = new ZkTracer().totalLineCount();
+    final ZkTracerPool pool = new ZkTracerPool(ZkTracer::new, 2, freshLines + 2);
+
+    final ZkTracer tracer = pool.acquire();
+    tracer.getHub().modexpEffectiveCall().enterTransaction();
+    tracer.getHub().modexpEffectiveCall().addPrecompileLimit(3);
+    pool.release(tracer);
+
+    assertThat(pool.idleCount()).isZero();
+    assertThat(pool.acquire()).isNotSameAs(tracer);
+  }
+}
@@ -15,15 +15,154 @@
 
 package net.consensys.linea.zktracer;
 
+import static net.consensys.linea.testing.ToyFixtures.KEY_PAIR;
+import static net.consensys.linea.testing.ToyFixtures.SENDER;
+import static net.consensys.linea.testing.ToyFixtures.call;
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import net.consensys.linea.testing.BytecodeCompiler;
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyConflation;
+import net.consensys.linea.testing.ToyTransaction;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
 public class ZkTracerTest {
+  /** Deploys a one-byte contract with CREATE2, then hashes and logs its init code */
+  private static final ToyAccount DEPLOYER =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(6)
+          .address(Address.fromHexString("0x333333"))
+          .code(deployer())
+          .build();
+
+  private static final ToyAccount RECIPIENT =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(7)
+          .address(Address.fromHexString("0x444444"))
+          .build();
+
+  private static final List<ToyAccount> ACCOUNTS = List.of(SENDER, DEPLOYER);
+
+  private static final List<Transaction> TRANSACTIONS =
+      List.of(call(DEPLOYER, 5), call(DEPLOYER, 6));
+
+  @TempDir Path tempDir;
+
+  private static Bytes deployer() {
+    final Bytes initCode =
+        BytecodeCompiler.newProgram()
+            .push(0x2a)
+            .push(0)
+            .op(OpCode.MSTORE8)
+            .push(1)
+            .push(0)
+            .op(OpCode.RETURN)
+            .compile();
+    final int offset = 32 - initCode.size();
+    return BytecodeCompiler.newProgram()
+        .push(initCode)
+        .push(0)
+        .op(OpCode.MSTORE)
+        .push(0) // salt
+        .push(initCode.size())
+        .push(offset)
+        .push(0) // value
+        .op(OpCode.CREATE2)
+        .op(OpCode.POP)
+        .push(initCode.size())
+        .push(offset)
+        .op(OpCode.SHA3)
+        .op(OpCode.POP)
+        .push(initCode.size())
+        .push(offset)
+        .op(OpCode.LOG0)
+        .compile();
+  }
+
+  private static Transaction transfer(final long nonce) {
+    return ToyTransaction.builder()
+        .sender(SENDER)
+        .to(RECIPIENT)
+        .keyPair(KEY_PAIR)
+        .nonce(nonce)
+        .value(Wei.ONE)
+        .build();
+  }
+
+  private static Map<String, Integer> trace(final ZkTracer tracer, final Path traceFile) {
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    for (Transaction tx : TRANSACTIONS) {
+      conflation.execute(tx);
+    }
+    conflation.end();
+    tracer.writeToFile(traceFile);
+    return tracer.getModulesLineCount();
+  }
 
   @Test
   public void createNewTracer() {
     final ZkTracer zkTracer = new ZkTracer();
     assertThat(zkTracer.isExtendedTracing()).isTrue();
   }
+
+  @Test
+  void aResetTracerTracesLikeAFreshOne() throws IOException {
+    final Map<String, Integer> freshLineCounts =
+        trace(new ZkTracer(), tempDir.resolve("fresh.lt"));
+
+    final ZkTracer reused = new ZkTracer();
+    trace(reused, tempDir.resolve("first.lt"));
+    reused.reset();
+    final Map<String, Integer> reusedLineCounts = trace(reused, tempDir.resolve("reused.lt"));
+
+    assertThat(reusedLineCounts).isEqualTo(freshLineCounts);
+    assertThat(Files.mismatch(tempDir.resolve("fresh.lt"), tempDir.resolve("reused.lt")))
+        .isEqualTo(-1L);
+  }
+
+  @Test
+  void transactionLineCountsAddUpToTheModuleTotals() {
+    final List<ToyAccount> accounts = List.of(SENDER, DEPLOYER, RECIPIENT);
+    final Transaction transfer = transfer(5);
+
+    final ZkTracer tracer = new ZkTracer();
+    tracer.setLineCountsByTx(true);
+    final ToyConflation conflation = ToyConflation.start(tracer, accounts);
+    conflation.execute(transfer);
+    conflation.execute(call(DEPLOYER, 6));
+    conflation.end();
+    final Map<String, Integer> totals = tracer.getModulesLineCount();
+    final Map<String, Map<String, Integer>> byTransaction =
+        tracer.getTransactionLineCounts().orElseThrow().byTransaction();
+
+    // the lines traced at the block and conflation boundaries
+    final ZkTracer emptyBlockTracer = new ZkTracer();
+    ToyConflation.start(emptyBlockTracer, accounts).end();
+    final Map<String, Integer> boundaries = emptyBlockTracer.getModulesLineCount();
+
+    assertThat(byTransaction).hasSize(2);
+    // a transfer is skipped by the hub, which traces it at the start of the transaction
+    assertThat(byTransaction.get(transfer.getHash().toHexString())).containsKey("HUB");
+    for (Map.Entry<String, Integer> module : totals.entrySet()) {
+      int attributed = boundaries.get(module.getKey());
+      for (Map<String, Integer> transaction : byTransaction.values()) {
+        attributed += transaction.getOrDefault(module.getKey(), 0);
+      }
+      assertThat(attributed).as(module.getKey()).isEqualTo(module.getValue());
+    }
+  }
 }
@@ -0,0 +1,94 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.containers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Path;
+import java.util.List;
+
+import net.consensys.linea.testing.ToyConflation;
+import net.consensys.linea.testing.ToyExecutionEnvironmentV2;
+import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.container.ContainerSizingProfile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class ContainerSizingProfileTest {
+  @TempDir Path tempDir;
+
+  @Test
+  void expectedSizeIsThePercentileOverTheWindow() {
+    final ContainerSizingProfile profile = new ContainerSizingProfile(4, 75);
+    assertThat(profile.expectedSize("ADD")).isEqualTo(0);
+
+    profile.record("ADD", 10);
+    profile.record("ADD", 3);
+    profile.record("ADD", 7);
+    profile.record("ADD", 5);
+    assertThat(profile.expectedSize("ADD")).isEqualTo(7);
+
+    profile.record("ADD", 1);
+    profile.record("ADD", 2);
+    assertThat(profile.expectedSize("ADD")).isEqualTo(5);
+  }
+
+  @Test
+  void aSmallConflationAfterALargeOneIsNotPresizedToTheLargeOne() {
+    final ContainerSizingProfile profile = new ContainerSizingProfile();
+    profile.record("ADD", 1_000_000);
+    profile.record("ADD", 100);
+    assertThat(profile.expectedSize("ADD")).isEqualTo(100);
+
+    profile.record("ADD", 1_000_000);
+    profile.record("ADD", 100);
+    profile.record("ADD", 120);
+    assertThat(profile.expectedSize("ADD")).isEqualTo(120);
+  }
+
+  @Test
+  void onlyTheTracersOptingInRecordTheirConflations() {
+    final ContainerSizingProfile profile = new ContainerSizingProfile();
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    tracer.setSizingProfile(profile);
+    ToyConflation.start(tracer, List.of()).end();
+    ToyConflation.start(new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID), List.of()).end();
+
+    // the profile survives the reset of the tracer
+    tracer.reset();
+    ToyConflation.start(tracer, List.of()).end();
+
+    final Path path = tempDir.resolve("recorded.toml");
+    profile.save(path);
+    assertThat(path).content().contains("HUB_TRANSACTIONS = [0, 0]");
+  }
+
+  @Test
+  void saveAndLoad() {
+    final Path path = tempDir.resolve("sizing.toml");
+    final ContainerSizingProfile profile = new ContainerSizingProfile(4, 100);
+    profile.record("ADD", 10);
+    profile.record("WCP_0", 7);
+    profile.record("WCP_0", 8);
+    profile.save(path);
+
+    final ContainerSizingProfile restored = new ContainerSizingProfile(4, 100);
+    restored.load(path);
+    assertThat(restored.expectedSize("ADD")).isEqualTo(10);
+    assertThat(restored.expectedSize("WCP_0")).isEqualTo(8);
+    assertThat(restored.expectedSize("MMU")).isEqualTo(0);
+  }
+}
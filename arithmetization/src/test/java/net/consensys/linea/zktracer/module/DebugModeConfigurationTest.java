@@ -0,0 +1,74 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Set;
+
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.hyperledger.besu.datatypes.Address;
+import org.junit.jupiter.api.Test;
+
+public class DebugModeConfigurationTest {
+  @Test
+  void parsesCommandLineSpec() {
+    final DebugModeConfiguration configuration =
+        DebugModeConfiguration.parse(
+            "pins=tx,opcode; every=10; reverted; opcodes=sstore,CALL; addresses=0x1234; buffer=64");
+
+    final DebugMode.PinLevel pinLevel = configuration.pinLevel();
+    assertThat(pinLevel.doTx()).isTrue();
+    assertThat(pinLevel.doOpcode()).isTrue();
+    assertThat(pinLevel.doStack()).isFalse();
+    assertThat(configuration.samplingPeriod()).isEqualTo(10);
+    assertThat(configuration.onlyReverted()).isTrue();
+    assertThat(configuration.opCodeFilter()).isEqualTo(Set.of(OpCode.SSTORE, OpCode.CALL));
+    assertThat(configuration.addressFilter()).containsExactly(Address.fromHexString("0x1234"));
+    assertThat(configuration.ringBufferSize()).isEqualTo(64);
+  }
+
+  @Test
+  void absentSpecDisablesDebugging() {
+    assertThat(DebugModeConfiguration.parse(null).enabled()).isFalse();
+    assertThat(DebugModeConfiguration.parse("").enabled()).isFalse();
+    assertThat(DebugModeConfiguration.parse("every=3").enabled()).isFalse();
+  }
+
+  @Test
+  void rejectsMalformedSpec() {
+    assertThatThrownBy(() -> DebugModeConfiguration.parse("pins=everything"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DebugModeConfiguration.parse("pins=tx;every=0"))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DebugModeConfiguration.parse("pins=tx;opcodes=NOPE"))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void ringBufferKeepsMostRecentLines() {
+    final DebugMode.RingBuffer ringBuffer = new DebugMode.RingBuffer(2);
+    ringBuffer.accept("line {}", 1);
+    ringBuffer.accept("line {}", 2);
+    ringBuffer.accept("line {}", 3);
+
+    assertThat(ringBuffer.droppedLines()).isEqualTo(1);
+    assertThat(ringBuffer.drain()).isEqualTo(List.of("line 2", "line 3"));
+    assertThat(ringBuffer.drain()).isEmpty();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+public class G2MembershipCacheTest {
+  // The generator of G2, encoded as (x_im, x_re, y_im, y_re)
+  private static final Bytes G2_GENERATOR =
+      Bytes.fromHexString(
+          "0x198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+              + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+              + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+              + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa");
+
+  // The generator with a coordinate off by one, hence not on the twisted curve
+  private static final Bytes NOT_ON_CURVE =
+      Bytes.concatenate(G2_GENERATOR.slice(0, 127), Bytes.of((byte) (G2_GENERATOR.get(127) + 1)));
+
+  @Test
+  void membershipIsComputedThenCached() {
+    final G2MembershipCache cache = new G2MembershipCache(4);
+
+    assertThat(cache.isOnG2(G2_GENERATOR)).isTrue();
+    assertThat(cache.isOnG2(NOT_ON_CURVE)).isFalse();
+    assertThat(cache.size()).isEqualTo(2);
+
+    assertThat(cache.isOnG2(G2_GENERATOR.copy())).isTrue();
+    assertThat(cache.isOnG2(NOT_ON_CURVE.copy())).isFalse();
+    assertThat(cache.size()).isEqualTo(2);
+  }
+
+  @Test
+  void slicesOfTheCallDataAreValidKeys() {
+    final G2MembershipCache cache = new G2MembershipCache(4);
+    final Bytes callData = Bytes.concatenate(Bytes.wrap(new byte[64]), G2_GENERATOR);
+
+    assertThat(cache.isOnG2(callData.slice(64, G2MembershipCache.LARGE_POINT_BYTE_SIZE))).isTrue();
+    assertThat(cache.isOnG2(G2_GENERATOR)).isTrue();
+    assertThat(cache.size()).isEqualTo(1);
+  }
+
+  @Test
+  void leastRecentlyUsedPointsAreEvicted() {
+    final G2MembershipCache cache = new G2MembershipCache(1);
+
+    cache.isOnG2(G2_GENERATOR);
+    cache.isOnG2(NOT_ON_CURVE);
+
+    assertThat(cache.size()).isEqualTo(1);
+    assertThat(cache.isOnG2(G2_GENERATOR)).isTrue();
+  }
+}
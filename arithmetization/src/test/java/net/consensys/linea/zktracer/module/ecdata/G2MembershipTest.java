@@ -0,0 +1,134 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.ecdata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.crypto.altbn128.AltBn128Fq2Point;
+import org.hyperledger.besu.crypto.altbn128.Fq2;
+import org.junit.jupiter.api.Test;
+
+public class G2MembershipTest {
+  // The generator of G2, encoded as (x_im, x_re, y_im, y_re)
+  private static final Bytes G2_GENERATOR =
+      Bytes.fromHexString(
+          "0x198e9393920d483a7260bfb731fb5d25f1aa493335a9e71297e485b7aef312c2"
+              + "1800deef121f1e76426a00665e5c4479674322d4f75edadd46debd5cd992f6ed"
+              + "090689d0585ff075ec9e99ad690c3395bc4b313370b38ef355acdadcd122975b"
+              + "12c85ea5db8c6deb4aab71808dcb408fe3d1e7690c43d37b4ce6cc0166fa7daa");
+
+  // A random multiple of the generator
+  private static final Bytes IN_G2 =
+      Bytes.fromHexString(
+          "0x2ba4ee33cb55ad37e9dec1d7b1e1f1a5435c5fa5e4ba41d6e4ba987603af5476"
+              + "1064438bd492657041c2406960d29a0ea1418992bbae33caa2218b962e2869dc"
+              + "10c8092a73d883f6e3509ea0511d0b4c6a6fec22a4e20c3ce70733dea34f2a8c"
+              + "11241d24a2cbdefc37e393057f7cefde795b73eab16811d7a4ae5941c344a2a9");
+
+  // A random point of the twisted curve, outside of G2
+  private static final Bytes ON_TWIST =
+      Bytes.fromHexString(
+          "0x15fb8173e00902c77ebff206867347214cdd2055930d6eaf14f4733f3e7d1bfb"
+              + "1fc5414934b9b5df9e7769b10f4205b4907a70c31012f037b64ce4228c38fb29"
+              + "1200cff01169d38c35292a7c6d3138c2304e1f65f3918c560fea6f7188657449"
+              + "2b3f09a14f67415805f974c064bbe886fdaa2ab355dd05aba0504e1187ce6d49");
+
+  // IN_G2 plus a point of order 10069, the smallest prime factor of the cofactor
+  private static final Bytes IN_G2_PLUS_SMALL_ORDER =
+      Bytes.fromHexString(
+          "0x1bdce25dca3df306dc47a7d5bbe8666d6c09a1c12dff2a2a25e0ca0663723180"
+              + "1375c21c98ecef324283fb87bc0b68ceeef0d4f68becdcb5f41d4bd0bb1649bb"
+              + "15ef2f8dc7d669c631e377dc668e31f00e3f42fbc758b39c82420808d591e183"
+              + "0e690804e25b42bcd94d1c111f66e0180691d9d253b289437698a25cd1159d32");
+
+  // A point of order 10069
+  private static final Bytes SMALL_ORDER =
+      Bytes.fromHexString(
+          "0x271d88a12f567cd289890e4f30ae7031f84370ef358a9d96e301a6b96907919c"
+              + "1546b074c0fff63fb27929d77e3c02b75f5990daf69b3f71b8ede38666add02c"
+              + "1f869e8af47c997233f8847078fa01d42ad4a6e07f8a8545211eef870769a963"
+              + "1c719213168b8d2b318dd8e615485ef1b6f4d4197652f3b086a59366a3ca8556");
+
+  private static final Bytes INFINITY = Bytes.wrap(new byte[128]);
+
+  // The generator with a coordinate off by one, hence not on the twisted curve
+  private static final Bytes NOT_ON_CURVE =
+      Bytes.concatenate(G2_GENERATOR.slice(0, 127), Bytes.of((byte) (G2_GENERATOR.get(127) + 1)));
+
+  /** The membership test of Besu, which multiplies the point by the order of G2 */
+  private static boolean isOnG2ByScalarMultiplication(final Bytes largePoint) {
+    final Fq2 x =
+        Fq2.create(
+            largePoint.slice(32, 32).toUnsignedBigInteger(),
+            largePoint.slice(0, 32).toUnsignedBigInteger());
+    final Fq2 y =
+        Fq2.create(
+            largePoint.slice(96, 32).toUnsignedBigInteger(),
+            largePoint.slice(64, 32).toUnsignedBigInteger());
+    final AltBn128Fq2Point point = new AltBn128Fq2Point(x, y);
+    return point.isOnCurve() && point.isInGroup();
+  }
+
+  @Test
+  void pointsOfG2AreMembers() {
+    assertThat(G2Membership.isOnG2(G2_GENERATOR)).isTrue();
+    assertThat(G2Membership.isOnG2(IN_G2)).isTrue();
+    assertThat(G2Membership.isOnG2(INFINITY)).isTrue();
+  }
+
+  @Test
+  void pointsOutsideOfG2AreNotMembers() {
+    assertThat(G2Membership.isOnG2(ON_TWIST)).isFalse();
+    assertThat(G2Membership.isOnG2(IN_G2_PLUS_SMALL_ORDER)).isFalse();
+    assertThat(G2Membership.isOnG2(SMALL_ORDER)).isFalse();
+    assertThat(G2Membership.isOnG2(NOT_ON_CURVE)).isFalse();
+  }
+
+  @Test
+  void coordinatesMustBeInTheField() {
+    final Bytes xImPlusP =
+        Bytes.concatenate(
+            Bytes.wrap(
+                G2_GENERATOR
+                    .slice(0, 32)
+                    .toUnsignedBigInteger()
+                    .add(G2Membership.P)
+                    .toByteArray()),
+            G2_GENERATOR.slice(32, 96));
+
+    assertThat(xImPlusP.size()).isEqualTo(G2MembershipCache.LARGE_POINT_BYTE_SIZE);
+    assertThat(G2Membership.isOnG2(xImPlusP)).isFalse();
+  }
+
+  @Test
+  void agreesWithTheScalarMultiplication() {
+    for (Bytes largePoint :
+        List.of(
+            G2_GENERATOR,
+            IN_G2,
+            INFINITY,
+            ON_TWIST,
+            IN_G2_PLUS_SMALL_ORDER,
+            SMALL_ORDER,
+            NOT_ON_CURVE)) {
+      assertThat(G2Membership.isOnG2(largePoint))
+          .isEqualTo(isOnG2ByScalarMultiplication(largePoint));
+    }
+  }
+}
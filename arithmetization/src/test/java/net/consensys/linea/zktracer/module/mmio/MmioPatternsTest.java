@@ -0,0 +1,45 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.mmio;
+
+import static net.consensys.linea.zktracer.module.constants.GlobalConstants.LLARGE;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MmioPatternsTest {
+
+  private static List<Boolean> computedPlateaus(final int m) {
+    final List<Boolean> flags = new ArrayList<>(LLARGE);
+    for (short ct = 0; ct < LLARGE; ct++) {
+      flags.add(MmioPatterns.plateau(m, ct));
+    }
+    return flags;
+  }
+
+  @Test
+  void sharedPatternsMatchTheirComputation() {
+    for (int m = -LLARGE; m <= 2 * LLARGE; m++) {
+      final List<Boolean> flags = computedPlateaus(m);
+      assertThat(MmioPatterns.plateaus(m)).isEqualTo(flags);
+      assertThat(MmioPatterns.powers(m)).isEqualTo(MmioPatterns.power(flags));
+      assertThat(MmioPatterns.antiPowers(m)).isEqualTo(MmioPatterns.antiPower(flags));
+    }
+  }
+}
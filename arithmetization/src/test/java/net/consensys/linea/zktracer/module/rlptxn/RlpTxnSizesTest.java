@@ -0,0 +1,151 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rlptxn;
+
+import static net.consensys.linea.zktracer.module.rlputils.Pattern.innerRlpSize;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hyperledger.besu.ethereum.core.encoding.EncodingContext.BLOCK_BODY;
+import static org.hyperledger.besu.ethereum.core.encoding.TransactionEncoder.encodeOpaqueBytes;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyTransaction;
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.units.bigints.UInt256;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.datatypes.AccessListEntry;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.TransactionType;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.core.encoding.AccessListTransactionEncoder;
+import org.hyperledger.besu.ethereum.rlp.RLP;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+/** Checks the field by field RLP sizes against besu's encoding of the whole transaction. */
+class RlpTxnSizesTest {
+  private static final KeyPair KEY_PAIR = new SECP256K1().generateKeyPair();
+  private static final ToyAccount SENDER =
+      ToyAccount.builder().balance(Wei.fromEth(1)).nonce(300).address(Address.ZERO).build();
+  private static final ToyAccount RECEIVER =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(1)
+          .address(Address.fromHexString("0xc0de"))
+          .build();
+
+  static Stream<Arguments> transactions() {
+    final List<Bytes> payloads =
+        List.of(
+            Bytes.EMPTY,
+            Bytes.of(0x7f),
+            Bytes.of(0x80),
+            Bytes.repeat((byte) 1, 55),
+            Bytes.repeat((byte) 1, 56),
+            Bytes.repeat((byte) 1, 300));
+    final List<AccessListEntry> accessList =
+        List.of(
+            AccessListEntry.createAccessListEntry(Address.fromHexString("0x1234"), List.of()),
+            AccessListEntry.createAccessListEntry(
+                Address.fromHexString("0x5678"), List.of("0x01", "0x02")));
+
+    return Stream.of(TransactionType.FRONTIER, TransactionType.ACCESS_LIST, TransactionType.EIP1559)
+        .flatMap(
+            type ->
+                payloads.stream()
+                    .flatMap(
+                        payload ->
+                            Stream.of(
+                                tx(type, payload, RECEIVER, List.of()),
+                                tx(type, payload, null, accessList))))
+        .map(Arguments::of);
+  }
+
+  private static Transaction tx(
+      TransactionType type, Bytes payload, ToyAccount to, List<AccessListEntry> accessList) {
+    return ToyTransaction.builder()
+        .sender(SENDER)
+        .to(to)
+        .keyPair(KEY_PAIR)
+        .transactionType(type)
+        .value(Wei.of(0x80))
+        .payload(payload)
+        .accessList(type == TransactionType.FRONTIER ? null : accessList)
+        .build();
+  }
+
+  @ParameterizedTest
+  @MethodSource("transactions")
+  void sizesMatchBesuEncoding(Transaction tx) {
+    final RlpTxnSizes sizes = RlpTxnSizes.of(tx);
+    final int typeByte = tx.getType() == TransactionType.FRONTIER ? 0 : 1;
+
+    assertThat(sizes.rlpLtByteSize())
+        .isEqualTo(innerRlpSize(encodeOpaqueBytes(tx, BLOCK_BODY).size() - typeByte));
+    assertThat(sizes.rlpLxByteSize()).isEqualTo(innerRlpSize(preimage(tx).size()));
+  }
+
+  /** The RLP of the signed message, without its transaction type byte. */
+  private static Bytes preimage(Transaction tx) {
+    return RLP.encode(
+        out -> {
+          out.startList();
+          switch (tx.getType()) {
+            case FRONTIER -> {
+              out.writeLongScalar(tx.getNonce());
+              out.writeUInt256Scalar(tx.getGasPrice().orElseThrow());
+              out.writeLongScalar(tx.getGasLimit());
+              out.writeBytes(tx.getTo().map(Bytes::copy).orElse(Bytes.EMPTY));
+              out.writeUInt256Scalar(tx.getValue());
+              out.writeBytes(tx.getPayload());
+              if (tx.getChainId().isPresent()) {
+                out.writeBigIntegerScalar(tx.getChainId().orElseThrow());
+                out.writeUInt256Scalar(UInt256.ZERO);
+                out.writeUInt256Scalar(UInt256.ZERO);
+              }
+            }
+            case ACCESS_LIST -> AccessListTransactionEncoder.encodeAccessListInner(
+                tx.getChainId(),
+                tx.getNonce(),
+                tx.getGasPrice().orElseThrow(),
+                tx.getGasLimit(),
+                tx.getTo(),
+                tx.getValue(),
+                tx.getPayload(),
+                tx.getAccessList().orElseThrow(),
+                out);
+            case EIP1559 -> {
+              out.writeBigIntegerScalar(tx.getChainId().orElseThrow());
+              out.writeLongScalar(tx.getNonce());
+              out.writeUInt256Scalar(tx.getMaxPriorityFeePerGas().orElseThrow());
+              out.writeUInt256Scalar(tx.getMaxFeePerGas().orElseThrow());
+              out.writeLongScalar(tx.getGasLimit());
+              out.writeBytes(tx.getTo().map(Bytes::copy).orElse(Bytes.EMPTY));
+              out.writeUInt256Scalar(tx.getValue());
+              out.writeBytes(tx.getPayload());
+              AccessListTransactionEncoder.writeAccessList(out, tx.getAccessList());
+            }
+            default -> throw new IllegalArgumentException("Unsupported type " + tx.getType());
+          }
+          out.endList();
+        });
+  }
+}
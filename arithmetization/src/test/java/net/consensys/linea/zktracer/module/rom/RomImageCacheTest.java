@@ -0,0 +1,137 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.rom;
+
+import static net.consensys.linea.testing.ToyFixtures.ADDER;
+import static net.consensys.linea.testing.ToyFixtures.MULTIPLIER;
+import static net.consensys.linea.testing.ToyFixtures.SENDER;
+import static net.consensys.linea.testing.ToyFixtures.call;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyConflation;
+import net.consensys.linea.testing.ToyExecutionEnvironmentV2;
+import net.consensys.linea.zktracer.ColumnHeader;
+import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.module.romlex.RomLex;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Hash;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class RomImageCacheTest {
+  private static final List<ToyAccount> ACCOUNTS = List.of(SENDER, ADDER, MULTIPLIER);
+
+  @TempDir Path tempDir;
+
+  private static RomImageCache.RomImage image(final int size) {
+    return new RomImageCache.RomImage(new byte[][] {new byte[size], null}, size);
+  }
+
+  @Test
+  void evictsLeastRecentlyUsedImagesBeyondBudget() {
+    final RomImageCache cache = new RomImageCache(100);
+    final Hash a = Hash.hash(Bytes.of(1));
+    final Hash b = Hash.hash(Bytes.of(2));
+    final Hash c = Hash.hash(Bytes.of(3));
+
+    cache.put(a, image(40));
+    cache.put(b, image(40));
+    assertThat(cache.get(a)).isNotNull(); // a is now more recently used than b
+    cache.put(c, image(40));
+
+    assertThat(cache.get(a)).isNotNull();
+    assertThat(cache.get(b)).isNull();
+    assertThat(cache.get(c)).isNotNull();
+    assertThat(cache.cachedBytes()).isEqualTo(80);
+  }
+
+  @Test
+  void ignoresImagesLargerThanBudget() {
+    final RomImageCache cache = new RomImageCache(100);
+    cache.put(Hash.hash(Bytes.of(1)), image(101));
+
+    assertThat(cache.size()).isZero();
+    assertThat(cache.cachedBytes()).isZero();
+  }
+
+  @Test
+  void shrinkingTheBudgetEvictsLeastRecentlyUsedImages() {
+    final RomImageCache cache = new RomImageCache(100);
+    final Hash a = Hash.hash(Bytes.of(1));
+    final Hash b = Hash.hash(Bytes.of(2));
+    cache.put(a, image(40));
+    cache.put(b, image(40));
+
+    cache.maxCachedBytes(50);
+
+    assertThat(cache.get(a)).isNull();
+    assertThat(cache.get(b)).isNotNull();
+    assertThat(cache.cachedBytes()).isEqualTo(40);
+  }
+
+  @Test
+  void cachedImagesAreWrittenLikeTracedOnes() throws IOException {
+    final RomImageCache cache = new RomImageCache(RomImageCache.DEFAULT_MAX_CACHED_BYTES);
+    commit(new Rom(trace(MULTIPLIER), cache), tempDir.resolve("warmup"));
+    final int warmedUp = cache.size();
+    assertThat(warmedUp).isPositive();
+
+    // the ADDER comes first, so that the MULTIPLIER gets another code fragment index
+    final RomLex romLex = trace(ADDER, MULTIPLIER);
+    commit(new Rom(romLex, new RomImageCache(0)), tempDir.resolve("traced"));
+    commit(new Rom(romLex, cache), tempDir.resolve("cached"));
+
+    assertThat(cache.size()).isGreaterThan(warmedUp);
+    assertThat(Files.mismatch(tempDir.resolve("traced"), tempDir.resolve("cached")))
+        .isEqualTo(-1L);
+  }
+
+  /** Trace a conflation calling the given contracts, one transaction each */
+  private static RomLex trace(final ToyAccount... contracts) {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    long nonce = SENDER.getNonce();
+    for (ToyAccount contract : contracts) {
+      conflation.execute(call(contract, nonce++));
+    }
+    conflation.end();
+    return tracer.getHub().romLex();
+  }
+
+  /** Write the columns of the ROM one after the other in {@code path} */
+  private static void commit(final Rom rom, final Path path) throws IOException {
+    try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+      final List<MappedByteBuffer> buffers = new ArrayList<>();
+      long offset = 0;
+      for (ColumnHeader header : rom.columnsHeaders()) {
+        buffers.add(
+            file.getChannel().map(FileChannel.MapMode.READ_WRITE, offset, header.dataSize()));
+        offset += header.dataSize();
+      }
+      rom.commit(buffers);
+    }
+  }
+}
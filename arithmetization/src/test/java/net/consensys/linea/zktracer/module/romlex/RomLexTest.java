@@ -0,0 +1,151 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.romlex;
+
+import static net.consensys.linea.testing.ToyFixtures.ADDER;
+import static net.consensys.linea.testing.ToyFixtures.MULTIPLIER;
+import static net.consensys.linea.testing.ToyFixtures.SENDER;
+import static net.consensys.linea.testing.ToyFixtures.call;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.List;
+import java.util.Optional;
+
+import net.consensys.linea.corset.CorsetValidator;
+import net.consensys.linea.testing.BytecodeCompiler;
+import net.consensys.linea.testing.ExecutionEnvironment;
+import net.consensys.linea.testing.ToyAccount;
+import net.consensys.linea.testing.ToyConflation;
+import net.consensys.linea.testing.ToyExecutionEnvironmentV2;
+import net.consensys.linea.zktracer.ZkTracer;
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.junit.jupiter.api.Test;
+
+public class RomLexTest {
+  /** Calls the {@code MULTIPLIER}, so that both contracts are added in a single transaction */
+  private static final ToyAccount CALLER =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(9)
+          .address(Address.fromHexString("0x555555"))
+          .code(
+              BytecodeCompiler.newProgram()
+                  .push(0) // return size
+                  .push(0) // return offset
+                  .push(0) // call data size
+                  .push(0) // call data offset
+                  .push(0) // value
+                  .push(MULTIPLIER.getAddress())
+                  .push(100_000) // gas
+                  .op(OpCode.CALL)
+                  .op(OpCode.POP)
+                  .compile())
+          .build();
+
+  private static final List<ToyAccount> ACCOUNTS = List.of(SENDER, ADDER, MULTIPLIER, CALLER);
+
+  private static ContractMetadata metadata(final ZkTracer tracer, final ToyAccount account) {
+    return ContractMetadata.canonical(tracer.getHub(), account.getAddress());
+  }
+
+  @Test
+  void executedContractsAreIndexedByMetadata() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    final RomLex romLex = tracer.getHub().romLex();
+
+    conflation.execute(call(CALLER, 5));
+
+    assertThat(romLex.getCodeByMetadata(metadata(tracer, CALLER))).isEqualTo(CALLER.getCode());
+    assertThat(romLex.getCodeByMetadata(metadata(tracer, MULTIPLIER)))
+        .isEqualTo(MULTIPLIER.getCode());
+    assertThatThrownBy(() -> romLex.getChunkByMetadata(metadata(tracer, ADDER)))
+        .isInstanceOf(RuntimeException.class)
+        .hasMessageContaining("not found");
+  }
+
+  @Test
+  void poppedContractsAreRemovedFromTheIndex() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    final RomLex romLex = tracer.getHub().romLex();
+    conflation.execute(call(ADDER, 5));
+
+    conflation.simulate(call(CALLER, 6));
+    tracer.popLastTransaction();
+
+    assertThat(romLex.getCodeByMetadata(metadata(tracer, ADDER))).isEqualTo(ADDER.getCode());
+    assertThatThrownBy(() -> romLex.getChunkByMetadata(metadata(tracer, CALLER)))
+        .hasMessageContaining("not found");
+    assertThatThrownBy(() -> romLex.getChunkByMetadata(metadata(tracer, MULTIPLIER)))
+        .hasMessageContaining("not found");
+
+    // the popped contracts are indexed again, and given a consistent code fragment index
+    conflation.execute(call(CALLER, 6));
+    conflation.end();
+
+    assertThat(romLex.getCodeByMetadata(metadata(tracer, MULTIPLIER)))
+        .isEqualTo(MULTIPLIER.getCode());
+    assertThat(tracer.getTracingExceptions()).isEmpty();
+    ExecutionEnvironment.checkTracer(tracer, new CorsetValidator(), Optional.empty());
+  }
+
+  @Test
+  void chunksAreIndexedByAddressAndDeploymentNumber() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    final RomLex romLex = tracer.getHub().romLex();
+    conflation.execute(call(ADDER, 5));
+
+    conflation.simulate(call(CALLER, 6));
+    final ContractMetadata multiplier = metadata(tracer, MULTIPLIER);
+    assertThat(romLex.getChunksByAddress(MULTIPLIER.getAddress(), multiplier.deploymentNumber()))
+        .extracting(RomOperation::byteCode)
+        .containsExactly(MULTIPLIER.getCode());
+
+    tracer.popLastTransaction();
+    assertThat(romLex.getChunksByAddress(MULTIPLIER.getAddress(), multiplier.deploymentNumber()))
+        .isEmpty();
+  }
+
+  @Test
+  void provisionalCodeFragmentIndicesAreFinalOnceTheConflationIsOver() {
+    final ZkTracer tracer = new ZkTracer(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final ToyConflation conflation = ToyConflation.start(tracer, ACCOUNTS);
+    final RomLex romLex = tracer.getHub().romLex();
+
+    conflation.execute(call(CALLER, 5));
+    final int multiplier =
+        romLex.provisionalCodeFragmentIndexByMetadata(metadata(tracer, MULTIPLIER));
+    assertThat(romLex.provisionalCodeFragmentIndexByMetadata(metadata(tracer, CALLER)))
+        .isGreaterThan(multiplier);
+
+    // the ADDER comes first, shifting the code fragments known so far
+    conflation.execute(call(ADDER, 6));
+    assertThat(romLex.provisionalCodeFragmentIndexByMetadata(metadata(tracer, MULTIPLIER)))
+        .isEqualTo(multiplier + 1);
+
+    conflation.end();
+    for (ToyAccount contract : List.of(ADDER, MULTIPLIER, CALLER)) {
+      final ContractMetadata metadata = metadata(tracer, contract);
+      assertThat(romLex.provisionalCodeFragmentIndexByMetadata(metadata))
+          .isEqualTo(romLex.getCodeFragmentIndexByMetadata(metadata));
+    }
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.module.shakiradata;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.apache.tuweni.bytes.Bytes32;
+import org.hyperledger.besu.crypto.Hash;
+import org.junit.jupiter.api.Test;
+
+public class HashDigestsTest {
+  private static final Bytes PREIMAGE = Bytes.fromHexString("0xdeadbeef");
+
+  @Test
+  void digestsMatchKeccak() {
+    final HashDigests hashDigests = new HashDigests();
+
+    assertThat(hashDigests.keccak(PREIMAGE)).isEqualTo(Hash.keccak256(PREIMAGE));
+    assertThat(hashDigests.lookupKeccak(Bytes.fromHexString("0x2a")))
+        .isEqualTo(Hash.keccak256(Bytes.fromHexString("0x2a")));
+  }
+
+  @Test
+  void repeatedLookupsHitTheCache() {
+    final HashDigests hashDigests = new HashDigests();
+    final Bytes32 digest = hashDigests.keccak(PREIMAGE);
+
+    assertThat(hashDigests.keccak(Bytes.fromHexString("0xdeadbeef"))).isSameAs(digest);
+    assertThat(hashDigests.lookupKeccak(Bytes.fromHexString("0xdeadbeef"))).isSameAs(digest);
+    assertThat(hashDigests.size()).isEqualTo(1);
+  }
+
+  @Test
+  void lookupsDoNotRetainDigests() {
+    final HashDigests hashDigests = new HashDigests();
+
+    hashDigests.lookupKeccak(PREIMAGE);
+
+    assertThat(hashDigests.size()).isZero();
+    assertThat(hashDigests.lookupKeccak(PREIMAGE))
+        .isNotSameAs(hashDigests.lookupKeccak(PREIMAGE));
+  }
+}
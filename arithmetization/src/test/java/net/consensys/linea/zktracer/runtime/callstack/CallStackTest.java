@@ -0,0 +1,119 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.runtime.callstack;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import net.consensys.linea.zktracer.types.Bytecode;
+import net.consensys.linea.zktracer.types.MemorySpan;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Wei;
+import org.junit.jupiter.api.Test;
+
+public class CallStackTest {
+  private static final Address ADDRESS = Address.fromHexString("0x1234");
+
+  private static void newRoot(final CallStack callStack, final int contextNumber) {
+    callStack.newRootContext(
+        contextNumber,
+        ADDRESS,
+        ADDRESS,
+        Bytecode.EMPTY,
+        Wei.ZERO,
+        0,
+        0,
+        Bytes.EMPTY,
+        0,
+        0,
+        false);
+  }
+
+  private static void enter(final CallStack callStack, final int contextNumber) {
+    callStack.enter(
+        CallFrameType.STANDARD,
+        contextNumber,
+        false,
+        Wei.ZERO,
+        0,
+        ADDRESS,
+        0,
+        ADDRESS,
+        0,
+        Bytecode.EMPTY,
+        ADDRESS,
+        Bytes.EMPTY,
+        0,
+        0,
+        0,
+        MemorySpan.empty());
+  }
+
+  @Test
+  void framesAreFoundByContextNumber() {
+    final CallStack callStack = new CallStack();
+    newRoot(callStack, 1);
+    enter(callStack, 5);
+    callStack.exit();
+    enter(callStack, 9);
+
+    assertThat(callStack.getByContextNumber(0)).isSameAs(CallFrame.EMPTY);
+    assertThat(callStack.getByContextNumber(1).type()).isEqualTo(CallFrameType.ROOT);
+    assertThat(callStack.getByContextNumber(5).depth()).isEqualTo(1);
+    assertThat(callStack.getByContextNumber(9)).isSameAs(callStack.currentCallFrame());
+    assertThatThrownBy(() -> callStack.getByContextNumber(7))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> callStack.getByContextNumber(1_000_000))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void childrenAreLinkedInCallOrder() {
+    final CallStack callStack = new CallStack();
+    newRoot(callStack, 1);
+    final int rootId = callStack.currentCallFrame().id();
+    enter(callStack, 2);
+    final int firstId = callStack.currentCallFrame().id();
+    enter(callStack, 3);
+    callStack.exit();
+    callStack.exit();
+    enter(callStack, 4);
+    final int secondId = callStack.currentCallFrame().id();
+
+    assertThat(callStack.firstChildId(rootId)).isEqualTo(firstId);
+    assertThat(callStack.nextSiblingId(firstId)).isEqualTo(secondId);
+    assertThat(callStack.nextSiblingId(secondId)).isEqualTo(-1);
+    assertThat(callStack.lastChildId(rootId)).isEqualTo(secondId);
+    assertThat(callStack.getById(callStack.firstChildId(firstId)).contextNumber()).isEqualTo(3);
+    assertThat(callStack.firstChildId(secondId)).isEqualTo(-1);
+    assertThat(callStack.firstChildId(-1)).isEqualTo(-1);
+  }
+
+  @Test
+  void manyFramesGrowTheIndex() {
+    final CallStack callStack = new CallStack();
+    newRoot(callStack, 1);
+    for (int contextNumber = 2; contextNumber < 500; contextNumber++) {
+      enter(callStack, contextNumber);
+      callStack.exit();
+    }
+
+    assertThat(callStack.getByContextNumber(499).contextNumber()).isEqualTo(499);
+    assertThat(callStack.lastChildId(callStack.getByContextNumber(1).id()))
+        .isEqualTo(callStack.getByContextNumber(499).id());
+  }
+}
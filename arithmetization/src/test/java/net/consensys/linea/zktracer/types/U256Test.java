@@ -0,0 +1,106 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.apache.tuweni.bytes.Bytes;
+import org.junit.jupiter.api.Test;
+
+class U256Test {
+  private static final BigInteger TWO_POW_256 = BigInteger.ONE.shiftLeft(256);
+  private static final Random RANDOM = new Random(0xCAFE);
+
+  /** random values of random bit lengths, so that the single-digit division path is covered too */
+  private static BigInteger randomValue() {
+    return new BigInteger(RANDOM.nextInt(257), RANDOM);
+  }
+
+  @Test
+  void arithmeticMatchesBigInteger() {
+    for (int i = 0; i < 10_000; i++) {
+      final BigInteger a = randomValue();
+      final BigInteger b = randomValue();
+      final U256 x = U256.of(a);
+      final U256 y = U256.of(b);
+
+      assertThat(x.toBigInteger()).isEqualTo(a);
+      assertThat(x.add(y).toBigInteger()).isEqualTo(a.add(b).mod(TWO_POW_256));
+      assertThat(x.subtract(y).toBigInteger()).isEqualTo(a.subtract(b).mod(TWO_POW_256));
+      assertThat(x.multiply(y).toBigInteger()).isEqualTo(a.multiply(b).mod(TWO_POW_256));
+      assertThat(x.compareTo(y)).isEqualTo(a.compareTo(b));
+      assertThat(x.bitLength()).isEqualTo(a.bitLength());
+
+      if (b.signum() != 0) {
+        final U256[] qr = x.divideAndRemainder(y);
+        assertThat(qr[0].toBigInteger()).isEqualTo(a.divide(b));
+        assertThat(qr[1].toBigInteger()).isEqualTo(a.mod(b));
+      }
+
+      final int distance = RANDOM.nextInt(260);
+      assertThat(x.shiftLeft(distance).toBigInteger())
+          .isEqualTo(a.shiftLeft(distance).mod(TWO_POW_256));
+      assertThat(x.shiftRight(distance).toBigInteger()).isEqualTo(a.shiftRight(distance));
+    }
+  }
+
+  @Test
+  void wideDivisionMatchesBigInteger() {
+    for (int i = 0; i < 10_000; i++) {
+      final BigInteger a = randomValue();
+      final BigInteger b = randomValue();
+      final BigInteger c = randomValue().add(BigInteger.ONE).mod(TWO_POW_256);
+      if (c.signum() == 0) {
+        continue;
+      }
+
+      final long[] product = U256.of(a).multiplyFull(U256.of(b));
+      final long[][] qr = U256.divideAndRemainder(product, U256.of(c).limbs());
+
+      assertThat(fromLimbs(product)).isEqualTo(a.multiply(b));
+      assertThat(fromLimbs(qr[0])).isEqualTo(a.multiply(b).divide(c));
+      assertThat(fromLimbs(qr[1])).isEqualTo(a.multiply(b).mod(c));
+    }
+  }
+
+  @Test
+  void bytesRoundTrip() {
+    final Bytes bytes = Bytes.fromHexString("0x0102030405060708090a0b0c0d0e0f1011");
+    final U256 value = U256.of(bytes);
+
+    assertThat(value.toMinimalBytes()).isEqualTo(bytes);
+    assertThat(value.toBytes32().trimLeadingZeros()).isEqualTo(bytes);
+    assertThat(value.hi().toBigInteger()).isEqualTo(BigInteger.ONE);
+    assertThat(U256.of(Bytes.EMPTY)).isEqualTo(U256.ZERO);
+  }
+
+  @Test
+  void divisionByZeroThrows() {
+    assertThatThrownBy(() -> U256.ONE.divide(U256.ZERO)).isInstanceOf(ArithmeticException.class);
+  }
+
+  private static BigInteger fromLimbs(final long[] limbs) {
+    BigInteger value = BigInteger.ZERO;
+    for (int i = limbs.length - 1; i >= 0; i--) {
+      value = value.shiftLeft(64).or(new BigInteger(Long.toUnsignedString(limbs[i])));
+    }
+    return value;
+  }
+}
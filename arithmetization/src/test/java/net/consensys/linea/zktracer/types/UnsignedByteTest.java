@@ -0,0 +1,54 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.zktracer.types;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import org.junit.jupiter.api.Test;
+
+class UnsignedByteTest {
+  @Test
+  void valuesAreReadBackUnsigned() {
+    for (final int value : new int[] {0, 127, 128, 255}) {
+      final UnsignedByte fromInt = UnsignedByte.of(value);
+
+      assertThat(fromInt.toInteger()).isEqualTo(value);
+      assertThat(fromInt.toByte()).isEqualTo((byte) value);
+      assertThat(UnsignedByte.of((long) value).toInteger()).isEqualTo(value);
+      assertThat(UnsignedByte.of((byte) value).toInteger()).isEqualTo(value);
+    }
+  }
+
+  @Test
+  void instancesAreSharedPerValue() {
+    for (final int value : new int[] {0, 127, 128, 255}) {
+      final UnsignedByte instance = UnsignedByte.of(value);
+
+      assertThat(UnsignedByte.of((byte) value)).isSameAs(instance);
+      assertThat(UnsignedByte.of((long) value)).isSameAs(instance);
+    }
+    assertThat(UnsignedByte.of(0)).isSameAs(UnsignedByte.ZERO);
+    assertThat(UnsignedByte.of(1).shiftLeft(7)).isSameAs(UnsignedByte.of(128));
+    assertThat(UnsignedByte.of(255).shiftRight(1)).isSameAs(UnsignedByte.of(127));
+  }
+
+  @Test
+  void valuesOutOfRangeAreRejected() {
+    assertThatThrownBy(() -> UnsignedByte.of(256)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> UnsignedByte.of(-1)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
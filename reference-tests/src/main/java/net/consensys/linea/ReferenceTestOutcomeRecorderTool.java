@@ -24,7 +24,7 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.ConcurrentSkipListSet;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -43,19 +43,19 @@ public class ReferenceTestOutcomeRecorderTool {
       System.getenv()
           .getOrDefault("REFERENCE_TEST_OUTCOME_OUTPUT_FILE", "failedReferenceTests.json");
   public static JsonConverter jsonConverter = JsonConverter.builder().build();
-  private static volatile AtomicInteger failedCounter = new AtomicInteger(0);
-  private static volatile AtomicInteger successCounter = new AtomicInteger(0);
-  private static volatile AtomicInteger disabledCounter = new AtomicInteger(0);
-  private static volatile AtomicInteger abortedCounter = new AtomicInteger(0);
-  private static volatile ConcurrentMap<
-          String, ConcurrentMap<String, ConcurrentSkipListSet<String>>>
+  // Tests record their outcome concurrently; the counters are only summed when writing the results
+  private static final LongAdder failedCounter = new LongAdder();
+  private static final LongAdder successCounter = new LongAdder();
+  private static final LongAdder disabledCounter = new LongAdder();
+  private static final LongAdder abortedCounter = new LongAdder();
+  private static final ConcurrentMap<String, ConcurrentMap<String, ConcurrentSkipListSet<String>>>
       modulesToConstraintsToTests = new ConcurrentHashMap<>();
 
   public static void mapAndStoreTestResult(
       String testName, TestState success, Map<String, Set<String>> failedConstraints) {
     switch (success) {
       case FAILED -> {
-        failedCounter.incrementAndGet();
+        failedCounter.increment();
         for (Map.Entry<String, Set<String>> failedConstraint : failedConstraints.entrySet()) {
           String moduleName = failedConstraint.getKey();
           for (String constraint : failedConstraint.getValue()) {
@@ -64,21 +64,18 @@ public class ReferenceTestOutcomeRecorderTool {
                     moduleName, m -> new ConcurrentHashMap<>());
             ConcurrentSkipListSet<String> failingTests =
                 constraintsToTests.computeIfAbsent(constraint, m -> new ConcurrentSkipListSet<>());
-            int size = failingTests.size();
-            failingTests.add(testName);
-            if (failingTests.size() == size) {
+            if (!failingTests.add(testName)) {
               log.warn("Duplicate name found... {}", failedConstraint);
             }
           }
         }
       }
-      case SUCCESS -> successCounter.incrementAndGet();
-      case ABORTED -> abortedCounter.incrementAndGet();
-      case DISABLED -> disabledCounter.incrementAndGet();
+      case SUCCESS -> successCounter.increment();
+      case ABORTED -> abortedCounter.increment();
+      case DISABLED -> disabledCounter.increment();
     }
   }
 
-  @Synchronized
   public static BlockchainReferenceTestOutcome parseBlockchainReferenceTestOutcome(
       String jsonString) {
     if (!jsonString.isEmpty()) {
@@ -209,10 +206,10 @@ public class ReferenceTestOutcomeRecorderTool {
             objectMapper.writeValue(
                 file,
                 new BlockchainReferenceTestOutcome(
-                    failedCounter.get(),
-                    successCounter.get(),
-                    disabledCounter.get(),
-                    abortedCounter.get(),
+                    failedCounter.intValue(),
+                    successCounter.intValue(),
+                    disabledCounter.intValue(),
+                    abortedCounter.intValue(),
                     modulesToConstraintsToTests));
           } catch (Exception e) {
             log.error("Error - Failed to write test output: %s".formatted(e.getMessage()));
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.math.BigInteger;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
 import java.util.Optional;
 import java.util.OptionalLong;
 
@@ -58,31 +59,61 @@ public class ExecutionEnvironment {
   static GenesisConfigFile GENESIS_CONFIG =
       GenesisConfigFile.fromSource(GenesisConfigFile.class.getResource("/linea.json"));
 
+  /**
+   * When set, every trace is written to its own temporary file which is kept after validation, as
+   * opposed to the default behaviour of reusing a single trace file per thread.
+   */
+  private static final boolean PRESERVE_TRACE_FILES = System.getenv("PRESERVE_TRACE_FILES") != null;
+
+  /**
+   * The trace file reused by all the tests running on a given thread. Writing a trace only sets the
+   * length of the file and leaves the cells it does not fill untouched, so the file is emptied
+   * before every trace lest it carry cells over from the previous test of the thread.
+   */
+  private static final ThreadLocal<Path> POOLED_TRACE_FILE =
+      ThreadLocal.withInitial(
+          () -> {
+            try {
+              final Path traceFilePath = Files.createTempFile("pooled-", ".lt");
+              traceFilePath.toFile().deleteOnExit();
+              return traceFilePath;
+            } catch (IOException e) {
+              throw new RuntimeException(e);
+            }
+          });
+
   public static void checkTracer(
       ZkTracer zkTracer, CorsetValidator corsetValidator, Optional<Logger> logger) {
-    Path traceFilePath = null;
-    boolean traceValidated = false;
     try {
-      traceFilePath = Files.createTempFile(null, ".lt");
+      final Path traceFilePath;
+      if (PRESERVE_TRACE_FILES) {
+        traceFilePath = Files.createTempFile(null, ".lt");
+      } else {
+        traceFilePath = POOLED_TRACE_FILE.get();
+        Files.write(traceFilePath, new byte[0]);
+      }
       zkTracer.writeToFile(traceFilePath);
-      final Path finalTraceFilePath = traceFilePath;
-      logger.ifPresent(log -> log.debug("trace written to {}", finalTraceFilePath));
+      logger.ifPresent(log -> log.debug("trace written to {}", traceFilePath));
       CorsetValidator.Result corsetValidationResult = corsetValidator.validate(traceFilePath);
-      traceValidated = corsetValidationResult.isValid();
-      assertThat(traceValidated)
-          .withFailMessage(CORSET_VALIDATION_RESULT + "%s", corsetValidationResult.corsetOutput())
+      if (corsetValidationResult.isValid()) {
+        return;
+      }
+
+      Path failedTraceFilePath = traceFilePath;
+      if (!PRESERVE_TRACE_FILES) {
+        // the pooled file is overwritten by the next test of this thread, so the failing trace is
+        // moved aside to be attributed to the current test
+        failedTraceFilePath = Files.createTempFile("failed-", ".lt");
+        Files.copy(traceFilePath, failedTraceFilePath, StandardCopyOption.REPLACE_EXISTING);
+      }
+      assertThat(corsetValidationResult.isValid())
+          .withFailMessage(
+              CORSET_VALIDATION_RESULT + "%s\nfailing trace kept at %s",
+              corsetValidationResult.corsetOutput(),
+              failedTraceFilePath)
           .isTrue();
     } catch (IOException e) {
       throw new RuntimeException(e);
-    } finally {
-      if (traceFilePath != null && traceValidated) {
-        if (System.getenv("PRESERVE_TRACE_FILES") == null) {
-          boolean traceFileDeleted = traceFilePath.toFile().delete();
-          final Path finalTraceFilePath = traceFilePath;
-          logger.ifPresent(
-              log -> log.debug("trace file {} deleted {}", finalTraceFilePath, traceFileDeleted));
-        }
-      }
     }
   }
 
@@ -251,7 +251,7 @@ public class ReplayExecutionEnvironment {
           updater.createAccount(
               Words.toAddress(addr), account.nonce(), Wei.fromHexString(account.balance()));
       // Update code
-      acc.setCode(Bytes.fromHexString(account.code()));
+      acc.setCode(conflation.code(account));
     }
     // Initialise storage
     for (StorageSnapshot s : conflation.storage()) {
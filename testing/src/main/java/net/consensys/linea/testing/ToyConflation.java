@@ -0,0 +1,143 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.testing;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import net.consensys.linea.zktracer.ZkTracer;
+import org.hyperledger.besu.datatypes.BlobGas;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.BlockBody;
+import org.hyperledger.besu.ethereum.core.BlockHeader;
+import org.hyperledger.besu.ethereum.core.Transaction;
+import org.hyperledger.besu.ethereum.mainnet.MainnetTransactionProcessor;
+import org.hyperledger.besu.ethereum.mainnet.ProtocolSpec;
+import org.hyperledger.besu.ethereum.mainnet.TransactionValidationParams;
+import org.hyperledger.besu.ethereum.processing.TransactionProcessingResult;
+import org.hyperledger.besu.ethereum.referencetests.GeneralStateTestCaseEipSpec;
+import org.hyperledger.besu.ethereum.referencetests.ReferenceTestBlockchain;
+import org.hyperledger.besu.ethereum.vm.CachingBlockHashLookup;
+import org.hyperledger.besu.evm.worldstate.WorldUpdater;
+
+/**
+ * Drives a {@link ZkTracer} through a single block conflation one transaction at a time, so that
+ * tests can act on the tracer (pop a transaction, read the line counts, …) in between.
+ */
+public class ToyConflation {
+  private final ZkTracer tracer;
+  private final WorldUpdater world;
+  private final BlockHeader blockHeader;
+  private final List<Transaction> transactions = new ArrayList<>();
+  private final MainnetTransactionProcessor processor;
+  private final ReferenceTestBlockchain blockchain;
+  private final Wei blobGasPrice;
+
+  private ToyConflation(final ZkTracer tracer, final List<ToyAccount> accounts) {
+    final ProtocolSpec protocolSpec =
+        ExecutionEnvironment.getProtocolSpec(ToyExecutionEnvironmentV2.CHAIN_ID);
+    final GeneralStateTestCaseEipSpec spec =
+        ToyExecutionEnvironmentV2.builder()
+            .accounts(accounts)
+            .build()
+            .buildGeneralStateTestCaseSpec(protocolSpec);
+
+    this.tracer = tracer;
+    this.world = spec.getInitialWorldState().updater();
+    this.blockHeader = spec.getBlockHeader();
+    this.processor = protocolSpec.getTransactionProcessor();
+    this.blockchain = new ReferenceTestBlockchain(blockHeader.getNumber());
+    this.blobGasPrice =
+        protocolSpec
+            .getFeeMarket()
+            .blobGasPricePerGas(blockHeader.getExcessBlobGas().orElse(BlobGas.ZERO));
+  }
+
+  /**
+   * Start tracing a conflation made of a single block.
+   *
+   * @param tracer the tracer to drive
+   * @param accounts the initial state of the world
+   * @return the started conflation
+   */
+  public static ToyConflation start(final ZkTracer tracer, final List<ToyAccount> accounts) {
+    final ToyConflation conflation = new ToyConflation(tracer, accounts);
+    tracer.traceStartConflation(1);
+    tracer.traceStartBlock(conflation.blockHeader, conflation.blockBody());
+    return conflation;
+  }
+
+  /**
+   * Execute and trace a transaction, keeping its effects on the world state.
+   *
+   * @param tx the transaction to execute
+   * @return the outcome of the execution
+   */
+  public TransactionProcessingResult execute(final Transaction tx) {
+    return execute(tx, true);
+  }
+
+  /**
+   * Execute and trace a transaction, discarding its effects on the world state; the tracer is
+   * expected to pop it.
+   *
+   * @param tx the transaction to execute
+   * @return the outcome of the execution
+   */
+  public TransactionProcessingResult simulate(final Transaction tx) {
+    return execute(tx, false);
+  }
+
+  private TransactionProcessingResult execute(final Transaction tx, final boolean keep) {
+    final WorldUpdater txWorld = world.updater();
+    final TransactionProcessingResult result =
+        processor.processTransaction(
+            txWorld,
+            blockHeader,
+            tx,
+            blockHeader.getCoinbase(),
+            tracer,
+            new CachingBlockHashLookup(blockHeader, blockchain),
+            false,
+            TransactionValidationParams.processingBlock(),
+            blobGasPrice);
+    if (keep) {
+      txWorld.commit();
+      transactions.add(tx);
+    }
+    return result;
+  }
+
+  /** Terminate the block and the conflation. */
+  public void end() {
+    endBlock();
+    endConflation();
+  }
+
+  /** Terminate the block only. */
+  public void endBlock() {
+    tracer.traceEndBlock(blockHeader, blockBody());
+  }
+
+  /** Terminate the conflation only, whether its block was terminated or not. */
+  public void endConflation() {
+    tracer.traceEndConflation(world);
+  }
+
+  private BlockBody blockBody() {
+    return new BlockBody(transactions, new ArrayList<>());
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright Consensys Software Inc.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed under the License is distributed on
+ * an "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations under the License.
+ *
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package net.consensys.linea.testing;
+
+import net.consensys.linea.zktracer.opcode.OpCode;
+import org.apache.tuweni.bytes.Bytes;
+import org.hyperledger.besu.crypto.KeyPair;
+import org.hyperledger.besu.crypto.SECP256K1;
+import org.hyperledger.besu.datatypes.Address;
+import org.hyperledger.besu.datatypes.Hash;
+import org.hyperledger.besu.datatypes.Wei;
+import org.hyperledger.besu.ethereum.core.Transaction;
+
+/** Accounts and transactions shared by the tests driving a {@link ToyConflation}. */
+public final class ToyFixtures {
+  public static final KeyPair KEY_PAIR = new SECP256K1().generateKeyPair();
+
+  /** Sends all the transactions, starting at nonce 5 */
+  public static final ToyAccount SENDER =
+      ToyAccount.builder()
+          .balance(Wei.fromEth(1))
+          .nonce(5)
+          .address(Address.extract(Hash.hash(KEY_PAIR.getPublicKey().getEncodedBytes())))
+          .build();
+
+  /** Adds two constants */
+  public static final ToyAccount ADDER =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(6)
+          .address(Address.fromHexString("0x111111"))
+          .code(
+              BytecodeCompiler.newProgram()
+                  .push(32, 0xbeef)
+                  .push(32, 0xdead)
+                  .op(OpCode.ADD)
+                  .compile())
+          .build();
+
+  /** Hashes a word 64 times, which takes many SHAKIRA_DATA lines */
+  public static final ToyAccount HASHER =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(7)
+          .address(Address.fromHexString("0x222222"))
+          .code(hashes(64))
+          .build();
+
+  /** Multiplies two constants, sorted after the {@link #ADDER} and the {@link #HASHER} */
+  public static final ToyAccount MULTIPLIER =
+      ToyAccount.builder()
+          .balance(Wei.ONE)
+          .nonce(8)
+          .address(Address.fromHexString("0x444444"))
+          .code(
+              BytecodeCompiler.newProgram()
+                  .push(32, 0xbeef)
+                  .push(32, 0xdead)
+                  .op(OpCode.MUL)
+                  .compile())
+          .build();
+
+  private ToyFixtures() {}
+
+  /**
+   * @param count the number of hashes
+   * @return some byte code hashing the first word of memory {@code count} times
+   */
+  public static Bytes hashes(final int count) {
+    final BytecodeCompiler program = BytecodeCompiler.newProgram();
+    for (int i = 0; i < count; i++) {
+      program.push(32).push(0).op(OpCode.SHA3).op(OpCode.POP);
+    }
+    return program.compile();
+  }
+
+  /**
+   * @param to the called account
+   * @param nonce the nonce of the {@link #SENDER}
+   * @return a call from the {@link #SENDER} to {@code to}
+   */
+  public static Transaction call(final ToyAccount to, final long nonce) {
+    return ToyTransaction.builder()
+        .sender(SENDER)
+        .to(to)
+        .keyPair(KEY_PAIR)
+        .nonce(nonce)
+        .gasLimit(1_000_000L)
+        .build();
+  }
+}